@@ -0,0 +1,24 @@
+#!/usr/bin/env sh
+# Starts the application from the fast-startup build (mvn -Pfast-startup package):
+# the extracted jar with Spring AOT initialisation and the CDS archive recorded at build time.
+#
+#   scripts/run-fast.sh [--spring.property=value ...]
+#
+# The archive is only valid for the JDK that built it and for this exact jar; if the JVM
+# reports it cannot map application.jsa, rebuild with the profile. Extra JVM options can be
+# passed in JAVA_OPTS.
+set -e
+
+DIR="${FAST_STARTUP_DIR:-$(dirname "$0")/../target/fast-startup}"
+JAR=$(ls "$DIR"/library-management-*.jar 2>/dev/null | head -n 1)
+
+if [ -z "$JAR" ] || [ ! -f "$DIR/application.jsa" ]; then
+  echo "No fast-startup build in $DIR; run: mvn -Pfast-startup package" >&2
+  exit 1
+fi
+
+cd "$DIR"
+exec java $JAVA_OPTS \
+  -XX:SharedArchiveFile=application.jsa \
+  -Dspring.aot.enabled=true \
+  -jar "$(basename "$JAR")" "$@"
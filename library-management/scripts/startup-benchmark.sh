@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# Measures time-to-first-successful-request for the default jar and the fast-startup build.
+#
+#   mvn -Pfast-startup package
+#   BENCH_USERNAME=admin BENCH_PASSWORD=secret scripts/startup-benchmark.sh [runs]
+#
+# Each run starts the application, then polls POST /api/auth/login with the given credentials
+# until it returns 200, and records the wall-clock time from process start. The database in
+# application-secret.properties must be reachable. Results (ms) are printed and appended to
+# target/startup-benchmark.csv.
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${BENCH_PORT:-18080}"
+URL="http://localhost:${PORT}/api/auth/login"
+BASE="$(cd "$(dirname "$0")/.." && pwd)"
+JAR=$(ls "$BASE"/target/library-management-*.jar | grep -v original | head -n 1)
+CSV="$BASE/target/startup-benchmark.csv"
+
+: "${BENCH_USERNAME:?set BENCH_USERNAME to an existing account}"
+: "${BENCH_PASSWORD:?set BENCH_PASSWORD}"
+BODY="{\"username\":\"${BENCH_USERNAME}\",\"password\":\"${BENCH_PASSWORD}\"}"
+
+now_ms() { date +%s%3N; }
+
+# run_once <label> <command...> -> prints milliseconds to first 200
+run_once() {
+  local label="$1"; shift
+  local start pid elapsed
+  start=$(now_ms)
+  "$@" --server.port="$PORT" > "$BASE/target/startup-$label.log" 2>&1 &
+  pid=$!
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' -H 'Content-Type: application/json' -d "$BODY" "$URL")" = "200" ]; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "$label: application exited, see target/startup-$label.log" >&2
+      return 1
+    fi
+    sleep 0.05
+  done
+  elapsed=$(( $(now_ms) - start ))
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+  echo "$elapsed"
+}
+
+bench() {
+  local label="$1"; shift
+  local total=0 best=999999 ms
+  for i in $(seq 1 "$RUNS"); do
+    ms=$(run_once "$label" "$@")
+    total=$((total + ms)); [ "$ms" -lt "$best" ] && best=$ms
+    echo "$(date -Iseconds),$label,$i,$ms" >> "$CSV"
+    echo "  $label run $i: ${ms} ms"
+  done
+  echo "$label: best ${best} ms, mean $((total / RUNS)) ms over $RUNS runs"
+}
+
+[ -f "$CSV" ] || echo "timestamp,variant,run,ms_to_first_request" > "$CSV"
+echo "Default: java -jar $(basename "$JAR")"
+bench default java -jar "$JAR"
+echo "Fast startup: scripts/run-fast.sh (AOT + CDS)"
+bench fast-startup "$BASE/scripts/run-fast.sh"
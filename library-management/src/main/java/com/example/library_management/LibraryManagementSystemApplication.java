@@ -2,8 +2,10 @@ package com.example.library_management;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // background jobs such as loan archival
 public class LibraryManagementSystemApplication {
 
 	public static void main(String[] args) {
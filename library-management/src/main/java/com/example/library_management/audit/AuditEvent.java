@@ -0,0 +1,58 @@
+package com.example.library_management.audit;
+
+import java.time.Instant;
+
+/**
+ * One entry of the audit trail: who did what to which loan or member, and when.
+ * The sequence number is assigned when the entry is written to the log (0 until then).
+ */
+public class AuditEvent {
+
+    private final long sequence;
+    private final long timestampMillis;
+    private final String actor;
+    private final String branch;
+    private final String action;
+    private final String aggregateType;
+    private final Long aggregateId;
+    private final String detail;
+
+    public AuditEvent(long timestampMillis, String actor, String branch, String action,
+                      String aggregateType, Long aggregateId, String detail) {
+        this(0L, timestampMillis, actor, branch, action, aggregateType, aggregateId, detail);
+    }
+
+    AuditEvent(long sequence, long timestampMillis, String actor, String branch, String action,
+               String aggregateType, Long aggregateId, String detail) {
+        this.sequence = sequence;
+        this.timestampMillis = timestampMillis;
+        this.actor = actor;
+        this.branch = branch;
+        this.action = action;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.detail = detail;
+    }
+
+    // Position in the log; gap-free and increasing across segments
+    public long getSequence() { return sequence; }
+
+    public Instant getTimestamp() { return Instant.ofEpochMilli(timestampMillis); }
+
+    long getTimestampMillis() { return timestampMillis; }
+
+    // Username of the authenticated caller, or "system" for scheduled jobs
+    public String getActor() { return actor; }
+
+    public String getBranch() { return branch; }
+
+    // Event type name, e.g. LOAN_BORROWED
+    public String getAction() { return action; }
+
+    public String getAggregateType() { return aggregateType; }
+
+    public Long getAggregateId() { return aggregateId; }
+
+    // Event payload as JSON (ids, dates, amounts)
+    public String getDetail() { return detail; }
+}
@@ -0,0 +1,141 @@
+package com.example.library_management.audit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Sequential reader over the audit log segments, for investigations.
+ *
+ * Segments are visited in sequence order, skipping those that end before the requested sequence.
+ * Reading stops at the first record that is incomplete or fails its checksum, which is where a
+ * crash (or the writer, right now) left off. Safe to use while the log is being written.
+ */
+public class AuditLogReader {
+
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+
+    private final Path directory;
+
+    public AuditLogReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Visits events with sequence >= fromSequence in order, until the visitor returns false
+     * or the end of the log is reached.
+     */
+    public void read(long fromSequence, Predicate<AuditEvent> visitor) throws IOException {
+        List<Segment> segments = segments(directory);
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && segments.get(i + 1).firstSequence() <= fromSequence) {
+                continue; // ends before fromSequence
+            }
+            ScanResult result = scan(segments.get(i).path(),
+                    event -> event.getSequence() < fromSequence || visitor.test(event));
+            if (result.stopped()) {
+                return;
+            }
+        }
+    }
+
+    // Up to limit events with sequence >= fromSequence that match the filter, oldest first
+    public List<AuditEvent> find(long fromSequence, int limit, Predicate<AuditEvent> filter) throws IOException {
+        List<AuditEvent> found = new ArrayList<>(Math.min(limit, 1000));
+        read(fromSequence, event -> {
+            if (filter.test(event)) {
+                found.add(event);
+            }
+            return found.size() < limit;
+        });
+        return found;
+    }
+
+    // ──────────────────────────────────────────────
+    // Shared with AuditLogWriter (recovery)
+    // ──────────────────────────────────────────────
+    record Segment(long firstSequence, Path path) {}
+
+    // validBytes: length of the intact prefix; stopped: the visitor asked to stop
+    record ScanResult(long validBytes, long lastSequence, boolean stopped) {}
+
+    static List<Segment> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> new Segment(AuditRecords.firstSequence(path.getFileName().toString()), path))
+                    .filter(segment -> segment.firstSequence() >= 0)
+                    .sorted(Comparator.comparingLong(Segment::firstSequence))
+                    .toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    static ScanResult scan(Path segment, Predicate<AuditEvent> visitor) throws IOException {
+        long offset = 0;
+        long lastSequence = -1;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES).flip();
+            while (true) {
+                if (!fill(channel, buffer, AuditRecords.HEADER_BYTES)) {
+                    break;
+                }
+                int length = buffer.getInt(buffer.position());
+                int checksum = buffer.getInt(buffer.position() + 4);
+                if (length <= 0 || length > AuditRecords.MAX_BODY_BYTES) {
+                    break;
+                }
+                int recordBytes = AuditRecords.HEADER_BYTES + length;
+                buffer = withCapacity(buffer, recordBytes);
+                if (!fill(channel, buffer, recordBytes)) {
+                    break;
+                }
+                ByteBuffer body = buffer.slice(buffer.position() + AuditRecords.HEADER_BYTES, length);
+                if (!AuditRecords.checksumMatches(body, checksum)) {
+                    break;
+                }
+                AuditEvent event = AuditRecords.read(body);
+                buffer.position(buffer.position() + recordBytes);
+                offset += recordBytes;
+                lastSequence = event.getSequence();
+                if (!visitor.test(event)) {
+                    return new ScanResult(offset, lastSequence, true);
+                }
+            }
+        }
+        return new ScanResult(offset, lastSequence, false);
+    }
+
+    // Makes at least n bytes readable; false at end of file
+    private static boolean fill(FileChannel channel, ByteBuffer buffer, int n) throws IOException {
+        while (buffer.remaining() < n) {
+            buffer.compact();
+            int read = channel.read(buffer);
+            buffer.flip();
+            if (read < 0) {
+                return buffer.remaining() >= n;
+            }
+        }
+        return true;
+    }
+
+    private static ByteBuffer withCapacity(ByteBuffer buffer, int n) {
+        if (buffer.capacity() >= n) {
+            return buffer;
+        }
+        ByteBuffer larger = ByteBuffer.allocate(n);
+        larger.put(buffer).flip();
+        return larger;
+    }
+}
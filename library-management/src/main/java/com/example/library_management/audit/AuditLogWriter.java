@@ -0,0 +1,128 @@
+package com.example.library_management.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends audit events to a directory of segment files ({@code audit-<first sequence>.log}).
+ *
+ * A batch is encoded into one reusable direct buffer and written with a single channel write per
+ * segment it touches. When a segment would grow past segmentBytes it is forced to disk, closed and
+ * never written again; the next one starts at the following sequence. Between rotations, data reaches
+ * the disk when {@link #sync()} is called (the audit flusher does so periodically).
+ *
+ * On open, the last segment is scanned and cut back to its last intact record, so a crash during a
+ * write costs at most the records that were not yet synced. Not thread-safe: one writer thread.
+ */
+public class AuditLogWriter implements Closeable {
+
+    private static final int INITIAL_BUFFER_BYTES = 256 * 1024;
+
+    private final Path directory;
+    private final long segmentBytes;
+
+    private FileChannel channel;
+    private long segmentSize;
+    private long nextSequence = 1;
+    private long recoveredBytesDropped;
+    private boolean unsynced;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_BUFFER_BYTES);
+
+    public AuditLogWriter(Path directory, long segmentBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+
+        List<AuditLogReader.Segment> segments = AuditLogReader.segments(directory);
+        if (!segments.isEmpty()) {
+            AuditLogReader.Segment last = segments.get(segments.size() - 1);
+            AuditLogReader.ScanResult intact = AuditLogReader.scan(last.path(), event -> true);
+            nextSequence = intact.lastSequence() >= 0 ? intact.lastSequence() + 1 : last.firstSequence();
+            channel = FileChannel.open(last.path(), StandardOpenOption.WRITE);
+            recoveredBytesDropped = channel.size() - intact.validBytes();
+            if (recoveredBytesDropped > 0) {
+                channel.truncate(intact.validBytes());
+                channel.force(false);
+            }
+            channel.position(intact.validBytes());
+            segmentSize = intact.validBytes();
+        }
+    }
+
+    // Sequence the next appended event will get
+    public long nextSequence() {
+        return nextSequence;
+    }
+
+    // Bytes of a partly written record cut from the last segment on open
+    public long recoveredBytesDropped() {
+        return recoveredBytesDropped;
+    }
+
+    public void append(List<AuditEvent> events) throws IOException {
+        for (AuditEvent event : events) {
+            byte[][] strings = AuditRecords.strings(event);
+            int recordBytes = AuditRecords.recordBytes(strings);
+            if (recordBytes - AuditRecords.HEADER_BYTES > AuditRecords.MAX_BODY_BYTES) {
+                strings[4] = null; // oversized detail; the event itself is still recorded
+                recordBytes = AuditRecords.recordBytes(strings);
+            }
+
+            long pending = segmentSize + buffer.position();
+            if (channel == null || (pending > 0 && pending + recordBytes > segmentBytes)) {
+                writeBuffer();
+                rotate();
+            }
+            if (buffer.remaining() < recordBytes) {
+                writeBuffer();
+                if (buffer.capacity() < recordBytes) {
+                    buffer = ByteBuffer.allocateDirect(recordBytes);
+                }
+            }
+            AuditRecords.write(buffer, nextSequence++, event, strings);
+        }
+        writeBuffer();
+    }
+
+    // Forces written records to disk (file data only; sizes are recovered by scanning)
+    public void sync() throws IOException {
+        if (channel != null && unsynced) {
+            channel.force(false);
+            unsynced = false;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            sync();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            segmentSize += channel.write(buffer);
+            unsynced = true;
+        }
+        buffer.clear();
+    }
+
+    private void rotate() throws IOException {
+        if (channel != null) {
+            sync();
+            channel.close();
+        }
+        channel = FileChannel.open(directory.resolve(AuditRecords.segmentName(nextSequence)),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentSize = 0;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.library_management.audit;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * On-disk record format shared by {@link AuditLogWriter} and {@link AuditLogReader} (big-endian):
+ * <pre>
+ *   int  bodyLength
+ *   int  crc32(body)
+ *   body: long sequence, long timestampMillis, str actor, str branch, str action,
+ *         str aggregateType, long aggregateId (Long.MIN_VALUE = none), str detail
+ *   str:  int byteLength (-1 = null), UTF-8 bytes
+ * </pre>
+ * The length and checksum let a reader stop cleanly at a record that was only partly written.
+ */
+final class AuditRecords {
+
+    static final int HEADER_BYTES = 8;
+    static final int MAX_BODY_BYTES = 1 << 20;
+    static final String SEGMENT_PREFIX = "audit-";
+    static final String SEGMENT_SUFFIX = ".log";
+
+    private static final long NO_ID = Long.MIN_VALUE;
+
+    private AuditRecords() {
+    }
+
+    // Segment files are named after the first sequence they hold, zero-padded so they sort by name
+    static String segmentName(long firstSequence) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX);
+    }
+
+    // First sequence of a segment file, or -1 if the name is not a segment's
+    static long firstSequence(String fileName) {
+        if (!fileName.startsWith(SEGMENT_PREFIX) || !fileName.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Encoded strings of one event; computing them first gives the record size before anything is written
+    static byte[][] strings(AuditEvent event) {
+        return new byte[][]{bytes(event.getActor()), bytes(event.getBranch()), bytes(event.getAction()),
+                bytes(event.getAggregateType()), bytes(event.getDetail())};
+    }
+
+    static int recordBytes(byte[][] strings) {
+        int body = 8 + 8 + 8;
+        for (byte[] string : strings) {
+            body += 4 + (string == null ? 0 : string.length);
+        }
+        return HEADER_BYTES + body;
+    }
+
+    // Writes a full record at the buffer's position; the buffer must have recordBytes(strings) remaining
+    static void write(ByteBuffer buffer, long sequence, AuditEvent event, byte[][] strings) {
+        int start = buffer.position();
+        buffer.position(start + HEADER_BYTES);
+        buffer.putLong(sequence);
+        buffer.putLong(event.getTimestampMillis());
+        putString(buffer, strings[0]);
+        putString(buffer, strings[1]);
+        putString(buffer, strings[2]);
+        putString(buffer, strings[3]);
+        buffer.putLong(event.getAggregateId() == null ? NO_ID : event.getAggregateId());
+        putString(buffer, strings[4]);
+        int end = buffer.position();
+
+        CRC32 crc = new CRC32();
+        ByteBuffer body = buffer.duplicate();
+        body.position(start + HEADER_BYTES).limit(end);
+        crc.update(body);
+        buffer.putInt(start, end - start - HEADER_BYTES);
+        buffer.putInt(start + 4, (int) crc.getValue());
+    }
+
+    // Decodes a body whose checksum has been verified
+    static AuditEvent read(ByteBuffer body) {
+        long sequence = body.getLong();
+        long timestamp = body.getLong();
+        String actor = getString(body);
+        String branch = getString(body);
+        String action = getString(body);
+        String aggregateType = getString(body);
+        long aggregateId = body.getLong();
+        String detail = getString(body);
+        return new AuditEvent(sequence, timestamp, actor, branch, action, aggregateType,
+                aggregateId == NO_ID ? null : aggregateId, detail);
+    }
+
+    static boolean checksumMatches(ByteBuffer body, int expected) {
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        return (int) crc.getValue() == expected;
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length);
+            buffer.put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
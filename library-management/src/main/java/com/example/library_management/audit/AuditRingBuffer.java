@@ -0,0 +1,87 @@
+package com.example.library_management.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue for many producers and one consumer (the audit flusher).
+ *
+ * Every slot carries a sequence number saying whose turn it is: a producer claims a position with
+ * one CAS on the tail and publishes the slot by advancing its sequence; the consumer takes slots in
+ * order once published and hands them back by advancing the sequence a lap ahead. A full buffer is
+ * reported to the producer instead of blocking it.
+ */
+public class AuditRingBuffer<T> {
+
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head; // written by the consumer only
+
+    public AuditRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two, got " + capacity);
+        }
+        this.slots = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    // Adds the item, or returns false at once if the buffer is full
+    public boolean offer(T item) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = item;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false; // the consumer has not freed this slot yet
+            } else {
+                position = tail.get(); // another producer took it
+            }
+        }
+    }
+
+    /**
+     * Moves up to max items, oldest first, into the sink. Consumer thread only.
+     * @return the number of items moved
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(List<? super T> sink, int max) {
+        long position = head;
+        int moved = 0;
+        while (moved < max) {
+            int index = (int) (position & mask);
+            if (sequences.getAcquire(index) != position + 1) {
+                break; // empty, or claimed but not yet published
+            }
+            sink.add((T) slots[index]);
+            slots[index] = null;
+            sequences.setRelease(index, position + slots.length);
+            position++;
+            moved++;
+        }
+        head = position;
+        return moved;
+    }
+
+    // Items claimed but not yet drained (approximate while producers are active)
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+}
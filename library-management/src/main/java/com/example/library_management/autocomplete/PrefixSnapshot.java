@@ -0,0 +1,253 @@
+package com.example.library_management.autocomplete;
+
+import com.example.library_management.util.LongLongHashMap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+/**
+ * Immutable autocomplete index over book titles and authors, built in one go and then only read.
+ *
+ * Suggestions (one per book title, one per distinct author) are stored in parallel arrays; their
+ * index terms (see {@link SearchText#terms}) are kept in one sorted String array, so a prefix is a
+ * binary search followed by a short forward scan. Prefixes that match too many terms to scan (all
+ * one- and two-character prefixes, and any longer prefix shared by more than SCAN_LIMIT terms, such
+ * as "the ") have their best suggestions precomputed at build time, so every prefix is ranked over
+ * all of its terms.
+ */
+public final class PrefixSnapshot {
+
+    // Prefixes up to this length are always answered from the precomputed lists
+    private static final int HOT_PREFIX_LENGTH = 2;
+    // Best suggestions kept per hot prefix (more than any page, so overlay filtering still leaves enough)
+    private static final int HOT_TOP = 50;
+    // Longer prefixes are precomputed too when they match more than this many terms; others are scanned
+    private static final int SCAN_LIMIT = 4096;
+
+    public static final PrefixSnapshot EMPTY = build(List.of(), new LongLongHashMap());
+
+    // Suggestions
+    private final String[] text;
+    private final long[] bookIds;   // 0 for author suggestions
+    private final long[] scores;
+
+    // Index terms, sorted, each pointing at its suggestion
+    private final String[] keys;
+    private final int[] targets;
+
+    private final Map<String, int[]> hot;
+    private final LongLongHashMap popularity;
+
+    private PrefixSnapshot(String[] text, long[] bookIds, long[] scores, String[] keys, int[] targets,
+                           Map<String, int[]> hot, LongLongHashMap popularity) {
+        this.text = text;
+        this.bookIds = bookIds;
+        this.scores = scores;
+        this.keys = keys;
+        this.targets = targets;
+        this.hot = hot;
+        this.popularity = popularity;
+    }
+
+    /**
+     * @param books      [id, title, author] rows
+     * @param popularity book id -> recent borrow count (missing = 0); kept for ranking overlay entries
+     */
+    public static PrefixSnapshot build(List<Object[]> books, LongLongHashMap popularity) {
+        int capacity = books.size() * 2;
+        String[] text = new String[capacity];
+        long[] bookIds = new long[capacity];
+        long[] scores = new long[capacity];
+        int suggestions = 0;
+
+        String[] termKeys = new String[16];
+        int[] termTargets = new int[16];
+        int terms = 0;
+
+        Map<String, Integer> authors = new HashMap<>();
+        for (Object[] row : books) {
+            long id = (Long) row[0];
+            long score = popularity.get(id, 0L);
+            String title = (String) row[1];
+            String author = (String) row[2];
+
+            String titleKey = SearchText.normalize(title);
+            if (!titleKey.isEmpty()) {
+                int index = suggestions++;
+                text[index] = title;
+                bookIds[index] = id;
+                scores[index] = score;
+                for (String term : SearchText.terms(titleKey)) {
+                    if (terms == termKeys.length) {
+                        termKeys = Arrays.copyOf(termKeys, terms * 2);
+                        termTargets = Arrays.copyOf(termTargets, terms * 2);
+                    }
+                    termKeys[terms] = term;
+                    termTargets[terms++] = index;
+                }
+            }
+
+            String authorKey = SearchText.normalize(author);
+            if (!authorKey.isEmpty()) {
+                Integer existing = authors.get(authorKey);
+                if (existing != null) {
+                    scores[existing] = Math.max(scores[existing], score); // an author ranks as their best book
+                    continue;
+                }
+                int index = suggestions++;
+                authors.put(authorKey, index);
+                text[index] = author;
+                scores[index] = score;
+                for (String term : SearchText.terms(authorKey)) {
+                    if (terms == termKeys.length) {
+                        termKeys = Arrays.copyOf(termKeys, terms * 2);
+                        termTargets = Arrays.copyOf(termTargets, terms * 2);
+                    }
+                    termKeys[terms] = term;
+                    termTargets[terms++] = index;
+                }
+            }
+        }
+
+        // Sort the terms (build time only, so boxing the order is fine)
+        String[] unsortedKeys = termKeys;
+        int[] unsortedTargets = termTargets;
+        Integer[] order = new Integer[terms];
+        for (int i = 0; i < terms; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparing((Integer i) -> unsortedKeys[i]).thenComparingInt(i -> unsortedTargets[i]));
+        String[] keys = new String[terms];
+        int[] targets = new int[terms];
+        for (int i = 0; i < terms; i++) {
+            keys[i] = unsortedKeys[order[i]];
+            targets[i] = unsortedTargets[order[i]];
+        }
+
+        PrefixSnapshot snapshot = new PrefixSnapshot(Arrays.copyOf(text, suggestions), Arrays.copyOf(bookIds, suggestions),
+                Arrays.copyOf(scores, suggestions), keys, targets, new HashMap<>(), popularity);
+        snapshot.precomputeHotPrefixes();
+        return snapshot;
+    }
+
+    /**
+     * @param prefix   normalised prefix
+     * @param excluded book ids whose title suggestion must be skipped (changed since the build)
+     * @return suggestion indexes, best first
+     */
+    public int[] suggest(String prefix, int limit, LongPredicate excluded) {
+        if (prefix.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+        Top top = new Top(limit);
+        int[] precomputed = hot.get(prefix);
+        if (precomputed != null) {
+            for (int index : precomputed) {
+                if (!isExcluded(index, excluded)) top.offer(index);
+            }
+        } else {
+            // Not precomputed, so at most SCAN_LIMIT terms (or a short prefix with no terms at all)
+            for (int i = lowerBound(prefix); i < keys.length && keys[i].startsWith(prefix); i++) {
+                if (!isExcluded(targets[i], excluded)) top.offer(targets[i]);
+            }
+        }
+        return top.result();
+    }
+
+    public String text(int index) { return text[index]; }
+
+    // Book id of a title suggestion; 0 for an author suggestion
+    public long bookId(int index) { return bookIds[index]; }
+
+    public long score(int index) { return scores[index]; }
+
+    public long popularity(long bookId) { return popularity.get(bookId, 0L); }
+
+    public int size() { return text.length; }
+
+    // ──────────────────────────────────────────────
+    // INTERNAL
+    // ──────────────────────────────────────────────
+    private boolean isExcluded(int index, LongPredicate excluded) {
+        return bookIds[index] != 0 && excluded.test(bookIds[index]);
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private void precomputeHotPrefixes() {
+        precomputeHotPrefixes(0, keys.length, 1);
+    }
+
+    // Terms sharing a prefix are contiguous, so each prefix of the given length within [from, to) is one
+    // run of the sorted array. A run too long to scan is precomputed and split again one character deeper.
+    private void precomputeHotPrefixes(int from, int to, int length) {
+        int start = from;
+        while (start < to) {
+            if (keys[start].length() < length) {
+                start++;
+                continue;
+            }
+            String prefix = keys[start].substring(0, length);
+            int end = start;
+            while (end < to && keys[end].startsWith(prefix)) {
+                end++;
+            }
+            if (length <= HOT_PREFIX_LENGTH || end - start > SCAN_LIMIT) {
+                Top top = new Top(HOT_TOP);
+                for (int i = start; i < end; i++) {
+                    top.offer(targets[i]);
+                }
+                hot.put(prefix, top.result());
+            }
+            if (end - start > SCAN_LIMIT || length < HOT_PREFIX_LENGTH) {
+                precomputeHotPrefixes(start, end, length + 1);
+            }
+            start = end;
+        }
+    }
+
+    // Best k distinct suggestions by score, then text; insertion into a small sorted buffer
+    private final class Top {
+        private final int[] best;
+        private int count;
+
+        Top(int k) {
+            best = new int[k];
+        }
+
+        void offer(int index) {
+            for (int i = 0; i < count; i++) {
+                if (best[i] == index) return;
+            }
+            if (count == best.length && !better(index, best[count - 1])) {
+                return;
+            }
+            int i = count == best.length ? count - 1 : count++;
+            while (i > 0 && better(index, best[i - 1])) {
+                best[i] = best[i - 1];
+                i--;
+            }
+            best[i] = index;
+        }
+
+        int[] result() {
+            return Arrays.copyOf(best, count);
+        }
+
+        private boolean better(int a, int b) {
+            if (scores[a] != scores[b]) return scores[a] > scores[b];
+            return text[a].compareTo(text[b]) < 0;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.library_management.branch;
+
+import java.util.function.Supplier;
+
+/**
+ * The branch the current thread is working for.
+ *
+ * Set per request by {@link BranchContextFilter} and per database by
+ * {@link BranchDatabases#forEachDatabase(Runnable)}; everything else (the routing DataSource,
+ * entity callbacks, branch-scoped queries) reads it from here. Threads with no branch selected
+ * work for the default branch.
+ */
+public final class BranchContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+    private static volatile String defaultBranch = "MAIN";
+
+    private BranchContext() {
+    }
+
+    public static String current() {
+        String branch = CURRENT.get();
+        return branch != null ? branch : defaultBranch;
+    }
+
+    public static String defaultBranch() {
+        return defaultBranch;
+    }
+
+    public static void set(String branch) {
+        CURRENT.set(branch);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    // Run work for another branch, restoring the caller's branch afterwards
+    public static <T> T call(String branch, Supplier<T> work) {
+        String previous = CURRENT.get();
+        CURRENT.set(branch);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void run(String branch, Runnable work) {
+        call(branch, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    static void setDefaultBranch(String branch) {
+        defaultBranch = branch;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.library_management.branch;
+
+import com.example.library_management.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+/**
+ * Selects the branch for a request: the {@code X-Branch} header if present (staff working at another
+ * branch), otherwise the branch of the logged-in member from their token, otherwise the default branch.
+ * Runs before the security chain so loading the user already goes to the right database.
+ *
+ * Only tokens with one of the switch-roles may name another branch than their own in the header; anyone
+ * else gets 403, since their member row (and so every loan they write) lives in their home database.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+public class BranchContextFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Branch";
+
+    @Autowired
+    private BranchDatabases branchDatabases;
+
+    @Autowired
+    private BranchProperties branchProperties;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Claims token = tokenClaims(request);
+        String tokenBranch = token == null ? null : token.get("branch", String.class);
+        String requested = request.getHeader(HEADER);
+        if (requested == null || requested.isBlank()) {
+            requested = tokenBranch;
+        } else if (!requested.equalsIgnoreCase(tokenBranch) && !maySwitchBranch(token)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Not allowed to act for branch: " + requested);
+            return;
+        }
+
+        if (requested != null) {
+            String branch = BranchDatabases.normalize(requested);
+            if (!branchDatabases.isKnown(branch)) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unknown branch: " + requested);
+                return;
+            }
+            BranchContext.set(branch);
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            BranchContext.clear();
+        }
+    }
+
+    private boolean maySwitchBranch(Claims token) {
+        String role = token == null ? null : token.get("role", String.class);
+        return role != null && branchProperties.getSwitchRoles().stream().anyMatch(role::equalsIgnoreCase);
+    }
+
+    // Invalid or expired tokens are JwtFilter's business; here they just mean "no branch" and "no role"
+    private Claims tokenClaims(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            return jwtUtil.extractClaim(header.substring(7), Function.identity());
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.library_management.branch;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Which database holds which branch.
+ *
+ * The main database (spring.datasource) holds the default branch plus {@code library.branches.codes};
+ * each entry of {@code library.branches.databases} holds its own branches. Several branches may share
+ * a database: their rows are told apart by the branch_code column, so branch-scoped queries always
+ * filter on it. Background jobs that work over all rows (outbox, archiving, reminders, in-memory
+ * indexes) run once per database through {@link #forEachDatabase(Runnable)}.
+ */
+public class BranchDatabases implements AutoCloseable {
+
+    public static final String MAIN = "main";
+
+    private final Map<String, DataSource> dataSources = new LinkedHashMap<>(); // main first
+    private final Map<String, String> databaseByBranch = new HashMap<>();
+    private final Map<String, String> homeBranchByDatabase = new HashMap<>();
+    private final Map<String, Long> idBaseByDatabase = new HashMap<>();
+
+    public BranchDatabases(BranchProperties properties, DataSource mainDataSource, Map<String, DataSource> branchDataSources) {
+        String defaultBranch = normalize(properties.getDefaultCode());
+        BranchContext.setDefaultBranch(defaultBranch);
+
+        addDatabase(MAIN, mainDataSource, 1, List.of(defaultBranch));
+        addDatabase(MAIN, mainDataSource, 1, properties.getCodes());
+
+        for (Map.Entry<String, BranchProperties.Database> entry : properties.getDatabases().entrySet()) {
+            String database = entry.getKey();
+            BranchProperties.Database config = entry.getValue();
+            if (MAIN.equals(database)) {
+                throw new IllegalStateException("'" + MAIN + "' is reserved for spring.datasource; use another database name");
+            }
+            if (config.getBranches().isEmpty()) {
+                throw new IllegalStateException("Branch database '" + database + "' has no branches");
+            }
+            addDatabase(database, branchDataSources.get(database), config.getIdBase(), config.getBranches());
+        }
+    }
+
+    private void addDatabase(String database, DataSource dataSource, long idBase, List<String> branches) {
+        if (dataSource == null) {
+            throw new IllegalStateException("No DataSource for branch database '" + database + "'");
+        }
+        dataSources.putIfAbsent(database, dataSource);
+        idBaseByDatabase.putIfAbsent(database, idBase);
+        for (String code : branches) {
+            String branch = normalize(code);
+            String existing = databaseByBranch.putIfAbsent(branch, database);
+            if (existing != null && !existing.equals(database)) {
+                throw new IllegalStateException("Branch " + branch + " is configured for databases '" + existing + "' and '" + database + "'");
+            }
+            homeBranchByDatabase.putIfAbsent(database, branch);
+        }
+    }
+
+    public static String normalize(String code) {
+        return code == null ? null : code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public boolean isKnown(String branch) {
+        return branch != null && databaseByBranch.containsKey(branch);
+    }
+
+    public Set<String> branches() {
+        return Collections.unmodifiableSet(databaseByBranch.keySet());
+    }
+
+    // Unknown branches (only possible from code, requests are checked by BranchContextFilter) use the main database
+    public String databaseFor(String branch) {
+        return databaseByBranch.getOrDefault(branch, MAIN);
+    }
+
+    public String currentDatabase() {
+        return databaseFor(BranchContext.current());
+    }
+
+    public Map<String, DataSource> dataSources() {
+        return Collections.unmodifiableMap(dataSources);
+    }
+
+    public long idBase(String database) {
+        return idBaseByDatabase.get(database);
+    }
+
+    // The branch a database's jobs run as (and that its pre-branch rows were assigned to)
+    public String homeBranch(String database) {
+        return homeBranchByDatabase.get(database);
+    }
+
+    // Run work once against every database, with the thread routed to that database
+    public void forEachDatabase(Runnable work) {
+        for (String database : dataSources.keySet()) {
+            BranchContext.run(homeBranch(database), work);
+        }
+    }
+
+    // Close the pools of the separate branch databases; the main pool belongs to the context
+    @Override
+    public void close() throws Exception {
+        for (Map.Entry<String, DataSource> entry : dataSources.entrySet()) {
+            if (!MAIN.equals(entry.getKey()) && entry.getValue() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
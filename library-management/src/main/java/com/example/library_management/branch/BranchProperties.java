@@ -0,0 +1,100 @@
+package com.example.library_management.branch;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Branches and where their data lives:
+ *
+ * <pre>
+ * library.branches.default-code=MAIN
+ * library.branches.codes=MAIN,EAST
+ * library.branches.switch-roles=ADMIN
+ * library.branches.databases.north.url=jdbc:mysql://north-db:3306/library
+ * library.branches.databases.north.r2dbc-url=r2dbc:mysql://north-db:3306/library
+ * library.branches.databases.north.branches=NORTH
+ * library.branches.databases.north.id-base=1000000000
+ * </pre>
+ *
+ * Branches listed in {@code codes} share the main {@code spring.datasource}; branches listed under a
+ * database get their own pool. Each separate database starts its identity columns at {@code id-base}
+ * so book, member and loan ids stay unique across databases (in-memory indexes are keyed by id).
+ */
+@ConfigurationProperties(prefix = "library.branches")
+public class BranchProperties {
+
+    private String defaultCode = "MAIN";
+
+    // Branches stored in the main database (the default branch is always one of them)
+    private List<String> codes = new ArrayList<>();
+
+    // Roles that may work at another branch than their own (X-Branch header)
+    private List<String> switchRoles = new ArrayList<>(List.of("ADMIN"));
+
+    // Keyed by a free-form database name, e.g. "north"
+    private Map<String, Database> databases = new LinkedHashMap<>();
+
+    public String getDefaultCode() { return defaultCode; }
+
+    public void setDefaultCode(String defaultCode) { this.defaultCode = defaultCode; }
+
+    public List<String> getCodes() { return codes; }
+
+    public void setCodes(List<String> codes) { this.codes = codes; }
+
+    public List<String> getSwitchRoles() { return switchRoles; }
+
+    public void setSwitchRoles(List<String> switchRoles) { this.switchRoles = switchRoles; }
+
+    public Map<String, Database> getDatabases() { return databases; }
+
+    public void setDatabases(Map<String, Database> databases) { this.databases = databases; }
+
+    public static class Database {
+
+        private String url;
+        private String r2dbcUrl; // same database for the reactive catalogue reads, e.g. r2dbc:mysql://north-db:3306/library
+        private String username;
+        private String password;
+        private String driverClassName;
+        private List<String> branches = new ArrayList<>();
+        private long idBase = 1;
+        private int maximumPoolSize = 10;
+
+        public String getUrl() { return url; }
+
+        public void setUrl(String url) { this.url = url; }
+
+        public String getR2dbcUrl() { return r2dbcUrl; }
+
+        public void setR2dbcUrl(String r2dbcUrl) { this.r2dbcUrl = r2dbcUrl; }
+
+        public String getUsername() { return username; }
+
+        public void setUsername(String username) { this.username = username; }
+
+        public String getPassword() { return password; }
+
+        public void setPassword(String password) { this.password = password; }
+
+        public String getDriverClassName() { return driverClassName; }
+
+        public void setDriverClassName(String driverClassName) { this.driverClassName = driverClassName; }
+
+        public List<String> getBranches() { return branches; }
+
+        public void setBranches(List<String> branches) { this.branches = branches; }
+
+        public long getIdBase() { return idBase; }
+
+        public void setIdBase(long idBase) { this.idBase = idBase; }
+
+        public int getMaximumPoolSize() { return maximumPoolSize; }
+
+        public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.library_management.branch;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reactive counterpart of {@link BranchRoutingDataSource}. Reactive pipelines hop threads, so the
+ * target database travels in the Reactor context ({@link #routeTo(String)}) instead of a ThreadLocal;
+ * pipelines without one use the main database.
+ */
+public class BranchRoutingConnectionFactory extends AbstractRoutingConnectionFactory implements DisposableBean {
+
+    private static final String DATABASE_KEY = BranchRoutingConnectionFactory.class.getName() + ".database";
+
+    private final Map<String, ConnectionFactory> targets;
+
+    // Keyed by database name as in BranchDatabases; must include BranchDatabases.MAIN
+    public BranchRoutingConnectionFactory(Map<String, ConnectionFactory> targets) {
+        this.targets = Map.copyOf(targets);
+        setTargetConnectionFactories(new HashMap<>(targets));
+        setDefaultTargetConnectionFactory(targets.get(BranchDatabases.MAIN));
+    }
+
+    // For contextWrite(..) at the end of a pipeline that reads one branch database
+    public static Function<Context, Context> routeTo(String database) {
+        return context -> context.put(DATABASE_KEY, database);
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(context.getOrEmpty(DATABASE_KEY)));
+    }
+
+    // Close the connection pools
+    @Override
+    public void destroy() {
+        for (ConnectionFactory target : targets.values()) {
+            if (target instanceof Disposable pool) {
+                pool.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.library_management.branch;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out connections from the database holding the current thread's branch ({@link BranchContext}).
+ *
+ * The lookup happens when a connection is taken, i.e. at the start of a transaction: switching
+ * branch inside a transaction keeps using the first database.
+ */
+public class BranchRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final BranchDatabases databases;
+
+    public BranchRoutingDataSource(BranchDatabases databases) {
+        this.databases = databases;
+        Map<Object, Object> targets = new HashMap<>(databases.dataSources());
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(databases.dataSources().get(BranchDatabases.MAIN));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return databases.currentDatabase();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.library_management.config;
+
+import com.example.library_management.branch.BranchDatabases;
+import com.example.library_management.branch.BranchProperties;
+import com.example.library_management.branch.BranchRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource with one that routes each connection to the database of
+ * the current branch (see {@link BranchDatabases}). With no {@code library.branches.databases}
+ * configured there is a single target, the usual spring.datasource pool, and nothing changes.
+ */
+@Configuration
+@EnableConfigurationProperties({BranchProperties.class, DataSourceProperties.class})
+public class BranchDataSourceConfig {
+
+    // The spring.datasource pool, configured as Boot would (spring.datasource.hikari.* applies)
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource mainDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public BranchDatabases branchDatabases(BranchProperties properties, HikariDataSource mainDataSource) {
+        Map<String, DataSource> branchDataSources = new LinkedHashMap<>();
+        properties.getDatabases().forEach((name, database) -> {
+            DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(database.getUrl())
+                    .username(database.getUsername())
+                    .password(database.getPassword());
+            if (database.getDriverClassName() != null) {
+                builder.driverClassName(database.getDriverClassName());
+            }
+            HikariDataSource pool = builder.build();
+            pool.setPoolName("branch-" + name);
+            pool.setMaximumPoolSize(database.getMaximumPoolSize());
+            branchDataSources.put(name, pool);
+        });
+        return new BranchDatabases(properties, mainDataSource, branchDataSources);
+    }
+
+    // What JPA, Flyway and JdbcTemplate see
+    @Bean
+    @Primary
+    public DataSource dataSource(BranchDatabases branchDatabases) {
+        return new BranchRoutingDataSource(branchDatabases);
+    }
+
+    /**
+     * Runs the same migrations against every database. Each one gets its own identity start
+     * (${idBase}, so ids never collide across databases) and its own branch for existing rows
+     * (${defaultBranch}).
+     */
+    @Bean
+    public FlywayMigrationStrategy branchMigrationStrategy(BranchDatabases branchDatabases) {
+        return flyway -> branchDatabases.dataSources().forEach((database, dataSource) -> {
+            Map<String, String> placeholders = new HashMap<>(flyway.getConfiguration().getPlaceholders());
+            placeholders.put("idBase", Long.toString(branchDatabases.idBase(database)));
+            placeholders.put("defaultBranch", branchDatabases.homeBranch(database));
+            Flyway.configure()
+                    .configuration(flyway.getConfiguration())
+                    .dataSource(dataSource)
+                    .placeholders(placeholders)
+                    .load()
+                    .migrate();
+        });
+    }
+}
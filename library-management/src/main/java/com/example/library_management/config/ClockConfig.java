@@ -0,0 +1,22 @@
+package com.example.library_management.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+/**
+ * Provides the business-date clock. Services read {@code LocalDate.now(clock)} once per operation
+ * and pass that date down, so every check in one request sees the same "today" and tests can
+ * substitute a fixed clock.
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock businessClock(@Value("${library.business-zone:}") String zone) {
+        return zone.isBlank() ? Clock.systemDefaultZone() : Clock.system(ZoneId.of(zone));
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.library_management.config;
+
+import com.example.library_management.json.ListSerializationModule;
+import com.fasterxml.jackson.databind.Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * JSON output for large list responses: hand-written serializers for the list element types,
+ * picked up by the auto-configured ObjectMapper. Bodies are streamed to the client as they are
+ * written (see ETagGzipFilter) rather than buffered whole.
+ */
+@Configuration
+public class JsonConfig {
+
+    @Bean
+    public Module listSerializationModule(Clock clock) {
+        return new ListSerializationModule(clock);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.library_management.config;
+
+import com.example.library_management.branch.BranchDatabases;
+import com.example.library_management.branch.BranchProperties;
+import com.example.library_management.branch.BranchRoutingConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * R2DBC connections for the non-blocking catalogue reads (ReactiveCatalogueService). Writes and
+ * everything transactional stay on JPA; this side only ever reads.
+ *
+ * The main database uses spring.r2dbc.*, each separate branch database its
+ * {@code library.branches.databases.<name>.r2dbc-url} with the same credentials as its JDBC pool.
+ */
+@Configuration
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class ReactiveDatabaseConfig {
+
+    @Bean
+    public ConnectionFactory connectionFactory(R2dbcProperties properties, BranchProperties branchProperties) {
+        Map<String, ConnectionFactory> targets = new HashMap<>();
+        targets.put(BranchDatabases.MAIN, pool("main", properties.getUrl(), properties.getUsername(),
+                properties.getPassword(), properties.getPool().getMaxSize()));
+        branchProperties.getDatabases().forEach((name, database) -> {
+            if (database.getR2dbcUrl() == null) {
+                throw new IllegalStateException("library.branches.databases." + name + ".r2dbc-url is not set");
+            }
+            targets.put(name, pool("branch-" + name, database.getR2dbcUrl(), database.getUsername(),
+                    database.getPassword(), database.getMaximumPoolSize()));
+        });
+        return new BranchRoutingConnectionFactory(targets);
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    private static ConnectionPool pool(String name, String url, String username, String password, int maxSize) {
+        if (url == null) {
+            throw new IllegalStateException("No R2DBC url for the " + name + " database (spring.r2dbc.url)");
+        }
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (username != null && !username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (password != null && !password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name(name)
+                .maxSize(maxSize)
+                .build());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.library_management.controller;
+
+import com.example.library_management.audit.AuditEvent;
+import com.example.library_management.service.AuditService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for the audit trail of circulation and admin changes.
+ * Pages are read sequentially from the log; pass the last sequence + 1 as fromSequence for the next page.
+ */
+@RestController
+@RequestMapping("/api/audit")
+@CrossOrigin(origins = "http://localhost:5173")
+public class AuditController {
+
+    @Autowired
+    private AuditService auditService;
+
+    // ──────────────────────────────────────────────
+    // ADMIN: Audit events from a sequence number, optionally filtered
+    // ──────────────────────────────────────────────
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    public ResponseEntity<List<AuditEvent>> getEvents(@RequestParam(defaultValue = "1") long fromSequence,
+                                                      @RequestParam(defaultValue = "100") int limit,
+                                                      @RequestParam(required = false) String action,
+                                                      @RequestParam(required = false) String actor,
+                                                      @RequestParam(required = false) String aggregateType,
+                                                      @RequestParam(required = false) Long aggregateId) {
+        try {
+            return ResponseEntity.ok(auditService.search(Math.max(1, fromSequence), Math.max(1, Math.min(limit, 1000)),
+                    action, actor, aggregateType, aggregateId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
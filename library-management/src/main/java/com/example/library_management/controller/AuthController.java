@@ -3,7 +3,7 @@ package com.example.library_management.controller;
 import com.example.library_management.dto.AuthRequest;
 import com.example.library_management.dto.AuthResponse;
 import com.example.library_management.model.Member;
-import com.example.library_management.repository.MemberRepository;
+import com.example.library_management.service.MemberDirectory;
 import com.example.library_management.util.JwtUtil;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,7 +29,7 @@ public class AuthController {
     private JwtUtil jwtUtil;
 
     @Autowired
-    private MemberRepository memberRepository;
+    private MemberDirectory memberDirectory;
 
     @PostMapping("/login")
     public ResponseEntity<?> createToken(@RequestBody AuthRequest authRequest) {
@@ -48,14 +48,14 @@ public class AuthController {
                 .body("Authentication failed");
         }
 
-        Optional<Member> optionalMember = memberRepository.findByUsername(authRequest.getUsername());
+        Optional<Member> optionalMember = memberDirectory.findByUsername(authRequest.getUsername());
 
         if (optionalMember.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
         }
 
         Member member = optionalMember.get();
-        String jwt = jwtUtil.generateToken(member.getUsername(), member.getRole(), member.getId());
+        String jwt = jwtUtil.generateToken(member.getUsername(), member.getRole(), member.getId(), member.getBranchCode());
 
         AuthResponse response = new AuthResponse(jwt, member.getUsername(), member.getRole(), member.getId());
         return ResponseEntity.ok(response);
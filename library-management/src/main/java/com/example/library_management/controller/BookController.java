@@ -1,12 +1,17 @@
 package com.example.library_management.controller;
 
+import com.example.library_management.dto.SuggestionDTO;
 import com.example.library_management.model.Book;
+import com.example.library_management.service.AutocompleteIndex;
 import com.example.library_management.service.BookService;
-import com.example.library_management.repository.BookRepository;
+import com.example.library_management.service.RecommendationService;
+import com.example.library_management.web.ConditionalGet;
+import com.example.library_management.web.ResourceVersions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -23,15 +28,30 @@ public class BookController {
     private BookService bookService;
 
     @Autowired
-    private BookRepository bookRepository;
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private AutocompleteIndex autocompleteIndex;
 
     // ─────────────────────────────────────────────
-    // ADMIN: Get all books
+    // ADMIN: Get all books (ETag; 304 if the catalogue is unchanged)
     // ─────────────────────────────────────────────
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public List<Book> getAllBooks() {
-        return bookService.getAllBooks();
+    public ResponseEntity<List<Book>> getAllBooks(WebRequest request) {
+        return ConditionalGet.ifModified(request, resourceVersions.catalogueTag(), bookService::getAllBooks);
+    }
+
+    // ─────────────────────────────────────────────
+    // MEMBER / ADMIN: Search-box suggestions for a title or author prefix (in memory, no database query)
+    // ─────────────────────────────────────────────
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MEMBER')")
+    @GetMapping("/suggest")
+    public List<SuggestionDTO> suggest(@RequestParam("q") String query, @RequestParam(defaultValue = "10") int limit) {
+        return autocompleteIndex.suggest(query, Math.max(1, Math.min(limit, 20)));
     }
 
     // ─────────────────────────────────────────────
@@ -46,16 +66,25 @@ public class BookController {
     }
 
     // ─────────────────────────────────────────────
-    // ADMIN: Get book by ISBN
+    // ADMIN: Get book by ISBN (ISBN-10 or ISBN-13, hyphens optional)
     // ─────────────────────────────────────────────
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/isbn/{isbn}")
     public ResponseEntity<Book> getBookByIsbn(@PathVariable String isbn) {
-        return bookRepository.findByIsbn(isbn)
+        return bookService.findByIsbn(isbn)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // ─────────────────────────────────────────────
+    // MEMBER / ADMIN: Books often borrowed together with this one, best first
+    // ─────────────────────────────────────────────
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MEMBER')")
+    @GetMapping("/{id}/related")
+    public List<Book> getRelatedBooks(@PathVariable Long id, @RequestParam(defaultValue = "10") int limit) {
+        return recommendationService.getRelatedBooks(id, Math.max(1, Math.min(limit, 20)));
+    }
+
     // ─────────────────────────────────────────────
     // ADMIN: Add new book
     // ─────────────────────────────────────────────
@@ -1,14 +1,27 @@
 package com.example.library_management.controller;
 
+import com.example.library_management.dto.BulkRenewalResult;
 import com.example.library_management.dto.LoanSearchDTO;
 import com.example.library_management.dto.CreateLoanRequest;
+import com.example.library_management.dto.LoanHistoryDTO;
+import com.example.library_management.dto.OverdueReportPage;
 import com.example.library_management.model.Loan;
+import com.example.library_management.repository.FieldSelection;
+import com.example.library_management.service.BulkRenewalService;
+import com.example.library_management.service.LoanArchiveService;
 import com.example.library_management.service.LoanService;
+import com.example.library_management.service.OverdueReportService;
+import com.example.library_management.service.ReminderService;
+import com.example.library_management.web.ConditionalGet;
+import com.example.library_management.web.ResourceVersions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.security.Principal;
 import java.util.List;
 
 @RestController
@@ -19,22 +32,70 @@ public class LoanController {
     @Autowired
     private LoanService loanService;
 
+    @Autowired
+    private LoanArchiveService loanArchiveService;
+
+    @Autowired
+    private ReminderService reminderService;
+
+    @Autowired
+    private BulkRenewalService bulkRenewalService;
+
+    @Autowired
+    private OverdueReportService overdueReportService;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     // ──────────────────────────────────────────────
     // ADMIN: Retrieve all loans in the system
+    // (?fields=id,memberName,dueDate,... returns only those fields; 400 for an unknown one)
     // ──────────────────────────────────────────────
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public List<Loan> getAllLoans() {
-        return loanService.getAllLoans();
+    public ResponseEntity<List<?>> getAllLoans(@RequestParam(required = false) String fields) {
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, FieldSelection.LOAN_FIELDS);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(selection == null ? loanService.getAllLoans() : loanService.getAllLoans(selection));
     }
 
     // ──────────────────────────────────────────────
-    // MEMBER: Retrieve loans for current logged-in user
+    // MEMBER: Retrieve loans for current logged-in user (ETag; 304 if unchanged; optional ?fields=)
     // ──────────────────────────────────────────────
     @PreAuthorize("hasRole('ADMIN') or hasRole('MEMBER')")
     @GetMapping("/my")
-    public List<Loan> getMyLoans() {
-        return loanService.getLoansForCurrentMember();
+    public ResponseEntity<List<?>> getMyLoans(WebRequest request, Principal principal,
+                                              @RequestParam(required = false) String fields) {
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, FieldSelection.LOAN_FIELDS);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        String etag = resourceVersions.memberTag(principal.getName());
+        if (selection != null) {
+            return ConditionalGet.ifModified(request, selection.tag(etag), () -> loanService.getLoansForCurrentMember(selection));
+        }
+        return ConditionalGet.ifModified(request, etag, loanService::getLoansForCurrentMember);
+    }
+
+    // ──────────────────────────────────────────────
+    // ADMIN: Branch-wide overdue report (keyset pages; sort=days or fine)
+    // ──────────────────────────────────────────────
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/overdue")
+    public ResponseEntity<OverdueReportPage> getOverdueReport(@RequestParam(defaultValue = "days") String sort,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(overdueReportService.getOverdueReport(sort, cursor, Math.max(1, Math.min(size, 200))));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(400).body(null);
+        }
     }
 
     // ──────────────────────────────────────────────
@@ -104,6 +165,28 @@ public class LoanController {
         }
     }
 
+    // ──────────────────────────────────────────────
+    // ADMIN: Renew every eligible open loan of the branch (e.g. during a closure)
+    // ──────────────────────────────────────────────
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/renew-all")
+    public ResponseEntity<BulkRenewalResult> renewAllLoans() {
+        return ResponseEntity.ok(bulkRenewalService.renewAllOpenLoans());
+    }
+
+    // ──────────────────────────────────────────────
+    // ADMIN: Renew every eligible open loan of a member
+    // ──────────────────────────────────────────────
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/member/{memberId}/renew-all")
+    public ResponseEntity<BulkRenewalResult> renewAllLoansForMember(@PathVariable Long memberId) {
+        try {
+            return ResponseEntity.ok(bulkRenewalService.renewLoansForMember(memberId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404).body(null);
+        }
+    }
+
     // ──────────────────────────────────────────────
     // ADMIN: Delete a loan by ID
     // ──────────────────────────────────────────────
@@ -126,4 +209,53 @@ public class LoanController {
     public List<LoanSearchDTO> searchLoansByMemberName(@RequestParam String name) {
         return loanService.searchLoansByMemberName(name);
     }
+
+    // ──────────────────────────────────────────────
+    // MEMBER: Archived borrowing history of the current user
+    // ──────────────────────────────────────────────
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MEMBER')")
+    @GetMapping("/history/my")
+    public Page<LoanHistoryDTO> getMyLoanHistory(@RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        return loanArchiveService.getHistoryForCurrentMember(page, Math.min(size, 100));
+    }
+
+    // ──────────────────────────────────────────────
+    // ADMIN: Archived borrowing history of a member
+    // ──────────────────────────────────────────────
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/history/member/{memberId}")
+    public Page<LoanHistoryDTO> getMemberLoanHistory(@PathVariable Long memberId,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "20") int size) {
+        return loanArchiveService.getHistoryForMember(memberId, page, Math.min(size, 100));
+    }
+
+    // ──────────────────────────────────────────────
+    // ADMIN: Run the archival job now
+    // ──────────────────────────────────────────────
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/archive")
+    public ResponseEntity<String> archiveReturnedLoans() {
+        try {
+            int archived = loanArchiveService.archiveReturnedLoans();
+            return ResponseEntity.ok("Archived " + archived + " loans");
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body("Archival failed: " + e.getMessage());
+        }
+    }
+
+    // ──────────────────────────────────────────────
+    // ADMIN: Run (or resume) today's due-date reminders now
+    // ──────────────────────────────────────────────
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/reminders/run")
+    public ResponseEntity<String> runReminders() {
+        try {
+            int sent = reminderService.runReminders();
+            return ResponseEntity.ok("Reminders sent to " + sent + " members");
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body("Reminder run failed: " + e.getMessage());
+        }
+    }
 }
\ No newline at end of file
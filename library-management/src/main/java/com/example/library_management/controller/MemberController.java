@@ -1,8 +1,18 @@
 package com.example.library_management.controller;
 
+import com.example.library_management.dto.MemberAccountSummaryDTO;
+import com.example.library_management.dto.MemberCleanupResult;
+import com.example.library_management.dto.MemberSummaryDTO;
+import com.example.library_management.dto.MembershipRenewalResult;
 import com.example.library_management.model.Loan;
 import com.example.library_management.model.Member;
+import com.example.library_management.repository.FieldSelection;
+import com.example.library_management.service.LoanService;
+import com.example.library_management.service.MemberCleanupService;
 import com.example.library_management.service.MemberService;
+import com.example.library_management.service.MembershipService;
+import com.example.library_management.web.ConditionalGet;
+import com.example.library_management.web.ResourceVersions;
 import jakarta.validation.Valid;
 import org.slf4j.Logger; // Import Logger
 import org.slf4j.LoggerFactory; // Import LoggerFactory
@@ -12,6 +22,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication; // Import Authentication
 import org.springframework.security.core.context.SecurityContextHolder; // Import SecurityContextHolder
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -26,33 +37,67 @@ public class MemberController {
     @Autowired
     private MemberService memberService;
 
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private MemberCleanupService memberCleanupService;
+
     // ───────────────────────────────────────
     // 🔐 ADMIN ENDPOINTS (Role: ADMIN only)
     // ───────────────────────────────────────
 
     /**
-     * Retrieves all members. Only accessible by users with 'ADMIN' role.
-     * @return A list of all members.
+     * Retrieves all members of the current branch. Only accessible by users with 'ADMIN' role.
+     * Members come back as summaries (no loans, no password hash); ?fields=id,name,... narrows them
+     * to the listed fields, and only those columns are queried.
+     * @param fields Optional comma-separated member fields (see FieldSelection.MEMBER_FIELDS).
+     * @return A list of all members, or 400 for an unknown field.
      */
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<List<Member>> getAllMembers() {
+    public ResponseEntity<List<?>> getAllMembers(@RequestParam(required = false) String fields) {
         logger.info("ADMIN: Attempting to fetch all members.");
-        List<Member> members = memberService.getAllMembers();
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, FieldSelection.MEMBER_FIELDS);
+        } catch (RuntimeException e) {
+            logger.warn("ADMIN: Rejected member fields '{}': {}", fields, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        List<?> members = selection == null ? memberService.getAllMembers() : memberService.getAllMembers(selection);
         logger.info("ADMIN: Fetched {} members.", members.size());
         return ResponseEntity.ok(members);
     }
 
     /**
      * Searches members by name. Only accessible by users with 'ADMIN' role.
+     * Returns member summaries, or only the fields listed in ?fields=.
      * @param name The name to search for.
-     * @return A list of members matching the name.
+     * @param fields Optional comma-separated member fields.
+     * @return A list of members matching the name, or 400 for an unknown field.
      */
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/search")
-    public ResponseEntity<List<Member>> searchMembersByName(@RequestParam String name) {
+    public ResponseEntity<List<?>> searchMembersByName(@RequestParam String name,
+                                                       @RequestParam(required = false) String fields) {
         logger.info("ADMIN: Searching members by name: {}", name);
-        List<Member> members = memberService.searchMembersByName(name);
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, FieldSelection.MEMBER_FIELDS);
+        } catch (RuntimeException e) {
+            logger.warn("ADMIN: Rejected member fields '{}': {}", fields, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        List<?> members = selection == null
+                ? memberService.searchMembersByName(name)
+                : memberService.searchMembersByName(name, selection);
         logger.info("ADMIN: Found {} members matching name: {}", members.size(), name);
         return ResponseEntity.ok(members);
     }
@@ -155,6 +200,84 @@ public class MemberController {
         }
     }
 
+    /**
+     * Deactivates many members at once, in chunks of set-based updates. Only accessible by users with 'ADMIN' role.
+     * @param ids The IDs of the members to deactivate (unknown or already inactive IDs are ignored).
+     * @return ResponseEntity containing how many members were deactivated.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/bulk/deactivate")
+    public ResponseEntity<MemberCleanupResult> deactivateMembers(@RequestBody List<Long> ids) {
+        logger.info("ADMIN: Bulk deactivation requested for {} member IDs.", ids.size());
+        return ResponseEntity.ok(memberCleanupService.deactivateMembers(ids));
+    }
+
+    /**
+     * Deletes many members at once, with their loans and archived history, in chunks of set-based statements.
+     * Books on their open loans become available again. Only accessible by users with 'ADMIN' role.
+     * @param ids The IDs of the members to delete (unknown IDs are ignored).
+     * @return ResponseEntity containing the number of members, loans and archived loans deleted.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<MemberCleanupResult> deleteMembers(@RequestBody List<Long> ids) {
+        logger.info("ADMIN: Bulk deletion requested for {} member IDs.", ids.size());
+        return ResponseEntity.ok(memberCleanupService.deleteMembers(ids));
+    }
+
+    /**
+     * Deactivates every member whose membership expired more than the given number of years ago.
+     * Admin accounts and members with books still on loan are skipped. Only accessible by users with 'ADMIN' role.
+     * @param years Minimum number of years since the membership expired (0 = any expired membership).
+     * @return ResponseEntity containing how many members were deactivated.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/expired/deactivate")
+    public ResponseEntity<MemberCleanupResult> deactivateExpiredMembers(@RequestParam(defaultValue = "0") int years) {
+        logger.info("ADMIN: Deactivating members expired more than {} years ago.", years);
+        return ResponseEntity.ok(memberCleanupService.deactivateExpiredMembers(years));
+    }
+
+    /**
+     * Deletes every member whose membership expired more than the given number of years ago (yearly clean-up),
+     * with their loan history. Admin accounts and members with books still on loan are skipped.
+     * Only accessible by users with 'ADMIN' role.
+     * @param years Minimum number of years since the membership expired.
+     * @return ResponseEntity containing the number of members, loans and archived loans deleted.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/expired")
+    public ResponseEntity<MemberCleanupResult> deleteExpiredMembers(@RequestParam int years) {
+        logger.info("ADMIN: Deleting members expired more than {} years ago.", years);
+        return ResponseEntity.ok(memberCleanupService.deleteExpiredMembers(years));
+    }
+
+    /**
+     * Renews many memberships at once: a new one-year period from today, and inactive members are reactivated.
+     * One set-based update per chunk of IDs. Only accessible by users with 'ADMIN' role.
+     * @param ids The IDs of the members to renew (unknown IDs are counted as not found).
+     * @return ResponseEntity containing how many memberships were renewed and until when.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/bulk/renew")
+    public ResponseEntity<MembershipRenewalResult> renewMemberships(@RequestBody List<Long> ids) {
+        logger.info("ADMIN: Bulk membership renewal requested for {} member IDs.", ids.size());
+        return ResponseEntity.ok(membershipService.renewMemberships(ids));
+    }
+
+    /**
+     * Deactivates every active member whose membership has run out and queues their renewal notices
+     * (the same sweep that runs nightly, for the current branch database). Admin accounts are skipped.
+     * Only accessible by users with 'ADMIN' role.
+     * @return ResponseEntity containing the number of members deactivated.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/lapsed/deactivate")
+    public ResponseEntity<Integer> deactivateLapsedMembers() {
+        logger.info("ADMIN: Running the membership expiry sweep.");
+        return ResponseEntity.ok(membershipService.deactivateLapsedMembers());
+    }
+
     /**
      * Renews a member's membership. Only accessible by users with 'ADMIN' role.
      * @param id The ID of the member to renew.
@@ -177,18 +300,35 @@ public class MemberController {
      * Retrieves the profile of the currently authenticated member.
      * Accessible by users with 'MEMBER' or 'ADMIN' role.
      * This method leverages the service to get the current authenticated user's details.
-     * @return ResponseEntity containing the Member's profile.
+     * Carries an ETag; a matching If-None-Match gets 304 without loading the member.
+     * The profile is a member summary (no loans, no password hash), or only the fields listed in ?fields=.
+     * @param request The current request, used for If-None-Match handling.
+     * @param fields Optional comma-separated member fields.
+     * @return ResponseEntity containing the Member's profile, or 400 for an unknown field.
      */
     @PreAuthorize("hasAnyRole('ADMIN', 'MEMBER')")
     @GetMapping("/me")
-    public ResponseEntity<Member> getCurrentMember() {
+    public ResponseEntity<?> getCurrentMember(WebRequest request, @RequestParam(required = false) String fields) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         logger.info("SELF-SERVICE: Fetching profile for authenticated user: {}", authentication != null ? authentication.getName() : "N/A");
-        
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, FieldSelection.MEMBER_FIELDS);
+        } catch (RuntimeException e) {
+            logger.warn("SELF-SERVICE: Rejected member fields '{}': {}", fields, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
         // This method should retrieve the member based on the authenticated user from the SecurityContext
-        Member currentMember = memberService.getCurrentAuthenticatedMember();
-        logger.info("SELF-SERVICE: Successfully fetched profile for user: {}", currentMember.getUsername());
-        return ResponseEntity.ok(currentMember);
+        String etag = resourceVersions.memberTag(authentication.getName());
+        if (selection != null) {
+            return ConditionalGet.ifModified(request, selection.tag(etag), () -> memberService.getCurrentMember(selection));
+        }
+        return ConditionalGet.ifModified(request, etag, () -> {
+            MemberSummaryDTO currentMember = memberService.getCurrentMemberSummary();
+            logger.info("SELF-SERVICE: Successfully fetched profile for user: {}", currentMember.getUsername());
+            return currentMember;
+        });
     }
 
     /**
@@ -213,19 +353,54 @@ public class MemberController {
      * Retrieves loans for the currently authenticated member.
      * Accessible by users with 'MEMBER' or 'ADMIN' role.
      * This method retrieves loans associated with the currently authenticated member.
-     * @return ResponseEntity containing a list of loans.
+     * Carries an ETag; a matching If-None-Match gets 304 without loading the loans.
+     * With ?fields=id,bookTitle,dueDate,... only those loan fields are queried and returned.
+     * @param request The current request, used for If-None-Match handling.
+     * @param fields Optional comma-separated loan fields (see FieldSelection.LOAN_FIELDS).
+     * @return ResponseEntity containing a list of loans, or 400 for an unknown field.
      */
     @PreAuthorize("hasAnyRole('ADMIN', 'MEMBER')")
     @GetMapping("/me/loans")
-    public ResponseEntity<List<Loan>> getCurrentMemberLoans() {
+    public ResponseEntity<List<?>> getCurrentMemberLoans(WebRequest request, @RequestParam(required = false) String fields) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         logger.info("SELF-SERVICE: Fetching loans for authenticated user: {}", authentication != null ? authentication.getName() : "N/A");
-        
-        // This method should retrieve the current authenticated member's loans
-        Member current = memberService.getCurrentAuthenticatedMember(); // Use existing service method
-        List<Loan> loans = current.getLoans(); // Assuming Member model has getLoans()
-        
-        logger.info("SELF-SERVICE: Found {} loans for user: {}", loans.size(), current.getUsername());
-        return ResponseEntity.ok(loans);
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, FieldSelection.LOAN_FIELDS);
+        } catch (RuntimeException e) {
+            logger.warn("SELF-SERVICE: Rejected loan fields '{}': {}", fields, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        String etag = resourceVersions.memberTag(authentication.getName());
+        if (selection != null) {
+            return ConditionalGet.ifModified(request, selection.tag(etag), () -> memberService.getCurrentMemberLoans(selection));
+        }
+        return ConditionalGet.ifModified(request, etag, () -> {
+            // Loans by the member id of the request's principal; the member row is not read
+            List<Loan> loans = loanService.getLoansForCurrentMember();
+
+            logger.info("SELF-SERVICE: Found {} loans for user: {}", loans.size(), authentication.getName());
+            return loans;
+        });
+    }
+
+    /**
+     * Retrieves an account summary for the currently authenticated member:
+     * active and overdue loan counts, next due date, outstanding fines and membership expiry.
+     * Accessible by users with 'MEMBER' or 'ADMIN' role.
+     * Backed by one aggregate query, so no loans are loaded to build it.
+     * @return ResponseEntity containing the account summary.
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'MEMBER')")
+    @GetMapping("/me/summary")
+    public ResponseEntity<MemberAccountSummaryDTO> getCurrentMemberSummary() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        logger.info("SELF-SERVICE: Fetching account summary for authenticated user: {}", authentication != null ? authentication.getName() : "N/A");
+
+        MemberAccountSummaryDTO summary = memberService.getCurrentMemberAccountSummary();
+        logger.info("SELF-SERVICE: Account summary for member {}: {} active, {} overdue.",
+                summary.getMemberId(), summary.getActiveLoanCount(), summary.getOverdueLoanCount());
+        return ResponseEntity.ok(summary);
     }
 }
\ No newline at end of file
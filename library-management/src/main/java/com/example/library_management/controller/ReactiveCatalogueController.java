@@ -0,0 +1,65 @@
+package com.example.library_management.controller;
+
+import com.example.library_management.branch.BranchContext;
+import com.example.library_management.dto.BookAvailabilityDTO;
+import com.example.library_management.model.Book;
+import com.example.library_management.service.ReactiveCatalogueService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking read endpoints for the catalogue (writes stay on BookController).
+ *
+ * Handlers return Flux/Mono: the request thread is released as soon as the query is set up and
+ * the response is written as rows arrive. The branch is captured on the request thread, before
+ * BranchContext is cleared.
+ */
+@RestController
+@RequestMapping("/api/catalogue")
+@CrossOrigin(origins = "http://localhost:5173") // allow frontend access during development
+public class ReactiveCatalogueController {
+
+    @Autowired
+    private ReactiveCatalogueService reactiveCatalogueService;
+
+    // ─────────────────────────────────────────────
+    // ADMIN: Stream the branch's whole catalogue as newline-delimited JSON (one book per line)
+    // ─────────────────────────────────────────────
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/books", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<String> streamBooks() {
+        return reactiveCatalogueService.streamBooksAsNdjson(BranchContext.current());
+    }
+
+    // ─────────────────────────────────────────────
+    // ADMIN: Get book by ID
+    // ─────────────────────────────────────────────
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/books/{id}")
+    public Mono<ResponseEntity<Book>> getBook(@PathVariable Long id) {
+        return reactiveCatalogueService.findBook(BranchContext.current(), id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // ─────────────────────────────────────────────
+    // MEMBER / ADMIN: Shelf status of up to 100 books, e.g. ?ids=1,2,3
+    // ─────────────────────────────────────────────
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MEMBER')")
+    @GetMapping("/availability")
+    public Mono<ResponseEntity<List<BookAvailabilityDTO>>> getAvailability(@RequestParam List<Long> ids) {
+        if (ids.size() > 100) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return reactiveCatalogueService.availability(BranchContext.current(), ids)
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.library_management.controller;
+
+import com.example.library_management.dto.CirculationSummaryDTO;
+import com.example.library_management.dto.TopTitleDTO;
+import com.example.library_management.model.LoanDailyStats;
+import com.example.library_management.service.StatsService;
+import com.example.library_management.service.TrendingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST controller for circulation statistics.
+ * All queries read the daily rollup tables; ranges default to the last 30 days.
+ * Trending titles come from an in-memory streaming tracker instead.
+ */
+@RestController
+@RequestMapping("/api/stats")
+@CrossOrigin(origins = "http://localhost:5173")
+public class StatsController {
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private Clock clock;
+
+    // ──────────────────────────────────────────────
+    // ADMIN: Loans borrowed/returned/renewed per day
+    // ──────────────────────────────────────────────
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/loans-per-day")
+    public List<LoanDailyStats> getLoansPerDay(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now(clock);
+        return statsService.getLoansPerDay(from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS), end);
+    }
+
+    // ──────────────────────────────────────────────
+    // ADMIN: Most borrowed titles
+    // ──────────────────────────────────────────────
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/top-titles")
+    public List<TopTitleDTO> getTopTitles(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit) {
+        LocalDate end = to != null ? to : LocalDate.now(clock);
+        return statsService.getTopTitles(from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS), end,
+                Math.max(1, Math.min(limit, 100)));
+    }
+
+    // ──────────────────────────────────────────────
+    // ADMIN: Trending titles of the last N days (live estimates from the in-memory tracker)
+    // ──────────────────────────────────────────────
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/trending")
+    public List<TopTitleDTO> getTrending(@RequestParam(defaultValue = "7") int days,
+                                         @RequestParam(defaultValue = "10") int limit) {
+        return trendingService.getTrending(Math.max(1, days), Math.max(1, Math.min(limit, 50)));
+    }
+
+    // ──────────────────────────────────────────────
+    // ADMIN: Totals, overdue rate and average loan length
+    // ──────────────────────────────────────────────
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/summary")
+    public CirculationSummaryDTO getSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now(clock);
+        return statsService.getSummary(from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS), end);
+    }
+
+    // ──────────────────────────────────────────────
+    // ADMIN: Rebuild rollups for a date range from the loan table
+    // ──────────────────────────────────────────────
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/backfill")
+    public ResponseEntity<String> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            long days = statsService.backfill(from, to != null ? to : LocalDate.now(clock));
+            return ResponseEntity.ok("Statistics rebuilt for " + days + " days");
+        } catch (Exception e) {
+            return ResponseEntity.status(400).body("Backfill failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+// BookAvailabilityDTO.java
+// Whether a book is on the shelf, for the reactive catalogue read path.
+
+package com.example.library_management.dto;
+
+public class BookAvailabilityDTO {
+
+    private Long bookId;
+
+    // False while the book is out on loan
+    private boolean available;
+
+    public BookAvailabilityDTO(Long bookId, boolean available) {
+        this.bookId = bookId;
+        this.available = available;
+    }
+
+    // Getter
+    public Long getBookId() { return bookId; }
+    public boolean isAvailable() { return available; }
+}
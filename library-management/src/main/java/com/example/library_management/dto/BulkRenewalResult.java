@@ -0,0 +1,21 @@
+package com.example.library_management.dto;
+
+/**
+ * Outcome of a bulk loan renewal (see BulkRenewalService).
+ */
+public class BulkRenewalResult {
+
+    private long renewed;
+    private long rejected;
+
+    public void add(long renewed, long rejected) {
+        this.renewed += renewed;
+        this.rejected += rejected;
+    }
+
+    // Open loans whose due date was extended
+    public long getRenewed() { return renewed; }
+
+    // Open loans left unchanged because they are overdue or at their renewal limit
+    public long getRejected() { return rejected; }
+}
@@ -0,0 +1,51 @@
+// CirculationSummaryDTO.java
+// Circulation totals over a date range for the admin statistics dashboard.
+
+// Built from the loan_daily_stats rollup; overdue rate and average loan length
+// are derived from the summed counters.
+
+package com.example.library_management.dto;
+
+import java.time.LocalDate;
+
+public class CirculationSummaryDTO {
+
+    // Range covered (inclusive)
+    private LocalDate from;
+    private LocalDate to;
+
+    // Loans started, returned and renewed in the range
+    private long loansBorrowed;
+    private long loansReturned;
+    private long loansRenewed;
+
+    // Share of loans returned in the range that came back late (0..1)
+    private double overdueRate;
+
+    // Average days between borrow and return for loans returned in the range
+    private double averageLoanDays;
+
+    // Required constructor for JPQL query result mapping (SUMs are null when the range is empty)
+    public CirculationSummaryDTO(LocalDate from, LocalDate to,
+                                 Long loansBorrowed, Long loansReturned, Long loansRenewed,
+                                 Long returnedOverdue, Long totalLoanDays) {
+        this.from = from;
+        this.to = to;
+        this.loansBorrowed = loansBorrowed != null ? loansBorrowed : 0;
+        this.loansReturned = loansReturned != null ? loansReturned : 0;
+        this.loansRenewed = loansRenewed != null ? loansRenewed : 0;
+        long overdue = returnedOverdue != null ? returnedOverdue : 0;
+        long days = totalLoanDays != null ? totalLoanDays : 0;
+        this.overdueRate = this.loansReturned > 0 ? (double) overdue / this.loansReturned : 0.0;
+        this.averageLoanDays = this.loansReturned > 0 ? (double) days / this.loansReturned : 0.0;
+    }
+
+    // Getter
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public long getLoansBorrowed() { return loansBorrowed; }
+    public long getLoansReturned() { return loansReturned; }
+    public long getLoansRenewed() { return loansRenewed; }
+    public double getOverdueRate() { return overdueRate; }
+    public double getAverageLoanDays() { return averageLoanDays; }
+}
@@ -0,0 +1,39 @@
+// DueLoanReminderRow.java
+// One open loan selected by the reminder pipeline, with just the fields a notice needs.
+
+package com.example.library_management.dto;
+
+import java.time.LocalDate;
+
+public class DueLoanReminderRow {
+
+    private Long loanId;
+
+    // Member to notify
+    private Long memberId;
+    private String memberName;
+    private String email;
+
+    // Book on loan and when it is (or was) due
+    private String bookTitle;
+    private LocalDate dueDate;
+
+    // Required constructor for JPQL query result mapping
+    public DueLoanReminderRow(Long loanId, Long memberId, String memberName, String email,
+                              String bookTitle, LocalDate dueDate) {
+        this.loanId = loanId;
+        this.memberId = memberId;
+        this.memberName = memberName;
+        this.email = email;
+        this.bookTitle = bookTitle;
+        this.dueDate = dueDate;
+    }
+
+    // Getter
+    public Long getLoanId() { return loanId; }
+    public Long getMemberId() { return memberId; }
+    public String getMemberName() { return memberName; }
+    public String getEmail() { return email; }
+    public String getBookTitle() { return bookTitle; }
+    public LocalDate getDueDate() { return dueDate; }
+}
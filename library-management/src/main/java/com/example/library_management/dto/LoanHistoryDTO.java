@@ -0,0 +1,45 @@
+// LoanHistoryDTO.java
+// One archived (returned) loan as shown in a member's borrowing history.
+
+package com.example.library_management.dto;
+
+import java.time.LocalDate;
+
+public class LoanHistoryDTO {
+
+    // Original loan id
+    private Long id;
+
+    // Book that was borrowed (title is null if the book has since been deleted)
+    private Long bookId;
+    private String bookTitle;
+
+    private LocalDate borrowDate;
+    private LocalDate dueDate;
+    private LocalDate returnDate;
+
+    // Fine recorded when the book was returned
+    private double fineAmount;
+
+    // Required constructor for JPQL query result mapping
+    public LoanHistoryDTO(Long id, Long bookId, String bookTitle,
+                          LocalDate borrowDate, LocalDate dueDate,
+                          LocalDate returnDate, Double fineAmount) {
+        this.id = id;
+        this.bookId = bookId;
+        this.bookTitle = bookTitle;
+        this.borrowDate = borrowDate;
+        this.dueDate = dueDate;
+        this.returnDate = returnDate;
+        this.fineAmount = fineAmount != null ? fineAmount : 0.0;
+    }
+
+    // Getter
+    public Long getId() { return id; }
+    public Long getBookId() { return bookId; }
+    public String getBookTitle() { return bookTitle; }
+    public LocalDate getBorrowDate() { return borrowDate; }
+    public LocalDate getDueDate() { return dueDate; }
+    public LocalDate getReturnDate() { return returnDate; }
+    public double getFineAmount() { return fineAmount; }
+}
@@ -0,0 +1,50 @@
+// MemberAccountSummaryDTO.java
+// Read-only account overview for the member dashboard.
+
+// Built directly by an aggregate JPQL query (see MemberRepository.findAccountSummaryById)
+// so the dashboard gets counts, dates and fines without loading any Loan entities.
+
+package com.example.library_management.dto;
+
+import java.time.LocalDate;
+
+public class MemberAccountSummaryDTO {
+
+    // Member the summary belongs to
+    private Long memberId;
+
+    // Loans not yet returned
+    private long activeLoanCount;
+
+    // Loans not yet returned and past their due date
+    private long overdueLoanCount;
+
+    // Earliest due date among open loans that are not yet overdue (null if none)
+    private LocalDate nextDueDate;
+
+    // Sum of current fines on overdue open loans
+    private double outstandingFines;
+
+    // Date the membership runs out (stored on the member; 1 year after registration or the last renewal)
+    private LocalDate membershipExpiryDate;
+
+    // Required constructor for JPQL query result mapping
+    public MemberAccountSummaryDTO(Long memberId, LocalDate membershipExpiryDate,
+                                   Long activeLoanCount, Long overdueLoanCount,
+                                   LocalDate nextDueDate, Double outstandingFines) {
+        this.memberId = memberId;
+        this.activeLoanCount = activeLoanCount != null ? activeLoanCount : 0;
+        this.overdueLoanCount = overdueLoanCount != null ? overdueLoanCount : 0;
+        this.nextDueDate = nextDueDate;
+        this.outstandingFines = outstandingFines != null ? outstandingFines : 0.0;
+        this.membershipExpiryDate = membershipExpiryDate;
+    }
+
+    // Getter
+    public Long getMemberId() { return memberId; }
+    public long getActiveLoanCount() { return activeLoanCount; }
+    public long getOverdueLoanCount() { return overdueLoanCount; }
+    public LocalDate getNextDueDate() { return nextDueDate; }
+    public double getOutstandingFines() { return outstandingFines; }
+    public LocalDate getMembershipExpiryDate() { return membershipExpiryDate; }
+}
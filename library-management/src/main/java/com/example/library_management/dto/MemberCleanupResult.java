@@ -0,0 +1,28 @@
+package com.example.library_management.dto;
+
+/**
+ * Outcome of a bulk member deactivation or deletion (see MemberCleanupService).
+ */
+public class MemberCleanupResult {
+
+    private long members;
+    private long loansDeleted;
+    private long archivedLoansDeleted;
+    private long booksReleased;
+
+    public void add(long members, long loansDeleted, long archivedLoansDeleted, long booksReleased) {
+        this.members += members;
+        this.loansDeleted += loansDeleted;
+        this.archivedLoansDeleted += archivedLoansDeleted;
+        this.booksReleased += booksReleased;
+    }
+
+    // Members deactivated or deleted
+    public long getMembers() { return members; }
+
+    public long getLoansDeleted() { return loansDeleted; }
+
+    public long getArchivedLoansDeleted() { return archivedLoansDeleted; }
+
+    public long getBooksReleased() { return booksReleased; }
+}
@@ -0,0 +1,34 @@
+// MemberReminder.java
+// All loans one member should be reminded about in a single notice.
+
+package com.example.library_management.dto;
+
+import java.util.List;
+
+public class MemberReminder {
+
+    // DUE_SOON, OVERDUE or MEMBERSHIP_EXPIRED
+    private String kind;
+
+    private Long memberId;
+    private String memberName;
+    private String email;
+
+    // The member's loans covered by this notice (empty for MEMBERSHIP_EXPIRED)
+    private List<DueLoanReminderRow> loans;
+
+    public MemberReminder(String kind, Long memberId, String memberName, String email, List<DueLoanReminderRow> loans) {
+        this.kind = kind;
+        this.memberId = memberId;
+        this.memberName = memberName;
+        this.email = email;
+        this.loans = loans;
+    }
+
+    // Getter
+    public String getKind() { return kind; }
+    public Long getMemberId() { return memberId; }
+    public String getMemberName() { return memberName; }
+    public String getEmail() { return email; }
+    public List<DueLoanReminderRow> getLoans() { return loans; }
+}
@@ -0,0 +1,44 @@
+// MemberSummaryDTO.java
+// A member as shown in admin lists and on the profile page: no password hash and no loans,
+// so building it never touches the loan table.
+
+package com.example.library_management.dto;
+
+import java.time.LocalDate;
+
+public class MemberSummaryDTO {
+
+    private Long id;
+    private String name;
+    private String username;
+    private String email;
+    private LocalDate registrationDate;
+    private boolean active;
+    private String role;
+
+    // Home branch of the member
+    private String branchCode;
+
+    // Required constructor for JPQL query result mapping
+    public MemberSummaryDTO(Long id, String name, String username, String email,
+                            LocalDate registrationDate, boolean active, String role, String branchCode) {
+        this.id = id;
+        this.name = name;
+        this.username = username;
+        this.email = email;
+        this.registrationDate = registrationDate;
+        this.active = active;
+        this.role = role;
+        this.branchCode = branchCode;
+    }
+
+    // Getter
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getUsername() { return username; }
+    public String getEmail() { return email; }
+    public LocalDate getRegistrationDate() { return registrationDate; }
+    public boolean isActive() { return active; }
+    public String getRole() { return role; }
+    public String getBranchCode() { return branchCode; }
+}
@@ -0,0 +1,30 @@
+package com.example.library_management.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of a bulk membership renewal (see MembershipService).
+ */
+public class MembershipRenewalResult {
+
+    private long renewed;
+    private long notFound;
+    private final LocalDate membershipExpiryDate;
+
+    public MembershipRenewalResult(LocalDate membershipExpiryDate) {
+        this.membershipExpiryDate = membershipExpiryDate;
+    }
+
+    public void add(long renewed, long notFound) {
+        this.renewed += renewed;
+        this.notFound += notFound;
+    }
+
+    // Members whose membership now runs until membershipExpiryDate
+    public long getRenewed() { return renewed; }
+
+    // Requested ids with no member in this branch database
+    public long getNotFound() { return notFound; }
+
+    public LocalDate getMembershipExpiryDate() { return membershipExpiryDate; }
+}
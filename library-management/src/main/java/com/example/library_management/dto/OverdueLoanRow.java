@@ -0,0 +1,69 @@
+// OverdueLoanRow.java
+// One row of the library-wide overdue report: an open loan past its due date, with just the
+// member/book fields the report shows. Days overdue and fine are filled in from the member's loan policy.
+
+package com.example.library_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDate;
+
+public class OverdueLoanRow {
+
+    private Long loanId;
+
+    // Borrower
+    private Long memberId;
+    private String memberName;
+    private String email;
+    private String role;
+
+    // Book on loan
+    private Long bookId;
+    private String bookTitle;
+
+    private LocalDate borrowDate;
+    private LocalDate dueDate;
+    private int renewCount;
+
+    // Computed from the loan policy of the member's role
+    private long overdueDays;
+    private long fineCents;
+
+    // Required constructor for JPQL query result mapping
+    public OverdueLoanRow(Long loanId, Long memberId, String memberName, String email, String role,
+                          Long bookId, String bookTitle, LocalDate borrowDate, LocalDate dueDate, int renewCount) {
+        this.loanId = loanId;
+        this.memberId = memberId;
+        this.memberName = memberName;
+        this.email = email;
+        this.role = role;
+        this.bookId = bookId;
+        this.bookTitle = bookTitle;
+        this.borrowDate = borrowDate;
+        this.dueDate = dueDate;
+        this.renewCount = renewCount;
+    }
+
+    public void applyPolicy(long overdueDays, long fineCents) {
+        this.overdueDays = overdueDays;
+        this.fineCents = fineCents;
+    }
+
+    // Getter
+    public Long getLoanId() { return loanId; }
+    public Long getMemberId() { return memberId; }
+    public String getMemberName() { return memberName; }
+    public String getEmail() { return email; }
+    public String getRole() { return role; }
+    public Long getBookId() { return bookId; }
+    public String getBookTitle() { return bookTitle; }
+    public LocalDate getBorrowDate() { return borrowDate; }
+    public LocalDate getDueDate() { return dueDate; }
+    public int getRenewCount() { return renewCount; }
+    public long getOverdueDays() { return overdueDays; }
+    public double getFine() { return fineCents / 100.0; }
+
+    @JsonIgnore
+    public long getFineCents() { return fineCents; }
+}
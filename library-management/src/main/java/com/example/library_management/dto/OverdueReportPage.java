@@ -0,0 +1,25 @@
+// OverdueReportPage.java
+// One page of the overdue report. nextCursor is passed back to fetch the following page; it is null
+// on the last page.
+
+package com.example.library_management.dto;
+
+import java.util.List;
+
+public class OverdueReportPage {
+
+    private String sort;
+    private List<OverdueLoanRow> rows;
+    private String nextCursor;
+
+    public OverdueReportPage(String sort, List<OverdueLoanRow> rows, String nextCursor) {
+        this.sort = sort;
+        this.rows = rows;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getter
+    public String getSort() { return sort; }
+    public List<OverdueLoanRow> getRows() { return rows; }
+    public String getNextCursor() { return nextCursor; }
+}
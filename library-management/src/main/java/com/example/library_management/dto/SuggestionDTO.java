@@ -0,0 +1,30 @@
+// SuggestionDTO.java
+// One autocomplete suggestion for the catalogue search box.
+
+package com.example.library_management.dto;
+
+public class SuggestionDTO {
+
+    public static final String KIND_TITLE = "title";
+    public static final String KIND_AUTHOR = "author";
+
+    // Text to show (original spelling)
+    private String text;
+
+    // "title" or "author"
+    private String kind;
+
+    // Book the title belongs to (null for author suggestions)
+    private Long bookId;
+
+    public SuggestionDTO(String text, String kind, Long bookId) {
+        this.text = text;
+        this.kind = kind;
+        this.bookId = bookId;
+    }
+
+    // Getter
+    public String getText() { return text; }
+    public String getKind() { return kind; }
+    public Long getBookId() { return bookId; }
+}
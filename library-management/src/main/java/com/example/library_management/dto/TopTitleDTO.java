@@ -0,0 +1,31 @@
+// TopTitleDTO.java
+// One row of the "top titles" statistic, built from the book_daily_stats rollup.
+
+package com.example.library_management.dto;
+
+public class TopTitleDTO {
+
+    // Book the count belongs to
+    private Long bookId;
+
+    // Title/author of the book (null if the book has since been deleted)
+    private String title;
+    private String author;
+
+    // Number of loans started in the requested range
+    private long borrowCount;
+
+    // Required constructor for JPQL query result mapping
+    public TopTitleDTO(Long bookId, String title, String author, Long borrowCount) {
+        this.bookId = bookId;
+        this.title = title;
+        this.author = author;
+        this.borrowCount = borrowCount != null ? borrowCount : 0;
+    }
+
+    // Getter
+    public Long getBookId() { return bookId; }
+    public String getTitle() { return title; }
+    public String getAuthor() { return author; }
+    public long getBorrowCount() { return borrowCount; }
+}
@@ -0,0 +1,64 @@
+package com.example.library_management.event;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A domain event read back from the outbox and handed to {@link CirculationEventConsumer}s.
+ * The payload holds simple values (ids, ISO dates, numbers) written by the publishing service.
+ */
+public class CirculationEvent {
+
+    private final Long id;
+    private final CirculationEventType type;
+    private final Long aggregateId;
+    private final LocalDateTime createdAt;
+    private final Map<String, Object> payload;
+
+    public CirculationEvent(Long id, CirculationEventType type, Long aggregateId,
+                            LocalDateTime createdAt, Map<String, Object> payload) {
+        this.id = id;
+        this.type = type;
+        this.aggregateId = aggregateId;
+        this.createdAt = createdAt;
+        this.payload = payload;
+    }
+
+    // Outbox row id; increases with commit order of the publishing transactions (roughly)
+    public Long getId() { return id; }
+
+    public CirculationEventType getType() { return type; }
+
+    // Id of the loan or member the event is about
+    public Long getAggregateId() { return aggregateId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public Map<String, Object> getPayload() { return payload; }
+
+    public Long getLong(String key) {
+        Object value = payload.get(key);
+        return value instanceof Number number ? Long.valueOf(number.longValue()) : null;
+    }
+
+    public int getInt(String key) {
+        Object value = payload.get(key);
+        return value instanceof Number number ? number.intValue() : 0;
+    }
+
+    public LocalDate getDate(String key) {
+        Object value = payload.get(key);
+        return value != null ? LocalDate.parse(value.toString()) : null;
+    }
+
+    public String getString(String key) {
+        Object value = payload.get(key);
+        return value != null ? value.toString() : null;
+    }
+
+    @Override
+    public String toString() {
+        return "CirculationEvent{id=" + id + ", type=" + type + ", aggregateId=" + aggregateId + '}';
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.library_management.event;
+
+import java.util.List;
+
+/**
+ * In-process consumer of outbox events, called by the OutboxDispatcher off the request thread.
+ *
+ * Any Spring bean implementing this interface is picked up automatically. Delivery is at-least-once:
+ * if any consumer throws, the event is retried later for all consumers, so implementations should
+ * tolerate seeing the same event (same {@link CirculationEvent#getId()}) more than once.
+ */
+public interface CirculationEventConsumer {
+
+    /**
+     * Handles one event. Consumers simply ignore event types they are not interested in.
+     */
+    void onEvent(CirculationEvent event);
+
+    /**
+     * Called with every event of a dispatcher batch before any of them is handled, so a consumer can load
+     * what it needs for the whole batch at once. {@link #onEvent} must still work without it: a failure
+     * here is only logged, and retried events may be handled outside a batch.
+     */
+    default void beforeBatch(List<CirculationEvent> events) {
+    }
+
+    /**
+     * Called once the batch has been handled (also after failures); drop anything kept for it.
+     */
+    default void afterBatch() {
+    }
+}
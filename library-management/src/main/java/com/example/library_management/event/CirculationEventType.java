@@ -0,0 +1,15 @@
+package com.example.library_management.event;
+
+// Kinds of domain events written to the outbox. Stored by name in outbox_event.event_type.
+public enum CirculationEventType {
+    LOAN_BORROWED,
+    LOAN_RETURNED,
+    LOAN_RENEWED,
+    LOANS_BULK_RENEWED,
+    LOAN_DELETED,
+    MEMBER_CREATED,
+    MEMBER_UPDATED,
+    MEMBER_DELETED,
+    MEMBERSHIP_RENEWED,
+    MEMBERSHIP_EXPIRED
+}
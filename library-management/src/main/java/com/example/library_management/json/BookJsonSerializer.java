@@ -0,0 +1,45 @@
+package com.example.library_management.json;
+
+import com.example.library_management.model.Book;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+// {"id","title","author","isbn","isbn13","available","publishedYear","branchCode"}
+public class BookJsonSerializer extends PrecomputedSerializer<Book> {
+
+    private static final SerializedString ID = name("id");
+    private static final SerializedString TITLE = name("title");
+    private static final SerializedString AUTHOR = name("author");
+    private static final SerializedString ISBN = name("isbn");
+    private static final SerializedString ISBN13 = name("isbn13");
+    private static final SerializedString AVAILABLE = name("available");
+    private static final SerializedString PUBLISHED_YEAR = name("publishedYear");
+    private static final SerializedString BRANCH_CODE = name("branchCode");
+
+    public BookJsonSerializer() {
+        super(Book.class);
+    }
+
+    @Override
+    public void serialize(Book book, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(book);
+        writeFields(book, gen);
+        gen.writeEndObject();
+    }
+
+    // Also used for the book nested in a loan
+    static void writeFields(Book book, JsonGenerator gen) throws IOException {
+        writeNumber(gen, ID, book.getId());
+        writeString(gen, TITLE, book.getTitle());
+        writeString(gen, AUTHOR, book.getAuthor());
+        writeString(gen, ISBN, book.getIsbn());
+        writeString(gen, ISBN13, book.getIsbn13());
+        gen.writeFieldName(AVAILABLE);
+        gen.writeBoolean(book.isAvailable());
+        writeNumber(gen, PUBLISHED_YEAR, book.getPublishedYear());
+        writeString(gen, BRANCH_CODE, book.getBranchCode());
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.library_management.json;
+
+import com.example.library_management.dto.LoanSearchDTO;
+import com.example.library_management.dto.MemberSummaryDTO;
+import com.example.library_management.model.Book;
+import com.example.library_management.model.Loan;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.time.Clock;
+
+/**
+ * Registers the hand-written serializers for the element types of the largest list responses
+ * (loans, books, member summaries, loan search rows). Spring Boot adds every Module bean to the
+ * application's ObjectMapper (see JsonConfig). Serializers apply to subclasses too, so Hibernate
+ * proxies of Book are written the same way. Loans are evaluated for overdue against the given
+ * business clock.
+ */
+public class ListSerializationModule extends SimpleModule {
+
+    public ListSerializationModule(Clock clock) {
+        super("ListSerializationModule");
+        addSerializer(Loan.class, new LoanJsonSerializer(clock));
+        addSerializer(Book.class, new BookJsonSerializer());
+        addSerializer(MemberSummaryDTO.class, new MemberSummaryJsonSerializer());
+        addSerializer(LoanSearchDTO.class, new LoanSearchJsonSerializer());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.library_management.json;
+
+import com.example.library_management.model.Book;
+import com.example.library_management.model.Loan;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+// {"id","book":{...},"borrowDate","dueDate","returnDate","renewCount","fineAmount","branchCode","overdue","returned","overdueDays"}
+// The member is left out, as with @JsonBackReference; overdue and overdueDays are evaluated against one "today".
+public class LoanJsonSerializer extends PrecomputedSerializer<Loan> {
+
+    private static final SerializedString ID = name("id");
+    private static final SerializedString BOOK = name("book");
+    private static final SerializedString BORROW_DATE = name("borrowDate");
+    private static final SerializedString DUE_DATE = name("dueDate");
+    private static final SerializedString RETURN_DATE = name("returnDate");
+    private static final SerializedString RENEW_COUNT = name("renewCount");
+    private static final SerializedString FINE_AMOUNT = name("fineAmount");
+    private static final SerializedString BRANCH_CODE = name("branchCode");
+    private static final SerializedString OVERDUE = name("overdue");
+    private static final SerializedString RETURNED = name("returned");
+    private static final SerializedString OVERDUE_DAYS = name("overdueDays");
+
+    // The business clock (ClockConfig). LocalDate.now(clock) works out the date on every call; the day
+    // is kept until the clock passes its end instead
+    private final Clock clock;
+    private volatile Today today;
+
+    public LoanJsonSerializer(Clock clock) {
+        super(Loan.class);
+        this.clock = clock;
+        this.today = Today.of(clock);
+    }
+
+    @Override
+    public void serialize(Loan loan, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        LocalDate today = today();
+        gen.writeStartObject(loan);
+        writeNumber(gen, ID, loan.getId());
+        gen.writeFieldName(BOOK);
+        Book book = loan.getBook();
+        if (book == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartObject(book);
+            BookJsonSerializer.writeFields(book, gen);
+            gen.writeEndObject();
+        }
+        writeDate(gen, provider, BORROW_DATE, loan.getBorrowDate());
+        writeDate(gen, provider, DUE_DATE, loan.getDueDate());
+        writeDate(gen, provider, RETURN_DATE, loan.getReturnDate());
+        gen.writeFieldName(RENEW_COUNT);
+        gen.writeNumber(loan.getRenewCount());
+        writeNumber(gen, FINE_AMOUNT, loan.getFineAmount());
+        writeString(gen, BRANCH_CODE, loan.getBranchCode());
+        gen.writeFieldName(OVERDUE);
+        gen.writeBoolean(loan.isOverdue(today));
+        gen.writeFieldName(RETURNED);
+        gen.writeBoolean(loan.isReturned());
+        gen.writeFieldName(OVERDUE_DAYS);
+        gen.writeNumber(loan.getOverdueDays(today));
+        gen.writeEndObject();
+    }
+
+    private LocalDate today() {
+        Today current = today;
+        long now = clock.millis();
+        if (now < current.startMillis() || now >= current.endMillis()) {
+            current = Today.of(clock);
+            today = current;
+        }
+        return current.date();
+    }
+
+    private record Today(LocalDate date, long startMillis, long endMillis) {
+
+        static Today of(Clock clock) {
+            ZoneId zone = clock.getZone();
+            LocalDate date = LocalDate.now(clock);
+            return new Today(date, date.atStartOfDay(zone).toInstant().toEpochMilli(),
+                    date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.library_management.json;
+
+import com.example.library_management.dto.LoanSearchDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+// {"id","memberName","bookTitle","borrowDate","dueDate","returnDate","fineAmount"}
+public class LoanSearchJsonSerializer extends PrecomputedSerializer<LoanSearchDTO> {
+
+    private static final SerializedString ID = name("id");
+    private static final SerializedString MEMBER_NAME = name("memberName");
+    private static final SerializedString BOOK_TITLE = name("bookTitle");
+    private static final SerializedString BORROW_DATE = name("borrowDate");
+    private static final SerializedString DUE_DATE = name("dueDate");
+    private static final SerializedString RETURN_DATE = name("returnDate");
+    private static final SerializedString FINE_AMOUNT = name("fineAmount");
+
+    public LoanSearchJsonSerializer() {
+        super(LoanSearchDTO.class);
+    }
+
+    @Override
+    public void serialize(LoanSearchDTO row, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(row);
+        writeNumber(gen, ID, row.getId());
+        writeString(gen, MEMBER_NAME, row.getMemberName());
+        writeString(gen, BOOK_TITLE, row.getBookTitle());
+        writeDate(gen, provider, BORROW_DATE, row.getBorrowDate());
+        writeDate(gen, provider, DUE_DATE, row.getDueDate());
+        writeDate(gen, provider, RETURN_DATE, row.getReturnDate());
+        writeNumber(gen, FINE_AMOUNT, row.getFineAmount());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.library_management.json;
+
+import com.example.library_management.dto.MemberSummaryDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+// {"id","name","username","email","registrationDate","active","role","branchCode"}
+public class MemberSummaryJsonSerializer extends PrecomputedSerializer<MemberSummaryDTO> {
+
+    private static final SerializedString ID = name("id");
+    private static final SerializedString NAME = name("name");
+    private static final SerializedString USERNAME = name("username");
+    private static final SerializedString EMAIL = name("email");
+    private static final SerializedString REGISTRATION_DATE = name("registrationDate");
+    private static final SerializedString ACTIVE = name("active");
+    private static final SerializedString ROLE = name("role");
+    private static final SerializedString BRANCH_CODE = name("branchCode");
+
+    public MemberSummaryJsonSerializer() {
+        super(MemberSummaryDTO.class);
+    }
+
+    @Override
+    public void serialize(MemberSummaryDTO member, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(member);
+        writeNumber(gen, ID, member.getId());
+        writeString(gen, NAME, member.getName());
+        writeString(gen, USERNAME, member.getUsername());
+        writeString(gen, EMAIL, member.getEmail());
+        writeDate(gen, provider, REGISTRATION_DATE, member.getRegistrationDate());
+        gen.writeFieldName(ACTIVE);
+        gen.writeBoolean(member.isActive());
+        writeString(gen, ROLE, member.getRole());
+        writeString(gen, BRANCH_CODE, member.getBranchCode());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.library_management.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Base of the hand-written serializers for the types returned in large lists.
+ *
+ * Property names are encoded once into {@link SerializedString}s, which the generator copies as raw
+ * bytes; values are read with plain getter calls instead of reflective bean introspection. Dates use
+ * the mapper's own LocalDate serializer (resolved once), so spring.jackson.* date settings keep applying;
+ * when that is the default ISO-8601 form, the encoded date strings are cached instead of formatting a
+ * new String per value (list responses repeat the same few hundred dates). Output matches what default
+ * databinding writes for the same type, property order included.
+ */
+abstract class PrecomputedSerializer<T> extends StdSerializer<T> implements ResolvableSerializer {
+
+    // Direct-mapped by epoch day: about eleven years of consecutive days without eviction
+    private static final int DATE_CACHE_SIZE = 4096;
+    private static final IsoDate[] DATE_CACHE = new IsoDate[DATE_CACHE_SIZE];
+
+    private JsonSerializer<Object> dateSerializer;
+    private boolean isoDates;
+
+    protected PrecomputedSerializer(Class<T> type) {
+        super(type);
+    }
+
+    protected static SerializedString name(String name) {
+        return new SerializedString(name);
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        dateSerializer = provider.findValueSerializer(LocalDate.class);
+        isoDates = (Object) dateSerializer == LocalDateSerializer.INSTANCE
+                && !provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    protected void writeDate(JsonGenerator gen, SerializerProvider provider, SerializableString name, LocalDate value)
+            throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            if (dateSerializer == null) {
+                resolve(provider); // not resolved when used outside the provider's serializer cache
+            }
+            if (isoDates) {
+                gen.writeString(isoDate(value));
+            } else {
+                dateSerializer.serialize(value, gen, provider);
+            }
+        }
+    }
+
+    // "yyyy-MM-dd", encoded once per day; entries are immutable, so a racing overwrite only costs a re-encode
+    private static SerializedString isoDate(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        int slot = (int) (epochDay & (DATE_CACHE_SIZE - 1));
+        IsoDate cached = DATE_CACHE[slot];
+        if (cached == null || cached.epochDay != epochDay) {
+            cached = new IsoDate(epochDay, new SerializedString(date.toString()));
+            DATE_CACHE[slot] = cached;
+        }
+        return cached.text;
+    }
+
+    private record IsoDate(long epochDay, SerializedString text) {
+    }
+
+    protected static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    protected static void writeNumber(JsonGenerator gen, SerializableString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    protected static void writeNumber(JsonGenerator gen, SerializableString name, Integer value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    protected static void writeNumber(JsonGenerator gen, SerializableString name, Double value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+}
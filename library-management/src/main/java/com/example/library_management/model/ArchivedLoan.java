@@ -0,0 +1,81 @@
+package com.example.library_management.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * A returned loan moved out of the hot {@code loan} table by LoanArchiveService.
+ *
+ * Keeps the original loan id and plain member/book id columns (no foreign keys), so archived
+ * history never slows down writes to members, books or open loans and survives book deletion.
+ */
+@Entity
+@Table(name = "loan_archive",
+       indexes = @Index(name = "idx_loan_archive_member_return", columnList = "member_id, return_date"))
+public class ArchivedLoan {
+
+    // Same id the loan had while it was in the loan table
+    @Id
+    private Long id;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    private LocalDate borrowDate;
+    private LocalDate dueDate;
+    private LocalDate returnDate;
+
+    private int renewCount;
+    private Double fineAmount;
+
+    @Column(name = "branch_code", nullable = false, length = 16)
+    private String branchCode;
+
+    // Date the row was moved to the archive
+    @Column(nullable = false)
+    private LocalDate archivedOn;
+
+    public Long getId() { return id; }
+
+    public void setId(Long id) { this.id = id; }
+
+    public Long getMemberId() { return memberId; }
+
+    public void setMemberId(Long memberId) { this.memberId = memberId; }
+
+    public Long getBookId() { return bookId; }
+
+    public void setBookId(Long bookId) { this.bookId = bookId; }
+
+    public LocalDate getBorrowDate() { return borrowDate; }
+
+    public void setBorrowDate(LocalDate borrowDate) { this.borrowDate = borrowDate; }
+
+    public LocalDate getDueDate() { return dueDate; }
+
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+
+    public LocalDate getReturnDate() { return returnDate; }
+
+    public void setReturnDate(LocalDate returnDate) { this.returnDate = returnDate; }
+
+    public int getRenewCount() { return renewCount; }
+
+    public void setRenewCount(int renewCount) { this.renewCount = renewCount; }
+
+    public Double getFineAmount() { return fineAmount; }
+
+    public void setFineAmount(Double fineAmount) { this.fineAmount = fineAmount; }
+
+    public LocalDate getArchivedOn() { return archivedOn; }
+
+    public void setArchivedOn(LocalDate archivedOn) { this.archivedOn = archivedOn; }
+
+    public String getBranchCode() { return branchCode; }
+
+    public void setBranchCode(String branchCode) { this.branchCode = branchCode; }
+}
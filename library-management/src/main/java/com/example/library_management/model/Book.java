@@ -1,8 +1,15 @@
 package com.example.library_management.model;
 
+import com.example.library_management.branch.BranchContext;
+import com.example.library_management.util.IsbnUtil;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 
 @Entity
+@Table(name = "book",
+       // Created by V4; an ISBN is unique within a branch (several branches may stock the same title)
+       uniqueConstraints = @UniqueConstraint(name = "uk_book_branch_isbn13", columnNames = {"branch_code", "isbn13"}),
+       indexes = @Index(name = "idx_book_branch", columnList = "branch_code"))
 public class Book {
 
     @Id
@@ -12,9 +19,17 @@ public class Book {
     private String title;
     private String author;
     private String isbn;
+    // Canonical ISBN-13 derived from isbn on every write; unique per branch so ISBN-10/13 forms can't create duplicates
+    @Column(name = "isbn13", length = 13)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String isbn13;
     private boolean available;
     @Column(name = "published_year")  // explicit mapping to ensure mapped to SQL publish_year
     private Integer publishedYear; // new field added on 28May2025
+    // Owning branch; taken from the branch the book is created in (BranchContext)
+    @Column(name = "branch_code", nullable = false, length = 16)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String branchCode;
     
     // Setter for ID — required for updating
     public void setId(Long id) {
@@ -50,6 +65,12 @@ public class Book {
 
     public void setIsbn(String isbn) {
         this.isbn = isbn;
+        this.isbn13 = IsbnUtil.toIsbn13(isbn);
+    }
+
+    // Read-only: always derived from isbn
+    public String getIsbn13() {
+        return isbn13;
     }
 
     public boolean isAvailable() {
@@ -69,6 +90,14 @@ public class Book {
         this.publishedYear = publishedYear;
     }
     
+    public String getBranchCode() {
+        return branchCode;
+    }
+
+    public void setBranchCode(String branchCode) {
+        this.branchCode = branchCode;
+    }
+
     // To distingush borrowed and returned book.
 
     public void markAsBorrowed() {
@@ -78,6 +107,21 @@ public class Book {
     public void markAsReturned() {
         this.available = true;
     }
+
+    // Recompute the canonical key before every insert/update so it can never drift from isbn;
+    // books written without a branch (new, or replaced wholesale by an update) get the current one
+    @PrePersist
+    @PreUpdate
+    public void beforeWrite() {
+        normalizeIsbn();
+        if (branchCode == null) {
+            branchCode = BranchContext.current();
+        }
+    }
+
+    public void normalizeIsbn() {
+        this.isbn13 = IsbnUtil.toIsbn13(isbn);
+    }
     
     
     
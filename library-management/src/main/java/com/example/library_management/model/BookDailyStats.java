@@ -0,0 +1,67 @@
+package com.example.library_management.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Per-book, per-day borrow counter used for "top titles" queries.
+ * book_id is a plain column (no foreign key) so deleting a book never touches its history.
+ */
+@Entity
+@Table(name = "book_daily_stats")
+@IdClass(BookDailyStats.Key.class)
+public class BookDailyStats {
+
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    @Id
+    @Column(name = "book_id")
+    private Long bookId;
+
+    // Number of loans of this book started on this day
+    @Column(nullable = false)
+    private int borrowCount;
+
+    public LocalDate getStatDate() { return statDate; }
+
+    public void setStatDate(LocalDate statDate) { this.statDate = statDate; }
+
+    public Long getBookId() { return bookId; }
+
+    public void setBookId(Long bookId) { this.bookId = bookId; }
+
+    public int getBorrowCount() { return borrowCount; }
+
+    public void setBorrowCount(int borrowCount) { this.borrowCount = borrowCount; }
+
+    // Composite primary key (stat_date, book_id)
+    public static class Key implements Serializable {
+
+        private LocalDate statDate;
+        private Long bookId;
+
+        public Key() {}
+
+        public Key(LocalDate statDate, Long bookId) {
+            this.statDate = statDate;
+            this.bookId = bookId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(statDate, other.statDate) && Objects.equals(bookId, other.bookId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(statDate, bookId);
+        }
+    }
+}
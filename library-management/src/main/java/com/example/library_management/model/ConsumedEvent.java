@@ -0,0 +1,61 @@
+package com.example.library_management.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * An outbox event a consumer has already applied, for consumers whose effect is not idempotent (counters).
+ * Written in the same transaction as the consumer's own change, so a redelivered event is recognised and
+ * skipped. Rows are purged with the delivered outbox events (OutboxDispatcher.purgeProcessed).
+ */
+@Entity
+@Table(name = "consumed_event")
+@IdClass(ConsumedEvent.Key.class)
+public class ConsumedEvent {
+
+    @Id
+    @Column(length = 40)
+    private String consumer;
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(nullable = false)
+    private LocalDateTime consumedAt;
+
+    public String getConsumer() { return consumer; }
+
+    public Long getEventId() { return eventId; }
+
+    public LocalDateTime getConsumedAt() { return consumedAt; }
+
+    // Composite primary key (consumer, event_id)
+    public static class Key implements Serializable {
+
+        private String consumer;
+        private Long eventId;
+
+        public Key() {}
+
+        public Key(String consumer, Long eventId) {
+            this.consumer = consumer;
+            this.eventId = eventId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(consumer, other.consumer) && Objects.equals(eventId, other.eventId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(consumer, eventId);
+        }
+    }
+}
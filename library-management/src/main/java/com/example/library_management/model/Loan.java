@@ -2,6 +2,7 @@
 
 package com.example.library_management.model;
 
+import com.example.library_management.branch.BranchContext;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 
@@ -9,8 +10,24 @@ import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 
 @Entity
+@Table(name = "loan",
+       // Created by the Flyway migrations (V2-V4); listed here so the mapping documents the access paths
+       indexes = {
+           // Open-loan range scans on due date (reminders, overdue checks): WHERE return_date IS NULL AND due_date ...
+           @Index(name = "idx_loan_return_due", columnList = "return_date, due_date"),
+           // Open loans in member order, due date from the index (reminder batches): WHERE return_date IS NULL ORDER BY member_id, id
+           @Index(name = "idx_loan_return_member", columnList = "return_date, member_id, id, due_date"),
+           // A member's open loans (borrowing limit, overdue check, account summary)
+           @Index(name = "idx_loan_member_return", columnList = "member_id, return_date"),
+           // Whether a book is out; loans per book for the stats rebuild
+           @Index(name = "idx_loan_book_return", columnList = "book_id, return_date"),
+           // One branch's open loans by due date (overdue report, bulk renewal)
+           @Index(name = "idx_loan_branch_return_due", columnList = "branch_code, return_date, due_date")
+       })
 public class Loan {
 
+    // Built-in defaults; the limits actually applied per member role come from LoanPolicyEngine (library.policy.*)
+    public static final int MAX_ACTIVE_LOANS = 3;
     public static final int MAX_RENEWALS = 2;
     public static final int LOAN_DURATION_DAYS = 14;
     public static final double DAILY_FINE = 0.50;
@@ -36,6 +53,10 @@ public class Loan {
     private int renewCount = 0;
     private Double fineAmount = 0.0;
 
+    // Branch of the book lent out (set on insert)
+    @Column(name = "branch_code", nullable = false, length = 16)
+    private String branchCode;
+
     // ───────────────────────────────
     // Utility Methods
     // ───────────────────────────────
@@ -49,59 +70,30 @@ public class Loan {
     }
 
     /**
-     * Check if the loan is overdue.
+     * Check if the loan is overdue on the given business date.
+     * @param today the date to evaluate against.
      * @return true if the loan is overdue, false otherwise.
      */
-    public boolean isOverdue() {
-        return !isReturned() && dueDate != null && LocalDate.now().isAfter(dueDate);
-    }
-
-    /**
-     * Check if the loan can be renewed.
-     * @return true if the loan can be renewed, false otherwise.
-     */
-    public boolean canRenew() {
-        return renewCount < MAX_RENEWALS && !isOverdue() && !isReturned();
+    public boolean isOverdue(LocalDate today) {
+        return !isReturned() && dueDate != null && today.isAfter(dueDate);
     }
 
     /**
-     * Get the number of days the loan is overdue.
+     * Get the number of days the loan is overdue on the given business date.
+     * @param today the date to evaluate against.
      * @return the number of overdue days.
      */
-    public long getOverdueDays() {
-        if (dueDate == null || !isOverdue()) return 0;
-        return ChronoUnit.DAYS.between(dueDate, LocalDate.now());
-    }
-
-    /**
-     * Calculate the current fine for the overdue loan.
-     * @return the total fine amount.
-     */
-    public double calculateCurrentFine() {
-        if (!isOverdue()) return 0.0;
-        long overdueDays = getOverdueDays();
-        double totalFine = overdueDays * DAILY_FINE;
-        return Math.min(totalFine, MAX_FINE);
+    public long getOverdueDays(LocalDate today) {
+        if (!isOverdue(today)) return 0;
+        return ChronoUnit.DAYS.between(dueDate, today);
     }
 
-    /**
-     * Renews the loan by extending the due date, if allowed.
-     * Increments the renew count and throws IllegalStateException if not renewable.
-     */
-    public void renew() {
-        if (!canRenew()) {
-            throw new IllegalStateException("Loan cannot be renewed.");
+    // A loan belongs to the branch whose book it lends
+    @PrePersist
+    public void assignBranch() {
+        if (branchCode == null) {
+            branchCode = book != null && book.getBranchCode() != null ? book.getBranchCode() : BranchContext.current();
         }
-        this.dueDate = this.dueDate.plusDays(LOAN_DURATION_DAYS);  // Extend the due date by 14 days
-        this.renewCount += 1;  // Increment the renewal count
-    }
-
-    /**
-     * Resets the fine amount when the loan is returned.
-     */
-    public void returnBook() {
-        this.fineAmount = 0.0;  // Reset fine upon return
-        this.returnDate = LocalDate.now();  // Set return date to current date
     }
 
     // ───────────────────────────────
@@ -139,4 +131,8 @@ public class Loan {
     public Double getFineAmount() { return fineAmount; }
 
     public void setFineAmount(Double fineAmount) { this.fineAmount = fineAmount; }
-}
\ No newline at end of file
+
+    public String getBranchCode() { return branchCode; }
+
+    public void setBranchCode(String branchCode) { this.branchCode = branchCode; }
+}
@@ -0,0 +1,63 @@
+package com.example.library_management.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * One row per calendar day of circulation counters, maintained incrementally by StatsService
+ * on borrow/return/renew and rebuilt by its backfill job. Dashboards read only these rows,
+ * so their cost depends on the date range requested, not on total loan history.
+ */
+@Entity
+@Table(name = "loan_daily_stats")
+public class LoanDailyStats {
+
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    // Loans started on this day
+    @Column(nullable = false)
+    private int loansBorrowed;
+
+    // Loans returned on this day
+    @Column(nullable = false)
+    private int loansReturned;
+
+    // Renewals performed on this day
+    @Column(nullable = false)
+    private int loansRenewed;
+
+    // Of the loans returned on this day, how many came back after their due date
+    @Column(nullable = false)
+    private int returnedOverdue;
+
+    // Sum of (returnDate - borrowDate) in days over loans returned on this day
+    @Column(nullable = false)
+    private long totalLoanDays;
+
+    public LocalDate getStatDate() { return statDate; }
+
+    public void setStatDate(LocalDate statDate) { this.statDate = statDate; }
+
+    public int getLoansBorrowed() { return loansBorrowed; }
+
+    public void setLoansBorrowed(int loansBorrowed) { this.loansBorrowed = loansBorrowed; }
+
+    public int getLoansReturned() { return loansReturned; }
+
+    public void setLoansReturned(int loansReturned) { this.loansReturned = loansReturned; }
+
+    public int getLoansRenewed() { return loansRenewed; }
+
+    public void setLoansRenewed(int loansRenewed) { this.loansRenewed = loansRenewed; }
+
+    public int getReturnedOverdue() { return returnedOverdue; }
+
+    public void setReturnedOverdue(int returnedOverdue) { this.returnedOverdue = returnedOverdue; }
+
+    public long getTotalLoanDays() { return totalLoanDays; }
+
+    public void setTotalLoanDays(long totalLoanDays) { this.totalLoanDays = totalLoanDays; }
+}
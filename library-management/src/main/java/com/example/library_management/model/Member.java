@@ -1,7 +1,9 @@
 package com.example.library_management.model;
 
+import com.example.library_management.branch.BranchContext;
 import com.fasterxml.jackson.annotation.JsonIgnore; // Keep import for clarity if other fields might use it, but not for password
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 
@@ -18,9 +20,19 @@ import java.util.List;
  * It uses JPA annotations for ORM mapping to a database table.
  */
 @Entity // Marks this class as a JPA entity, mapped to a database table
-@Table(name = "member") // Specifies the table name if it differs from the class name (optional, but good practice)
+@Table(name = "member", // Specifies the table name if it differs from the class name (optional, but good practice)
+       indexes = {
+           @Index(name = "idx_member_branch", columnList = "branch_code"),                         // Created by V4
+           @Index(name = "idx_member_active_expiry", columnList = "active, membership_expiry_date"), // V5: expiry sweep
+           @Index(name = "idx_member_expiry", columnList = "membership_expiry_date")                 // V5: expired clean-up
+       })
 public class Member {
 
+    /**
+     * How long a membership runs from registration or renewal.
+     */
+    public static final int MEMBERSHIP_YEARS = 1;
+
     /**
      * Unique identifier for the member.
      * Generated automatically by the database.
@@ -55,10 +67,11 @@ public class Member {
      * Without this fix, the password sent by the frontend would be ignored, leading to a null password
      * being saved to the database and a 'Column cannot be null' error.
      *
-     * CONCERN: If this entity is used directly for API responses, the encoded password will be exposed.
-     * For production, it's recommended to use Data Transfer Objects (DTOs) for API input/output
-     * to control which fields are exposed.
+     * The field is write-only for JSON: it is read from requests but never written into responses,
+     * so the encoded hash is not exposed wherever a Member is returned. List and profile endpoints
+     * return MemberSummaryDTO instead of the entity.
      */
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @NotBlank(message = "Password cannot be blank") // Ensures the string is not null and contains at least one non-whitespace character
     @Column(nullable = false, length = 100) // Ensures non-nullability at DB level, provides length for encoded hash
     private String password;
@@ -80,6 +93,14 @@ public class Member {
     @Column(nullable = false) // Ensure registration date is always present in DB
     private LocalDate registrationDate;
 
+    /**
+     * The first day the membership is no longer valid.
+     * Set to registration date + 1 year on creation and moved forward by renewals; stored (and indexed)
+     * so eligibility checks and the expiry sweep read a column rather than computing it.
+     */
+    @Column(name = "membership_expiry_date", nullable = false)
+    private LocalDate membershipExpiryDate;
+
     /**
      * Indicates if the member's account is active.
      * Defaulted to true upon creation.
@@ -95,6 +116,14 @@ public class Member {
     @Column(nullable = false, length = 20) // Defines role column properties
     private String role; // e.g. "member", "admin"
 
+    /**
+     * The member's home branch. Set on creation from the branch the request is working for
+     * and decides which database holds the member and their loans.
+     */
+    @Column(name = "branch_code", nullable = false, length = 16)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String branchCode;
+
     /**
      * A list of loans associated with this member.
      * 'mappedBy' indicates that the 'member' field in the Loan entity owns the relationship.
@@ -130,7 +159,6 @@ public class Member {
         this.password = password;
         this.email = email;
         this.role = role;
-        this.registrationDate = LocalDate.now(); // Set default registration date
         this.active = true; // Set default active status
     }
 
@@ -139,38 +167,22 @@ public class Member {
 
     /**
      * Method annotated with @PrePersist runs before a new entity is persisted (saved for the first time).
-     * This ensures the registrationDate is set automatically if not already provided.
+     * This derives the membership expiry from the registration date and sets the home branch if not already
+     * provided. The registration date itself comes from the business Clock (MemberService.createMember).
      */
     @PrePersist
     public void prePersist() {
-        if (this.registrationDate == null) {
-            this.registrationDate = LocalDate.now();
+        if (this.membershipExpiryDate == null && this.registrationDate != null) {
+            this.membershipExpiryDate = this.registrationDate.plusYears(MEMBERSHIP_YEARS);
+        }
+        if (this.branchCode == null) {
+            this.branchCode = BranchContext.current();
         }
     }
 
     // --- Business Logic Helpers ---
     // These methods provide utility for business rules related to a Member.
 
-    /**
-     * Checks if the member's registration is still valid.
-     * Membership is considered valid for 1 year from the registration date.
-     *
-     * @return true if the membership is valid, false otherwise.
-     */
-    public boolean isMembershipValid() {
-        return registrationDate != null && LocalDate.now().isBefore(registrationDate.plusYears(1));
-    }
-
-    /**
-     * Checks if the member has any overdue loans that have not yet been returned.
-     *
-     * @return true if there is at least one overdue and unreturned loan, false otherwise.
-     */
-    public boolean hasOverdueLoans() {
-        return loans.stream()
-                .anyMatch(loan -> loan.isOverdue() && !loan.isReturned());
-    }
-
     /**
      * Counts the number of books currently borrowed by the member (i.e., not yet returned).
      *
@@ -182,17 +194,6 @@ public class Member {
                 .count();
     }
 
-    /**
-     * Calculates the total outstanding fines for all loans associated with this member.
-     *
-     * @return The sum of current fines.
-     */
-    public double getTotalOutstandingFines() {
-        return loans.stream()
-                .mapToDouble(Loan::calculateCurrentFine)
-                .sum();
-    }
-
     // --- Getters and Setters ---
     // Standard getter and setter methods for all fields.
 
@@ -244,6 +245,14 @@ public class Member {
         this.registrationDate = registrationDate;
     }
 
+    public LocalDate getMembershipExpiryDate() {
+        return membershipExpiryDate;
+    }
+
+    public void setMembershipExpiryDate(LocalDate membershipExpiryDate) {
+        this.membershipExpiryDate = membershipExpiryDate;
+    }
+
     public boolean isActive() {
         return active;
     }
@@ -260,6 +269,14 @@ public class Member {
         this.role = role;
     }
 
+    public String getBranchCode() {
+        return branchCode;
+    }
+
+    public void setBranchCode(String branchCode) {
+        this.branchCode = branchCode;
+    }
+
     public List<Loan> getLoans() {
         return loans;
     }
@@ -0,0 +1,84 @@
+package com.example.library_management.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A domain event written in the same transaction as the state change it describes
+ * (transactional outbox). The OutboxDispatcher delivers pending rows to in-process consumers
+ * in batches and stamps processedAt once every consumer has handled the event.
+ */
+@Entity
+@Table(name = "outbox_event",
+       indexes = @Index(name = "idx_outbox_event_pending", columnList = "processed_at, id"))
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // CirculationEventType name, e.g. LOAN_BORROWED
+    @Column(nullable = false, length = 40)
+    private String eventType;
+
+    // "LOAN" or "MEMBER"
+    @Column(nullable = false, length = 20)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    // JSON object with the event details
+    @Column(nullable = false, length = 2000)
+    private String payload;
+
+    // When the row was written (wall clock); consumers that need the business date read "day" from the payload
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Null until delivered to all consumers
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    // Failed delivery attempts so far
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    public OutboxEvent() {}
+
+    public OutboxEvent(String eventType, String aggregateType, Long aggregateId, String payload) {
+        this.eventType = eventType;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+
+    public String getEventType() { return eventType; }
+
+    public String getAggregateType() { return aggregateType; }
+
+    public Long getAggregateId() { return aggregateId; }
+
+    public String getPayload() { return payload; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getProcessedAt() { return processedAt; }
+
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+
+    public int getAttempts() { return attempts; }
+
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public String getLastError() { return lastError; }
+
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
@@ -0,0 +1,76 @@
+package com.example.library_management.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Progress of the reminder pipeline, one row per reminder kind.
+ *
+ * Stores the due-date window of the current run and the last member (and that member's last loan)
+ * handed to the sink, so a run interrupted by a crash resumes after that point instead of resending
+ * everything.
+ */
+@Entity
+@Table(name = "reminder_checkpoint")
+public class ReminderCheckpoint {
+
+    // Reminder kind: DUE_SOON or OVERDUE
+    @Id
+    @Column(length = 20)
+    private String kind;
+
+    // Business date of the current (or last) run
+    @Column(nullable = false)
+    private LocalDate runDate;
+
+    // Due-date window covered by the run (inclusive)
+    @Column(nullable = false)
+    private LocalDate windowFrom;
+
+    @Column(nullable = false)
+    private LocalDate windowTo;
+
+    // Highest member id already notified in this run (0 = none yet)
+    @Column(nullable = false)
+    private Long lastMemberId = 0L;
+
+    // Highest loan id of lastMemberId already notified (0 = none yet)
+    @Column(nullable = false)
+    private Long lastLoanId = 0L;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    public ReminderCheckpoint() {}
+
+    public ReminderCheckpoint(String kind) {
+        this.kind = kind;
+    }
+
+    public String getKind() { return kind; }
+
+    public LocalDate getRunDate() { return runDate; }
+
+    public void setRunDate(LocalDate runDate) { this.runDate = runDate; }
+
+    public LocalDate getWindowFrom() { return windowFrom; }
+
+    public void setWindowFrom(LocalDate windowFrom) { this.windowFrom = windowFrom; }
+
+    public LocalDate getWindowTo() { return windowTo; }
+
+    public void setWindowTo(LocalDate windowTo) { this.windowTo = windowTo; }
+
+    public Long getLastMemberId() { return lastMemberId; }
+
+    public void setLastMemberId(Long lastMemberId) { this.lastMemberId = lastMemberId; }
+
+    public Long getLastLoanId() { return lastLoanId; }
+
+    public void setLastLoanId(Long lastLoanId) { this.lastLoanId = lastLoanId; }
+
+    public boolean isCompleted() { return completed; }
+
+    public void setCompleted(boolean completed) { this.completed = completed; }
+}
@@ -0,0 +1,54 @@
+package com.example.library_management.notification;
+
+import com.example.library_management.dto.DueLoanReminderRow;
+import com.example.library_management.dto.MemberReminder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Appends one tab-separated line per reminded loan to a file (library.reminders.file)
+@Component
+@ConditionalOnProperty(name = "library.reminders.sink", havingValue = "file")
+public class FileReminderSink implements ReminderSink {
+
+    private final Path file;
+
+    public FileReminderSink(@Value("${library.reminders.file:reminders.tsv}") String file) {
+        this.file = Path.of(file);
+    }
+
+    @Override
+    public synchronized void send(List<MemberReminder> batch) {
+        StringBuilder out = new StringBuilder();
+        for (MemberReminder reminder : batch) {
+            if (reminder.getLoans().isEmpty()) {
+                // Notices about the membership itself have no loan columns
+                out.append(reminder.getKind()).append('\t')
+                   .append(reminder.getMemberId()).append('\t')
+                   .append(reminder.getEmail()).append("\t\t\t\n");
+            }
+            for (DueLoanReminderRow loan : reminder.getLoans()) {
+                out.append(reminder.getKind()).append('\t')
+                   .append(reminder.getMemberId()).append('\t')
+                   .append(reminder.getEmail()).append('\t')
+                   .append(loan.getLoanId()).append('\t')
+                   .append(loan.getBookTitle()).append('\t')
+                   .append(loan.getDueDate()).append('\n');
+            }
+        }
+        try {
+            Files.writeString(file, out, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write reminders to " + file, e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.library_management.notification;
+
+import com.example.library_management.dto.DueLoanReminderRow;
+import com.example.library_management.dto.MemberReminder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Default sink for local testing: writes each notice to the application log
+@Component
+@ConditionalOnProperty(name = "library.reminders.sink", havingValue = "log", matchIfMissing = true)
+public class LogReminderSink implements ReminderSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogReminderSink.class);
+
+    @Override
+    public void send(List<MemberReminder> batch) {
+        for (MemberReminder reminder : batch) {
+            logger.info("REMINDER [{}] to {} <{}>: {} loan(s)", reminder.getKind(), reminder.getMemberName(),
+                    reminder.getEmail(), reminder.getLoans().size());
+            for (DueLoanReminderRow loan : reminder.getLoans()) {
+                logger.info("    loan {} '{}' due {}", loan.getLoanId(), loan.getBookTitle(), loan.getDueDate());
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.library_management.notification;
+
+import com.example.library_management.dto.MemberReminder;
+
+import java.util.List;
+
+/**
+ * Destination for due-date reminder notices (email gateway, file, log, ...).
+ *
+ * Called by ReminderService with one batch of members at a time. If a run is interrupted, the batch
+ * in progress may be delivered again on resume, so sinks should tolerate occasional duplicates.
+ */
+public interface ReminderSink {
+
+    void send(List<MemberReminder> batch);
+}
@@ -0,0 +1,112 @@
+package com.example.library_management.policy;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable loan rules for one member role, with the fine schedule precomputed.
+ *
+ * All checks take the business date as a parameter and work on primitives, so evaluating them
+ * over many loans allocates nothing and gives the same answer for the same date.
+ * Money is held in cents.
+ */
+public final class LoanPolicy {
+
+    // Longest fine table kept in memory; beyond it the fine is computed arithmetically
+    private static final int MAX_TABLE_DAYS = 3650;
+
+    private final String role;
+    private final int maxActiveLoans;
+    private final int loanDays;
+    private final int maxRenewals;
+    private final int renewalDays;
+    private final long dailyFineCents;
+    private final long maxFineCents;
+
+    // fineCentsByDay[d] = fine for a loan d days overdue, up to the day the cap is reached
+    private final long[] fineCentsByDay;
+
+    LoanPolicy(String role, int maxActiveLoans, int loanDays, int maxRenewals, int renewalDays,
+               long dailyFineCents, long maxFineCents) {
+        this.role = role;
+        this.maxActiveLoans = maxActiveLoans;
+        this.loanDays = loanDays;
+        this.maxRenewals = maxRenewals;
+        this.renewalDays = renewalDays;
+        this.dailyFineCents = dailyFineCents;
+        this.maxFineCents = maxFineCents;
+
+        long capDays = dailyFineCents > 0 ? (maxFineCents + dailyFineCents - 1) / dailyFineCents : 0;
+        int tableDays = (int) Math.min(capDays, MAX_TABLE_DAYS);
+        this.fineCentsByDay = new long[tableDays + 1];
+        for (int d = 0; d <= tableDays; d++) {
+            fineCentsByDay[d] = Math.min(d * dailyFineCents, maxFineCents);
+        }
+    }
+
+    // ──────────────────────────────────────────────
+    // Evaluation (allocation-free)
+    // ──────────────────────────────────────────────
+
+    public boolean isOverdue(LocalDate dueDate, LocalDate returnDate, LocalDate today) {
+        return returnDate == null && dueDate != null && today.isAfter(dueDate);
+    }
+
+    // Days past the due date for an open loan (0 if not overdue)
+    public long overdueDays(LocalDate dueDate, LocalDate returnDate, LocalDate today) {
+        if (!isOverdue(dueDate, returnDate, today)) return 0;
+        return today.toEpochDay() - dueDate.toEpochDay();
+    }
+
+    // Fine in cents for a loan that is overdueDays late (table lookup, capped)
+    public long fineCents(long overdueDays) {
+        if (overdueDays <= 0) return 0;
+        if (overdueDays < fineCentsByDay.length) return fineCentsByDay[(int) overdueDays];
+        return Math.min(overdueDays * dailyFineCents, maxFineCents);
+    }
+
+    // Current fine for an open loan, as stored in Loan.fineAmount
+    public double currentFine(LocalDate dueDate, LocalDate returnDate, LocalDate today) {
+        return fineCents(overdueDays(dueDate, returnDate, today)) / 100.0;
+    }
+
+    public boolean canRenew(int renewCount, LocalDate dueDate, LocalDate returnDate, LocalDate today) {
+        return renewCount < maxRenewals && returnDate == null && !isOverdue(dueDate, returnDate, today);
+    }
+
+    public boolean canBorrow(long activeLoans) {
+        return activeLoans < maxActiveLoans;
+    }
+
+    public LocalDate dueDateFor(LocalDate borrowDate) {
+        return borrowDate.plusDays(loanDays);
+    }
+
+    public LocalDate renewedDueDate(LocalDate currentDueDate) {
+        return currentDueDate.plusDays(renewalDays);
+    }
+
+    // ──────────────────────────────────────────────
+    // Getters
+    // ──────────────────────────────────────────────
+
+    public String getRole() { return role; }
+
+    public int getMaxActiveLoans() { return maxActiveLoans; }
+
+    public int getLoanDays() { return loanDays; }
+
+    public int getMaxRenewals() { return maxRenewals; }
+
+    public int getRenewalDays() { return renewalDays; }
+
+    public long getDailyFineCents() { return dailyFineCents; }
+
+    public long getMaxFineCents() { return maxFineCents; }
+
+    @Override
+    public String toString() {
+        return "LoanPolicy{role='" + role + "', maxActiveLoans=" + maxActiveLoans + ", loanDays=" + loanDays
+                + ", maxRenewals=" + maxRenewals + ", renewalDays=" + renewalDays
+                + ", dailyFineCents=" + dailyFineCents + ", maxFineCents=" + maxFineCents + '}';
+    }
+}
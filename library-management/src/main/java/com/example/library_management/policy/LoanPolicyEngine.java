@@ -0,0 +1,104 @@
+package com.example.library_management.policy;
+
+import com.example.library_management.model.Loan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Resolves the {@link LoanPolicy} for a member role.
+ *
+ * Policies are built once at startup from {@link LoanPolicyProperties} into an immutable table;
+ * lookups are a single map probe and never allocate for the usual lower/upper-case role names.
+ */
+@Component
+@EnableConfigurationProperties(LoanPolicyProperties.class)
+public class LoanPolicyEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoanPolicyEngine.class);
+
+    // Stands in for "no role-specific policies" in a NOT IN list, which may not be empty (no role is named "*")
+    public static final Set<String> NO_ROLES = Set.of("*");
+
+    private final LoanPolicy defaultPolicy;
+    private final Map<String, LoanPolicy> policiesByRole;
+    private final Set<String> configuredRoles;
+
+    public LoanPolicyEngine(LoanPolicyProperties properties) {
+        LoanPolicyProperties.Rule base = properties.getDefaults();
+        this.defaultPolicy = build("default", base, new LoanPolicyProperties.Rule());
+
+        Map<String, LoanPolicy> table = new HashMap<>();
+        Set<String> roles = new TreeSet<>();
+        properties.getRoles().forEach((role, rule) -> {
+            LoanPolicy policy = build(role.toLowerCase(Locale.ROOT), rule, base);
+            // Register both spellings so lookups for "member"/"MEMBER" need no case conversion
+            table.put(role.toLowerCase(Locale.ROOT), policy);
+            table.put(role.toUpperCase(Locale.ROOT), policy);
+            roles.add(role.toLowerCase(Locale.ROOT));
+        });
+        this.policiesByRole = Map.copyOf(table);
+        this.configuredRoles = Set.copyOf(roles);
+
+        logger.info("Loan policies: default={}, roles={}", defaultPolicy, policiesByRole.keySet());
+    }
+
+    /**
+     * @param role member role (e.g. "member", "admin"); null or unknown roles get the default policy
+     */
+    public LoanPolicy policyFor(String role) {
+        if (role == null) {
+            return defaultPolicy;
+        }
+        LoanPolicy policy = policiesByRole.get(role);
+        if (policy == null && !policiesByRole.isEmpty()) {
+            policy = policiesByRole.get(role.toLowerCase(Locale.ROOT)); // mixed-case role names
+        }
+        return policy != null ? policy : defaultPolicy;
+    }
+
+    public LoanPolicy defaultPolicy() {
+        return defaultPolicy;
+    }
+
+    // Role-specific policies keyed by role name (both cases); roles not listed use defaultPolicy()
+    public Map<String, LoanPolicy> rolePolicies() {
+        return policiesByRole;
+    }
+
+    // Lower-case names of the roles that have a policy of their own (for set-based statements per role)
+    public Set<String> configuredRoles() {
+        return configuredRoles;
+    }
+
+    // configuredRoles() for "LOWER(m.role) NOT IN :roles", i.e. statements over the members on the default policy
+    public Set<String> configuredRolesForNotIn() {
+        return configuredRoles.isEmpty() ? NO_ROLES : configuredRoles;
+    }
+
+    private static LoanPolicy build(String role, LoanPolicyProperties.Rule rule, LoanPolicyProperties.Rule fallback) {
+        return new LoanPolicy(role,
+                pick(rule.getMaxActiveLoans(), fallback.getMaxActiveLoans(), Loan.MAX_ACTIVE_LOANS),
+                pick(rule.getLoanDays(), fallback.getLoanDays(), Loan.LOAN_DURATION_DAYS),
+                pick(rule.getMaxRenewals(), fallback.getMaxRenewals(), Loan.MAX_RENEWALS),
+                pick(rule.getRenewalDays(), fallback.getRenewalDays(), Loan.LOAN_DURATION_DAYS),
+                toCents(pick(rule.getDailyFine(), fallback.getDailyFine(), BigDecimal.valueOf(Loan.DAILY_FINE))),
+                toCents(pick(rule.getMaxFine(), fallback.getMaxFine(), BigDecimal.valueOf(Loan.MAX_FINE))));
+    }
+
+    private static <T> T pick(T value, T fallback, T builtIn) {
+        return value != null ? value : (fallback != null ? fallback : builtIn);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+}
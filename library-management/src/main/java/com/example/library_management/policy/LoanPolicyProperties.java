@@ -0,0 +1,70 @@
+package com.example.library_management.policy;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loan rules from configuration:
+ *
+ * <pre>
+ * library.policy.defaults.max-active-loans=3
+ * library.policy.defaults.loan-days=14
+ * library.policy.roles.admin.max-active-loans=10
+ * </pre>
+ *
+ * Values missing from a role fall back to {@code defaults}; values missing from {@code defaults}
+ * fall back to the constants on {@link com.example.library_management.model.Loan}.
+ */
+@ConfigurationProperties(prefix = "library.policy")
+public class LoanPolicyProperties {
+
+    private Rule defaults = new Rule();
+
+    // Keyed by member role (case-insensitive), e.g. "member", "admin"
+    private Map<String, Rule> roles = new HashMap<>();
+
+    public Rule getDefaults() { return defaults; }
+
+    public void setDefaults(Rule defaults) { this.defaults = defaults; }
+
+    public Map<String, Rule> getRoles() { return roles; }
+
+    public void setRoles(Map<String, Rule> roles) { this.roles = roles; }
+
+    public static class Rule {
+
+        private Integer maxActiveLoans;
+        private Integer loanDays;
+        private Integer maxRenewals;
+        private Integer renewalDays;
+        private BigDecimal dailyFine;
+        private BigDecimal maxFine;
+
+        public Integer getMaxActiveLoans() { return maxActiveLoans; }
+
+        public void setMaxActiveLoans(Integer maxActiveLoans) { this.maxActiveLoans = maxActiveLoans; }
+
+        public Integer getLoanDays() { return loanDays; }
+
+        public void setLoanDays(Integer loanDays) { this.loanDays = loanDays; }
+
+        public Integer getMaxRenewals() { return maxRenewals; }
+
+        public void setMaxRenewals(Integer maxRenewals) { this.maxRenewals = maxRenewals; }
+
+        public Integer getRenewalDays() { return renewalDays; }
+
+        public void setRenewalDays(Integer renewalDays) { this.renewalDays = renewalDays; }
+
+        public BigDecimal getDailyFine() { return dailyFine; }
+
+        public void setDailyFine(BigDecimal dailyFine) { this.dailyFine = dailyFine; }
+
+        public BigDecimal getMaxFine() { return maxFine; }
+
+        public void setMaxFine(BigDecimal maxFine) { this.maxFine = maxFine; }
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.library_management.recommendation;
+
+import com.example.library_management.util.LongLongHashMap;
+import com.example.library_management.util.LongObjectHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Sparse book x book "also borrowed" weights, kept in memory and updated one borrow at a time.
+ *
+ * Each book has a neighbour table (book id -> weight) and a precomputed list of its top related
+ * books, so a lookup is one hash probe and an array copy. Weights are fixed-point ({@link #UNIT} per
+ * co-borrow) so they can be decayed. A table never holds more than max-neighbours entries: a new
+ * neighbour of a full table takes the place of its lightest one, and {@link #decay} prunes every table
+ * back to its heaviest entries.
+ *
+ * All state is guarded by a read/write lock; lookups only take the read lock.
+ */
+@Component
+public class CoBorrowIndex {
+
+    // Weight added for one member having borrowed both books
+    public static final long UNIT = 1024;
+
+    private static final long[] NONE = new long[0];
+
+    private final int topK;
+    private final int maxNeighbours;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private LongObjectHashMap<LongLongHashMap> neighbours = new LongObjectHashMap<>(1024);
+    private LongObjectHashMap<long[]> topRelated = new LongObjectHashMap<>(1024);
+
+    public CoBorrowIndex(@Value("${library.recommendations.top-k:20}") int topK,
+                         @Value("${library.recommendations.max-neighbours:100}") int maxNeighbours) {
+        this.topK = topK;
+        this.maxNeighbours = Math.max(maxNeighbours, topK);
+    }
+
+    /**
+     * @return ids of the books most often borrowed together with {@code bookId}, best first
+     */
+    public long[] related(long bookId, int limit) {
+        lock.readLock().lock();
+        try {
+            long[] top = topRelated.get(bookId);
+            return top == null ? NONE : Arrays.copyOf(top, Math.min(limit, top.length));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // A member borrowed {@code bookId} after the books in {@code previousBookIds}: strengthen every pair
+    public void recordBorrow(long bookId, long[] previousBookIds) {
+        if (previousBookIds.length == 0) return;
+        lock.writeLock().lock();
+        try {
+            addPairs(neighbours, bookId, previousBookIds);
+            refreshTop(bookId);
+            for (long other : previousBookIds) {
+                refreshTop(other);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Multiplies every weight by {@code factor}, drops weights below {@code minWeight} and keeps only
+     * the heaviest max-neighbours entries per book.
+     */
+    public void decay(double factor, long minWeight) {
+        lock.writeLock().lock();
+        try {
+            LongObjectHashMap<LongLongHashMap> decayed = new LongObjectHashMap<>(neighbours.size());
+            neighbours.forEach((bookId, table) -> {
+                LongLongHashMap kept = prune(table, factor, minWeight);
+                if (!kept.isEmpty()) {
+                    decayed.put(bookId, kept);
+                }
+            });
+            replace(decayed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Swaps in tables built off-line (startup rebuild); see newTables()/addPairs()
+    public void load(LongObjectHashMap<LongLongHashMap> built) {
+        lock.writeLock().lock();
+        try {
+            LongObjectHashMap<LongLongHashMap> pruned = new LongObjectHashMap<>(built.size());
+            built.forEach((bookId, table) -> pruned.put(bookId, prune(table, 1.0, 1)));
+            replace(pruned);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int bookCount() {
+        lock.readLock().lock();
+        try {
+            return neighbours.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static LongObjectHashMap<LongLongHashMap> newTables() {
+        return new LongObjectHashMap<>(1024);
+    }
+
+    // Adds one UNIT to (bookId, other) and (other, bookId) for every other book, within max-neighbours per table
+    public void addPairs(LongObjectHashMap<LongLongHashMap> tables, long bookId, long[] others) {
+        LongLongHashMap own = tables.computeIfAbsent(bookId, id -> new LongLongHashMap(8));
+        for (long other : others) {
+            if (other == bookId) continue;
+            strengthen(own, other);
+            strengthen(tables.computeIfAbsent(other, id -> new LongLongHashMap(8)), bookId);
+        }
+    }
+
+    // ──────────────────────────────────────────────
+    // INTERNAL (write lock held)
+    // ──────────────────────────────────────────────
+    private void replace(LongObjectHashMap<LongLongHashMap> tables) {
+        LongObjectHashMap<long[]> tops = new LongObjectHashMap<>(tables.size());
+        tables.forEach((bookId, table) -> tops.put(bookId, heaviest(table, topK).ids));
+        neighbours = tables;
+        topRelated = tops;
+    }
+
+    // One more co-borrow with {@code other}. A full table drops its lightest neighbour to make room, unless
+    // that one has more than a single co-borrow; the new pair wins ties so tables follow recent borrowing.
+    private void strengthen(LongLongHashMap table, long other) {
+        long weight = table.get(other, 0L); // stored weights are never 0
+        if (weight == 0L && table.size() >= maxNeighbours) {
+            long[] lightest = lightest(table);
+            if (lightest[1] > UNIT) {
+                return;
+            }
+            table.remove(lightest[0], 0L);
+        }
+        table.put(other, weight + UNIT, 0L);
+    }
+
+    private void refreshTop(long bookId) {
+        LongLongHashMap table = neighbours.get(bookId);
+        if (table == null || table.isEmpty()) {
+            topRelated.remove(bookId);
+        } else {
+            topRelated.put(bookId, heaviest(table, topK).ids);
+        }
+    }
+
+    private LongLongHashMap prune(LongLongHashMap table, double factor, long minWeight) {
+        Top top = heaviest(table, maxNeighbours);
+        LongLongHashMap kept = new LongLongHashMap(top.ids.length);
+        for (int i = 0; i < top.ids.length; i++) {
+            long weight = (long) (top.weights[i] * factor);
+            if (weight >= minWeight) {
+                kept.put(top.ids[i], weight, 0L);
+            }
+        }
+        return kept;
+    }
+
+    // The k heaviest entries, heaviest first (ties by lower id), by insertion into a sorted buffer
+    static Top heaviest(LongLongHashMap table, int k) {
+        int capacity = Math.min(k, table.size());
+        if (capacity <= 0) {
+            return new Top(NONE, NONE);
+        }
+        long[] ids = new long[capacity];
+        long[] weights = new long[capacity];
+        int[] count = {0};
+        table.forEach((id, weight) -> {
+            int n = count[0];
+            if (n == capacity && !before(id, weight, ids[n - 1], weights[n - 1])) {
+                return;
+            }
+            int i = n == capacity ? n - 1 : n;
+            while (i > 0 && before(id, weight, ids[i - 1], weights[i - 1])) {
+                ids[i] = ids[i - 1];
+                weights[i] = weights[i - 1];
+                i--;
+            }
+            ids[i] = id;
+            weights[i] = weight;
+            if (n < capacity) count[0] = n + 1;
+        });
+        return new Top(ids, weights);
+    }
+
+    // [id, weight] of the entry every other entry comes before (lowest weight, ties by higher id)
+    private static long[] lightest(LongLongHashMap table) {
+        long[] found = {0L, 0L};
+        table.forEach((id, weight) -> {
+            if (found[0] == 0L || before(found[0], found[1], id, weight)) {
+                found[0] = id;
+                found[1] = weight;
+            }
+        });
+        return found;
+    }
+
+    private static boolean before(long id, long weight, long otherId, long otherWeight) {
+        return weight > otherWeight || (weight == otherWeight && id < otherId);
+    }
+
+    record Top(long[] ids, long[] weights) {}
+}
@@ -0,0 +1,42 @@
+package com.example.library_management.repository;
+
+import com.example.library_management.dto.LoanHistoryDTO;
+import com.example.library_management.model.ArchivedLoan;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+// Archived loan history (loan_archive). Separate read path from the hot loan table.
+public interface ArchivedLoanRepository extends JpaRepository<ArchivedLoan, Long> {
+
+    // Copy a chunk of loans into the archive in one statement (LoanArchiveService then deletes them)
+    @Modifying
+    @Query(value = "INSERT INTO loan_archive " +
+                   "(id, member_id, book_id, borrow_date, due_date, return_date, renew_count, fine_amount, branch_code, archived_on) " +
+                   "SELECT l.id, l.member_id, l.book_id, l.borrow_date, l.due_date, l.return_date, " +
+                   "l.renew_count, l.fine_amount, l.branch_code, :archivedOn " +
+                   "FROM loan l WHERE l.id IN (:ids)",
+           nativeQuery = true)
+    int copyFromLoans(@Param("ids") List<Long> ids, @Param("archivedOn") LocalDate archivedOn);
+
+    // A member's archived history, most recent first
+    @Query(value = "SELECT new com.example.library_management.dto.LoanHistoryDTO(" +
+                   "a.id, a.bookId, b.title, a.borrowDate, a.dueDate, a.returnDate, a.fineAmount) " +
+                   "FROM ArchivedLoan a LEFT JOIN Book b ON b.id = a.bookId " +
+                   "WHERE a.memberId = :memberId " +
+                   "ORDER BY a.returnDate DESC, a.id DESC",
+           countQuery = "SELECT COUNT(a) FROM ArchivedLoan a WHERE a.memberId = :memberId")
+    Page<LoanHistoryDTO> findHistoryByMemberId(@Param("memberId") Long memberId, Pageable pageable);
+
+    // Archived history of deleted members
+    @Modifying
+    @Query("DELETE FROM ArchivedLoan a WHERE a.memberId IN :memberIds")
+    int deleteByMemberIdIn(@Param("memberIds") Collection<Long> memberIds);
+}
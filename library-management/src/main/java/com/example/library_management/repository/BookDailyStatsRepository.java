@@ -0,0 +1,52 @@
+package com.example.library_management.repository;
+
+import com.example.library_management.dto.TopTitleDTO;
+import com.example.library_management.model.BookDailyStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Per-book daily borrow counters backing the "top titles" statistics
+public interface BookDailyStatsRepository extends JpaRepository<BookDailyStats, BookDailyStats.Key> {
+
+    // Add to a book's borrow count for the day, creating the row on first use
+    @Modifying
+    @Query(value = "INSERT INTO book_daily_stats (stat_date, book_id, borrow_count) " +
+                   "VALUES (:day, :bookId, :count) " +
+                   "ON DUPLICATE KEY UPDATE borrow_count = borrow_count + :count",
+           nativeQuery = true)
+    int increment(@Param("day") LocalDate day, @Param("bookId") Long bookId, @Param("count") int count);
+
+    // Most borrowed titles in a range; the Pageable carries the limit
+    @Query("SELECT new com.example.library_management.dto.TopTitleDTO(s.bookId, b.title, b.author, SUM(s.borrowCount)) " +
+           "FROM BookDailyStats s LEFT JOIN Book b ON b.id = s.bookId " +
+           "WHERE s.statDate BETWEEN :from AND :to " +
+           "GROUP BY s.bookId, b.title, b.author " +
+           "ORDER BY SUM(s.borrowCount) DESC")
+    List<TopTitleDTO> findTopTitles(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    // Borrows per book since :from, as [bookId, count] (popularity for autocomplete ranking)
+    @Query("SELECT s.bookId, SUM(s.borrowCount) FROM BookDailyStats s WHERE s.statDate >= :from GROUP BY s.bookId")
+    List<Object[]> sumBorrowsSince(@Param("from") LocalDate from);
+
+    // ── Backfill ──
+
+    @Modifying
+    @Query("DELETE FROM BookDailyStats s WHERE s.statDate BETWEEN :from AND :to")
+    int deleteRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = "INSERT INTO book_daily_stats (stat_date, book_id, borrow_count) " +
+                   "SELECT l.borrow_date, l.book_id, COUNT(*) FROM (" +
+                   "  SELECT borrow_date, book_id FROM loan UNION ALL SELECT borrow_date, book_id FROM loan_archive" +
+                   ") l " +
+                   "WHERE l.borrow_date BETWEEN :from AND :to " +
+                   "GROUP BY l.borrow_date, l.book_id",
+           nativeQuery = true)
+    int rebuildRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -6,7 +6,12 @@ import com.example.library_management.model.Book;
 
 //Import Spring Data JPA interface to provide CRUD operations
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 //This interface below is for Book entity
@@ -17,7 +22,26 @@ import java.util.Optional;
 public interface BookRepository extends JpaRepository<Book, Long> {
 	// Custom queries can go here if needed
 	
-	// Custom method to find a book by its ISBN
-    Optional<Book> findByIsbn(String isbn);	
-}
+	// One branch's catalogue; uses idx_book_branch
+    List<Book> findByBranchCode(String branchCode);
+
+	// Find a branch's book by its canonical ISBN-13 (see IsbnUtil.toIsbn13); uses the unique (branch_code, isbn13) key
+    Optional<Book> findByBranchCodeAndIsbn13(String branchCode, String isbn13);
+
+    // Slim (id, isbn13, branch) rows used to build the in-memory ISBN index without loading Book entities
+    @Query("SELECT b.id, b.isbn13, b.branchCode FROM Book b WHERE b.isbn13 IS NOT NULL")
+    List<Object[]> findAllIsbnKeys();
 
+    // Slim (id, title, author) rows used to build the in-memory autocomplete index
+    @Query("SELECT b.id, b.title, b.author FROM Book b")
+    List<Object[]> findAllSearchKeys();
+
+    // Rows written before isbn13 existed, which still need their canonical key computed
+    List<Book> findByIsbn13IsNullAndIsbnIsNotNull();
+
+    // Marks books on the members' open loans as available again (before those loans are deleted)
+    @Modifying
+    @Query("UPDATE Book b SET b.available = true WHERE b.id IN " +
+           "(SELECT l.book.id FROM Loan l WHERE l.member.id IN :memberIds AND l.returnDate IS NULL)")
+    int releaseBooksOnOpenLoans(@Param("memberIds") Collection<Long> memberIds);
+}
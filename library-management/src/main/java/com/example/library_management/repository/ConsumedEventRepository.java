@@ -0,0 +1,25 @@
+package com.example.library_management.repository;
+
+import com.example.library_management.model.ConsumedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+// Outbox events already applied per consumer (see ConsumedEvent)
+public interface ConsumedEventRepository extends JpaRepository<ConsumedEvent, ConsumedEvent.Key> {
+
+    // Records the event for the consumer: 1 the first time, 0 if it was already applied
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO consumed_event (consumer, event_id, consumed_at) " +
+                   "VALUES (:consumer, :eventId, :consumedAt)",
+           nativeQuery = true)
+    int claim(@Param("consumer") String consumer, @Param("eventId") Long eventId, @Param("consumedAt") LocalDateTime consumedAt);
+
+    // Housekeeping: events older than the outbox retention are never redelivered
+    @Modifying
+    @Query("DELETE FROM ConsumedEvent e WHERE e.consumedAt < :cutoff")
+    int deleteConsumedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,94 @@
+package com.example.library_management.repository;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The fields a client asked for with {@code ?fields=a,b,c}, checked against what a resource exposes.
+ *
+ * Every exposed field maps to an entity attribute path ("member.name" follows the loan's member).
+ * {@link ProjectionRepository} selects exactly those paths, so associations that were not asked for
+ * are never joined or loaded. Fields keep the order the client gave.
+ */
+public final class FieldSelection {
+
+    // Member fields; the password hash and the loans collection are deliberately absent
+    public static final Map<String, String> MEMBER_FIELDS = fields(
+            "id", "id",
+            "name", "name",
+            "username", "username",
+            "email", "email",
+            "registrationDate", "registrationDate",
+            "membershipExpiryDate", "membershipExpiryDate",
+            "active", "active",
+            "role", "role",
+            "branchCode", "branchCode");
+
+    // Loan fields, flattened; member.* and book.* join only when one of their fields is requested
+    public static final Map<String, String> LOAN_FIELDS = fields(
+            "id", "id",
+            "memberId", "member.id",
+            "memberName", "member.name",
+            "bookId", "book.id",
+            "bookTitle", "book.title",
+            "bookAuthor", "book.author",
+            "borrowDate", "borrowDate",
+            "dueDate", "dueDate",
+            "returnDate", "returnDate",
+            "renewCount", "renewCount",
+            "fineAmount", "fineAmount",
+            "branchCode", "branchCode");
+
+    private final Map<String, String> paths;
+
+    private FieldSelection(Map<String, String> paths) {
+        this.paths = Collections.unmodifiableMap(paths);
+    }
+
+    /**
+     * @param fields  comma-separated field names from the request, or null
+     * @param allowed the resource's field map (MEMBER_FIELDS, LOAN_FIELDS)
+     * @return the selection, or null when no fields were given (the endpoint's default representation)
+     */
+    public static FieldSelection parse(String fields, Map<String, String> allowed) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Map<String, String> paths = new LinkedHashMap<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) continue;
+            String path = allowed.get(name);
+            if (path == null) {
+                throw new RuntimeException("Unknown field '" + name + "' (allowed: " + String.join(",", allowed.keySet()) + ")");
+            }
+            paths.put(name, path);
+        }
+        if (paths.isEmpty()) {
+            throw new RuntimeException("No fields requested");
+        }
+        return new FieldSelection(paths);
+    }
+
+    // Field name -> attribute path, in the requested order
+    public Map<String, String> paths() {
+        return paths;
+    }
+
+    /**
+     * The ETag for this selection of a resource: same version, different body, so the field list
+     * becomes part of the tag.
+     */
+    public String tag(String etag) {
+        return etag.substring(0, etag.length() - 1) + ".f" + Integer.toHexString(String.join(",", paths.keySet()).hashCode()) + "\"";
+    }
+
+    private static Map<String, String> fields(String... namesAndPaths) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndPaths.length; i += 2) {
+            fields.put(namesAndPaths[i], namesAndPaths[i + 1]);
+        }
+        return Collections.unmodifiableMap(fields);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.library_management.repository;
+
+import com.example.library_management.dto.CirculationSummaryDTO;
+import com.example.library_management.model.LoanDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Daily circulation rollups (see LoanDailyStats). Increments are single-row upserts,
+// reads only ever touch the rollup rows for the requested range.
+public interface LoanDailyStatsRepository extends JpaRepository<LoanDailyStats, LocalDate> {
+
+    // Add deltas to a day's counters, creating the row on first use
+    @Modifying
+    @Query(value = "INSERT INTO loan_daily_stats " +
+                   "(stat_date, loans_borrowed, loans_returned, loans_renewed, returned_overdue, total_loan_days) " +
+                   "VALUES (:day, :borrowed, :returned, :renewed, :overdue, :loanDays) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "loans_borrowed = loans_borrowed + :borrowed, " +
+                   "loans_returned = loans_returned + :returned, " +
+                   "loans_renewed = loans_renewed + :renewed, " +
+                   "returned_overdue = returned_overdue + :overdue, " +
+                   "total_loan_days = total_loan_days + :loanDays",
+           nativeQuery = true)
+    int increment(@Param("day") LocalDate day,
+                  @Param("borrowed") int borrowed,
+                  @Param("returned") int returned,
+                  @Param("renewed") int renewed,
+                  @Param("overdue") int overdue,
+                  @Param("loanDays") long loanDays);
+
+    // Loans-per-day series for charts
+    List<LoanDailyStats> findByStatDateBetweenOrderByStatDateAsc(LocalDate from, LocalDate to);
+
+    // Totals over a range; rates and averages are derived in the DTO
+    @Query("SELECT new com.example.library_management.dto.CirculationSummaryDTO(" +
+           ":from, :to, SUM(s.loansBorrowed), SUM(s.loansReturned), SUM(s.loansRenewed), " +
+           "SUM(s.returnedOverdue), SUM(s.totalLoanDays)) " +
+           "FROM LoanDailyStats s WHERE s.statDate BETWEEN :from AND :to")
+    CirculationSummaryDTO summarize(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // ── Backfill (used by StatsService.backfill, one chunk of days at a time) ──
+    // Reads both the hot loan table and loan_archive so archived history is still counted.
+
+    // Reset the counters that can be derived from the loan table; renewals are kept since
+    // the loan table does not record when a renewal happened
+    @Modifying
+    @Query("UPDATE LoanDailyStats s SET s.loansBorrowed = 0, s.loansReturned = 0, " +
+           "s.returnedOverdue = 0, s.totalLoanDays = 0 WHERE s.statDate BETWEEN :from AND :to")
+    int resetDerivedCounters(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = "INSERT INTO loan_daily_stats " +
+                   "(stat_date, loans_borrowed, loans_returned, loans_renewed, returned_overdue, total_loan_days) " +
+                   "SELECT src.day, src.borrowed, 0, 0, 0, 0 FROM (" +
+                   "  SELECT l.borrow_date AS day, COUNT(*) AS borrowed FROM (" +
+                   "    SELECT borrow_date FROM loan UNION ALL SELECT borrow_date FROM loan_archive" +
+                   "  ) l WHERE l.borrow_date BETWEEN :from AND :to GROUP BY l.borrow_date" +
+                   ") src " +
+                   "ON DUPLICATE KEY UPDATE loans_borrowed = VALUES(loans_borrowed)",
+           nativeQuery = true)
+    int rebuildBorrowCounts(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = "INSERT INTO loan_daily_stats " +
+                   "(stat_date, loans_borrowed, loans_returned, loans_renewed, returned_overdue, total_loan_days) " +
+                   "SELECT src.day, 0, src.returned, 0, src.overdue, src.loan_days FROM (" +
+                   "  SELECT l.return_date AS day, COUNT(*) AS returned, " +
+                   "         SUM(CASE WHEN l.return_date > l.due_date THEN 1 ELSE 0 END) AS overdue, " +
+                   "         SUM(TIMESTAMPDIFF(DAY, l.borrow_date, l.return_date)) AS loan_days " +
+                   "  FROM (" +
+                   "    SELECT borrow_date, due_date, return_date FROM loan " +
+                   "    UNION ALL SELECT borrow_date, due_date, return_date FROM loan_archive" +
+                   "  ) l WHERE l.return_date BETWEEN :from AND :to GROUP BY l.return_date" +
+                   ") src " +
+                   "ON DUPLICATE KEY UPDATE loans_returned = VALUES(loans_returned), " +
+                   "returned_overdue = VALUES(returned_overdue), total_loan_days = VALUES(total_loan_days)",
+           nativeQuery = true)
+    int rebuildReturnCounts(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
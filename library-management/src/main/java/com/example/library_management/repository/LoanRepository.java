@@ -4,13 +4,18 @@ package com.example.library_management.repository;
 
 import com.example.library_management.model.Loan;
 import com.example.library_management.model.Member;
+import com.example.library_management.dto.DueLoanReminderRow;
 import com.example.library_management.dto.LoanSearchDTO;
+import com.example.library_management.dto.OverdueLoanRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +24,21 @@ public interface LoanRepository extends JpaRepository<Loan, Long> {
     // Retrieve loans for a specific member
     List<Loan> findByMember(Member member);
 
+    // A member's loans with their books, by member id (the member row is not read)
+    @EntityGraph(attributePaths = "book")
+    List<Loan> findByMemberId(Long memberId);
+
+    // Open loans of a member (borrowing limit); uses idx_loan_member_return
+    @Query("SELECT COUNT(l) FROM Loan l WHERE l.member.id = :memberId AND l.returnDate IS NULL")
+    long countOpenLoansByMemberId(@Param("memberId") Long memberId);
+
+    // Whether a member has an open loan past its due date
+    @Query("SELECT COUNT(l) > 0 FROM Loan l WHERE l.member.id = :memberId AND l.returnDate IS NULL AND l.dueDate < :today")
+    boolean hasOverdueLoans(@Param("memberId") Long memberId, @Param("today") LocalDate today);
+
+    // One branch's loans (admin list)
+    List<Loan> findByBranchCode(String branchCode);
+
     // Find a loan by ID (explicit method for clarity)
     Optional<Loan> findById(Long id);
 
@@ -35,8 +55,156 @@ public interface LoanRepository extends JpaRepository<Loan, Long> {
     @Query("SELECT l FROM Loan l WHERE l.member = :member AND l.dueDate < CURRENT_DATE AND l.returnDate IS NULL")
     List<Loan> findOverdueLoansForMember(@Param("member") Member member);
 
-    // Optional: Custom query to update the loan's due date directly if needed (though save() can handle this)
+    // ─── Bulk renewal (BulkRenewalService) ───
+
+    // Next chunk of open loan ids after :afterId (optionally for one member and/or branch); bounds one renewal transaction
+    @Query("SELECT l.id FROM Loan l WHERE l.returnDate IS NULL AND l.id > :afterId " +
+           "AND (:memberId IS NULL OR l.member.id = :memberId) " +
+           "AND (:branch IS NULL OR l.branchCode = :branch) ORDER BY l.id")
+    List<Long> findOpenLoanIdsAfter(@Param("afterId") Long afterId, @Param("memberId") Long memberId,
+                                    @Param("branch") String branch, Pageable pageable);
+
+    // Renews, in one statement, the eligible open loans with ids in (afterId, upToId] whose member has one of
+    // the given roles: not overdue and below the renewal limit. Rules come from that role's LoanPolicy.
+    @Modifying
+    @Query("UPDATE Loan l SET l.dueDate = l.dueDate + :renewalDays day, l.renewCount = l.renewCount + 1 " +
+           "WHERE l.returnDate IS NULL AND l.dueDate >= :today AND l.renewCount < :maxRenewals " +
+           "AND l.id > :afterId AND l.id <= :upToId " +
+           "AND (:memberId IS NULL OR l.member.id = :memberId) " +
+           "AND (:branch IS NULL OR l.branchCode = :branch) " +
+           "AND l.member.id IN (SELECT m.id FROM Member m WHERE LOWER(m.role) IN :roles)")
+    int renewEligibleForRoles(@Param("roles") Collection<String> roles,
+                              @Param("today") LocalDate today,
+                              @Param("maxRenewals") int maxRenewals,
+                              @Param("renewalDays") int renewalDays,
+                              @Param("afterId") Long afterId,
+                              @Param("upToId") Long upToId,
+                              @Param("memberId") Long memberId,
+                              @Param("branch") String branch);
+
+    // Same as renewEligibleForRoles, for members whose role has no policy of its own (default policy)
+    // or no role at all
+    @Modifying
+    @Query("UPDATE Loan l SET l.dueDate = l.dueDate + :renewalDays day, l.renewCount = l.renewCount + 1 " +
+           "WHERE l.returnDate IS NULL AND l.dueDate >= :today AND l.renewCount < :maxRenewals " +
+           "AND l.id > :afterId AND l.id <= :upToId " +
+           "AND (:memberId IS NULL OR l.member.id = :memberId) " +
+           "AND (:branch IS NULL OR l.branchCode = :branch) " +
+           "AND l.member.id IN (SELECT m.id FROM Member m WHERE m.role IS NULL OR LOWER(m.role) NOT IN :roles)")
+    int renewEligibleForOtherRoles(@Param("roles") Collection<String> roles,
+                                   @Param("today") LocalDate today,
+                                   @Param("maxRenewals") int maxRenewals,
+                                   @Param("renewalDays") int renewalDays,
+                                   @Param("afterId") Long afterId,
+                                   @Param("upToId") Long upToId,
+                                   @Param("memberId") Long memberId,
+                                   @Param("branch") String branch);
+
+    // Ids of loans returned before the cutoff, oldest id first; the Pageable bounds the chunk size
+    @Query("SELECT l.id FROM Loan l WHERE l.returnDate < :cutoff ORDER BY l.id")
+    List<Long> findArchivableLoanIds(@Param("cutoff") LocalDate cutoff, Pageable pageable);
+
+    // Set-based delete of a chunk of loans that has already been copied to loan_archive
+    @Modifying
+    @Query("DELETE FROM Loan l WHERE l.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+
+    // Set-based delete of every loan of a chunk of members (member deletion)
     @Modifying
-    @Query("UPDATE Loan l SET l.dueDate = :newDueDate WHERE l.id = :loanId")
-    int updateLoanDueDate(@Param("loanId") Long loanId, @Param("newDueDate") LocalDate newDueDate);
-}
\ No newline at end of file
+    @Query("DELETE FROM Loan l WHERE l.member.id IN :memberIds")
+    int deleteByMemberIdIn(@Param("memberIds") Collection<Long> memberIds);
+
+    // Open loans due in [from, to] after the (member, loan) cursor, in (member, loan) order (reminder batches).
+    // Walks idx_loan_return_member in index order, filtering on its due_date; the Pageable bounds the batch.
+    @Query("SELECT new com.example.library_management.dto.DueLoanReminderRow(" +
+           "l.id, m.id, m.name, m.email, b.title, l.dueDate) " +
+           "FROM Loan l JOIN l.member m JOIN l.book b " +
+           "WHERE l.returnDate IS NULL AND l.dueDate BETWEEN :from AND :to " +
+           "AND (l.member.id > :afterMemberId OR (l.member.id = :afterMemberId AND l.id > :afterLoanId)) " +
+           "ORDER BY l.member.id, l.id")
+    List<DueLoanReminderRow> findOpenLoansDueBetween(@Param("from") LocalDate from,
+                                                     @Param("to") LocalDate to,
+                                                     @Param("afterMemberId") Long afterMemberId,
+                                                     @Param("afterLoanId") Long afterLoanId,
+                                                     Pageable pageable);
+
+    // ─── Co-borrow recommendations (RecommendationService) ───
+
+    // Books a member borrowed since :since, newest loan first, excluding one loan (the borrow being recorded)
+    @Query("SELECT l.book.id FROM Loan l WHERE l.member.id = :memberId AND l.borrowDate >= :since " +
+           "AND l.id <> :excludeLoanId ORDER BY l.id DESC")
+    List<Long> findRecentBookIdsByMember(@Param("memberId") Long memberId,
+                                         @Param("since") LocalDate since,
+                                         @Param("excludeLoanId") Long excludeLoanId,
+                                         Pageable pageable);
+
+    // Borrows since :since of several members, as [memberId, loanId, bookId] by member, newest loan first
+    // (all borrowers of one outbox batch in one query)
+    @Query("SELECT l.member.id, l.id, l.book.id FROM Loan l WHERE l.member.id IN :memberIds AND l.borrowDate >= :since " +
+           "ORDER BY l.member.id, l.id DESC")
+    List<Object[]> findRecentBorrowsByMembers(@Param("memberIds") Collection<Long> memberIds,
+                                              @Param("since") LocalDate since);
+
+    // Borrows since :since in loan id order, as [loanId, memberId, bookId] (startup replay)
+    @Query("SELECT l.id, l.member.id, l.book.id FROM Loan l WHERE l.id > :afterId AND l.borrowDate >= :since ORDER BY l.id")
+    List<Object[]> findBorrowsAfter(@Param("afterId") Long afterId, @Param("since") LocalDate since, Pageable pageable);
+
+    // ─── Trending titles (TrendingService) ───
+
+    @Query("SELECT MAX(l.id) FROM Loan l")
+    Long findMaxLoanId();
+
+    // Borrows with ids in (afterId, upToId] since :since, in loan id order, as [loanId, bookId, borrowDate]
+    @Query("SELECT l.id, l.book.id, l.borrowDate FROM Loan l " +
+           "WHERE l.id > :afterId AND l.id <= :upToId AND l.borrowDate >= :since ORDER BY l.id")
+    List<Object[]> findBorrowDaysBetween(@Param("afterId") Long afterId,
+                                         @Param("upToId") Long upToId,
+                                         @Param("since") LocalDate since,
+                                         Pageable pageable);
+
+    // ─── Overdue report (OverdueReportService) ───
+    // Keyset pages of one branch's open loans past their due date, most overdue first. Range scan on
+    // idx_loan_branch_return_due (branch_code, return_date, due_date); InnoDB secondary indexes carry
+    // the id, so ORDER BY due_date, id needs no sort. The Pageable bounds the page.
+    @Query("SELECT new com.example.library_management.dto.OverdueLoanRow(" +
+           "l.id, m.id, m.name, m.email, m.role, b.id, b.title, l.borrowDate, l.dueDate, l.renewCount) " +
+           "FROM Loan l JOIN l.member m JOIN l.book b " +
+           "WHERE l.branchCode = :branch AND l.returnDate IS NULL AND l.dueDate < :today " +
+           "AND (l.dueDate > :afterDue OR (l.dueDate = :afterDue AND l.id > :afterId)) " +
+           "ORDER BY l.dueDate, l.id")
+    List<OverdueLoanRow> findOverdueAfter(@Param("branch") String branch,
+                                          @Param("today") LocalDate today,
+                                          @Param("afterDue") LocalDate afterDue,
+                                          @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
+    // Same, restricted to members with one of the given (lower-case) roles
+    @Query("SELECT new com.example.library_management.dto.OverdueLoanRow(" +
+           "l.id, m.id, m.name, m.email, m.role, b.id, b.title, l.borrowDate, l.dueDate, l.renewCount) " +
+           "FROM Loan l JOIN l.member m JOIN l.book b " +
+           "WHERE l.branchCode = :branch AND l.returnDate IS NULL AND l.dueDate < :today " +
+           "AND (l.dueDate > :afterDue OR (l.dueDate = :afterDue AND l.id > :afterId)) " +
+           "AND LOWER(m.role) IN :roles " +
+           "ORDER BY l.dueDate, l.id")
+    List<OverdueLoanRow> findOverdueAfterForRoles(@Param("branch") String branch,
+                                                  @Param("roles") Collection<String> roles,
+                                                  @Param("today") LocalDate today,
+                                                  @Param("afterDue") LocalDate afterDue,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable pageable);
+
+    // Same, for members whose role has no policy of its own (default policy) or no role at all
+    @Query("SELECT new com.example.library_management.dto.OverdueLoanRow(" +
+           "l.id, m.id, m.name, m.email, m.role, b.id, b.title, l.borrowDate, l.dueDate, l.renewCount) " +
+           "FROM Loan l JOIN l.member m JOIN l.book b " +
+           "WHERE l.branchCode = :branch AND l.returnDate IS NULL AND l.dueDate < :today " +
+           "AND (l.dueDate > :afterDue OR (l.dueDate = :afterDue AND l.id > :afterId)) " +
+           "AND (m.role IS NULL OR LOWER(m.role) NOT IN :roles) " +
+           "ORDER BY l.dueDate, l.id")
+    List<OverdueLoanRow> findOverdueAfterForOtherRoles(@Param("branch") String branch,
+                                                       @Param("roles") Collection<String> roles,
+                                                       @Param("today") LocalDate today,
+                                                       @Param("afterDue") LocalDate afterDue,
+                                                       @Param("afterId") Long afterId,
+                                                       Pageable pageable);
+}
@@ -1,8 +1,16 @@
 package com.example.library_management.repository;
 
+import com.example.library_management.dto.MemberAccountSummaryDTO;
+import com.example.library_management.dto.MemberSummaryDTO;
 import com.example.library_management.model.Member;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +23,94 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     // Find a member by exact username
     Optional<Member> findByUsername(String username);
 
+    // One branch's members; uses idx_member_branch
+    List<Member> findByBranchCode(String branchCode);
+
     // Find all members where the name contains a given string (case-insensitive)
     List<Member> findByNameContainingIgnoreCase(String name);
-}
\ No newline at end of file
+
+    // ─── Slim member views (MemberSummaryDTO): selected columns only, no password, no loans ───
+
+    @Query("SELECT new com.example.library_management.dto.MemberSummaryDTO(" +
+           "m.id, m.name, m.username, m.email, m.registrationDate, m.active, m.role, m.branchCode) " +
+           "FROM Member m WHERE m.branchCode = :branch ORDER BY m.id")
+    List<MemberSummaryDTO> findSummariesByBranchCode(@Param("branch") String branch);
+
+    @Query("SELECT new com.example.library_management.dto.MemberSummaryDTO(" +
+           "m.id, m.name, m.username, m.email, m.registrationDate, m.active, m.role, m.branchCode) " +
+           "FROM Member m WHERE LOWER(m.name) LIKE LOWER(CONCAT('%', :namePart, '%')) ORDER BY m.id")
+    List<MemberSummaryDTO> findSummariesByNameContaining(@Param("namePart") String namePart);
+
+    @Query("SELECT new com.example.library_management.dto.MemberSummaryDTO(" +
+           "m.id, m.name, m.username, m.email, m.registrationDate, m.active, m.role, m.branchCode) " +
+           "FROM Member m WHERE m.id = :id")
+    Optional<MemberSummaryDTO> findSummaryById(@Param("id") Long id);
+
+    // Dashboard summary in one aggregate query over the member's open loans (no Loan entities loaded).
+    // Per-loan fine mirrors LoanPolicy.currentFine(): overdue days * daily rate, capped per loan
+    // (computed in whole cents so the arithmetic stays integral).
+    @Query("SELECT new com.example.library_management.dto.MemberAccountSummaryDTO(" +
+           "m.id, m.membershipExpiryDate, COUNT(l.id), " +
+           "SUM(CASE WHEN l.dueDate < :today THEN 1 ELSE 0 END), " +
+           "MIN(CASE WHEN l.dueDate >= :today THEN l.dueDate ELSE NULL END), " +
+           "SUM(CASE WHEN l.dueDate < :today " +
+           "    THEN LEAST(((:today - l.dueDate) by day) * :dailyFineCents, :maxFineCents) ELSE 0 END) / 100.0) " +
+           "FROM Member m " +
+           "LEFT JOIN m.loans l ON l.returnDate IS NULL " +
+           "WHERE m.id = :memberId " +
+           "GROUP BY m.id, m.membershipExpiryDate")
+    Optional<MemberAccountSummaryDTO> findAccountSummaryById(@Param("memberId") Long memberId,
+                                                                 @Param("today") LocalDate today,
+                                                                 @Param("dailyFineCents") long dailyFineCents,
+                                                                 @Param("maxFineCents") long maxFineCents);
+
+    // ─── Bulk maintenance (MemberCleanupService); set-based, no Member/Loan entities loaded ───
+
+    // Which of the given ids exist (optionally only active members), for events and result counts
+    @Query("SELECT m.id FROM Member m WHERE m.id IN :ids AND (:activeOnly = false OR m.active = true) ORDER BY m.id")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids, @Param("activeOnly") boolean activeOnly);
+
+    // Non-admin members whose membership expired before the cutoff, with no open loans, in id order after :afterId.
+    // Members holding books are skipped: those loans need to be resolved at the desk first.
+    @Query("SELECT m.id FROM Member m " +
+           "WHERE m.membershipExpiryDate < :expiredBefore AND m.id > :afterId " +
+           "AND (:activeOnly = false OR m.active = true) " +
+           "AND LOWER(m.role) <> 'admin' " +
+           "AND NOT EXISTS (SELECT 1 FROM Loan l WHERE l.member = m AND l.returnDate IS NULL) " +
+           "ORDER BY m.id")
+    List<Long> findExpiredMemberIds(@Param("expiredBefore") LocalDate expiredBefore,
+                                    @Param("afterId") Long afterId,
+                                    @Param("activeOnly") boolean activeOnly,
+                                    Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Member m SET m.active = false WHERE m.id IN :ids AND m.active = true")
+    int deactivateByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ─── Membership expiry (MembershipService) ───
+
+    // Active non-admin members whose membership ran out on or before :today, in (expiry, id) order after
+    // (:afterExpiry, :afterId); a range scan on idx_member_active_expiry. Rows: id, name, email, expiry date.
+    @Query("SELECT m.id, m.name, m.email, m.membershipExpiryDate FROM Member m " +
+           "WHERE m.active = true AND m.membershipExpiryDate <= :today " +
+           "AND (m.membershipExpiryDate > :afterExpiry " +
+           "     OR (m.membershipExpiryDate = :afterExpiry AND m.id > :afterId)) " +
+           "AND LOWER(m.role) <> 'admin' " +
+           "ORDER BY m.membershipExpiryDate, m.id")
+    List<Object[]> findLapsedActiveMembers(@Param("today") LocalDate today,
+                                           @Param("afterExpiry") LocalDate afterExpiry,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+
+    // Renewal: a new membership period starting today; reactivates members the expiry sweep deactivated
+    @Modifying
+    @Query("UPDATE Member m SET m.registrationDate = :today, m.membershipExpiryDate = :expiry, m.active = true " +
+           "WHERE m.id IN :ids")
+    int renewByIdIn(@Param("ids") Collection<Long> ids, @Param("today") LocalDate today,
+                    @Param("expiry") LocalDate expiry);
+
+    // Caller deletes the members' loans first (the Member.loans cascade does not apply to bulk statements)
+    @Modifying
+    @Query("DELETE FROM Member m WHERE m.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,102 @@
+package com.example.library_management.repository;
+
+import com.example.library_management.model.Loan;
+import com.example.library_management.model.Member;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Sparse-fieldset reads for members and loans (?fields=...).
+ *
+ * Each query selects only the requested attribute paths as a tuple; nothing is loaded as an entity,
+ * so lazy collections are never initialised and member/book are joined only when one of their fields
+ * was asked for. Rows come back as field name -> value maps, in id order.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class ProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // One branch's members (admin list)
+    public List<Map<String, Object>> findMembersByBranch(FieldSelection fields, String branch) {
+        return select(Member.class, fields, (cb, m) -> cb.equal(m.get("branchCode"), branch));
+    }
+
+    // Members whose name contains the given text, ignoring case (admin search)
+    public List<Map<String, Object>> findMembersByNameContaining(FieldSelection fields, String namePart) {
+        return select(Member.class, fields,
+                (cb, m) -> cb.like(cb.lower(m.get("name")), "%" + escapeLike(namePart.toLowerCase()) + "%", '\\'));
+    }
+
+    public Optional<Map<String, Object>> findMemberById(FieldSelection fields, Long memberId) {
+        return select(Member.class, fields, (cb, m) -> cb.equal(m.get("id"), memberId)).stream().findFirst();
+    }
+
+    // One branch's loans (admin list)
+    public List<Map<String, Object>> findLoansByBranch(FieldSelection fields, String branch) {
+        return select(Loan.class, fields, (cb, l) -> cb.equal(l.get("branchCode"), branch));
+    }
+
+    // A member's loans, filtered on the member_id column (no join to member unless member fields are asked for)
+    public List<Map<String, Object>> findLoansByMemberId(FieldSelection fields, Long memberId) {
+        return select(Loan.class, fields, (cb, l) -> cb.equal(l.get("member").get("id"), memberId));
+    }
+
+    // ──────────────────────────────────────────────
+    // INTERNAL
+    // ──────────────────────────────────────────────
+    private <E> List<Map<String, Object>> select(Class<E> entity, FieldSelection fields,
+                                                 BiFunction<CriteriaBuilder, Root<E>, Predicate> where) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entity);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.paths().size());
+        fields.paths().forEach((name, path) -> selections.add(resolve(root, path).alias(name)));
+        query.multiselect(selections)
+                .where(where.apply(cb, root))
+                .orderBy(cb.asc(root.get("id")));
+
+        List<Tuple> tuples = entityManager.createQuery(query).getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String name : fields.paths().keySet()) {
+                row.put(name, tuple.get(name));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // "member.name" -> root.get("member").get("name"); Hibernate reads "member.id" from the foreign key without a join
+    private static Path<?> resolve(Root<?> root, String path) {
+        Path<?> current = root;
+        for (String attribute : path.split("\\.")) {
+            current = current.get(attribute);
+        }
+        return current;
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.library_management.repository;
+
+import com.example.library_management.model.ReminderCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+// Reminder pipeline checkpoints, keyed by reminder kind
+public interface ReminderCheckpointRepository extends JpaRepository<ReminderCheckpoint, String> {
+}
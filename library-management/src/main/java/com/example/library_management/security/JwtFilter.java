@@ -30,6 +30,12 @@ public class JwtFilter extends OncePerRequestFilter {
         this.userDetailsService = userDetailsService;
     }
 
+    // Streamed (Flux) responses finish on an async dispatch, which must be authenticated again
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
     @Override
     protected void doFilterInternal(
         HttpServletRequest request,
@@ -72,7 +78,8 @@ public class JwtFilter extends OncePerRequestFilter {
                     logger.info("Token IS VALID for user: {}", username);
                     logger.info("User Details Authorities from UserDetailsService: {}", userDetails.getAuthorities()); // CRITICAL LOG
 
-                    // Set Spring Security Authentication object if valid
+                    // Set Spring Security Authentication object if valid. The principal is a MemberPrincipal
+                    // (member id, role, status): the only member lookup of the request happens here.
                     UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
                             userDetails,
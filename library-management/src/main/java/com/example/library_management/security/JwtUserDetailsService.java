@@ -1,47 +1,34 @@
 package com.example.library_management.security;
 
 import com.example.library_management.model.Member;
-import com.example.library_management.repository.MemberRepository;
+import com.example.library_management.service.MemberDirectory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.*;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 public class JwtUserDetailsService implements UserDetailsService {
 
-    private final MemberRepository memberRepository;
+    // Users may log in from any branch, so the lookup covers every branch database
+    private final MemberDirectory memberDirectory;
 
     @Autowired
-    public JwtUserDetailsService(MemberRepository memberRepository) {
-        this.memberRepository = memberRepository;
+    public JwtUserDetailsService(MemberDirectory memberDirectory) {
+        this.memberDirectory = memberDirectory;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Member member = memberRepository.findByUsername(username)
+        Member member = memberDirectory.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
         if (member.getRole() == null || member.getRole().isBlank()) {
             throw new IllegalStateException("User has no roles assigned");
         }
 
-        return User.builder()
-                .username(member.getUsername())
-                .password(member.getPassword()) // BCrypt password
-                .authorities(getAuthorities(member.getRole()))
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(false)
-                .build();
-    }
-
-    private List<GrantedAuthority> getAuthorities(String role) {
-        // Expandable to multiple roles in future (e.g., comma-separated)
-        return List.of(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()));
+        // Carries the member id, role and status, so the request needs no further member lookups
+        return MemberPrincipal.of(member);
     }
-}
\ No newline at end of file
+}
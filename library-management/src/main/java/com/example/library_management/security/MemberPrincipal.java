@@ -0,0 +1,96 @@
+package com.example.library_management.security;
+
+import com.example.library_management.model.Member;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The authenticated member as placed in the security context by {@link JwtFilter}: id, role and status
+ * read once per request, so services can tell who is calling without looking the member up again.
+ * Loading the Member entity (by id) is left to the code paths that change it.
+ */
+public class MemberPrincipal implements UserDetails, CredentialsContainer {
+
+    private final Long memberId;
+    private final String username;
+    private String password;
+    private final String role;
+    private final boolean active;
+    private final LocalDate membershipExpiry;
+    private final String branchCode;
+    private final List<GrantedAuthority> authorities;
+
+    public MemberPrincipal(Long memberId, String username, String password, String role, boolean active,
+                           LocalDate membershipExpiry, String branchCode) {
+        this.memberId = memberId;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+        this.active = active;
+        this.membershipExpiry = membershipExpiry;
+        this.branchCode = branchCode;
+        // Expandable to multiple roles in future (e.g., comma-separated)
+        this.authorities = role == null ? List.of() : List.of(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()));
+    }
+
+    public static MemberPrincipal of(Member member) {
+        return new MemberPrincipal(member.getId(), member.getUsername(), member.getPassword(), member.getRole(),
+                member.isActive(), member.getMembershipExpiryDate(), member.getBranchCode());
+    }
+
+    // Valid until the day before the stored expiry date
+    public boolean isMembershipValid(LocalDate today) {
+        return membershipExpiry != null && today.isBefore(membershipExpiry);
+    }
+
+    public Long getMemberId() { return memberId; }
+
+    // Role as stored on the member ("ADMIN", "MEMBER"), used to pick the loan policy
+    public String getRole() { return role; }
+
+    public boolean isActive() { return active; }
+
+    public LocalDate getMembershipExpiry() { return membershipExpiry; }
+
+    public String getBranchCode() { return branchCode; }
+
+    // ─── UserDetails ───
+
+    @Override
+    public String getUsername() { return username; }
+
+    @Override
+    public String getPassword() { return password; }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() { return authorities; }
+
+    // Account state is not enforced at login (inactive members may still sign in and renew)
+    @Override
+    public boolean isAccountNonExpired() { return true; }
+
+    @Override
+    public boolean isAccountNonLocked() { return true; }
+
+    @Override
+    public boolean isCredentialsNonExpired() { return true; }
+
+    @Override
+    public boolean isEnabled() { return true; }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
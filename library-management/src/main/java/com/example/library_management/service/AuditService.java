@@ -0,0 +1,251 @@
+package com.example.library_management.service;
+
+import com.example.library_management.audit.AuditEvent;
+import com.example.library_management.audit.AuditLogReader;
+import com.example.library_management.audit.AuditLogWriter;
+import com.example.library_management.audit.AuditRingBuffer;
+import com.example.library_management.branch.BranchContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only audit trail of circulation and admin mutations.
+ *
+ * Request threads never touch the disk: an event is put into a bounded lock-free ring buffer once its
+ * transaction commits (rolled-back changes are not audited). A single "audit-flusher" thread drains the
+ * buffer in batches into the segmented log ({@link AuditLogWriter}) and forces it to disk every
+ * fsync-interval-ms, so a crash loses at most that much of the trail.
+ *
+ * When the buffer is full, callers wait up to offer-timeout-ms for the flusher before the event is
+ * dropped and counted. Segments are never rewritten; old ones can be archived or deleted by operations.
+ */
+@Service
+public class AuditService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditService.class);
+
+    private static final String SYSTEM_ACTOR = "system";
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${library.audit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${library.audit.directory:audit}")
+    private String directory;
+
+    // Ring buffer slots (rounded up to a power of two)
+    @Value("${library.audit.buffer-size:8192}")
+    private int bufferSize;
+
+    // Events written per flusher pass
+    @Value("${library.audit.batch-size:512}")
+    private int batchSize;
+
+    // A segment is closed and a new one started once it would exceed this size
+    @Value("${library.audit.segment-bytes:67108864}")
+    private long segmentBytes;
+
+    @Value("${library.audit.fsync-interval-ms:1000}")
+    private long fsyncIntervalMs;
+
+    // Flusher pause when the buffer is empty
+    @Value("${library.audit.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    // How long a caller waits for space when the buffer is full
+    @Value("${library.audit.offer-timeout-ms:50}")
+    private long offerTimeoutMs;
+
+    private AuditRingBuffer<AuditEvent> buffer;
+    private AuditLogWriter writer;   // only touched by the flusher thread after start()
+    private boolean writerFailed;    // the last append or sync failed; reopen before writing again
+    private long reopenFailures;
+    private AuditLogReader reader;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong lost = new AtomicLong();
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) return;
+        Path path = Path.of(directory);
+        writer = new AuditLogWriter(path, segmentBytes);
+        if (writer.recoveredBytesDropped() > 0) {
+            logger.warn("Audit log: cut {} bytes of an incomplete record from the last segment.",
+                    writer.recoveredBytesDropped());
+        }
+        reader = new AuditLogReader(path);
+        buffer = new AuditRingBuffer<>(Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1);
+        running = true;
+        flusher = new Thread(this::flushLoop, "audit-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        logger.info("Audit log in {} (next sequence {}).", path.toAbsolutePath(), writer.nextSequence());
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        if (flusher == null) return;
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        if (flusher.isAlive()) {
+            logger.warn("Audit flusher did not stop; {} events may not be written.", buffer.size());
+            return;
+        }
+        writer.close();
+    }
+
+    // ──────────────────────────────────────────────
+    // Record a mutation (after commit when inside a transaction)
+    // ──────────────────────────────────────────────
+    public void record(String action, String aggregateType, Long aggregateId, String detail) {
+        if (!enabled) return;
+        AuditEvent event = new AuditEvent(clock.millis(), currentActor(), BranchContext.current(),
+                action, aggregateType, aggregateId, detail);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(event);
+            }
+        });
+    }
+
+    // ──────────────────────────────────────────────
+    // ADMIN: Read the trail from a sequence number, oldest first
+    // ──────────────────────────────────────────────
+    public List<AuditEvent> search(long fromSequence, int limit, String action, String actor,
+                                   String aggregateType, Long aggregateId) {
+        if (!enabled) {
+            throw new RuntimeException("Audit log is disabled");
+        }
+        try {
+            return reader.find(fromSequence, limit, event ->
+                    (action == null || action.equalsIgnoreCase(event.getAction()))
+                    && (actor == null || actor.equals(event.getActor()))
+                    && (aggregateType == null || aggregateType.equalsIgnoreCase(event.getAggregateType()))
+                    && (aggregateId == null || aggregateId.equals(event.getAggregateId())));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read the audit log", e);
+        }
+    }
+
+    // ──────────────────────────────────────────────
+    // INTERNAL
+    // ──────────────────────────────────────────────
+    private void enqueue(AuditEvent event) {
+        if (buffer.offer(event)) return;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+        do {
+            LockSupport.unpark(flusher);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+            if (buffer.offer(event)) return;
+        } while (System.nanoTime() < deadline);
+        long count = dropped.incrementAndGet();
+        if (count == 1 || count % 1000 == 0) {
+            logger.warn("Audit buffer full: {} events dropped so far (last: {} {} {}).",
+                    count, event.getAction(), event.getAggregateType(), event.getAggregateId());
+        }
+    }
+
+    private void flushLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long fsyncNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMs);
+        long lastSync = System.nanoTime();
+        while (running || buffer.size() > 0) {
+            if (writerFailed && !reopen()) {
+                // Events stay in the buffer (callers drop them once it is full) until the log opens again
+                if (!running) break;
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+                continue;
+            }
+            batch.clear();
+            int drained = buffer.drainTo(batch, batchSize);
+            if (drained > 0) {
+                write(batch);
+            }
+            if (System.nanoTime() - lastSync >= fsyncNanos || !running) {
+                sync();
+                lastSync = System.nanoTime();
+            }
+            if (drained < batchSize && running) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+            }
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        try {
+            writer.append(batch);
+        } catch (IOException e) {
+            long count = lost.addAndGet(batch.size());
+            logger.error("Could not write {} audit events ({} lost so far); reopening the log.", batch.size(), count, e);
+            writerFailed = true;
+        }
+    }
+
+    private void sync() {
+        try {
+            writer.sync();
+        } catch (IOException e) {
+            logger.error("Could not sync the audit log; reopening it.", e);
+            writerFailed = true;
+        }
+    }
+
+    // Recovery on open cuts any partly written record. The old writer is only closed once the new
+    // one is open; if opening fails it stays in place and the next round of the flusher tries again.
+    private boolean reopen() {
+        AuditLogWriter replacement;
+        try {
+            replacement = new AuditLogWriter(Path.of(directory), segmentBytes);
+        } catch (IOException e) {
+            if (reopenFailures++ % 100 == 0) {
+                logger.error("Could not reopen the audit log ({} attempts); {} events waiting.", reopenFailures, buffer.size(), e);
+            }
+            return false;
+        }
+        try {
+            writer.close();
+        } catch (IOException ignored) {
+            // the channel is being replaced anyway
+        }
+        writer = replacement;
+        writerFailed = false;
+        reopenFailures = 0;
+        logger.info("Audit log reopened (next sequence {}).", writer.nextSequence());
+        return true;
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? Objects.requireNonNullElse(authentication.getName(), SYSTEM_ACTOR) : SYSTEM_ACTOR;
+    }
+}
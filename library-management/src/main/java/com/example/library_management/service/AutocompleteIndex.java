@@ -0,0 +1,208 @@
+package com.example.library_management.service;
+
+import com.example.library_management.branch.BranchDatabases;
+import com.example.library_management.autocomplete.PrefixSnapshot;
+import com.example.library_management.autocomplete.SearchText;
+import com.example.library_management.dto.SuggestionDTO;
+import com.example.library_management.repository.BookDailyStatsRepository;
+import com.example.library_management.repository.BookRepository;
+import com.example.library_management.util.LongLongHashMap;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory prefix suggestions over book titles and authors, ranked by recent borrows.
+ *
+ * Readers use an immutable {@link PrefixSnapshot} plus a small overlay of books saved or deleted since
+ * it was built; both are published together in one volatile field, so lookups never lock. The
+ * snapshot is rebuilt on a background thread (at startup, periodically to refresh popularity, and when
+ * the overlay grows) and swapped in atomically. Overlay entries newer than the rebuild survive the swap.
+ *
+ * Author suggestions only change on rebuild; title suggestions follow saves and deletes immediately.
+ */
+@Component
+public class AutocompleteIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteIndex.class);
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookDailyStatsRepository bookDailyStatsRepository;
+
+    @Autowired
+    private Clock clock;
+
+    @Autowired
+    private BranchDatabases branchDatabases;
+
+    @Value("${library.autocomplete.enabled:true}")
+    private boolean enabled;
+
+    // Borrows within this many days rank a title
+    @Value("${library.autocomplete.popularity-days:90}")
+    private int popularityDays;
+
+    // Rebuild once this many books changed since the last build
+    @Value("${library.autocomplete.max-overlay:500}")
+    private int maxOverlay;
+
+    private volatile State state = new State(PrefixSnapshot.EMPTY, new ConcurrentHashMap<>());
+
+    private final Object writeLock = new Object();
+    private final AtomicLong changeSeq = new AtomicLong();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "autocomplete-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // ──────────────────────────────────────────────
+    // READ PATH
+    // ──────────────────────────────────────────────
+    public List<SuggestionDTO> suggest(String query, int limit) {
+        String prefix = SearchText.normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        State current = state;
+        Map<Long, Change> overlay = current.overlay;
+        PrefixSnapshot snapshot = current.snapshot;
+
+        List<SuggestionDTO> suggestions = new ArrayList<>(limit);
+        List<Long> scores = new ArrayList<>(limit);
+        for (int index : snapshot.suggest(prefix, limit, overlay.isEmpty() ? id -> false : overlay::containsKey)) {
+            long bookId = snapshot.bookId(index);
+            suggestions.add(new SuggestionDTO(snapshot.text(index),
+                    bookId == 0 ? SuggestionDTO.KIND_AUTHOR : SuggestionDTO.KIND_TITLE, bookId == 0 ? null : bookId));
+            scores.add(snapshot.score(index));
+        }
+
+        // Books saved since the build: rank them with the snapshot's popularity figures
+        for (Change change : overlay.values()) {
+            if (change.deleted() || !matches(change.terms(), prefix)) continue;
+            long score = snapshot.popularity(change.bookId());
+            int at = 0;
+            while (at < scores.size() && scores.get(at) >= score) at++;
+            if (at < limit) {
+                suggestions.add(at, new SuggestionDTO(change.title(), SuggestionDTO.KIND_TITLE, change.bookId()));
+                scores.add(at, score);
+                if (suggestions.size() > limit) {
+                    suggestions.remove(limit);
+                    scores.remove(limit);
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    // ──────────────────────────────────────────────
+    // Incremental updates (BookService)
+    // ──────────────────────────────────────────────
+    public void bookSaved(Long bookId, String title) {
+        record(new Change(0L, bookId, title, SearchText.terms(SearchText.normalize(title)), false));
+    }
+
+    public void bookDeleted(Long bookId) {
+        record(new Change(0L, bookId, null, List.of(), true));
+    }
+
+    private void record(Change change) {
+        if (!enabled || change.bookId() == null) return;
+        int size;
+        synchronized (writeLock) {
+            Change numbered = new Change(changeSeq.incrementAndGet(), change.bookId(), change.title(), change.terms(), change.deleted());
+            state.overlay.put(numbered.bookId(), numbered);
+            size = state.overlay.size();
+        }
+        if (size > maxOverlay) {
+            requestRebuild();
+        }
+    }
+
+    // ──────────────────────────────────────────────
+    // Rebuilds (background thread; readers keep using the old state)
+    // ──────────────────────────────────────────────
+    @EventListener(ApplicationReadyEvent.class)
+    public void requestRebuild() {
+        if (enabled && rebuildQueued.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildQueued.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    logger.warn("Autocomplete rebuild failed; keeping the previous index.", e);
+                }
+            });
+        }
+    }
+
+    // Refreshes popularity ranking and folds the overlay into a new snapshot
+    @Scheduled(fixedDelayString = "${library.autocomplete.refresh-interval-ms:3600000}",
+               initialDelayString = "${library.autocomplete.refresh-interval-ms:3600000}")
+    public void scheduledRebuild() {
+        requestRebuild();
+    }
+
+    void rebuild() {
+        long startSeq = changeSeq.get(); // changes up to here are already in the database
+        long started = System.nanoTime();
+
+        // Titles of every branch database (book ids are unique across them)
+        LongLongHashMap popularity = new LongLongHashMap(1024);
+        List<Object[]> searchKeys = new ArrayList<>();
+        branchDatabases.forEachDatabase(() -> {
+            for (Object[] row : bookDailyStatsRepository.sumBorrowsSince(LocalDate.now(clock).minusDays(popularityDays))) {
+                popularity.put((Long) row[0], ((Number) row[1]).longValue(), 0L);
+            }
+            searchKeys.addAll(bookRepository.findAllSearchKeys());
+        });
+        PrefixSnapshot snapshot = PrefixSnapshot.build(searchKeys, popularity);
+
+        synchronized (writeLock) {
+            ConcurrentHashMap<Long, Change> carried = new ConcurrentHashMap<>();
+            state.overlay.forEach((id, change) -> {
+                if (change.seq() > startSeq) carried.put(id, change);
+            });
+            state = new State(snapshot, carried);
+        }
+        logger.info("Autocomplete index rebuilt: {} suggestions in {} ms.", snapshot.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    private static boolean matches(List<String> terms, String prefix) {
+        for (String term : terms) {
+            if (term.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    private record State(PrefixSnapshot snapshot, ConcurrentHashMap<Long, Change> overlay) {}
+
+    private record Change(long seq, Long bookId, String title, List<String> terms, boolean deleted) {}
+}
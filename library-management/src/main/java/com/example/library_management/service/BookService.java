@@ -1,7 +1,10 @@
 package com.example.library_management.service;
 
+import com.example.library_management.branch.BranchContext;
 import com.example.library_management.model.Book;
 import com.example.library_management.repository.BookRepository;
+import com.example.library_management.util.IsbnUtil;
+import com.example.library_management.web.ResourceVersions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -17,9 +20,18 @@ public class BookService {
     @Autowired // Injects BookRepository for data access
     private BookRepository bookRepository;
 
-    // get a list of all the books
+    @Autowired // In-memory ISBN -> id lookup kept in step with saves/deletes
+    private IsbnIndex isbnIndex;
+
+    @Autowired // Change counters behind the catalogue ETag
+    private ResourceVersions resourceVersions;
+
+    @Autowired // Title suggestions for the search box, kept in step with saves/deletes
+    private AutocompleteIndex autocompleteIndex;
+
+    // get a list of all the books of the current branch
     public List<Book> getAllBooks() {
-        return bookRepository.findAll();
+        return bookRepository.findByBranchCode(BranchContext.current());
     }
 
     // get specific book by ID
@@ -27,13 +39,50 @@ public class BookService {
         return bookRepository.findById(id);
     }
 
+    // get the current branch's book by ISBN-10 or ISBN-13 (hyphens allowed), via the in-memory index when possible
+    public Optional<Book> findByIsbn(String isbn) {
+        String isbn13 = IsbnUtil.toIsbn13(isbn);
+        if (isbn13 == null) {
+            return Optional.empty();
+        }
+
+        Long bookId = isbnIndex.findBookId(isbn13);
+        if (bookId != null) {
+            Optional<Book> book = bookRepository.findById(bookId);
+            if (book.isPresent() && isbn13.equals(book.get().getIsbn13())
+                    && BranchContext.current().equals(book.get().getBranchCode())) {
+                return book;
+            }
+        }
+        // Index miss or stale entry: fall back to the unique (branch_code, isbn13) key
+        return bookRepository.findByBranchCodeAndIsbn13(BranchContext.current(), isbn13);
+    }
+
     // create a new book record or update a book
     public Book saveBook(Book book) {
-        return bookRepository.save(book);
+        String isbn13 = IsbnUtil.toIsbn13(book.getIsbn());
+        if (book.getIsbn() != null && !book.getIsbn().isBlank() && isbn13 == null) {
+            throw new RuntimeException("Invalid ISBN: " + book.getIsbn());
+        }
+        if (isbn13 != null) {
+            Long existingId = isbnIndex.findBookId(isbn13);
+            if (existingId != null && !existingId.equals(book.getId())) {
+                throw new RuntimeException("A book with ISBN " + isbn13 + " already exists");
+            }
+        }
+
+        Book saved = bookRepository.save(book);
+        isbnIndex.put(saved.getId(), saved.getIsbn13(), saved.getBranchCode());
+        autocompleteIndex.bookSaved(saved.getId(), saved.getTitle());
+        resourceVersions.catalogueChanged();
+        return saved;
     }
 
     // delete book by ID
     public void deleteBook(Long id) {
         bookRepository.deleteById(id);
+        isbnIndex.remove(id);
+        autocompleteIndex.bookDeleted(id);
+        resourceVersions.catalogueChanged();
     }
 }
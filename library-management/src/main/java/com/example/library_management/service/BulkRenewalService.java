@@ -0,0 +1,139 @@
+package com.example.library_management.service;
+
+import com.example.library_management.branch.BranchContext;
+import com.example.library_management.dto.BulkRenewalResult;
+import com.example.library_management.event.CirculationEventType;
+import com.example.library_management.model.Member;
+import com.example.library_management.policy.LoanPolicy;
+import com.example.library_management.policy.LoanPolicyEngine;
+import com.example.library_management.repository.LoanRepository;
+import com.example.library_management.repository.MemberRepository;
+import com.example.library_management.web.ResourceVersions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renews many open loans at once (e.g. every loan during a closure, or all loans of one member).
+ *
+ * Open loans are walked in id order, one chunk per transaction. Within a chunk each role policy is
+ * applied by a single UPDATE that extends only the eligible loans (not overdue, below that role's
+ * renewal limit) by the role's renewal period. Nothing is loaded as entities.
+ */
+@Service
+public class BulkRenewalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkRenewalService.class);
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LoanPolicyEngine loanPolicyEngine;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Clock clock;
+
+    // Open loans handled per transaction
+    @Value("${library.renewal.chunk-size:1000}")
+    private int chunkSize;
+
+    // ──────────────────────────────────────────────
+    // ADMIN: Renew every open loan of the current branch (closures)
+    // ──────────────────────────────────────────────
+    public BulkRenewalResult renewAllOpenLoans() {
+        BulkRenewalResult result = renew(null, BranchContext.current());
+        logger.info("Bulk renewal: {} loans renewed, {} rejected.", result.getRenewed(), result.getRejected());
+        return result;
+    }
+
+    // ──────────────────────────────────────────────
+    // ADMIN: Renew every open loan of one member
+    // ──────────────────────────────────────────────
+    public BulkRenewalResult renewLoansForMember(Long memberId) {
+        Member member = memberRepository.findById(memberId)
+                .orElseThrow(() -> new RuntimeException("Member not found"));
+        BulkRenewalResult result = renew(member.getId(), null);
+        resourceVersions.memberChanged(member.getUsername());
+        return result;
+    }
+
+    // ──────────────────────────────────────────────
+    // INTERNAL
+    // ──────────────────────────────────────────────
+    private BulkRenewalResult renew(Long memberId, String branch) {
+        LocalDate today = LocalDate.now(clock);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        BulkRenewalResult result = new BulkRenewalResult();
+
+        long afterId = 0L;
+        while (true) {
+            long from = afterId;
+            List<Long> ids = tx.execute(status -> {
+                List<Long> chunk = loanRepository.findOpenLoanIdsAfter(from, memberId, branch, PageRequest.of(0, chunkSize));
+                if (!chunk.isEmpty()) {
+                    renewChunk(from, chunk.get(chunk.size() - 1), chunk.size(), memberId, branch, today, result);
+                }
+                return chunk;
+            });
+            if (ids == null || ids.size() < chunkSize) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+        return result;
+    }
+
+    // Loans in (afterId, upToId] that are open; runs inside the chunk's transaction
+    private void renewChunk(long afterId, long upToId, int openLoans, Long memberId, String branch, LocalDate today,
+                            BulkRenewalResult result) {
+        int renewed = 0;
+        for (String role : loanPolicyEngine.configuredRoles()) {
+            LoanPolicy policy = loanPolicyEngine.policyFor(role);
+            renewed += loanRepository.renewEligibleForRoles(List.of(role), today,
+                    policy.getMaxRenewals(), policy.getRenewalDays(), afterId, upToId, memberId, branch);
+        }
+        LoanPolicy fallback = loanPolicyEngine.defaultPolicy();
+        renewed += loanRepository.renewEligibleForOtherRoles(loanPolicyEngine.configuredRolesForNotIn(), today,
+                fallback.getMaxRenewals(), fallback.getRenewalDays(), afterId, upToId, memberId, branch);
+
+        if (renewed > 0) {
+            // One event per chunk rather than per loan; consumers only need the count
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("afterLoanId", afterId);
+            payload.put("upToLoanId", upToId);
+            payload.put("memberId", memberId);
+            payload.put("branch", branch);
+            payload.put("renewed", renewed);
+            payload.put("day", today);
+            outboxService.publish(CirculationEventType.LOANS_BULK_RENEWED, OutboxService.AGGREGATE_LOAN, upToId, payload);
+            if (memberId == null) {
+                resourceVersions.allMembersChanged();
+            }
+        }
+        result.add(renewed, openLoans - renewed);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.library_management.service;
+
+import com.example.library_management.branch.BranchContext;
+import com.example.library_management.branch.BranchDatabases;
+import com.example.library_management.model.Book;
+import com.example.library_management.repository.BookRepository;
+import com.example.library_management.util.IsbnUtil;
+import com.example.library_management.util.LongLongHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory ISBN-13 -> book id lookup so scanner-driven loans are a hash probe instead of a query.
+ *
+ * The index is only a hint: callers still load the book by primary key and fall back to the
+ * isbn13 column if the id is missing or stale (e.g. a book changed by another instance).
+ *
+ * An ISBN is unique per branch, so entries are keyed by (branch, ISBN): the 13-digit ISBN fits in
+ * the low 44 bits of the key and a small per-branch slot number goes above it.
+ */
+@Component
+public class IsbnIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(IsbnIndex.class);
+    private static final long NONE = 0L;
+    private static final int BRANCH_SHIFT = 44; // 10^13 < 2^44
+
+    @Autowired
+    private BranchDatabases branchDatabases;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongLongHashMap idByIsbn = new LongLongHashMap(1024);
+    private final LongLongHashMap isbnById = new LongLongHashMap(1024); // reverse map, for updates/deletes
+    private final Map<String, Long> branchSlots = new ConcurrentHashMap<>();
+
+    // ──────────────────────────────────────────────
+    // Startup: backfill missing keys, then load the index (every branch database)
+    // ──────────────────────────────────────────────
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Object[]> rows = new ArrayList<>();
+        branchDatabases.forEachDatabase(() -> {
+            backfillCanonicalIsbns();
+            rows.addAll(bookRepository.findAllIsbnKeys());
+        });
+        lock.writeLock().lock();
+        try {
+            idByIsbn.clear();
+            isbnById.clear();
+            for (Object[] row : rows) {
+                putUnlocked((Long) row[0], (String) row[1], (String) row[2]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("ISBN index loaded with {} books.", rows.size());
+    }
+
+    /**
+     * @param isbn13 canonical ISBN-13
+     * @return the id of the current branch's book with that ISBN, or null if not indexed
+     */
+    public Long findBookId(String isbn13) {
+        Long slot = branchSlots.get(BranchContext.current());
+        if (slot == null) return null;
+        long key = (slot << BRANCH_SHIFT) | IsbnUtil.toKey(isbn13);
+        lock.readLock().lock();
+        try {
+            long id = idByIsbn.get(key, NONE);
+            return id == NONE ? null : id;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Record (or move) a book under its current canonical ISBN
+    public void put(Long bookId, String isbn13, String branch) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(bookId);
+            putUnlocked(bookId, isbn13, branch);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putUnlocked(Long bookId, String isbn13, String branch) {
+        if (bookId == null || isbn13 == null || branch == null) return;
+        long slot = branchSlots.computeIfAbsent(branch, b -> (long) branchSlots.size() + 1);
+        long key = (slot << BRANCH_SHIFT) | IsbnUtil.toKey(isbn13);
+        idByIsbn.put(key, bookId, NONE);
+        isbnById.put(bookId, key, NONE);
+    }
+
+    private void removeUnlocked(Long bookId) {
+        if (bookId == null) return;
+        long key = isbnById.remove(bookId, NONE);
+        if (key != NONE && idByIsbn.get(key, NONE) == bookId) {
+            idByIsbn.remove(key, NONE);
+        }
+    }
+
+    // Books saved before the isbn13 column existed get their key computed once here
+    private void backfillCanonicalIsbns() {
+        List<Book> pending = bookRepository.findByIsbn13IsNullAndIsbnIsNotNull();
+        for (Book book : pending) {
+            book.normalizeIsbn();
+            if (book.getIsbn13() == null) {
+                logger.warn("Book {} has an invalid ISBN '{}'; it will not be found by ISBN lookups.", book.getId(), book.getIsbn());
+                continue;
+            }
+            try {
+                bookRepository.save(book);
+            } catch (DataIntegrityViolationException e) {
+                logger.warn("Book {} has ISBN {} which duplicates another book; left unindexed.", book.getId(), book.getIsbn13());
+            }
+        }
+    }
+}
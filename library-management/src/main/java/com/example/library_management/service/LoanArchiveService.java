@@ -0,0 +1,118 @@
+package com.example.library_management.service;
+
+import com.example.library_management.branch.BranchDatabases;
+import com.example.library_management.dto.LoanHistoryDTO;
+import com.example.library_management.repository.ArchivedLoanRepository;
+import com.example.library_management.repository.LoanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.example.library_management.web.ResourceVersions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+// Moves returned loans older than the retention period from the hot loan table into loan_archive,
+// and serves archived history through its own read path.
+@Service
+public class LoanArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoanArchiveService.class);
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private ArchivedLoanRepository archivedLoanRepository;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Clock clock;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    // Returned loans older than this many days are archived
+    @Value("${library.archive.retention-days:365}")
+    private int retentionDays;
+
+    // Loans moved per transaction
+    @Value("${library.archive.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${library.archive.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    private BranchDatabases branchDatabases;
+
+    // ──────────────────────────────────────────────
+    // SCHEDULED: Nightly archival run (every branch database)
+    // ──────────────────────────────────────────────
+    @Scheduled(cron = "${library.archive.cron:0 30 2 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            branchDatabases.forEachDatabase(this::archiveReturnedLoans);
+        }
+    }
+
+    /**
+     * Archives every loan returned before (today - retention days), one chunk per transaction:
+     * copy the chunk into loan_archive, then delete it from loan. A crash between chunks leaves
+     * every loan in exactly one of the two tables.
+     *
+     * @return number of loans archived
+     */
+    public int archiveReturnedLoans() {
+        LocalDate today = LocalDate.now(clock);
+        LocalDate cutoff = today.minusDays(retentionDays);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        int total = 0;
+        while (true) {
+            Integer moved = tx.execute(status -> {
+                List<Long> ids = loanRepository.findArchivableLoanIds(cutoff, PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                archivedLoanRepository.copyFromLoans(ids, today);
+                resourceVersions.allMembersChanged(); // archived loans drop out of members' loan lists
+                return loanRepository.deleteByIdIn(ids);
+            });
+            if (moved == null || moved == 0) {
+                break;
+            }
+            total += moved;
+        }
+
+        if (total > 0) {
+            logger.info("Archived {} loans returned before {}.", total, cutoff);
+        }
+        return total;
+    }
+
+    // ──────────────────────────────────────────────
+    // READ PATH: Archived history
+    // ──────────────────────────────────────────────
+    public Page<LoanHistoryDTO> getHistoryForMember(Long memberId, int page, int size) {
+        return archivedLoanRepository.findHistoryByMemberId(memberId, PageRequest.of(page, size));
+    }
+
+    public Page<LoanHistoryDTO> getHistoryForCurrentMember(int page, int size) {
+        Long memberId = memberService.getCurrentMemberId();
+        return getHistoryForMember(memberId, page, size);
+    }
+}
@@ -1,17 +1,30 @@
 // LoanService.java
 package com.example.library_management.service;
 
+import com.example.library_management.branch.BranchContext;
+import com.example.library_management.branch.BranchDatabases;
 import com.example.library_management.dto.LoanSearchDTO;
+import com.example.library_management.event.CirculationEventType;
 import com.example.library_management.model.Book;
 import com.example.library_management.model.Loan;
 import com.example.library_management.model.Member;
+import com.example.library_management.policy.LoanPolicy;
+import com.example.library_management.policy.LoanPolicyEngine;
 import com.example.library_management.repository.BookRepository;
+import com.example.library_management.repository.FieldSelection;
 import com.example.library_management.repository.LoanRepository;
+import com.example.library_management.repository.ProjectionRepository;
+import com.example.library_management.security.MemberPrincipal;
+import com.example.library_management.web.ResourceVersions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class LoanService {
@@ -25,19 +38,45 @@ public class LoanService {
     @Autowired
     private MemberService memberService;
 
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private LoanPolicyEngine loanPolicyEngine;
+
+    @Autowired
+    private Clock clock;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private ProjectionRepository projectionRepository;
+
     // ──────────────────────────────────────────────
-    // ADMIN: Retrieve all loans in the system
+    // ADMIN: Retrieve all loans of the current branch
     // ──────────────────────────────────────────────
     public List<Loan> getAllLoans() {
-        return loanRepository.findAll();
+        return loanRepository.findByBranchCode(BranchContext.current());
+    }
+
+    // Only the requested fields (?fields=); book and member are joined only if asked for
+    public List<Map<String, Object>> getAllLoans(FieldSelection fields) {
+        return projectionRepository.findLoansByBranch(fields, BranchContext.current());
     }
 
     // ──────────────────────────────────────────────
     // MEMBER: Retrieve loans for current logged-in user
     // ──────────────────────────────────────────────
     public List<Loan> getLoansForCurrentMember() {
-        Member current = memberService.getCurrentAuthenticatedMember();
-        return loanRepository.findByMember(current);
+        return loanRepository.findByMemberId(memberService.getCurrentMemberId());
+    }
+
+    public List<Map<String, Object>> getLoansForCurrentMember(FieldSelection fields) {
+        return memberService.getCurrentMemberLoans(fields);
     }
 
     // ──────────────────────────────────────────────
@@ -51,48 +90,65 @@ public class LoanService {
     // ──────────────────────────────────────────────
     // MEMBER: Borrow book by ID
     // ──────────────────────────────────────────────
+    // Checks run on the request's MemberPrincipal; the member row is never read, only referenced, so the
+    // loan must go to the member's home branch (the reference is only valid in that branch's database)
+    @Transactional
     public Loan borrowBook(Long bookId) {
-        Member member = memberService.getCurrentAuthenticatedMember();
+        MemberPrincipal principal = memberService.getCurrentPrincipal();
+        String homeBranch = principal.getBranchCode() != null ? principal.getBranchCode() : BranchContext.defaultBranch();
+        if (!BranchDatabases.normalize(homeBranch).equals(BranchContext.current())) {
+            throw new RuntimeException("Books can only be borrowed at your home branch (" + homeBranch + ")");
+        }
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new RuntimeException("Book not found"));
-        return createLoan(member, book);
+        LocalDate today = LocalDate.now(clock);
+        return createLoan(memberService.getMemberReference(principal.getMemberId()), principal.getUsername(),
+                principal.getRole(), principal.isMembershipValid(today), book, today);
     }
 
     // ──────────────────────────────────────────────
     // ADMIN: Create loan using memberId and ISBN
     // ──────────────────────────────────────────────
+    @Transactional
     public Loan createLoan(Long memberId, String isbn) {
         Member member = memberService.getMemberById(memberId)
                 .orElseThrow(() -> new RuntimeException("Member not found"));
 
-        Book book = bookRepository.findByIsbn(isbn)
+        Book book = bookService.findByIsbn(isbn)
                 .orElseThrow(() -> new RuntimeException("Book with given ISBN not found"));
 
-        return createLoan(member, book);
+        LocalDate today = LocalDate.now(clock);
+        return createLoan(member, member.getUsername(), member.getRole(),
+                memberService.isMembershipValid(member, today), book, today);
     }
 
     // ──────────────────────────────────────────────
     // INTERNAL: Create loan logic
     // ──────────────────────────────────────────────
-    private Loan createLoan(Member member, Book book) {
-        validateLoanCreation(member, book);
+    private Loan createLoan(Member member, String username, String role, boolean membershipValid, Book book,
+                            LocalDate today) {
+        LoanPolicy policy = loanPolicyEngine.policyFor(role);
+        validateLoanCreation(member.getId(), membershipValid, book, policy, today);
 
         Loan loan = new Loan();
         loan.setMember(member);
         loan.setBook(book);
-        loan.setBorrowDate(LocalDate.now());
-        loan.setDueDate(LocalDate.now().plusDays(Loan.LOAN_DURATION_DAYS));
+        loan.setBorrowDate(today);
+        loan.setDueDate(policy.dueDateFor(today));
         loan.setRenewCount(0);
 
         book.setAvailable(false);
         bookRepository.save(book);
 
-        return loanRepository.save(loan);
+        Loan saved = loanRepository.save(loan);
+        publish(CirculationEventType.LOAN_BORROWED, saved, username, today);
+        return saved;
     }
 
     // ──────────────────────────────────────────────
     // MEMBER: Return book
     // ──────────────────────────────────────────────
+    @Transactional
     public Loan returnBook(Long loanId) {
         Loan loan = getLoanById(loanId);
 
@@ -100,19 +156,23 @@ public class LoanService {
             throw new RuntimeException("Book already returned");
         }
 
-        loan.setReturnDate(LocalDate.now());
-        loan.setFineAmount(loan.calculateCurrentFine());
+        // A returned loan carries no fine (fines only accrue on open loans)
+        loan.setReturnDate(LocalDate.now(clock));
+        loan.setFineAmount(0.0);
 
         Book book = loan.getBook();
         book.setAvailable(true);
         bookRepository.save(book);
 
-        return loanRepository.save(loan);
+        Loan saved = loanRepository.save(loan);
+        publish(CirculationEventType.LOAN_RETURNED, saved, saved.getReturnDate());
+        return saved;
     }
 
     // ──────────────────────────────────────────────
-    // ADMIN: Renew a loan by loan ID (extend due date by 14 days)
+    // ADMIN: Renew a loan by loan ID (extend due date per the member's loan policy)
     // ──────────────────────────────────────────────
+    @Transactional
     public Loan renewLoan(Long loanId) {
         Loan loan = getLoanById(loanId);
 
@@ -120,22 +180,29 @@ public class LoanService {
             throw new RuntimeException("Cannot renew a returned book.");
         }
 
-        if (!loan.canRenew()) {
+        LocalDate today = LocalDate.now(clock);
+        LoanPolicy policy = loanPolicyEngine.policyFor(loan.getMember().getRole());
+
+        if (!policy.canRenew(loan.getRenewCount(), loan.getDueDate(), loan.getReturnDate(), today)) {
             throw new RuntimeException("Cannot renew this loan (limit reached or overdue).");
         }
 
-        // Extend the due date by 14 days
-        loan.setDueDate(loan.getDueDate().plusDays(14));
+        loan.setDueDate(policy.renewedDueDate(loan.getDueDate()));
         loan.setRenewCount(loan.getRenewCount() + 1); // Increment the renew count
 
-        return loanRepository.save(loan);
+        Loan saved = loanRepository.save(loan);
+        publish(CirculationEventType.LOAN_RENEWED, saved, today);
+        return saved;
     }
 
     // ──────────────────────────────────────────────
     // ADMIN: Delete loan
     // ──────────────────────────────────────────────
+    @Transactional
     public void deleteLoan(Long id) {
-        loanRepository.deleteById(id);
+        Loan loan = getLoanById(id);
+        loanRepository.delete(loan);
+        publish(CirculationEventType.LOAN_DELETED, loan, LocalDate.now(clock));
     }
 
     // ──────────────────────────────────────────────
@@ -148,16 +215,18 @@ public class LoanService {
     // ──────────────────────────────────────────────
     // INTERNAL: Validate before creating loan
     // ──────────────────────────────────────────────
-    private void validateLoanCreation(Member member, Book book) {
-        if (!memberService.isMembershipValid(member)) {
+    // Loan counts come from indexed queries on member_id rather than the member's loan collection
+    private void validateLoanCreation(Long memberId, boolean membershipValid, Book book, LoanPolicy policy,
+                                      LocalDate today) {
+        if (!membershipValid) {
             throw new RuntimeException("Membership has expired.");
         }
 
-        if (memberService.getActiveLoanCount(member) >= 3) {
-            throw new RuntimeException("Borrowing limit exceeded. Max 3 books.");
+        if (!policy.canBorrow(loanRepository.countOpenLoansByMemberId(memberId))) {
+            throw new RuntimeException("Borrowing limit exceeded. Max " + policy.getMaxActiveLoans() + " books.");
         }
 
-        if (memberService.hasOverdueBooks(member)) {
+        if (loanRepository.hasOverdueLoans(memberId, today)) {
             throw new RuntimeException("This member has overdue books.");
         }
 
@@ -165,4 +234,31 @@ public class LoanService {
             throw new RuntimeException("Book is not available.");
         }
     }
+
+    // ──────────────────────────────────────────────
+    // INTERNAL: Record a loan event in the outbox (same transaction as the change)
+    // and invalidate the ETags of the views it affects
+    // ──────────────────────────────────────────────
+    private void publish(CirculationEventType type, Loan loan, LocalDate day) {
+        publish(type, loan, loan.getMember().getUsername(), day);
+    }
+
+    // username passed in when the member is only a reference (borrowing), so it is not loaded for this
+    // day: the business date of the change, for consumers that book events by day
+    private void publish(CirculationEventType type, Loan loan, String username, LocalDate day) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("day", day);
+        payload.put("loanId", loan.getId());
+        payload.put("memberId", loan.getMember().getId());
+        payload.put("bookId", loan.getBook().getId());
+        payload.put("borrowDate", loan.getBorrowDate());
+        payload.put("dueDate", loan.getDueDate());
+        payload.put("returnDate", loan.getReturnDate());
+        payload.put("renewCount", loan.getRenewCount());
+        outboxService.publish(type, OutboxService.AGGREGATE_LOAN, loan.getId(), payload);
+
+        // Every loan change moves book availability and the member's loan list
+        resourceVersions.catalogueChanged();
+        resourceVersions.memberChanged(username);
+    }
 }
\ No newline at end of file
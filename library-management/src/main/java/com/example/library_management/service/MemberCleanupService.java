@@ -0,0 +1,169 @@
+package com.example.library_management.service;
+
+import com.example.library_management.dto.MemberCleanupResult;
+import com.example.library_management.event.CirculationEventType;
+import com.example.library_management.repository.ArchivedLoanRepository;
+import com.example.library_management.repository.BookRepository;
+import com.example.library_management.repository.LoanRepository;
+import com.example.library_management.repository.MemberRepository;
+import com.example.library_management.util.IdChunks;
+import com.example.library_management.web.ResourceVersions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// Bulk member deactivation and deletion as set-based statements, one chunk of members per transaction.
+// Nothing is loaded as entities, so the Member.loans cascade (one DELETE per loan) is never involved.
+@Service
+public class MemberCleanupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemberCleanupService.class);
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private ArchivedLoanRepository archivedLoanRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Clock clock;
+
+    // Members handled per transaction
+    @Value("${library.cleanup.chunk-size:500}")
+    private int chunkSize;
+
+    // ──────────────────────────────────────────────
+    // By id
+    // ──────────────────────────────────────────────
+
+    public MemberCleanupResult deactivateMembers(Collection<Long> memberIds) {
+        MemberCleanupResult result = new MemberCleanupResult();
+        for (List<Long> chunk : IdChunks.of(memberIds, chunkSize)) {
+            inTransaction(() -> deactivateChunk(chunk, result));
+        }
+        logger.info("Deactivated {} members.", result.getMembers());
+        return result;
+    }
+
+    /**
+     * Deletes members with their loans and archived history. Books on their open loans are made
+     * available again. Joins the caller's transaction if there is one (e.g. a single-member delete).
+     */
+    public MemberCleanupResult deleteMembers(Collection<Long> memberIds) {
+        MemberCleanupResult result = new MemberCleanupResult();
+        for (List<Long> chunk : IdChunks.of(memberIds, chunkSize)) {
+            inTransaction(() -> deleteChunk(chunk, result));
+        }
+        logger.info("Deleted {} members ({} loans, {} archived loans; {} books released).",
+                result.getMembers(), result.getLoansDeleted(), result.getArchivedLoansDeleted(), result.getBooksReleased());
+        return result;
+    }
+
+    // ──────────────────────────────────────────────
+    // Yearly clean-up: memberships that expired more than N years ago
+    // (non-admin members without open loans; see MemberRepository.findExpiredMemberIds)
+    // ──────────────────────────────────────────────
+
+    public MemberCleanupResult deactivateExpiredMembers(int yearsExpired) {
+        LocalDate expiredBefore = expiryCutoff(yearsExpired);
+        MemberCleanupResult result = new MemberCleanupResult();
+        long afterId = 0L;
+        while (true) {
+            List<Long> chunk = memberRepository.findExpiredMemberIds(expiredBefore, afterId, true, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) break;
+            inTransaction(() -> deactivateChunk(chunk, result));
+            afterId = chunk.get(chunk.size() - 1);
+        }
+        logger.info("Deactivated {} members whose membership expired more than {} years ago.", result.getMembers(), yearsExpired);
+        return result;
+    }
+
+    public MemberCleanupResult deleteExpiredMembers(int yearsExpired) {
+        LocalDate expiredBefore = expiryCutoff(yearsExpired);
+        MemberCleanupResult result = new MemberCleanupResult();
+        long afterId = 0L;
+        while (true) {
+            List<Long> chunk = memberRepository.findExpiredMemberIds(expiredBefore, afterId, false, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) break;
+            inTransaction(() -> deleteChunk(chunk, result));
+            afterId = chunk.get(chunk.size() - 1);
+        }
+        logger.info("Deleted {} members whose membership expired more than {} years ago.", result.getMembers(), yearsExpired);
+        return result;
+    }
+
+    // ──────────────────────────────────────────────
+    // INTERNAL: One chunk (runs inside a transaction)
+    // ──────────────────────────────────────────────
+
+    private void deactivateChunk(List<Long> ids, MemberCleanupResult result) {
+        List<Long> active = memberRepository.findIdsByIdIn(ids, true);
+        if (active.isEmpty()) return;
+
+        int updated = memberRepository.deactivateByIdIn(active);
+        for (Long id : active) {
+            outboxService.publish(CirculationEventType.MEMBER_UPDATED, OutboxService.AGGREGATE_MEMBER, id,
+                    Map.of("memberId", id, "active", false));
+        }
+        resourceVersions.allMembersChanged();
+        result.add(updated, 0, 0, 0);
+    }
+
+    private void deleteChunk(List<Long> ids, MemberCleanupResult result) {
+        List<Long> existing = memberRepository.findIdsByIdIn(ids, false);
+        if (existing.isEmpty()) return;
+
+        // Order matters: free the books while the open loans still exist, then remove children before parents
+        int released = bookRepository.releaseBooksOnOpenLoans(existing);
+        int loans = loanRepository.deleteByMemberIdIn(existing);
+        int archived = archivedLoanRepository.deleteByMemberIdIn(existing);
+        int members = memberRepository.deleteByIdIn(existing);
+
+        for (Long id : existing) {
+            outboxService.publish(CirculationEventType.MEMBER_DELETED, OutboxService.AGGREGATE_MEMBER, id, Map.of("memberId", id));
+        }
+        if (released > 0) {
+            resourceVersions.catalogueChanged();
+        }
+        resourceVersions.allMembersChanged();
+        result.add(members, loans, archived, released);
+    }
+
+    private void inTransaction(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.run());
+    }
+
+    // "Expired N years ago" means a stored expiry date before today - N years
+    private LocalDate expiryCutoff(int yearsExpired) {
+        if (yearsExpired < 0) {
+            throw new RuntimeException("yearsExpired must not be negative");
+        }
+        return LocalDate.now(clock).minusYears(yearsExpired);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.library_management.service;
+
+import com.example.library_management.branch.BranchContext;
+import com.example.library_management.branch.BranchDatabases;
+import com.example.library_management.model.Member;
+import com.example.library_management.repository.MemberRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Member lookups that must work whichever branch a request is routed to (login, loading the user
+ * for a token, username uniqueness). Usernames are unique across all branches.
+ *
+ * The current branch's database is asked first; only on a miss are the other databases asked, one
+ * at a time. Each of those lookups uses a short-lived EntityManager of its own, opened while the thread
+ * is routed to the other database. The caller's EntityManager cannot be used: it keeps the connection it
+ * first obtained (a surrounding transaction, or the open-in-view EntityManager of a web request), so a
+ * query through it would go to the current database again.
+ */
+@Service
+public class MemberDirectory {
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private BranchDatabases branchDatabases;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public Optional<Member> findByUsername(String username) {
+        Optional<Member> member = memberRepository.findByUsername(username);
+        if (member.isPresent()) {
+            return member;
+        }
+
+        String current = branchDatabases.currentDatabase();
+        for (String database : branchDatabases.dataSources().keySet()) {
+            if (database.equals(current)) continue;
+            member = BranchContext.call(branchDatabases.homeBranch(database), () -> findInCurrentDatabase(username));
+            if (member.isPresent()) {
+                return member;
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Runs on a fresh EntityManager, which gets its connection from the database the thread is routed to.
+    // The member comes back detached (its loans are not loaded).
+    private Optional<Member> findInCurrentDatabase(String username) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery("SELECT m FROM Member m WHERE m.username = :username", Member.class)
+                    .setParameter("username", username)
+                    .getResultStream()
+                    .findFirst();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    // True if any branch has a different member with this username
+    public boolean isUsernameTaken(String username, Long exceptMemberId) {
+        return findByUsername(username)
+                .filter(member -> !member.getId().equals(exceptMemberId))
+                .isPresent();
+    }
+}
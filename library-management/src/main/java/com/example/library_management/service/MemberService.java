@@ -1,15 +1,30 @@
 package com.example.library_management.service;
 
+import com.example.library_management.branch.BranchContext;
+import com.example.library_management.dto.MemberAccountSummaryDTO;
+import com.example.library_management.dto.MemberCleanupResult;
+import com.example.library_management.dto.MemberSummaryDTO;
+import com.example.library_management.event.CirculationEventType;
 import com.example.library_management.model.Member;
+import com.example.library_management.policy.LoanPolicy;
+import com.example.library_management.policy.LoanPolicyEngine;
+import com.example.library_management.repository.FieldSelection;
 import com.example.library_management.repository.MemberRepository;
+import com.example.library_management.repository.ProjectionRepository;
+import com.example.library_management.security.MemberPrincipal;
+import com.example.library_management.web.ResourceVersions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -21,36 +36,89 @@ public class MemberService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private LoanPolicyEngine loanPolicyEngine;
+
+    @Autowired
+    private Clock clock;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private MemberCleanupService memberCleanupService;
+
+    @Autowired
+    private MemberDirectory memberDirectory;
+
+    @Autowired
+    private ProjectionRepository projectionRepository;
+
     // ─────────────────────────────────────────────
     // 🔐 ADMIN METHODS
     // ─────────────────────────────────────────────
 
-    public List<Member> getAllMembers() {
-        return memberRepository.findAll();
+    // Members of the current branch, without loans or password hashes
+    public List<MemberSummaryDTO> getAllMembers() {
+        return memberRepository.findSummariesByBranchCode(BranchContext.current());
+    }
+
+    // Members of the current branch, only the requested fields (?fields=)
+    public List<Map<String, Object>> getAllMembers(FieldSelection fields) {
+        return projectionRepository.findMembersByBranch(fields, BranchContext.current());
     }
 
     public Optional<Member> getMemberById(Long id) {
         return memberRepository.findById(id);
     }
 
+    // Proxy for associating a member by id (e.g. on a new loan) without reading the row
+    public Member getMemberReference(Long id) {
+        return memberRepository.getReferenceById(id);
+    }
+
     public Optional<Member> getMemberByUsername(String username) {
         return memberRepository.findByUsername(username);
     }
 
-    public List<Member> searchMembersByName(String name) {
-        return memberRepository.findByNameContainingIgnoreCase(name);
+    public List<MemberSummaryDTO> searchMembersByName(String name) {
+        return memberRepository.findSummariesByNameContaining(name);
     }
 
+    public List<Map<String, Object>> searchMembersByName(String name, FieldSelection fields) {
+        return projectionRepository.findMembersByNameContaining(fields, name);
+    }
+
+    @Transactional
     public Member createMember(Member member) {
+        if (memberDirectory.isUsernameTaken(member.getUsername(), null)) {
+            throw new RuntimeException("Username already taken: " + member.getUsername());
+        }
         if (member.getPassword() != null && !member.getPassword().isBlank()) {
             member.setPassword(passwordEncoder.encode(member.getPassword()));
         }
-        return memberRepository.save(member);
+        if (member.getRegistrationDate() == null) {
+            member.setRegistrationDate(LocalDate.now(clock));
+        }
+        if (member.getMembershipExpiryDate() == null) {
+            member.setMembershipExpiryDate(member.getRegistrationDate().plusYears(Member.MEMBERSHIP_YEARS));
+        }
+        Member saved = memberRepository.save(member);
+        publish(CirculationEventType.MEMBER_CREATED, saved);
+        return saved;
     }
 
+    @Transactional
     public Member updateMember(Member updatedMember) {
         Member existing = memberRepository.findById(updatedMember.getId())
                 .orElseThrow(() -> new RuntimeException("Member not found"));
+        resourceVersions.memberChanged(existing.getUsername()); // old username, in case it changes
+        if (memberDirectory.isUsernameTaken(updatedMember.getUsername(), existing.getId())) {
+            throw new RuntimeException("Username already taken: " + updatedMember.getUsername());
+        }
 
         existing.setName(updatedMember.getName());
         existing.setEmail(updatedMember.getEmail());
@@ -58,64 +126,120 @@ public class MemberService {
         existing.setActive(updatedMember.isActive());
         existing.setRole(updatedMember.getRole());
         existing.setRegistrationDate(updatedMember.getRegistrationDate());
+        if (updatedMember.getMembershipExpiryDate() != null) {
+            existing.setMembershipExpiryDate(updatedMember.getMembershipExpiryDate());
+        }
 
         if (updatedMember.getPassword() != null && !updatedMember.getPassword().isBlank()) {
             existing.setPassword(passwordEncoder.encode(updatedMember.getPassword()));
         }
 
-        return memberRepository.save(existing);
+        Member saved = memberRepository.save(existing);
+        publish(CirculationEventType.MEMBER_UPDATED, saved);
+        return saved;
     }
 
-    // Method to delete a member by ID
+    // Method to delete a member by ID (set-based: loans and archived history go in bulk statements,
+    // books on open loans are released; see MemberCleanupService)
+    @Transactional
     public void deleteMember(Long id) {
-        // Check if the member exists before attempting deletion
-        if (!memberRepository.existsById(id)) {
+        MemberCleanupResult result = memberCleanupService.deleteMembers(List.of(id));
+        if (result.getMembers() == 0) {
             throw new RuntimeException("Member not found with ID: " + id);
         }
-        
-        // Delete the member
-        memberRepository.deleteById(id);
     }
 
+    @Transactional
     public Member renewMembership(Long id) {
         Member member = memberRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Member not found"));
 
-        member.setRegistrationDate(LocalDate.now());
-        return memberRepository.save(member);  // save the updated member
+        // A new membership period from today; also reactivates a member the expiry sweep deactivated
+        LocalDate today = LocalDate.now(clock);
+        member.setRegistrationDate(today);
+        member.setMembershipExpiryDate(today.plusYears(Member.MEMBERSHIP_YEARS));
+        member.setActive(true);
+        Member saved = memberRepository.save(member);  // save the updated member
+        publish(CirculationEventType.MEMBERSHIP_RENEWED, saved);
+        return saved;
     }
 
     // ─────────────────────────────────────────────
     // 🙋 SELF-SERVICE (Admin or Member)
     // ─────────────────────────────────────────────
 
+    // The authenticated member as resolved by JwtFilter (id, role, status); no query
+    public MemberPrincipal getCurrentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new RuntimeException("Authenticated member not found");
+        }
+        if (authentication.getPrincipal() instanceof MemberPrincipal principal) {
+            return principal;
+        }
+        // Authenticated some other way (e.g. a plain UserDetails): resolve it once by username
+        return memberRepository.findByUsername(authentication.getName())
+                .map(MemberPrincipal::of)
+                .orElseThrow(() -> new RuntimeException("Authenticated member not found"));
+    }
+
+    public Long getCurrentMemberId() {
+        return getCurrentPrincipal().getMemberId();
+    }
+
+    // The authenticated member's entity, loaded by id; for code paths that change it
     public Member getCurrentAuthenticatedMember() {
-        String username = getCurrentUsername();
-        return memberRepository.findByUsername(username)
+        return memberRepository.findById(getCurrentMemberId())
+                .orElseThrow(() -> new RuntimeException("Authenticated member not found"));
+    }
+
+    // Profile of the authenticated member, without loans or password hash
+    public MemberSummaryDTO getCurrentMemberSummary() {
+        return memberRepository.findSummaryById(getCurrentMemberId())
                 .orElseThrow(() -> new RuntimeException("Authenticated member not found"));
     }
 
+    public Map<String, Object> getCurrentMember(FieldSelection fields) {
+        return projectionRepository.findMemberById(fields, getCurrentMemberId())
+                .orElseThrow(() -> new RuntimeException("Authenticated member not found"));
+    }
+
+    // Loans of the authenticated member, only the requested fields (?fields=)
+    public List<Map<String, Object>> getCurrentMemberLoans(FieldSelection fields) {
+        return projectionRepository.findLoansByMemberId(fields, getCurrentMemberId());
+    }
+
+    @Transactional
     public Member updateOwnProfile(Member updatedInfo) {
         Member current = getCurrentAuthenticatedMember();
+        resourceVersions.memberChanged(current.getUsername()); // old username, in case it changes
+        if (memberDirectory.isUsernameTaken(updatedInfo.getUsername(), current.getId())) {
+            throw new RuntimeException("Username already taken: " + updatedInfo.getUsername());
+        }
 
         current.setName(updatedInfo.getName());
         current.setEmail(updatedInfo.getEmail());
         current.setUsername(updatedInfo.getUsername());
-        current.setActive(updatedInfo.isActive());
 
         if (updatedInfo.getPassword() != null && !updatedInfo.getPassword().isBlank()) {
             current.setPassword(passwordEncoder.encode(updatedInfo.getPassword()));
         }
 
-        return memberRepository.save(current);
+        Member saved = memberRepository.save(current);
+        publish(CirculationEventType.MEMBER_UPDATED, saved);
+        return saved;
     }
 
-    private String getCurrentUsername() {
-        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        if (principal instanceof UserDetails userDetails) {
-            return userDetails.getUsername();
-        }
-        return principal.toString();
+    // Dashboard summary (loan counts, next due date, fines, expiry) from a single aggregate query
+    public MemberAccountSummaryDTO getCurrentMemberAccountSummary() {
+        MemberPrincipal principal = getCurrentPrincipal();
+        LoanPolicy policy = loanPolicyEngine.policyFor(principal.getRole());
+        return memberRepository.findAccountSummaryById(
+                        principal.getMemberId(),
+                        LocalDate.now(clock),
+                        policy.getDailyFineCents(),
+                        policy.getMaxFineCents())
+                .orElseThrow(() -> new RuntimeException("Authenticated member not found"));
     }
 
     // ─────────────────────────────────────────────
@@ -123,18 +247,27 @@ public class MemberService {
     // ─────────────────────────────────────────────
 
     public boolean isMembershipValid(Member member) {
-        LocalDate expiry = member.getRegistrationDate().plusYears(1);
-        return LocalDate.now().isBefore(expiry);
+        return isMembershipValid(member, LocalDate.now(clock));
     }
 
-    public boolean hasOverdueBooks(Member member) {
-        return member.getLoans().stream()
-                .anyMatch(loan -> loan.getReturnDate() == null && loan.getDueDate().isBefore(LocalDate.now()));
+    // Reads the stored expiry date (see Member.membershipExpiryDate)
+    public boolean isMembershipValid(Member member, LocalDate today) {
+        return member.getMembershipExpiryDate() != null && today.isBefore(member.getMembershipExpiryDate());
     }
 
-    public long getActiveLoanCount(Member member) {
-        return member.getLoans().stream()
-                .filter(loan -> loan.getReturnDate() == null)
-                .count();
+    // ─────────────────────────────────────────────
+    // 📣 OUTBOX EVENTS
+    // ─────────────────────────────────────────────
+
+    private void publish(CirculationEventType type, Member member) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("memberId", member.getId());
+        payload.put("username", member.getUsername());
+        payload.put("role", member.getRole());
+        payload.put("active", member.isActive());
+        payload.put("registrationDate", member.getRegistrationDate());
+        payload.put("membershipExpiryDate", member.getMembershipExpiryDate());
+        outboxService.publish(type, OutboxService.AGGREGATE_MEMBER, member.getId(), payload);
+        resourceVersions.memberChanged(member.getUsername());
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.example.library_management.service;
+
+import com.example.library_management.dto.MemberReminder;
+import com.example.library_management.event.CirculationEvent;
+import com.example.library_management.event.CirculationEventConsumer;
+import com.example.library_management.event.CirculationEventType;
+import com.example.library_management.notification.ReminderSink;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Sends a renewal notice through the ReminderSink for each member the expiry sweep deactivated.
+// A redelivered event sends the notice again; sinks already tolerate occasional duplicates.
+@Component
+public class MembershipNoticeConsumer implements CirculationEventConsumer {
+
+    @Autowired
+    private ReminderSink reminderSink;
+
+    @Override
+    public void onEvent(CirculationEvent event) {
+        if (event.getType() == CirculationEventType.MEMBERSHIP_EXPIRED) {
+            reminderSink.send(List.of(new MemberReminder(ReminderService.KIND_MEMBERSHIP_EXPIRED,
+                    event.getLong("memberId"), event.getString("name"), event.getString("email"), List.of())));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.library_management.service;
+
+import com.example.library_management.branch.BranchDatabases;
+import com.example.library_management.dto.MembershipRenewalResult;
+import com.example.library_management.event.CirculationEventType;
+import com.example.library_management.model.Member;
+import com.example.library_management.repository.MemberRepository;
+import com.example.library_management.util.IdChunks;
+import com.example.library_management.web.ResourceVersions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Membership expiry and renewal over the stored member.membership_expiry_date column.
+ *
+ *  - Nightly sweep: active members whose membership ran out are deactivated, one chunk per transaction,
+ *    walking idx_member_active_expiry in (expiry, id) order. Each one gets a MEMBERSHIP_EXPIRED outbox
+ *    event in the same transaction, which MembershipNoticeConsumer turns into a renewal notice.
+ *  - Bulk renewal: one UPDATE per chunk of member ids starts a new membership period and reactivates them.
+ *
+ * Admin accounts are never deactivated by the sweep.
+ */
+@Service
+public class MembershipService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MembershipService.class);
+
+    // Earliest date MySQL stores; the sweep position before the first member
+    private static final LocalDate START = LocalDate.of(1000, 1, 1);
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private BranchDatabases branchDatabases;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${library.membership.sweep-enabled:true}")
+    private boolean sweepEnabled;
+
+    // Members handled per transaction
+    @Value("${library.membership.chunk-size:500}")
+    private int chunkSize;
+
+    // ──────────────────────────────────────────────
+    // SCHEDULED: Nightly expiry sweep (every branch database)
+    // ──────────────────────────────────────────────
+    @Scheduled(cron = "${library.membership.sweep-cron:0 0 1 * * *}")
+    public void scheduledSweep() {
+        if (sweepEnabled) {
+            branchDatabases.forEachDatabase(this::deactivateLapsedMembers);
+        }
+    }
+
+    /**
+     * Deactivates every active member whose membership has run out and queues their renewal notices.
+     *
+     * @return number of members deactivated
+     */
+    public int deactivateLapsedMembers() {
+        LocalDate today = LocalDate.now(clock);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        int total = 0;
+
+        LocalDate afterExpiry = START;
+        long afterId = 0L;
+        while (true) {
+            LocalDate fromExpiry = afterExpiry;
+            long fromId = afterId;
+            List<Object[]> rows = tx.execute(status -> {
+                List<Object[]> chunk = memberRepository.findLapsedActiveMembers(today, fromExpiry, fromId,
+                        PageRequest.of(0, chunkSize));
+                if (!chunk.isEmpty()) {
+                    deactivateChunk(chunk);
+                }
+                return chunk;
+            });
+            if (rows == null || rows.isEmpty()) {
+                break;
+            }
+            total += rows.size();
+            Object[] last = rows.get(rows.size() - 1);
+            afterExpiry = (LocalDate) last[3];
+            afterId = (Long) last[0];
+            if (rows.size() < chunkSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            logger.info("Membership sweep: deactivated {} members whose membership expired by {}.", total, today);
+        }
+        return total;
+    }
+
+    // ──────────────────────────────────────────────
+    // ADMIN: Renew many memberships at once
+    // ──────────────────────────────────────────────
+
+    /**
+     * Starts a new membership period (today + 1 year) for each given member and reactivates them.
+     * Unknown ids are counted as not found.
+     */
+    public MembershipRenewalResult renewMemberships(Collection<Long> memberIds) {
+        LocalDate today = LocalDate.now(clock);
+        LocalDate expiry = today.plusYears(Member.MEMBERSHIP_YEARS);
+        MembershipRenewalResult result = new MembershipRenewalResult(expiry);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        for (List<Long> chunk : IdChunks.of(memberIds, chunkSize)) {
+            tx.executeWithoutResult(status -> {
+                List<Long> existing = memberRepository.findIdsByIdIn(chunk, false);
+                if (!existing.isEmpty()) {
+                    memberRepository.renewByIdIn(existing, today, expiry);
+                    for (Long id : existing) {
+                        Map<String, Object> payload = new HashMap<>();
+                        payload.put("memberId", id);
+                        payload.put("active", true);
+                        payload.put("registrationDate", today);
+                        payload.put("membershipExpiryDate", expiry);
+                        outboxService.publish(CirculationEventType.MEMBERSHIP_RENEWED, OutboxService.AGGREGATE_MEMBER, id, payload);
+                    }
+                    resourceVersions.allMembersChanged();
+                }
+                result.add(existing.size(), chunk.size() - existing.size());
+            });
+        }
+        logger.info("Renewed {} memberships until {} ({} ids not found).", result.getRenewed(), expiry, result.getNotFound());
+        return result;
+    }
+
+    // ──────────────────────────────────────────────
+    // INTERNAL
+    // ──────────────────────────────────────────────
+
+    // Rows: id, name, email, expiry date; runs inside the chunk's transaction
+    private void deactivateChunk(List<Object[]> rows) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add((Long) row[0]);
+        }
+        memberRepository.deactivateByIdIn(ids);
+        for (Object[] row : rows) {
+            // Carries what the renewal notice needs, so the consumer does not read the member back
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("memberId", row[0]);
+            payload.put("name", row[1]);
+            payload.put("email", row[2]);
+            payload.put("membershipExpiryDate", row[3]);
+            payload.put("active", false);
+            outboxService.publish(CirculationEventType.MEMBERSHIP_EXPIRED, OutboxService.AGGREGATE_MEMBER, (Long) row[0], payload);
+        }
+        resourceVersions.allMembersChanged();
+    }
+}
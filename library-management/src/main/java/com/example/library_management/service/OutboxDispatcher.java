@@ -0,0 +1,173 @@
+package com.example.library_management.service;
+
+import com.example.library_management.branch.BranchDatabases;
+import com.example.library_management.event.CirculationEvent;
+import com.example.library_management.event.CirculationEventConsumer;
+import com.example.library_management.event.CirculationEventType;
+import com.example.library_management.model.OutboxEvent;
+import com.example.library_management.repository.ConsumedEventRepository;
+import com.example.library_management.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Background delivery of outbox events to every {@link CirculationEventConsumer} bean.
+ *
+ * Polls pending rows in id order and in batches, each poll walking forward from the last row it saw,
+ * so every pending event is offered at most once per poll. An event is marked processed only after
+ * all consumers handled it; if any consumer throws, its attempt counter is bumped and it is retried on
+ * a later poll (at-least-once). Events that keep failing stop being retried after max-attempts and
+ * stay in the table with their last error for inspection.
+ *
+ * Only one instance should run the dispatcher (library.outbox.dispatcher-enabled).
+ */
+@Service
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ConsumedEventRepository consumedEventRepository;
+
+    @Autowired
+    private List<CirculationEventConsumer> consumers;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BranchDatabases branchDatabases;
+
+    @Value("${library.outbox.dispatcher-enabled:true}")
+    private boolean enabled;
+
+    @Value("${library.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${library.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${library.outbox.retention-days:7}")
+    private int retentionDays;
+
+    // ──────────────────────────────────────────────
+    // SCHEDULED: Deliver pending events (every branch database; consumers run routed to the event's database)
+    // ──────────────────────────────────────────────
+    @Scheduled(fixedDelayString = "${library.outbox.poll-interval-ms:1000}")
+    public void dispatchPending() {
+        if (!enabled) {
+            return;
+        }
+        branchDatabases.forEachDatabase(this::dispatchPendingInCurrentDatabase);
+    }
+
+    private void dispatchPendingInCurrentDatabase() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        long lastSeenId = 0;
+        List<OutboxEvent> batch;
+        do {
+            batch = outboxEventRepository.findPending(lastSeenId, maxAttempts, PageRequest.of(0, batchSize));
+            List<Long> delivered = new ArrayList<>(batch.size());
+            int failed = 0;
+
+            // Payloads are read first so consumers can prepare for the whole batch (see beforeBatch)
+            List<CirculationEvent> events = new ArrayList<>(batch.size());
+            List<OutboxEvent> readable = new ArrayList<>(batch.size());
+            for (OutboxEvent row : batch) {
+                lastSeenId = row.getId();
+                try {
+                    events.add(toEvent(row));
+                    readable.add(row);
+                } catch (Exception e) {
+                    failed++;
+                    recordFailure(tx, row, e);
+                }
+            }
+
+            for (CirculationEventConsumer consumer : consumers) {
+                try {
+                    consumer.beforeBatch(events);
+                } catch (Exception e) {
+                    logger.warn("{} could not prepare for an outbox batch: {}", consumer.getClass().getSimpleName(), e.getMessage());
+                }
+            }
+            try {
+                for (int i = 0; i < events.size(); i++) {
+                    OutboxEvent row = readable.get(i);
+                    CirculationEvent event = events.get(i);
+                    try {
+                        for (CirculationEventConsumer consumer : consumers) {
+                            consumer.onEvent(event);
+                        }
+                        delivered.add(row.getId());
+                    } catch (Exception e) {
+                        failed++;
+                        recordFailure(tx, row, e);
+                    }
+                }
+            } finally {
+                consumers.forEach(CirculationEventConsumer::afterBatch);
+            }
+
+            if (!delivered.isEmpty()) {
+                tx.executeWithoutResult(status -> outboxEventRepository.markProcessed(delivered, LocalDateTime.now()));
+            }
+            // A batch that failed entirely usually means a consumer is down: leave the rest for the next poll
+            if (failed == batch.size()) {
+                break;
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    // ──────────────────────────────────────────────
+    // SCHEDULED: Remove delivered events after the retention period
+    // ──────────────────────────────────────────────
+    @Scheduled(cron = "${library.outbox.cleanup-cron:0 0 3 * * *}")
+    public void purgeProcessed() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        branchDatabases.forEachDatabase(() -> {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+            Integer removed = tx.execute(status -> {
+                consumedEventRepository.deleteConsumedBefore(cutoff);
+                return outboxEventRepository.deleteProcessedBefore(cutoff);
+            });
+            logger.info("Outbox cleanup removed {} delivered events from the {} database.", removed, branchDatabases.currentDatabase());
+        });
+    }
+
+    private void recordFailure(TransactionTemplate tx, OutboxEvent row, Exception e) {
+        logger.warn("Outbox event {} ({}) failed on attempt {}: {}",
+                row.getId(), row.getEventType(), row.getAttempts() + 1, e.getMessage());
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        tx.executeWithoutResult(status -> outboxEventRepository.recordFailure(
+                row.getId(), error.length() > 500 ? error.substring(0, 500) : error));
+    }
+
+    private CirculationEvent toEvent(OutboxEvent row) throws Exception {
+        Map<String, Object> payload = objectMapper.readValue(row.getPayload(), PAYLOAD_TYPE);
+        return new CirculationEvent(row.getId(), CirculationEventType.valueOf(row.getEventType()),
+                row.getAggregateId(), row.getCreatedAt(), payload);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.library_management.service;
+
+import com.example.library_management.event.CirculationEventType;
+import com.example.library_management.model.OutboxEvent;
+import com.example.library_management.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+// Writes domain events to the outbox table. Must be called inside the transaction that makes the
+// state change, so the event is committed (or rolled back) together with it.
+@Service
+public class OutboxService {
+
+    public static final String AGGREGATE_LOAN = "LOAN";
+    public static final String AGGREGATE_MEMBER = "MEMBER";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(CirculationEventType type, String aggregateType, Long aggregateId, Map<String, Object> payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " event payload", e);
+        }
+        outboxEventRepository.save(new OutboxEvent(type.name(), aggregateType, aggregateId, json));
+        // Every loan and member change publishes here, so this is also the audit hook
+        auditService.record(type.name(), aggregateType, aggregateId, json);
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.library_management.service;
+
+import com.example.library_management.branch.BranchContext;
+import com.example.library_management.dto.OverdueLoanRow;
+import com.example.library_management.dto.OverdueReportPage;
+import com.example.library_management.policy.LoanPolicy;
+import com.example.library_management.policy.LoanPolicyEngine;
+import com.example.library_management.repository.LoanRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Library-wide overdue report, keyset-paginated and sorted by days overdue or by fine.
+ *
+ * Every page is read with range scans on (return_date, due_date), never an offset:
+ *  - sort=days: one scan in (due_date, id) order, i.e. most overdue first.
+ *  - sort=fine: the fine depends on the member's role policy. Within one policy it never increases as
+ *    the due date gets later, so each policy group is scanned in (due_date, id) order and the groups
+ *    are merged by fine. The cursor records the position reached in every group.
+ */
+@Service
+public class OverdueReportService {
+
+    public static final String SORT_DAYS = "days";
+    public static final String SORT_FINE = "fine";
+
+    // Earliest date MySQL stores; the position before the first overdue loan
+    private static final LocalDate START = LocalDate.of(1000, 1, 1);
+
+    // Group names in the cursor: every overdue loan, and members on the default policy
+    private static final String ALL = "*all";
+    private static final String DEFAULT = "*default";
+
+    private static final Comparator<OverdueLoanRow> BY_DAYS =
+            Comparator.comparing(OverdueLoanRow::getDueDate).thenComparing(OverdueLoanRow::getLoanId);
+    private static final Comparator<OverdueLoanRow> BY_FINE =
+            Comparator.comparingLong(OverdueLoanRow::getFineCents).reversed().thenComparing(BY_DAYS);
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanPolicyEngine loanPolicyEngine;
+
+    @Autowired
+    private Clock clock;
+
+    /**
+     * @param sort   "days" (default) or "fine"
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param size   rows per page
+     */
+    public OverdueReportPage getOverdueReport(String sort, String cursor, int size) {
+        String order = sort == null || sort.isBlank() ? SORT_DAYS : sort.toLowerCase();
+        if (!SORT_DAYS.equals(order) && !SORT_FINE.equals(order)) {
+            throw new RuntimeException("Unknown sort '" + sort + "' (use days or fine)");
+        }
+        LocalDate today = LocalDate.now(clock);
+        Pageable lookahead = PageRequest.of(0, size + 1); // one extra row per group tells whether more follow
+
+        // Position reached in each group (due date, loan id), from the cursor; groups no longer
+        // configured (policy change between pages) are dropped
+        List<String> groups = groups(order);
+        Map<String, Object[]> positions = decodeCursor(order, cursor);
+        positions.keySet().retainAll(groups);
+        Map<String, List<OverdueLoanRow>> fetched = new LinkedHashMap<>();
+        for (String group : groups) {
+            Object[] position = positions.getOrDefault(group, new Object[]{START, 0L});
+            List<OverdueLoanRow> rows = fetch(group, today, (LocalDate) position[0], (Long) position[1], lookahead);
+            for (OverdueLoanRow row : rows) {
+                LoanPolicy policy = loanPolicyEngine.policyFor(row.getRole());
+                long days = policy.overdueDays(row.getDueDate(), null, today);
+                row.applyPolicy(days, policy.fineCents(days));
+            }
+            fetched.put(group, rows);
+        }
+
+        // Merge the group heads; each group is already in the requested order
+        Comparator<OverdueLoanRow> comparator = SORT_FINE.equals(order) ? BY_FINE : BY_DAYS;
+        Map<String, Integer> taken = new LinkedHashMap<>();
+        fetched.keySet().forEach(group -> taken.put(group, 0));
+        List<OverdueLoanRow> page = new ArrayList<>(size);
+        while (page.size() < size) {
+            String next = null;
+            for (Map.Entry<String, List<OverdueLoanRow>> entry : fetched.entrySet()) {
+                int index = taken.get(entry.getKey());
+                if (index < entry.getValue().size()
+                        && (next == null || comparator.compare(entry.getValue().get(index),
+                                                               fetched.get(next).get(taken.get(next))) < 0)) {
+                    next = entry.getKey();
+                }
+            }
+            if (next == null) break;
+            page.add(fetched.get(next).get(taken.get(next)));
+            taken.merge(next, 1, Integer::sum);
+        }
+
+        boolean more = false;
+        for (Map.Entry<String, List<OverdueLoanRow>> entry : fetched.entrySet()) {
+            int count = taken.get(entry.getKey());
+            if (count > 0) {
+                OverdueLoanRow last = entry.getValue().get(count - 1);
+                positions.put(entry.getKey(), new Object[]{last.getDueDate(), last.getLoanId()});
+            }
+            more |= count < entry.getValue().size();
+        }
+        return new OverdueReportPage(order, page, more ? encodeCursor(order, positions) : null);
+    }
+
+    // ──────────────────────────────────────────────
+    // INTERNAL: Groups and their scans
+    // ──────────────────────────────────────────────
+    private List<String> groups(String order) {
+        if (SORT_DAYS.equals(order)) {
+            return List.of(ALL);
+        }
+        List<String> groups = new ArrayList<>(loanPolicyEngine.configuredRoles());
+        groups.add(DEFAULT);
+        return groups;
+    }
+
+    // Rows of the current branch only
+    private List<OverdueLoanRow> fetch(String group, LocalDate today, LocalDate afterDue, Long afterId, Pageable pageable) {
+        String branch = BranchContext.current();
+        if (ALL.equals(group)) {
+            return loanRepository.findOverdueAfter(branch, today, afterDue, afterId, pageable);
+        }
+        if (DEFAULT.equals(group)) {
+            return loanRepository.findOverdueAfterForOtherRoles(branch, loanPolicyEngine.configuredRolesForNotIn(),
+                    today, afterDue, afterId, pageable);
+        }
+        return loanRepository.findOverdueAfterForRoles(branch, List.of(group), today, afterDue, afterId, pageable);
+    }
+
+    // ──────────────────────────────────────────────
+    // INTERNAL: Cursor = base64url("sort|group:epochDay:loanId|...")
+    // ──────────────────────────────────────────────
+    private static String encodeCursor(String order, Map<String, Object[]> positions) {
+        StringBuilder text = new StringBuilder(order);
+        positions.forEach((group, position) -> text.append('|').append(group)
+                .append(':').append(((LocalDate) position[0]).toEpochDay())
+                .append(':').append(position[1]));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, Object[]> decodeCursor(String order, String cursor) {
+        Map<String, Object[]> positions = new LinkedHashMap<>();
+        if (cursor == null || cursor.isBlank()) {
+            return positions;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (!order.equals(parts[0])) {
+                throw new RuntimeException("Cursor belongs to sort=" + parts[0]);
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String[] fields = parts[i].split(":");
+                positions.put(fields[0], new Object[]{LocalDate.ofEpochDay(Long.parseLong(fields[1])), Long.parseLong(fields[2])});
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        return positions;
+    }
+}
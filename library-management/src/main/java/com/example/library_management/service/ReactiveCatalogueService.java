@@ -0,0 +1,118 @@
+package com.example.library_management.service;
+
+import com.example.library_management.branch.BranchDatabases;
+import com.example.library_management.dto.BookAvailabilityDTO;
+import com.example.library_management.model.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+import static com.example.library_management.branch.BranchRoutingConnectionFactory.routeTo;
+
+/**
+ * Non-blocking catalogue reads over R2DBC, next to the JPA-based BookService.
+ *
+ * No request thread or JDBC connection is held while the database works: a connection is taken from
+ * the R2DBC pool only while a query runs, and rows are pulled as the consumer asks for them, so a
+ * slow client streaming the whole catalogue only ever has about one fetch batch in memory.
+ * Books come back as detached Book objects (same JSON as the MVC endpoints); nothing here writes.
+ */
+@Service
+public class ReactiveCatalogueService {
+
+    private static final String BOOK_COLUMNS = "id, title, author, isbn, available, published_year, branch_code";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private BranchDatabases branchDatabases;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Rows requested from the driver at a time while streaming
+    @Value("${library.reactive.fetch-size:256}")
+    private int fetchSize;
+
+    // Books per NDJSON chunk; each chunk is one write + flush to the client
+    @Value("${library.reactive.lines-per-write:64}")
+    private int linesPerWrite;
+
+    // A branch's whole catalogue in id order, produced at the pace the consumer reads it
+    public Flux<Book> streamBooks(String branch) {
+        return databaseClient.sql("SELECT " + BOOK_COLUMNS + " FROM book WHERE branch_code = :branch ORDER BY id")
+                .bind("branch", branch)
+                .map(ReactiveCatalogueService::toBook)
+                .all()
+                .limitRate(fetchSize)
+                .contextWrite(routeTo(branchDatabases.databaseFor(branch)));
+    }
+
+    /**
+     * The same stream as newline-delimited JSON, a chunk of lines at a time (the last line of each chunk
+     * is left unterminated: the NDJSON writer adds the newline after every element). Writing one line
+     * per element would cost a flush per book.
+     */
+    public Flux<String> streamBooksAsNdjson(String branch) {
+        return streamBooks(branch)
+                .buffer(linesPerWrite)
+                .map(this::toNdjson);
+    }
+
+    public Mono<Book> findBook(String branch, long id) {
+        return databaseClient.sql("SELECT " + BOOK_COLUMNS + " FROM book WHERE id = :id AND branch_code = :branch")
+                .bind("id", id)
+                .bind("branch", branch)
+                .map(ReactiveCatalogueService::toBook)
+                .one()
+                .contextWrite(routeTo(branchDatabases.databaseFor(branch)));
+    }
+
+    // Shelf status of the given books (unknown ids and other branches' books are left out)
+    public Flux<BookAvailabilityDTO> availability(String branch, Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("SELECT id, available FROM book WHERE id IN (:ids) AND branch_code = :branch ORDER BY id")
+                .bind("ids", bookIds)
+                .bind("branch", branch)
+                .map(row -> new BookAvailabilityDTO(row.get("id", Long.class), Boolean.TRUE.equals(row.get("available", Boolean.class))))
+                .all()
+                .contextWrite(routeTo(branchDatabases.databaseFor(branch)));
+    }
+
+    private String toNdjson(List<Book> books) {
+        StringBuilder lines = new StringBuilder(books.size() * 160);
+        for (Book book : books) {
+            if (!lines.isEmpty()) lines.append('\n');
+            try {
+                lines.append(objectMapper.writeValueAsString(book));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not write book " + book.getId(), e);
+            }
+        }
+        return lines.toString();
+    }
+
+    private static Book toBook(Readable row) {
+        Book book = new Book();
+        book.setId(row.get("id", Long.class));
+        book.setTitle(row.get("title", String.class));
+        book.setAuthor(row.get("author", String.class));
+        book.setIsbn(row.get("isbn", String.class)); // also derives isbn13
+        book.setAvailable(Boolean.TRUE.equals(row.get("available", Boolean.class)));
+        book.setPublishedYear(row.get("published_year", Integer.class));
+        book.setBranchCode(row.get("branch_code", String.class));
+        return book;
+    }
+}
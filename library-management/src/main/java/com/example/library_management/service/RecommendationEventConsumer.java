@@ -0,0 +1,46 @@
+package com.example.library_management.service;
+
+import com.example.library_management.event.CirculationEvent;
+import com.example.library_management.event.CirculationEventConsumer;
+import com.example.library_management.event.CirculationEventType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Feeds each new borrow into the co-borrow recommendation index.
+// A redelivered event can count a pair twice; the weekly decay makes such noise fade out.
+@Component
+public class RecommendationEventConsumer implements CirculationEventConsumer {
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    // Recent books of the current batch's borrowers; only the dispatcher thread uses it
+    private RecommendationService.MemberHistory history;
+
+    @Override
+    public void beforeBatch(List<CirculationEvent> events) {
+        Set<Long> memberIds = new LinkedHashSet<>();
+        for (CirculationEvent event : events) {
+            if (event.getType() == CirculationEventType.LOAN_BORROWED && event.getLong("memberId") != null) {
+                memberIds.add(event.getLong("memberId"));
+            }
+        }
+        history = memberIds.isEmpty() ? null : recommendationService.loadHistory(memberIds);
+    }
+
+    @Override
+    public void onEvent(CirculationEvent event) {
+        if (event.getType() == CirculationEventType.LOAN_BORROWED) {
+            recommendationService.recordBorrow(event.getLong("loanId"), event.getLong("memberId"), event.getLong("bookId"), history);
+        }
+    }
+
+    @Override
+    public void afterBatch() {
+        history = null;
+    }
+}
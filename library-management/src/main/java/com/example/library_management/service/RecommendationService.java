@@ -0,0 +1,288 @@
+package com.example.library_management.service;
+
+import com.example.library_management.branch.BranchContext;
+import com.example.library_management.branch.BranchDatabases;
+import com.example.library_management.model.Book;
+import com.example.library_management.recommendation.CoBorrowIndex;
+import com.example.library_management.repository.BookRepository;
+import com.example.library_management.repository.LoanRepository;
+import com.example.library_management.util.LongLongHashMap;
+import com.example.library_management.util.LongObjectHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * "Patrons who borrowed this also borrowed..." on top of {@link CoBorrowIndex}.
+ *
+ * - Startup: the index is rebuilt by replaying the borrows of the last window-days in loan id order.
+ * - Each borrow (LOAN_BORROWED event, via RecommendationEventConsumer) pairs the book with the member's
+ *   other books borrowed in the window (at most max-history of them). The consumer loads those books for
+ *   all borrowers of an outbox batch in one query ({@link #loadHistory}).
+ * - Weekly: weights decay so old patterns fade, and each book keeps only its heaviest neighbours.
+ *
+ * Events that arrive while the startup replay runs are held back and applied afterwards unless the
+ * replay already covered their loan.
+ */
+@Service
+public class RecommendationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationService.class);
+
+    @Autowired
+    private CoBorrowIndex coBorrowIndex;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private Clock clock;
+
+    @Autowired
+    private BranchDatabases branchDatabases;
+
+    @Value("${library.recommendations.enabled:true}")
+    private boolean enabled;
+
+    // Only borrows within this many days count towards co-occurrence
+    @Value("${library.recommendations.window-days:365}")
+    private int windowDays;
+
+    // At most this many earlier books of the member are paired with a new borrow
+    @Value("${library.recommendations.max-history:50}")
+    private int maxHistory;
+
+    @Value("${library.recommendations.decay-factor:0.9}")
+    private double decayFactor;
+
+    // Loans read per query during the startup replay
+    @Value("${library.recommendations.rebuild-chunk-size:5000}")
+    private int rebuildChunkSize;
+
+    private final Object replayLock = new Object();
+    private boolean replaying = true;               // until the startup replay has been loaded
+    private final Map<String, Long> replayedUpToLoanId = new HashMap<>(); // per branch database
+    private final List<HeldBorrow> heldBack = new ArrayList<>();
+
+    private record HeldBorrow(String database, long loanId, long memberId, long bookId) {
+    }
+
+    /**
+     * Recent borrows of a set of members in one database: member -> [loanId, bookId, loanId, bookId, ...],
+     * newest loan first.
+     */
+    public record MemberHistory(String database, LongObjectHashMap<long[]> borrows) {
+    }
+
+    // ──────────────────────────────────────────────
+    // Startup: replay recent borrows of every branch database into the index
+    // ──────────────────────────────────────────────
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate since = LocalDate.now(clock).minusDays(windowDays);
+        LongObjectHashMap<LongLongHashMap> tables = CoBorrowIndex.newTables();
+        LongObjectHashMap<long[]> history = new LongObjectHashMap<>(1024); // member -> recent books, newest first
+        Map<String, Long> lastLoanIds = new HashMap<>();
+        long[] borrows = new long[1];
+
+        // Ids are unique across databases (each has its own id range), so one index covers them all
+        branchDatabases.forEachDatabase(() -> {
+            long afterId = 0L;
+            long lastLoanId = 0L;
+            while (true) {
+                List<Object[]> rows = loanRepository.findBorrowsAfter(afterId, since, PageRequest.of(0, rebuildChunkSize));
+                for (Object[] row : rows) {
+                    lastLoanId = (Long) row[0];
+                    long memberId = (Long) row[1];
+                    long bookId = (Long) row[2];
+                    long[] previous = history.get(memberId);
+                    if (previous == null) previous = new long[0];
+                    if (!contains(previous, bookId)) {
+                        coBorrowIndex.addPairs(tables, bookId, previous);
+                        history.put(memberId, prepend(bookId, previous));
+                    }
+                }
+                borrows[0] += rows.size();
+                if (rows.size() < rebuildChunkSize) {
+                    break;
+                }
+                afterId = lastLoanId;
+            }
+            lastLoanIds.put(branchDatabases.currentDatabase(), lastLoanId);
+        });
+
+        coBorrowIndex.load(tables);
+        List<HeldBorrow> pending;
+        synchronized (replayLock) {
+            replaying = false;
+            replayedUpToLoanId.putAll(lastLoanIds);
+            pending = new ArrayList<>(heldBack);
+            heldBack.clear();
+        }
+        for (HeldBorrow borrow : pending) {
+            BranchContext.run(branchDatabases.homeBranch(borrow.database()),
+                    () -> recordBorrow(borrow.loanId(), borrow.memberId(), borrow.bookId()));
+        }
+        logger.info("Recommendation index rebuilt from {} borrows ({} books).", borrows[0], coBorrowIndex.bookCount());
+    }
+
+    /**
+     * Reads the window's borrows of the given members (those of one outbox batch) in one query, for
+     * {@link #recordBorrow(long, long, long, MemberHistory)}.
+     */
+    public MemberHistory loadHistory(Collection<Long> memberIds) {
+        LongObjectHashMap<long[]> borrows = new LongObjectHashMap<>(Math.max(memberIds.size(), 4));
+        if (enabled && !memberIds.isEmpty()) {
+            LocalDate since = LocalDate.now(clock).minusDays(windowDays);
+            List<Object[]> rows = loanRepository.findRecentBorrowsByMembers(memberIds, since);
+            int start = 0;
+            for (int i = 1; i <= rows.size(); i++) {
+                if (i == rows.size() || !rows.get(i)[0].equals(rows.get(start)[0])) {
+                    // One member's rows, newest first; one more than max-history covers the excluded loan
+                    int count = Math.min(i - start, maxHistory + 1);
+                    long[] pairs = new long[2 * count];
+                    for (int j = 0; j < count; j++) {
+                        Object[] row = rows.get(start + j);
+                        pairs[2 * j] = (Long) row[1];
+                        pairs[2 * j + 1] = (Long) row[2];
+                    }
+                    borrows.put((Long) rows.get(start)[0], pairs);
+                    start = i;
+                }
+            }
+        }
+        return new MemberHistory(branchDatabases.currentDatabase(), borrows);
+    }
+
+    /**
+     * Pairs a new borrow with the member's other recent books (called for LOAN_BORROWED events,
+     * routed to the database the loan is in).
+     */
+    public void recordBorrow(long loanId, long memberId, long bookId) {
+        recordBorrow(loanId, memberId, bookId, null);
+    }
+
+    // Same, taking the member's books from {@code history} when it covers them (outbox batch)
+    public void recordBorrow(long loanId, long memberId, long bookId, MemberHistory history) {
+        if (!enabled) {
+            return;
+        }
+        String database = branchDatabases.currentDatabase();
+        synchronized (replayLock) {
+            if (replaying) {
+                heldBack.add(new HeldBorrow(database, loanId, memberId, bookId));
+                return;
+            }
+            if (loanId <= replayedUpToLoanId.getOrDefault(database, 0L)) {
+                return; // already part of the startup replay
+            }
+        }
+        long[] pairs = history != null && history.database().equals(database) ? history.borrows().get(memberId) : null;
+        long[] recent = pairs != null ? recentBooks(pairs, loanId) : recentBooks(memberId, loanId);
+        if (contains(recent, bookId)) {
+            return; // a re-borrow adds no new pairs
+        }
+        coBorrowIndex.recordBorrow(bookId, distinct(recent));
+    }
+
+    // ──────────────────────────────────────────────
+    // SCHEDULED: Weekly decay and pruning
+    // ──────────────────────────────────────────────
+    @Scheduled(cron = "${library.recommendations.decay-cron:0 15 3 * * SUN}")
+    public void scheduledDecay() {
+        if (enabled) {
+            coBorrowIndex.decay(decayFactor, CoBorrowIndex.UNIT / 4);
+            logger.info("Recommendation weights decayed ({} books).", coBorrowIndex.bookCount());
+        }
+    }
+
+    // ──────────────────────────────────────────────
+    // READ PATH: Related books, best first
+    // ──────────────────────────────────────────────
+    public List<Book> getRelatedBooks(Long bookId, int limit) {
+        long[] ids = coBorrowIndex.related(bookId, limit);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<Long> keys = new ArrayList<>(ids.length);
+        for (long id : ids) keys.add(id);
+
+        Map<Long, Book> byId = new HashMap<>();
+        for (Book book : bookRepository.findAllById(keys)) {
+            byId.put(book.getId(), book);
+        }
+        List<Book> related = new ArrayList<>(ids.length);
+        for (Long id : keys) {
+            Book book = byId.get(id);
+            if (book != null) related.add(book); // deleted books simply drop out
+        }
+        return related;
+    }
+
+    // ──────────────────────────────────────────────
+    // INTERNAL
+    // ──────────────────────────────────────────────
+    // The member's books of the window other than loan {@code loanId}, newest first, at most max-history
+    private long[] recentBooks(long memberId, long loanId) {
+        LocalDate since = LocalDate.now(clock).minusDays(windowDays);
+        List<Long> ids = loanRepository.findRecentBookIdsByMember(memberId, since, loanId, PageRequest.of(0, maxHistory));
+        long[] out = new long[ids.size()];
+        for (int i = 0; i < out.length; i++) out[i] = ids.get(i);
+        return out;
+    }
+
+    // Same, from a batch history entry
+    private long[] recentBooks(long[] pairs, long loanId) {
+        long[] out = new long[Math.min(pairs.length / 2, maxHistory)];
+        int n = 0;
+        for (int i = 0; i < pairs.length && n < out.length; i += 2) {
+            if (pairs[i] != loanId) out[n++] = pairs[i + 1];
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private long[] prepend(long bookId, long[] previous) {
+        int length = Math.min(previous.length + 1, maxHistory);
+        long[] next = new long[length];
+        next[0] = bookId;
+        System.arraycopy(previous, 0, next, 1, length - 1);
+        return next;
+    }
+
+    private static boolean contains(long[] ids, long id) {
+        for (long candidate : ids) {
+            if (candidate == id) return true;
+        }
+        return false;
+    }
+
+    private static long[] distinct(long[] ids) {
+        long[] out = new long[ids.length];
+        int n = 0;
+        for (long id : ids) {
+            if (!contains(out, id)) out[n++] = id; // book ids are never 0
+        }
+        return Arrays.copyOf(out, n);
+    }
+}
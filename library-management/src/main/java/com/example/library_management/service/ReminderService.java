@@ -0,0 +1,216 @@
+package com.example.library_management.service;
+
+import com.example.library_management.branch.BranchDatabases;
+import com.example.library_management.dto.DueLoanReminderRow;
+import com.example.library_management.dto.MemberReminder;
+import com.example.library_management.model.ReminderCheckpoint;
+import com.example.library_management.notification.ReminderSink;
+import com.example.library_management.repository.LoanRepository;
+import com.example.library_management.repository.ReminderCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Daily due-date reminder pipeline.
+ *
+ * Two kinds of notices are produced:
+ *  - DUE_SOON: open loans falling due within the next N days
+ *  - OVERDUE:  open loans that became overdue since the previous run
+ *
+ * Each run covers a due-date window that continues from the previous run's window, so a loan is
+ * normally reminded once per kind. Open loans in the window are read in (member, loan) order, grouped
+ * per member and handed to the ReminderSink in batches; the checkpoint (last member and loan sent) is
+ * saved after every batch. Each member gets one notice listing all of their loans in the window.
+ */
+@Service
+public class ReminderService {
+
+    public static final String KIND_DUE_SOON = "DUE_SOON";
+    public static final String KIND_OVERDUE = "OVERDUE";
+    // Renewal notice after the membership expiry sweep (no loans; see MembershipNoticeConsumer)
+    public static final String KIND_MEMBERSHIP_EXPIRED = "MEMBERSHIP_EXPIRED";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderService.class);
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private ReminderCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private ReminderSink reminderSink;
+
+    @Autowired
+    private Clock clock;
+
+    @Autowired
+    private BranchDatabases branchDatabases;
+
+    @Value("${library.reminders.enabled:true}")
+    private boolean enabled;
+
+    // Remind about loans due within this many days
+    @Value("${library.reminders.days-ahead:3}")
+    private int daysAhead;
+
+    // Loans read per batch
+    @Value("${library.reminders.batch-size:500}")
+    private int batchSize;
+
+    // After downtime, never look back further than this many days
+    @Value("${library.reminders.max-catch-up-days:7}")
+    private int maxCatchUpDays;
+
+    // ──────────────────────────────────────────────
+    // SCHEDULED: Daily run (every branch database)
+    // ──────────────────────────────────────────────
+    @Scheduled(cron = "${library.reminders.cron:0 0 7 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            branchDatabases.forEachDatabase(this::runReminders);
+        }
+    }
+
+    /**
+     * Runs (or resumes) today's reminder runs for both kinds.
+     *
+     * @return number of member notices handed to the sink
+     */
+    public int runReminders() {
+        LocalDate today = LocalDate.now(clock);
+        return run(KIND_DUE_SOON, today) + run(KIND_OVERDUE, today);
+    }
+
+    private int run(String kind, LocalDate today) {
+        ReminderCheckpoint checkpoint = checkpointRepository.findById(kind)
+                .orElseGet(() -> new ReminderCheckpoint(kind));
+        int sent = 0;
+
+        // Finish a run that was interrupted (possibly on an earlier day) before starting a new one
+        if (checkpoint.getRunDate() != null && !checkpoint.isCompleted()) {
+            logger.info("Resuming {} reminders for {} after member {} (loan {})", kind, checkpoint.getRunDate(),
+                    checkpoint.getLastMemberId(), checkpoint.getLastLoanId());
+            sent += process(checkpoint);
+        }
+
+        if (checkpoint.getRunDate() == null || checkpoint.getRunDate().isBefore(today)) {
+            startRun(checkpoint, today);
+            sent += process(checkpoint);
+        }
+        return sent;
+    }
+
+    private void startRun(ReminderCheckpoint checkpoint, LocalDate today) {
+        boolean overdue = KIND_OVERDUE.equals(checkpoint.getKind());
+        LocalDate to = overdue ? today.minusDays(1) : today.plusDays(daysAhead);
+        LocalDate from;
+        if (checkpoint.getWindowTo() != null) {
+            from = checkpoint.getWindowTo().plusDays(1); // continue where the previous window ended
+        } else {
+            from = overdue ? to : today;                 // first run ever
+        }
+        if (from.isBefore(to.minusDays(maxCatchUpDays))) {
+            from = to.minusDays(maxCatchUpDays);
+        }
+
+        checkpoint.setRunDate(today);
+        checkpoint.setWindowFrom(from);
+        checkpoint.setWindowTo(to);
+        checkpoint.setLastMemberId(0L);
+        checkpoint.setLastLoanId(0L);
+        checkpoint.setCompleted(false);
+        checkpointRepository.save(checkpoint);
+    }
+
+    // Send batches until the window is exhausted, checkpointing after each batch
+    private int process(ReminderCheckpoint checkpoint) {
+        int sent = 0;
+        while (true) {
+            List<DueLoanReminderRow> rows = fetch(checkpoint, checkpoint.getLastMemberId(), checkpoint.getLastLoanId());
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            boolean fullPage = rows.size() == batchSize;
+            if (fullPage && rows.get(0).getMemberId().equals(rows.get(rows.size() - 1).getMemberId())) {
+                rows = withRemainingLoansOfMember(checkpoint, rows);
+            }
+            List<MemberReminder> batch = groupByMember(checkpoint.getKind(), rows, fullPage);
+            reminderSink.send(batch);
+
+            List<DueLoanReminderRow> lastLoans = batch.get(batch.size() - 1).getLoans();
+            DueLoanReminderRow last = lastLoans.get(lastLoans.size() - 1);
+            checkpoint.setLastMemberId(last.getMemberId());
+            checkpoint.setLastLoanId(last.getLoanId());
+            checkpointRepository.save(checkpoint);
+            sent += batch.size();
+
+            if (!fullPage) {
+                break;
+            }
+        }
+
+        checkpoint.setCompleted(true);
+        checkpointRepository.save(checkpoint);
+        if (sent > 0) {
+            logger.info("{} reminders sent to {} members (due {} .. {})", checkpoint.getKind(), sent,
+                    checkpoint.getWindowFrom(), checkpoint.getWindowTo());
+        }
+        return sent;
+    }
+
+    private List<DueLoanReminderRow> fetch(ReminderCheckpoint checkpoint, Long afterMemberId, Long afterLoanId) {
+        return loanRepository.findOpenLoansDueBetween(checkpoint.getWindowFrom(), checkpoint.getWindowTo(),
+                afterMemberId, afterLoanId, PageRequest.of(0, batchSize));
+    }
+
+    // A page filled by a single member: keep reading that member's loans (after the last one seen)
+    // so their notice is complete. Rows of the following members are left for the next batch.
+    private List<DueLoanReminderRow> withRemainingLoansOfMember(ReminderCheckpoint checkpoint, List<DueLoanReminderRow> rows) {
+        Long memberId = rows.get(0).getMemberId();
+        List<DueLoanReminderRow> loans = new ArrayList<>(rows);
+        List<DueLoanReminderRow> more;
+        do {
+            more = fetch(checkpoint, memberId, loans.get(loans.size() - 1).getLoanId());
+            for (DueLoanReminderRow row : more) {
+                if (!row.getMemberId().equals(memberId)) {
+                    return loans;
+                }
+                loans.add(row);
+            }
+        } while (more.size() == batchSize);
+        return loans;
+    }
+
+    // Rows arrive ordered by member; on a full page the last member may be cut off, so it is left
+    // for the next batch (unless it is the only member in the page, whose loans were all read above)
+    private List<MemberReminder> groupByMember(String kind, List<DueLoanReminderRow> rows, boolean fullPage) {
+        Map<Long, List<DueLoanReminderRow>> byMember = new LinkedHashMap<>();
+        for (DueLoanReminderRow row : rows) {
+            byMember.computeIfAbsent(row.getMemberId(), id -> new ArrayList<>()).add(row);
+        }
+        if (fullPage && byMember.size() > 1) {
+            byMember.remove(rows.get(rows.size() - 1).getMemberId());
+        }
+
+        List<MemberReminder> batch = new ArrayList<>(byMember.size());
+        for (List<DueLoanReminderRow> loans : byMember.values()) {
+            DueLoanReminderRow first = loans.get(0);
+            batch.add(new MemberReminder(kind, first.getMemberId(), first.getMemberName(), first.getEmail(), loans));
+        }
+        return batch;
+    }
+}
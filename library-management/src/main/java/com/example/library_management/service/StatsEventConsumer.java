@@ -0,0 +1,27 @@
+package com.example.library_management.service;
+
+import com.example.library_management.event.CirculationEvent;
+import com.example.library_management.event.CirculationEventConsumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Keeps the daily statistics rollups up to date from loan events.
+// Delivery is at-least-once; StatsService counts each event id only once.
+@Component
+public class StatsEventConsumer implements CirculationEventConsumer {
+
+    @Autowired
+    private StatsService statsService;
+
+    @Override
+    public void onEvent(CirculationEvent event) {
+        switch (event.getType()) {
+            case LOAN_BORROWED -> statsService.recordBorrow(event.getId(), event.getDate("borrowDate"), event.getLong("bookId"));
+            case LOAN_RETURNED -> statsService.recordReturn(event.getId(),
+                    event.getDate("borrowDate"), event.getDate("dueDate"), event.getDate("returnDate"));
+            case LOAN_RENEWED -> statsService.recordRenewals(event.getId(), event.getDate("day"), 1);
+            case LOANS_BULK_RENEWED -> statsService.recordRenewals(event.getId(), event.getDate("day"), event.getInt("renewed"));
+            default -> { } // not relevant for statistics
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.library_management.service;
+
+import com.example.library_management.dto.CirculationSummaryDTO;
+import com.example.library_management.dto.TopTitleDTO;
+import com.example.library_management.model.LoanDailyStats;
+import com.example.library_management.repository.BookDailyStatsRepository;
+import com.example.library_management.repository.ConsumedEventRepository;
+import com.example.library_management.repository.LoanDailyStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+// Circulation analytics backed by daily rollup tables (loan_daily_stats, book_daily_stats).
+// Writes are small upserts driven by outbox events (StatsEventConsumer); reads never touch the loan table.
+// Each event is counted once: its id is recorded in consumed_event in the same transaction as the upsert.
+@Service
+public class StatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatsService.class);
+
+    // Days rebuilt per transaction by the backfill job
+    private static final int BACKFILL_CHUNK_DAYS = 31;
+
+    // consumed_event.consumer for the rollup updates
+    private static final String CONSUMER = "stats";
+
+    @Autowired
+    private LoanDailyStatsRepository loanDailyStatsRepository;
+
+    @Autowired
+    private BookDailyStatsRepository bookDailyStatsRepository;
+
+    @Autowired
+    private ConsumedEventRepository consumedEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // ──────────────────────────────────────────────
+    // INCREMENTAL UPDATES (called from StatsEventConsumer)
+    // ──────────────────────────────────────────────
+    @Transactional
+    public void recordBorrow(long eventId, LocalDate borrowDate, Long bookId) {
+        if (!firstDelivery(eventId)) return;
+        loanDailyStatsRepository.increment(borrowDate, 1, 0, 0, 0, 0);
+        bookDailyStatsRepository.increment(borrowDate, bookId, 1);
+    }
+
+    @Transactional
+    public void recordReturn(long eventId, LocalDate borrowDate, LocalDate dueDate, LocalDate returnDate) {
+        if (!firstDelivery(eventId)) return;
+        int overdue = dueDate != null && returnDate.isAfter(dueDate) ? 1 : 0;
+        long loanDays = borrowDate != null ? ChronoUnit.DAYS.between(borrowDate, returnDate) : 0;
+        loanDailyStatsRepository.increment(returnDate, 0, 1, 0, overdue, loanDays);
+    }
+
+    @Transactional
+    public void recordRenewals(long eventId, LocalDate day, int count) {
+        if (count > 0 && firstDelivery(eventId)) {
+            loanDailyStatsRepository.increment(day, 0, 0, count, 0, 0);
+        }
+    }
+
+    // A redelivered event (at-least-once outbox) finds its id already recorded and changes nothing
+    private boolean firstDelivery(long eventId) {
+        return consumedEventRepository.claim(CONSUMER, eventId, LocalDateTime.now()) == 1;
+    }
+
+    // ──────────────────────────────────────────────
+    // ADMIN: Dashboard queries (rollups only)
+    // ──────────────────────────────────────────────
+    public List<LoanDailyStats> getLoansPerDay(LocalDate from, LocalDate to) {
+        return loanDailyStatsRepository.findByStatDateBetweenOrderByStatDateAsc(from, to);
+    }
+
+    public List<TopTitleDTO> getTopTitles(LocalDate from, LocalDate to, int limit) {
+        return bookDailyStatsRepository.findTopTitles(from, to, PageRequest.of(0, limit));
+    }
+
+    public CirculationSummaryDTO getSummary(LocalDate from, LocalDate to) {
+        return loanDailyStatsRepository.summarize(from, to);
+    }
+
+    // ──────────────────────────────────────────────
+    // ADMIN: Rebuild rollups from the loan table
+    // ──────────────────────────────────────────────
+
+    /**
+     * Recomputes borrow/return counters for [from, to] from the loan table, one chunk of days per
+     * transaction so a long history never holds one huge transaction. Renewal counters are kept,
+     * because renewal dates are not recorded on loans.
+     *
+     * @return number of days rebuilt
+     */
+    public long backfill(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new RuntimeException("Backfill range is empty: " + from + " > " + to);
+        }
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        LocalDate chunkStart = from;
+        while (!chunkStart.isAfter(to)) {
+            LocalDate chunkEnd = chunkStart.plusDays(BACKFILL_CHUNK_DAYS - 1L);
+            if (chunkEnd.isAfter(to)) chunkEnd = to;
+
+            LocalDate start = chunkStart;
+            LocalDate end = chunkEnd;
+            tx.executeWithoutResult(status -> {
+                loanDailyStatsRepository.resetDerivedCounters(start, end);
+                loanDailyStatsRepository.rebuildBorrowCounts(start, end);
+                loanDailyStatsRepository.rebuildReturnCounts(start, end);
+                bookDailyStatsRepository.deleteRange(start, end);
+                bookDailyStatsRepository.rebuildRange(start, end);
+            });
+            logger.info("Stats backfill: rebuilt {} .. {}", start, end);
+
+            chunkStart = chunkEnd.plusDays(1);
+        }
+        return ChronoUnit.DAYS.between(from, to) + 1;
+    }
+}
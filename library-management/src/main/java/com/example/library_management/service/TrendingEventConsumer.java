@@ -0,0 +1,23 @@
+package com.example.library_management.service;
+
+import com.example.library_management.event.CirculationEvent;
+import com.example.library_management.event.CirculationEventConsumer;
+import com.example.library_management.event.CirculationEventType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Counts each new borrow in the trending-titles tracker.
+// A redelivered event is counted again; trending figures are estimates anyway.
+@Component
+public class TrendingEventConsumer implements CirculationEventConsumer {
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Override
+    public void onEvent(CirculationEvent event) {
+        if (event.getType() == CirculationEventType.LOAN_BORROWED) {
+            trendingService.recordBorrow(event.getLong("loanId"), event.getLong("bookId"), event.getDate("borrowDate"));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.library_management.service;
+
+import com.example.library_management.branch.BranchDatabases;
+import com.example.library_management.dto.TopTitleDTO;
+import com.example.library_management.model.Book;
+import com.example.library_management.repository.BookRepository;
+import com.example.library_management.repository.LoanRepository;
+import com.example.library_management.trending.TrendingTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live "most borrowed this week/month" from the in-memory {@link TrendingTracker}.
+ *
+ * At startup the tracker is filled from the loans of the last max-days days, up to the highest loan
+ * id at that moment; later borrows arrive as LOAN_BORROWED events (TrendingEventConsumer). Events for
+ * loans the replay covers are skipped, so nothing is counted twice. Counts are estimates: they may
+ * slightly overcount, never undercount; exact figures come from /api/stats/top-titles.
+ */
+@Service
+public class TrendingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+
+    @Autowired
+    private TrendingTracker trendingTracker;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private Clock clock;
+
+    @Autowired
+    private BranchDatabases branchDatabases;
+
+    @Value("${library.trending.enabled:true}")
+    private boolean enabled;
+
+    // Loans read per query during the startup replay
+    @Value("${library.trending.rebuild-chunk-size:5000}")
+    private int rebuildChunkSize;
+
+    // Per branch database: events for loans up to this id are covered by the startup replay
+    // (everything, until that database's replay starts)
+    private final Map<String, Long> replayedUpToLoanId = new ConcurrentHashMap<>();
+
+    // ──────────────────────────────────────────────
+    // Startup: replay recent borrows of every branch database into the tracker
+    // ──────────────────────────────────────────────
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate since = LocalDate.now(clock).minusDays(trendingTracker.getMaxDays() - 1L);
+        long[] borrows = new long[1];
+        branchDatabases.forEachDatabase(() -> {
+            Long maxId = loanRepository.findMaxLoanId();
+            long upTo = maxId != null ? maxId : 0L;
+            // from here on, newer borrows of this database are counted as their events arrive
+            replayedUpToLoanId.put(branchDatabases.currentDatabase(), upTo);
+
+            long afterId = 0L;
+            while (true) {
+                List<Object[]> rows = loanRepository.findBorrowDaysBetween(afterId, upTo, since, PageRequest.of(0, rebuildChunkSize));
+                for (Object[] row : rows) {
+                    trendingTracker.add((LocalDate) row[2], (Long) row[1], 1);
+                }
+                borrows[0] += rows.size();
+                if (rows.size() < rebuildChunkSize) {
+                    break;
+                }
+                afterId = (Long) rows.get(rows.size() - 1)[0];
+            }
+        });
+        logger.info("Trending tracker rebuilt from {} borrows since {}.", borrows[0], since);
+    }
+
+    // Counts one borrow (called for LOAN_BORROWED events, routed to the database the loan is in)
+    public void recordBorrow(long loanId, long bookId, LocalDate borrowDate) {
+        long replayedUpTo = replayedUpToLoanId.getOrDefault(branchDatabases.currentDatabase(), Long.MAX_VALUE);
+        if (enabled && loanId > replayedUpTo && borrowDate != null) {
+            trendingTracker.add(borrowDate, bookId, 1);
+        }
+    }
+
+    // ──────────────────────────────────────────────
+    // READ PATH: Most borrowed books of the last N days
+    // ──────────────────────────────────────────────
+    public List<TopTitleDTO> getTrending(int days, int limit) {
+        List<long[]> top = trendingTracker.top(LocalDate.now(clock), days, limit);
+        if (top.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(top.size());
+        for (long[] entry : top) ids.add(entry[0]);
+
+        Map<Long, Book> byId = new HashMap<>();
+        for (Book book : bookRepository.findAllById(ids)) {
+            byId.put(book.getId(), book);
+        }
+        List<TopTitleDTO> trending = new ArrayList<>(top.size());
+        for (long[] entry : top) {
+            Book book = byId.get(entry[0]);
+            trending.add(new TopTitleDTO(entry[0], book != null ? book.getTitle() : null,
+                    book != null ? book.getAuthor() : null, entry[1]));
+        }
+        return trending;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.library_management.trending;
+
+import com.example.library_management.util.LongLongHashMap;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size heavy-hitters summary for one time bucket: a count-min sketch estimates how often any
+ * id was seen, and a min-heap keeps the ids with the highest estimates as candidates.
+ *
+ * Memory is depth x width counters plus the heap, whatever the number of distinct ids. Estimates
+ * never undercount; conservative update keeps the overcount small. Not thread-safe.
+ */
+public class CountMinTopK {
+
+    private static final long NONE = -1L;
+
+    private final int depth;
+    private final int mask;
+    private final int[][] counters;
+
+    // Min-heap of candidates by estimated count; position holds id -> heap index
+    private final long[] heapIds;
+    private final long[] heapCounts;
+    private final LongLongHashMap position;
+    private int heapSize;
+
+    /**
+     * @param depth      hash rows (error probability ~ e^-depth)
+     * @param width      counters per row, rounded up to a power of two (overcount ~ total * e / width)
+     * @param candidates ids kept as top-K candidates
+     */
+    public CountMinTopK(int depth, int width, int candidates) {
+        this.depth = depth;
+        int size = Integer.highestOneBit(Math.max(width, 2) - 1) << 1;
+        this.mask = size - 1;
+        this.counters = new int[depth][size];
+        this.heapIds = new long[candidates];
+        this.heapCounts = new long[candidates];
+        this.position = new LongLongHashMap(candidates);
+    }
+
+    // Counts {@code id} {@code count} more times
+    public void add(long id, int count) {
+        long estimate = Long.MAX_VALUE;
+        int[] slots = new int[depth];
+        for (int row = 0; row < depth; row++) {
+            slots[row] = slot(id, row);
+            estimate = Math.min(estimate, counters[row][slots[row]]);
+        }
+        long updated = estimate + count;
+        int capped = (int) Math.min(updated, Integer.MAX_VALUE);
+        for (int row = 0; row < depth; row++) {
+            if (counters[row][slots[row]] < capped) {
+                counters[row][slots[row]] = capped; // conservative update: only raise the rows at the minimum
+            }
+        }
+        offer(id, updated);
+    }
+
+    public long estimate(long id) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row][slot(id, row)]);
+        }
+        return estimate;
+    }
+
+    // Current candidate ids (unordered)
+    public long[] candidates() {
+        return Arrays.copyOf(heapIds, heapSize);
+    }
+
+    public void clear() {
+        for (int[] row : counters) {
+            Arrays.fill(row, 0);
+        }
+        position.clear();
+        heapSize = 0;
+    }
+
+    // ──────────────────────────────────────────────
+    // INTERNAL: Candidate heap
+    // ──────────────────────────────────────────────
+    private void offer(long id, long count) {
+        long index = position.get(id, NONE);
+        if (index != NONE) {
+            heapCounts[(int) index] = count;
+            siftDown((int) index); // count only grows, so the entry can only move away from the root
+        } else if (heapSize < heapIds.length) {
+            heapIds[heapSize] = id;
+            heapCounts[heapSize] = count;
+            position.put(id, heapSize, NONE);
+            siftUp(heapSize++);
+        } else if (heapSize > 0 && count > heapCounts[0]) {
+            position.remove(heapIds[0], NONE);
+            heapIds[0] = id;
+            heapCounts[0] = count;
+            position.put(id, 0, NONE);
+            siftDown(0);
+        }
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heapCounts[parent] <= heapCounts[index]) break;
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < heapSize && heapCounts[left] < heapCounts[smallest]) smallest = left;
+            if (right < heapSize && heapCounts[right] < heapCounts[smallest]) smallest = right;
+            if (smallest == index) break;
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = heapIds[a];
+        long count = heapCounts[a];
+        heapIds[a] = heapIds[b];
+        heapCounts[a] = heapCounts[b];
+        heapIds[b] = id;
+        heapCounts[b] = count;
+        position.put(heapIds[a], a, NONE);
+        position.put(heapIds[b], b, NONE);
+    }
+
+    private int slot(long id, int row) {
+        // Independent hash per row: mix the id with a per-row seed (splitmix64 finaliser)
+        long h = id + (row + 1) * 0x9E3779B97F4A7C15L;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return (int) (h ^ (h >>> 31)) & mask;
+    }
+}
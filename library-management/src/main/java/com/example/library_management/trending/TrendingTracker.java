@@ -0,0 +1,89 @@
+package com.example.library_management.trending;
+
+import com.example.library_management.util.LongLongHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Most borrowed books over the last N days, kept as a ring of daily {@link CountMinTopK} buckets.
+ *
+ * Each day gets its own sketch and candidate heap; a bucket is reused (cleared) when its slot comes
+ * round again, so memory stays constant at max-days buckets. A query sums the daily estimates of
+ * every candidate seen in the window and returns the largest.
+ */
+@Component
+public class TrendingTracker {
+
+    private final int maxDays;
+    private final CountMinTopK[] buckets;
+    private final long[] bucketDays; // epoch day held by each bucket, or -1 if unused
+
+    public TrendingTracker(@Value("${library.trending.max-days:31}") int maxDays,
+                           @Value("${library.trending.sketch-depth:4}") int depth,
+                           @Value("${library.trending.sketch-width:2048}") int width,
+                           @Value("${library.trending.candidates:64}") int candidates) {
+        this.maxDays = maxDays;
+        this.buckets = new CountMinTopK[maxDays];
+        this.bucketDays = new long[maxDays];
+        for (int i = 0; i < maxDays; i++) {
+            buckets[i] = new CountMinTopK(depth, width, candidates);
+            bucketDays[i] = -1;
+        }
+    }
+
+    public int getMaxDays() {
+        return maxDays;
+    }
+
+    // Records {@code count} borrows of a book on {@code day}
+    public synchronized void add(LocalDate day, long bookId, int count) {
+        long epochDay = day.toEpochDay();
+        int index = (int) Math.floorMod(epochDay, (long) maxDays);
+        if (bucketDays[index] != epochDay) {
+            if (epochDay < bucketDays[index]) {
+                return; // older than the window the ring currently covers
+            }
+            buckets[index].clear();
+            bucketDays[index] = epochDay;
+        }
+        buckets[index].add(bookId, count);
+    }
+
+    /**
+     * @return up to {@code limit} [book id, estimated borrows] pairs for the {@code days} days ending
+     *         {@code today}, most borrowed first
+     */
+    public synchronized List<long[]> top(LocalDate today, int days, int limit) {
+        long last = today.toEpochDay();
+        long first = last - Math.min(days, maxDays) + 1;
+
+        List<CountMinTopK> window = new ArrayList<>();
+        for (int i = 0; i < maxDays; i++) {
+            if (bucketDays[i] >= first && bucketDays[i] <= last) {
+                window.add(buckets[i]);
+            }
+        }
+
+        LongLongHashMap totals = new LongLongHashMap(64);
+        for (CountMinTopK bucket : window) {
+            for (long bookId : bucket.candidates()) {
+                if (totals.containsKey(bookId)) continue;
+                long total = 0;
+                for (CountMinTopK other : window) {
+                    total += other.estimate(bookId);
+                }
+                totals.put(bookId, total, 0L);
+            }
+        }
+
+        List<long[]> ranked = new ArrayList<>(totals.size());
+        totals.forEach((bookId, total) -> ranked.add(new long[]{bookId, total}));
+        ranked.sort(Comparator.<long[]>comparingLong(entry -> -entry[1]).thenComparingLong(entry -> entry[0]));
+        return ranked.size() > limit ? new ArrayList<>(ranked.subList(0, limit)) : ranked;
+    }
+}
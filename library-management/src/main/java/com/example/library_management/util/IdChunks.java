@@ -0,0 +1,25 @@
+package com.example.library_management.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Splits id lists for set-based statements that must stay within a bounded IN list.
+ */
+public final class IdChunks {
+
+    private IdChunks() {
+    }
+
+    // Distinct ids in ascending order, split into chunks (stable lock order across concurrent runs)
+    public static List<List<Long>> of(Collection<Long> ids, int chunkSize) {
+        List<Long> sorted = new ArrayList<>(new TreeSet<>(ids));
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < sorted.size(); i += chunkSize) {
+            chunks.add(sorted.subList(i, Math.min(i + chunkSize, sorted.size())));
+        }
+        return chunks;
+    }
+}
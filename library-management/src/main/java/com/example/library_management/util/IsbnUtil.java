@@ -0,0 +1,92 @@
+package com.example.library_management.util;
+
+/**
+ * Helpers for turning user-entered ISBNs into the canonical ISBN-13 key stored on {@code Book.isbn13}.
+ *
+ * Scanners and staff enter ISBN-10 or ISBN-13, with or without hyphens/spaces. Both forms of the
+ * same book normalise to the same 13-digit string, so lookups and the unique constraint work on one key.
+ */
+public final class IsbnUtil {
+
+    private IsbnUtil() {
+    }
+
+    /**
+     * Normalises an ISBN-10 or ISBN-13 to its ISBN-13 form (digits only).
+     *
+     * @param isbn raw ISBN as typed or scanned
+     * @return the 13-digit ISBN, or null if the input is blank or not a valid ISBN
+     */
+    public static String toIsbn13(String isbn) {
+        if (isbn == null) {
+            return null;
+        }
+
+        StringBuilder digits = new StringBuilder(13);
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c == 'X' || c == 'x') {
+                digits.append('X');
+            } else if (c != '-' && c != ' ') {
+                return null; // anything other than separators makes it invalid
+            }
+        }
+
+        if (digits.length() == 10 && isValidIsbn10(digits)) {
+            String body = "978" + digits.substring(0, 9);
+            return body + isbn13CheckDigit(body);
+        }
+        if (digits.length() == 13 && isValidIsbn13(digits)) {
+            return digits.toString();
+        }
+        return null;
+    }
+
+    /**
+     * Converts a canonical ISBN-13 string into a numeric key for compact in-memory indexes.
+     *
+     * @param isbn13 value returned by {@link #toIsbn13(String)}
+     * @return the ISBN as a long (always positive, never zero)
+     */
+    public static long toKey(String isbn13) {
+        return Long.parseLong(isbn13);
+    }
+
+    private static boolean isValidIsbn10(CharSequence digits) {
+        int sum = 0;
+        for (int i = 0; i < 10; i++) {
+            char c = digits.charAt(i);
+            int value;
+            if (c == 'X') {
+                if (i != 9) return false; // X is only allowed as the check digit
+                value = 10;
+            } else {
+                value = c - '0';
+            }
+            sum += (10 - i) * value;
+        }
+        return sum % 11 == 0;
+    }
+
+    private static boolean isValidIsbn13(CharSequence digits) {
+        if (digits.charAt(0) != '9' || digits.charAt(1) != '7'
+                || (digits.charAt(2) != '8' && digits.charAt(2) != '9')) {
+            return false; // only the 978/979 "Bookland" prefixes are ISBNs
+        }
+        for (int i = 0; i < 13; i++) {
+            if (digits.charAt(i) == 'X') return false;
+        }
+        return isbn13CheckDigit(digits.subSequence(0, 12)) == digits.charAt(12);
+    }
+
+    private static char isbn13CheckDigit(CharSequence first12) {
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            int value = first12.charAt(i) - '0';
+            sum += (i % 2 == 0) ? value : value * 3;
+        }
+        return (char) ('0' + (10 - sum % 10) % 10);
+    }
+}
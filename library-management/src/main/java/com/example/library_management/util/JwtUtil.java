@@ -18,10 +18,11 @@ public class JwtUtil {
     private static final SecretKey SECRET_KEY = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
     private static final long JWT_EXPIRATION_MS = 24 * 60 * 60 * 1000; // 24 hours
 
-    public String generateToken(String username, String role, Long userId) {
+    public String generateToken(String username, String role, Long userId, String branch) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", role);
         claims.put("userId", userId.toString()); // Store as string to avoid integer/long mismatch
+        claims.put("branch", branch); // Home branch; selects the member's database on later requests
 
         return Jwts.builder()
                 .setClaims(claims)
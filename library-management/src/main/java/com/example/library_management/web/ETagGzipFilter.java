@@ -0,0 +1,291 @@
+package com.example.library_management.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzips GET responses that carry a strong ETag (see {@link ConditionalGet}).
+ *
+ * Tomcat's connector compression skips responses with strong ETags, since the compressed bytes
+ * would share the tag of the uncompressed ones. This filter compresses them itself and gives the
+ * gzip representation its own tag ({@code "<tag>-gzip"}); on the way in, that suffix is stripped
+ * from If-None-Match so controllers compare against the plain tag, and a 304 answers with the tag
+ * the client revalidated (gzip or plain). Other responses are left to
+ * {@code server.compression}. Streaming endpoints are skipped: they write asynchronously, after
+ * this filter has returned, so their body must not be held back here.
+ *
+ * Only the first {@value #MIN_SIZE} bytes of a body are held back, long enough to tell whether it is
+ * worth compressing. Past that the body is streamed to the client as it is serialized (gzipped or
+ * plain, chunked), so large lists are never buffered whole. A body written with non-blocking I/O
+ * (setWriteListener) is sent as written from that point on.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 20)
+public class ETagGzipFilter extends OncePerRequestFilter {
+
+    private static final String SUFFIX = "-gzip\"";
+    private static final int MIN_SIZE = 2048;
+    private static final int GZIP_BUFFER_SIZE = 8192;
+    private static final String STREAMING_PATHS = "/api/catalogue/"; // ReactiveCatalogueController
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod()) || request.getRequestURI().startsWith(STREAMING_PATHS)) {
+            return true;
+        }
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding == null || !acceptEncoding.contains("gzip");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        GzipOnOverflowResponse wrapper = new GzipOnOverflowResponse(response,
+                String.join(",", Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH))));
+        chain.doFilter(new PlainETagRequest(request), wrapper);
+        if (!isAsyncStarted(request)) {
+            wrapper.finish();
+        }
+    }
+
+    private static String gzipTag(String etag) {
+        return etag.substring(0, etag.length() - 1) + SUFFIX;
+    }
+
+    // Presents "<tag>-gzip" in If-None-Match as "<tag>", the form ConditionalGet compares against
+    private static class PlainETagRequest extends HttpServletRequestWrapper {
+
+        PlainETagRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            String value = super.getHeader(name);
+            return HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) && value != null ? strip(value) : value;
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (!HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name)) {
+                return super.getHeaders(name);
+            }
+            List<String> values = Collections.list(super.getHeaders(name));
+            values.replaceAll(PlainETagRequest::strip);
+            return Collections.enumeration(values);
+        }
+
+        private static String strip(String value) {
+            return value.replace(SUFFIX, "\"");
+        }
+    }
+
+    /**
+     * Holds back the start of the body (and any flush, so headers stay editable) until either more
+     * than MIN_SIZE bytes have been written or the request is done. At that point the encoding is
+     * chosen once: gzip for a large 200 response with a strong ETag, otherwise the body as written.
+     */
+    private static class GzipOnOverflowResponse extends HttpServletResponseWrapper {
+
+        private final String ifNoneMatch; // as sent by the client, for the tag of a 304
+        private final byte[] head = new byte[MIN_SIZE];
+        private int headLength;
+        private long contentLength = -1;
+        private boolean nonBlocking;
+        private OutputStream target; // null until the encoding is chosen
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        GzipOnOverflowResponse(HttpServletResponse response, String ifNoneMatch) {
+            super(response);
+            this.ifNoneMatch = ifNoneMatch;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            if (outputStream == null) {
+                outputStream = new HeldBackOutputStream();
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (outputStream != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called");
+                }
+                writer = new PrintWriter(new OutputStreamWriter(new HeldBackOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        // Applied only if the body is sent as written; a gzipped body has a different length
+        @Override
+        public void setContentLength(int len) {
+            contentLength = len;
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            contentLength = len;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (target != null) {
+                target.flush();
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (target == null) {
+                headLength = 0;
+            }
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            if (target == null) {
+                headLength = 0;
+                contentLength = -1;
+            }
+            super.reset();
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (target == null) {
+                // Not modified: the client holds whichever representation it revalidated
+                String etag = getHeader(HttpHeaders.ETAG);
+                if (getStatus() == HttpServletResponse.SC_NOT_MODIFIED && etag != null && etag.startsWith("\"")
+                        && ifNoneMatch.contains(gzipTag(etag))) {
+                    setHeader(HttpHeaders.ETAG, gzipTag(etag));
+                }
+                if (headLength == 0) {
+                    return; // no body (304, sendError, empty 200): nothing to release
+                }
+                choose(false); // too small to be worth it; keep the plain tag
+            }
+            if (target instanceof GZIPOutputStream gzip) {
+                gzip.finish();
+            }
+        }
+
+        private void write(byte[] bytes, int offset, int length) throws IOException {
+            if (target == null && headLength + length <= MIN_SIZE) {
+                System.arraycopy(bytes, offset, head, headLength, length);
+                headLength += length;
+                return;
+            }
+            if (target == null) {
+                choose(true);
+            }
+            target.write(bytes, offset, length);
+        }
+
+        // Decides the encoding and releases the held-back bytes
+        private void choose(boolean large) throws IOException {
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            String etag = getHeader(HttpHeaders.ETAG);
+            if (large && !nonBlocking && etag != null && etag.startsWith("\"") && getStatus() == HttpServletResponse.SC_OK) {
+                response.setHeader(HttpHeaders.ETAG, gzipTag(etag));
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                target = new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE);
+            } else {
+                if (!large) {
+                    response.setContentLength(headLength);
+                } else if (contentLength >= 0) {
+                    response.setContentLengthLong(contentLength);
+                }
+                target = response.getOutputStream();
+            }
+            if (headLength > 0) {
+                target.write(head, 0, headLength);
+            }
+        }
+
+        private class HeldBackOutputStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                if (target == null && headLength < MIN_SIZE) {
+                    head[headLength++] = (byte) b;
+                    return;
+                }
+                if (target == null) {
+                    choose(true);
+                }
+                target.write(b);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                GzipOnOverflowResponse.this.write(bytes, offset, length);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (target != null) {
+                    target.flush();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return !(target instanceof ServletOutputStream servletOutput) || servletOutput.isReady();
+            }
+
+            // Non-blocking writes cannot be held back: release what was written so far and hand the
+            // listener to the container's stream, which then receives the rest of the body as written
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                if (target == null) {
+                    nonBlocking = true;
+                    try {
+                        choose(true);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                if (!(target instanceof ServletOutputStream servletOutput)) {
+                    throw new IllegalStateException("The response is already being gzipped with blocking writes");
+                }
+                servletOutput.setWriteListener(listener);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.library_management.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, TTL-evicting store of Idempotency-Key -> (request fingerprint, stored response).
+ *
+ * Entries are kept in insertion order; since every entry has the same TTL, expired entries are
+ * always at the head and are purged from there. When full, the oldest entry is dropped.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    public IdempotencyStore(@Value("${library.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${library.idempotency.ttl:PT24H}") Duration ttl,
+                            Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > IdempotencyStore.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Reserves {@code key} for a new request, or returns what is already stored for it.
+     *
+     * @return null if the key was free and is now reserved (in flight) for this request,
+     *         otherwise the existing entry (in flight or completed)
+     */
+    public synchronized Entry reserve(String key, String fingerprint) {
+        long now = clock.millis();
+        purgeExpired(now);
+
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        entries.put(key, new Entry(fingerprint, now + ttlMillis));
+        return null;
+    }
+
+    // Store the response for a reserved key so retries can replay it
+    public synchronized void complete(String key, int status, String contentType, byte[] body) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.status = status;
+            entry.contentType = contentType;
+            entry.body = body;
+            entry.completed = true;
+        }
+    }
+
+    // Forget a reservation (e.g. the request failed with a server error) so a retry executes again
+    public synchronized void release(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.completed) {
+            entries.remove(key);
+        }
+    }
+
+    private void purgeExpired(long now) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.expiresAt > now) {
+                break; // everything after this was inserted later, so expires later
+            }
+            it.remove();
+        }
+    }
+
+    public static class Entry {
+
+        private final String fingerprint;
+        private final long expiresAt;
+
+        private volatile boolean completed;
+        private int status;
+        private String contentType;
+        private byte[] body;
+
+        Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getFingerprint() { return fingerprint; }
+
+        public boolean isCompleted() { return completed; }
+
+        public int getStatus() { return status; }
+
+        public String getContentType() { return contentType; }
+
+        public byte[] getBody() { return body; }
+    }
+}
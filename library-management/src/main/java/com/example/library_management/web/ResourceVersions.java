@@ -0,0 +1,103 @@
+package com.example.library_management.web;
+
+import com.example.library_management.branch.BranchContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Change counters behind the strong ETags of the catalogue and per-member views.
+ *
+ * Writers bump a counter after their transaction commits; readers take the tag before loading data,
+ * so a tag can only ever be older than the data it is sent with (causing a refetch), never newer.
+ * Member views are tracked in a fixed array of striped counters keyed by username hash: a collision
+ * just invalidates an unrelated member's tag, and memory stays bounded however many members write.
+ *
+ * Counters live in memory and start from a per-process epoch, so a restart invalidates all tags.
+ * With several instances behind one load balancer, writes made on another instance are not seen here;
+ * route the conditional endpoints to one instance or turn off If-None-Match handling in that setup.
+ */
+@Component
+public class ResourceVersions {
+
+    private static final int MEMBER_STRIPES = 4096; // power of two
+
+    @Autowired
+    private Clock clock;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong catalogue = new AtomicLong();
+    private final AtomicLong allMembers = new AtomicLong();
+    private final AtomicLongArray memberStripes = new AtomicLongArray(MEMBER_STRIPES);
+
+    // ──────────────────────────────────────────────
+    // Tags (read before loading the data they describe)
+    // ──────────────────────────────────────────────
+
+    // Book list of the current branch, including availability (the branch is part of the tag so
+    // switching branches never yields another branch's 304)
+    public String catalogueTag() {
+        return "\"c" + epoch + "." + catalogue.get() + "." + BranchContext.current() + "\"";
+    }
+
+    /**
+     * Tag for the views of one member (profile, own loans). Loans embed their books,
+     * so the catalogue counter is part of it too, and their overdue flags depend on the
+     * business date, so that is included as well. The username is encoded into the tag
+     * so one browser switching accounts never gets another member's 304.
+     */
+    public String memberTag(String username) {
+        return "\"m" + epoch + "." + LocalDate.now(clock).toEpochDay() + "." + catalogue.get() + "." + allMembers.get()
+                + "." + memberStripes.get(stripe(username)) + "." + encode(username) + "\"";
+    }
+
+    // ──────────────────────────────────────────────
+    // Writers (applied after the current transaction commits)
+    // ──────────────────────────────────────────────
+
+    public void catalogueChanged() {
+        afterCommit(catalogue::incrementAndGet);
+    }
+
+    public void memberChanged(String username) {
+        if (username == null) return;
+        int stripe = stripe(username);
+        afterCommit(() -> memberStripes.incrementAndGet(stripe));
+    }
+
+    // Bulk jobs (archiving, mass renewals) that touch many members at once
+    public void allMembersChanged() {
+        afterCommit(allMembers::incrementAndGet);
+    }
+
+    private static void afterCommit(Runnable bump) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump.run();
+            }
+        });
+    }
+
+    private static int stripe(String username) {
+        int h = username == null ? 0 : username.hashCode();
+        return (h ^ (h >>> 16)) & (MEMBER_STRIPES - 1);
+    }
+
+    private static String encode(String username) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(username.getBytes(StandardCharsets.UTF_8));
+    }
+}
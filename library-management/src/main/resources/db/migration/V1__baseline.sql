@@ -0,0 +1,54 @@
+-- Baseline: the schema as Hibernate (ddl-auto=update) created it for the last release before Flyway
+-- (book, member, loan). Existing databases are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and skip it.
+-- Do not edit; add a new V<n>__*.sql for every schema change.
+
+create table book (
+    available bit not null,
+    published_year integer,
+    id bigint not null auto_increment,
+    author varchar(255),
+    isbn varchar(255),
+    title varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table loan (
+    borrow_date date,
+    due_date date,
+    fine_amount float(53),
+    renew_count integer not null,
+    return_date date,
+    book_id bigint not null,
+    id bigint not null auto_increment,
+    member_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table member (
+    active bit not null,
+    registration_date date not null,
+    id bigint not null auto_increment,
+    role varchar(20) not null,
+    username varchar(50) not null,
+    password varchar(100) not null,
+    email varchar(255) not null,
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table member 
+   add constraint UKgc3jmn7c2abyo3wf6syln5t2i unique (username);
+
+alter table member 
+   add constraint UKmbmcqelty0fbrvxp1q58dn57t unique (email);
+
+alter table loan 
+   add constraint FK88c0ydlo57pcgp137tntrgqx1 
+   foreign key (book_id) 
+   references book (id);
+
+alter table loan 
+   add constraint FKskvlv9lnj3plivn0grmqf950f 
+   foreign key (member_id) 
+   references member (id);
@@ -0,0 +1,89 @@
+-- Tables and columns added since the baseline release:
+--   book.isbn13                   normalised ISBN-13, unique (lookups by ISBN)
+--   loan_daily_stats,
+--   book_daily_stats              daily circulation rollups (StatsService)
+--   consumed_event                outbox events already counted by the rollups
+--   outbox_event                  transactional outbox (OutboxDispatcher)
+--   loan_archive                  returned loans past retention (LoanArchiveService)
+--   reminder_checkpoint           resumable reminder runs, positioned on (member_id, loan id)
+-- plus the open-loan indexes for the due-date scans and the reminder batches.
+
+alter table book add column isbn13 varchar(13);
+
+alter table book 
+   add constraint UKdjx0bsw5qtlpa3ertiyf8j0bc unique (isbn13);
+
+create table book_daily_stats (
+    borrow_count integer not null,
+    stat_date date not null,
+    book_id bigint not null,
+    primary key (stat_date, book_id)
+) engine=InnoDB;
+
+create table loan_daily_stats (
+    loans_borrowed integer not null,
+    loans_renewed integer not null,
+    loans_returned integer not null,
+    returned_overdue integer not null,
+    stat_date date not null,
+    total_loan_days bigint not null,
+    primary key (stat_date)
+) engine=InnoDB;
+
+create table consumed_event (
+    consumed_at datetime(6) not null,
+    event_id bigint not null,
+    consumer varchar(40) not null,
+    primary key (consumer, event_id)
+) engine=InnoDB;
+
+create table outbox_event (
+    attempts integer not null,
+    aggregate_id bigint not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    processed_at datetime(6),
+    aggregate_type varchar(20) not null,
+    event_type varchar(40) not null,
+    last_error varchar(500),
+    payload varchar(2000) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_outbox_event_pending 
+   on outbox_event (processed_at, id);
+
+create table loan_archive (
+    archived_on date not null,
+    borrow_date date,
+    due_date date,
+    fine_amount float(53),
+    renew_count integer not null,
+    return_date date,
+    book_id bigint not null,
+    id bigint not null,
+    member_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_loan_archive_member_return 
+   on loan_archive (member_id, return_date);
+
+create table reminder_checkpoint (
+    completed bit not null,
+    run_date date not null,
+    window_from date not null,
+    window_to date not null,
+    last_loan_id bigint not null,
+    last_member_id bigint not null,
+    kind varchar(20) not null,
+    primary key (kind)
+) engine=InnoDB;
+
+-- Open loans by due date (overdue report, due-soon window)
+create index idx_loan_return_due 
+   on loan (return_date, due_date);
+
+-- Open loans in (member_id, id) order with the due date, for the reminder batches
+create index idx_loan_return_member
+   on loan (return_date, member_id, id, due_date);
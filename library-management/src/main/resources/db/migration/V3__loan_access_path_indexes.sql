@@ -0,0 +1,12 @@
+-- Composite indexes for the loan access paths:
+--   (member_id, return_date): a member's open loans / overdue check / borrowing limit
+--                             (findOverdueLoansForMember, findByMember, account summary, reminders)
+--   (book_id, return_date):   is a book out, and loans per book for the stats rebuild
+-- (return_date, due_date) for open-loan due-date range scans already exists (idx_loan_return_due).
+-- Both new indexes lead with the foreign key column, so they also serve the FK constraints.
+
+create index idx_loan_member_return
+   on loan (member_id, return_date);
+
+create index idx_loan_book_return
+   on loan (book_id, return_date);
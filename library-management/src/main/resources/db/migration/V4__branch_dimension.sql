@@ -0,0 +1,28 @@
+-- Branch dimension: every book, member and loan belongs to one branch (branch_code).
+-- Rows written before branches existed go to ${defaultBranch}: the default branch for the main
+-- database, the first configured branch for a separate branch database (see BranchDataSourceConfig).
+
+alter table book add column branch_code varchar(16) not null default '${defaultBranch}';
+alter table member add column branch_code varchar(16) not null default '${defaultBranch}';
+alter table loan add column branch_code varchar(16) not null default '${defaultBranch}';
+alter table loan_archive add column branch_code varchar(16) not null default '${defaultBranch}';
+
+-- Branches stock their own copies, so an ISBN is only unique within a branch
+alter table book drop constraint UKdjx0bsw5qtlpa3ertiyf8j0bc;
+alter table book add constraint uk_book_branch_isbn13 unique (branch_code, isbn13);
+
+create index idx_book_branch
+   on book (branch_code);
+
+create index idx_member_branch
+   on member (branch_code);
+
+-- A branch's open loans by due date (overdue report, bulk renewal)
+create index idx_loan_branch_return_due
+   on loan (branch_code, return_date, due_date);
+
+-- Each database hands out ids from its own range (${idBase}; 1 for the main database, where MySQL
+-- keeps the counter above existing rows), so ids stay unique when branches live in separate databases.
+alter table book auto_increment = ${idBase};
+alter table member auto_increment = ${idBase};
+alter table loan auto_increment = ${idBase};
@@ -0,0 +1,16 @@
+-- Stored membership expiry: one year after registration, moved forward by renewals. Borrowing checks,
+-- the nightly expiry sweep and the expired-member clean-up read this column instead of computing
+-- registration_date + 1 year for every member.
+
+alter table member add column membership_expiry_date date;
+
+update member set membership_expiry_date = registration_date + interval '1' year;
+
+alter table member modify membership_expiry_date date not null;
+
+-- Active members by expiry date (nightly sweep); expiry date ranges (clean-up of long-expired members)
+create index idx_member_active_expiry
+   on member (active, membership_expiry_date);
+
+create index idx_member_expiry
+   on member (membership_expiry_date);
@@ -0,0 +1,94 @@
+package com.example.library_management.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditLogTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void eventsAreReadBackInOrderAcrossSegments() throws IOException {
+		try (AuditLogWriter writer = new AuditLogWriter(directory, 1024)) {
+			for (int batch = 0; batch < 10; batch++) {
+				writer.append(events(batch * 10, 10));
+			}
+		}
+		assertTrue(segmentCount() > 1);
+
+		List<AuditEvent> all = new AuditLogReader(directory).find(1, 1000, event -> true);
+		assertEquals(100, all.size());
+		for (int i = 0; i < all.size(); i++) {
+			AuditEvent event = all.get(i);
+			assertEquals(i + 1, event.getSequence());
+			assertEquals(Long.valueOf(i), event.getAggregateId());
+			assertEquals("librarian", event.getActor());
+			assertEquals("{\"n\":" + i + "}", event.getDetail());
+		}
+	}
+
+	@Test
+	void readingStartsAtTheRequestedSequenceAndAppliesTheFilter() throws IOException {
+		try (AuditLogWriter writer = new AuditLogWriter(directory, 512)) {
+			writer.append(events(0, 50));
+		}
+		List<AuditEvent> found = new AuditLogReader(directory)
+				.find(31, 5, event -> event.getAggregateId() % 2 == 0);
+
+		assertEquals(List.of(30L, 32L, 34L, 36L, 38L), found.stream().map(AuditEvent::getAggregateId).toList());
+		assertEquals(31, found.get(0).getSequence());
+	}
+
+	@Test
+	void anIncompleteRecordIsCutAndWritingResumesAfterTheLastGoodOne() throws IOException {
+		try (AuditLogWriter writer = new AuditLogWriter(directory, 1 << 20)) {
+			writer.append(events(0, 3));
+		}
+		Path segment = directory.resolve(AuditRecords.segmentName(1));
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 5); // crash in the middle of the third record
+		}
+
+		try (AuditLogWriter writer = new AuditLogWriter(directory, 1 << 20)) {
+			assertTrue(writer.recoveredBytesDropped() > 0);
+			assertEquals(3, writer.nextSequence());
+			writer.append(List.of(new AuditEvent(1L, null, "MAIN", "LOAN_RETURNED", "LOAN", null, null)));
+		}
+
+		List<AuditEvent> all = new AuditLogReader(directory).find(1, 10, event -> true);
+		assertEquals(3, all.size());
+		assertEquals(3, all.get(2).getSequence());
+		assertEquals("LOAN_RETURNED", all.get(2).getAction());
+		assertNull(all.get(2).getActor());
+		assertNull(all.get(2).getAggregateId());
+	}
+
+	private static List<AuditEvent> events(int from, int count) {
+		List<AuditEvent> events = new ArrayList<>();
+		for (int i = from; i < from + count; i++) {
+			events.add(new AuditEvent(1_750_000_000_000L + i, "librarian", "MAIN", "LOAN_BORROWED", "LOAN",
+					(long) i, "{\"n\":" + i + "}"));
+		}
+		return events;
+	}
+
+	private long segmentCount() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		}
+	}
+}
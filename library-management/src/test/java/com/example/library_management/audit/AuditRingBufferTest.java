@@ -0,0 +1,77 @@
+package com.example.library_management.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditRingBufferTest {
+
+	@Test
+	void itemsComeOutInOrderAndAFullBufferRefuses() {
+		AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+		for (int i = 0; i < 4; i++) {
+			assertTrue(buffer.offer(i));
+		}
+		assertFalse(buffer.offer(4));
+
+		List<Integer> drained = new ArrayList<>();
+		assertEquals(3, buffer.drainTo(drained, 3));
+		assertTrue(buffer.offer(4));                 // freed slots are reused
+		assertEquals(2, buffer.drainTo(drained, 10));
+		assertEquals(List.of(0, 1, 2, 3, 4), drained);
+		assertEquals(0, buffer.size());
+	}
+
+	@Test
+	void concurrentProducersLoseNothing() throws InterruptedException {
+		AuditRingBuffer<Long> buffer = new AuditRingBuffer<>(64);
+		int producers = 4;
+		int perProducer = 2_000;
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			long base = (long) p * perProducer;
+			Thread thread = new Thread(() -> {
+				for (long i = 0; i < perProducer; i++) {
+					while (!buffer.offer(base + i)) {
+						Thread.yield(); // full: let the consumer run (fewer cores than threads)
+					}
+				}
+			});
+			thread.setDaemon(true);
+			threads.add(thread);
+			thread.start();
+		}
+
+		Set<Long> seen = new HashSet<>();
+		long[] lastPerProducer = new long[producers];
+		Arrays.fill(lastPerProducer, -1);
+		List<Long> batch = new ArrayList<>();
+		while (seen.size() < producers * perProducer) {
+			assertTrue(System.nanoTime() < deadline, "only " + seen.size() + " items arrived in time");
+			batch.clear();
+			if (buffer.drainTo(batch, 100) == 0) {
+				Thread.yield();
+			}
+			for (long value : batch) {
+				assertTrue(seen.add(value));
+				int producer = (int) (value / perProducer);
+				assertTrue(value > lastPerProducer[producer]); // each producer's items stay in order
+				lastPerProducer[producer] = value;
+			}
+		}
+		for (Thread thread : threads) {
+			thread.join(TimeUnit.SECONDS.toMillis(5));
+		}
+		assertEquals(0, buffer.size());
+	}
+}
@@ -0,0 +1,63 @@
+package com.example.library_management.autocomplete;
+
+import com.example.library_management.util.LongLongHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrefixSnapshotTest {
+
+	private static final List<Object[]> BOOKS = List.of(
+			new Object[]{1L, "Harry Potter and the Philosopher's Stone", "J. K. Rowling"},
+			new Object[]{2L, "Harry Potter and the Chamber of Secrets", "J. K. Rowling"},
+			new Object[]{3L, "Les Misérables", "Victor Hugo"},
+			new Object[]{4L, "Hamlet", "William Shakespeare"});
+
+	@Test
+	void prefixesMatchFromAnyWordAndRankByPopularity() {
+		LongLongHashMap popularity = new LongLongHashMap();
+		popularity.put(2L, 30L, 0L);
+		popularity.put(1L, 10L, 0L);
+		PrefixSnapshot snapshot = PrefixSnapshot.build(BOOKS, popularity);
+
+		assertEquals(List.of("Harry Potter and the Chamber of Secrets", "Harry Potter and the Philosopher's Stone"),
+				texts(snapshot, "potter", 5));
+		assertEquals(List.of("Harry Potter and the Chamber of Secrets", "Harry Potter and the Philosopher's Stone", "Hamlet"),
+				texts(snapshot, "ha", 5));
+		assertEquals(List.of("Les Misérables"), texts(snapshot, SearchText.normalize("MISER"), 5));
+		assertEquals(List.of("J. K. Rowling"), texts(snapshot, "rowl", 5)); // one suggestion per author
+	}
+
+	@Test
+	void excludedBooksAreSkipped() {
+		PrefixSnapshot snapshot = PrefixSnapshot.build(BOOKS, new LongLongHashMap());
+
+		assertEquals(List.of("Harry Potter and the Philosopher's Stone"), texts(snapshot, "harry", 5, 2L));
+	}
+
+	@Test
+	void prefixesSharedByManyTermsRankOverAllOfThem() {
+		List<Object[]> books = new ArrayList<>();
+		for (long id = 1; id <= 6000; id++) {
+			books.add(new Object[]{id, String.format("Theory %04d", id), "Author " + (id % 7)});
+		}
+		LongLongHashMap popularity = new LongLongHashMap();
+		popularity.put(5999L, 40L, 0L); // sorts after the first 4096 "theory ..." terms
+		popularity.put(12L, 20L, 0L);
+		PrefixSnapshot snapshot = PrefixSnapshot.build(books, popularity);
+
+		assertEquals(List.of("Theory 5999", "Theory 0012"), texts(snapshot, "theory", 2));
+		assertEquals(List.of("Theory 5999", "Theory 0012"), texts(snapshot, "theory ", 2));
+		assertEquals(List.of("Theory 0012", "Theory 0001"), texts(snapshot, "theory", 2, 5999L));
+		assertEquals(List.of("Theory 5999", "Theory 5000"), texts(snapshot, "theory 5", 2)); // scanned
+	}
+
+	private static List<String> texts(PrefixSnapshot snapshot, String prefix, int limit, long... excluded) {
+		return Arrays.stream(snapshot.suggest(prefix, limit, id -> Arrays.stream(excluded).anyMatch(e -> e == id)))
+				.mapToObj(snapshot::text).toList();
+	}
+}
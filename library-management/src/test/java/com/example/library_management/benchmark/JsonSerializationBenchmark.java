@@ -0,0 +1,168 @@
+package com.example.library_management.benchmark;
+
+import com.example.library_management.dto.LoanSearchDTO;
+import com.example.library_management.dto.MemberSummaryDTO;
+import com.example.library_management.json.ListSerializationModule;
+import com.example.library_management.model.Book;
+import com.example.library_management.model.Loan;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of one 10,000-element list response, per element type and serializer set:
+ *  - stream: written straight to an output stream, as the message converter does for a response
+ *  - buffered: the whole body materialised as a byte[] first (what full response buffering costs)
+ * Run with {@code mvn -Pjmh verify}; the gc profiler's gc.alloc.rate.norm is the allocation per list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JsonSerializationBenchmark {
+
+	private static final int SIZE = 10_000;
+
+	@Param({"loans", "books", "members", "loanSearch"})
+	public String list;
+
+	@Param({"reflective", "precomputed"})
+	public String serializers;
+
+	private ObjectWriter writer;
+	private List<?> values;
+	private final CountingOutputStream sink = new CountingOutputStream();
+
+	@Setup
+	public void setUp() {
+		Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS); // as Spring Boot configures it
+		if ("precomputed".equals(serializers)) {
+			builder.modulesToInstall(new ListSerializationModule(Clock.systemDefaultZone()));
+		}
+		ObjectMapper mapper = builder.build();
+
+		Random random = new Random(42);
+		Class<?> elementType;
+		switch (list) {
+			case "loans" -> { values = loans(random); elementType = Loan.class; }
+			case "books" -> { values = books(random, SIZE); elementType = Book.class; }
+			case "members" -> { values = members(random); elementType = MemberSummaryDTO.class; }
+			case "loanSearch" -> { values = loanSearchRows(random); elementType = LoanSearchDTO.class; }
+			default -> throw new IllegalArgumentException("Unknown list " + list);
+		}
+		// Declared element type, as for a List<T> controller return value
+		writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, elementType));
+	}
+
+	@Benchmark
+	public long stream() throws IOException {
+		writer.writeValue(sink, values);
+		return sink.count;
+	}
+
+	@Benchmark
+	public byte[] buffered() throws IOException {
+		return writer.writeValueAsBytes(values);
+	}
+
+	// ──────────────────────────────────────────────
+	// Data: fixed seed, shaped like the load-test catalogue
+	// ──────────────────────────────────────────────
+	private static final String[] WORDS = {"River", "Shadow", "Garden", "Empire", "Silent", "Glass", "Ocean", "Crown",
+			"Winter", "Machine", "History", "Forest", "Light", "Storm", "Café", "Letters"};
+	private static final String[] NAMES = {"Ana Silva", "Kofi Anderson", "Julia Dubois", "Chen Garcia", "Rosa López",
+			"Sam O'Neil", "Priya Nair", "Ole Hansen"};
+
+	private static List<Book> books(Random random, int count) {
+		List<Book> books = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Book book = new Book();
+			book.setId(i + 1L);
+			book.setTitle(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i);
+			book.setAuthor(NAMES[random.nextInt(NAMES.length)]);
+			book.setIsbn(String.format("978%010d", random.nextInt(1_000_000_000)));
+			book.setAvailable(random.nextBoolean());
+			book.setPublishedYear(1950 + random.nextInt(75));
+			book.setBranchCode("MAIN");
+			books.add(book);
+		}
+		return books;
+	}
+
+	private static List<Loan> loans(Random random) {
+		List<Book> books = books(random, SIZE / 4);
+		LocalDate today = LocalDate.now();
+		List<Loan> loans = new ArrayList<>(SIZE);
+		for (int i = 0; i < SIZE; i++) {
+			Loan loan = new Loan();
+			loan.setId(i + 1L);
+			loan.setBook(books.get(random.nextInt(books.size())));
+			loan.setBorrowDate(today.minusDays(random.nextInt(60)));
+			loan.setDueDate(loan.getBorrowDate().plusDays(14));
+			if (random.nextInt(3) == 0) {
+				loan.setReturnDate(loan.getBorrowDate().plusDays(random.nextInt(20)));
+			}
+			loan.setRenewCount(random.nextInt(3));
+			loan.setBranchCode("MAIN");
+			loans.add(loan);
+		}
+		return loans;
+	}
+
+	private static List<MemberSummaryDTO> members(Random random) {
+		List<MemberSummaryDTO> members = new ArrayList<>(SIZE);
+		for (int i = 0; i < SIZE; i++) {
+			String name = NAMES[random.nextInt(NAMES.length)];
+			members.add(new MemberSummaryDTO(i + 1L, name, "member" + i, "member" + i + "@example.com",
+					LocalDate.of(2020, 1, 1).plusDays(random.nextInt(2000)), random.nextInt(10) > 0, "member", "MAIN"));
+		}
+		return members;
+	}
+
+	private static List<LoanSearchDTO> loanSearchRows(Random random) {
+		List<LoanSearchDTO> rows = new ArrayList<>(SIZE);
+		LocalDate start = LocalDate.of(2025, 1, 1);
+		for (int i = 0; i < SIZE; i++) {
+			LocalDate borrowed = start.plusDays(random.nextInt(300));
+			LocalDate returned = random.nextBoolean() ? borrowed.plusDays(random.nextInt(20)) : null;
+			rows.add(new LoanSearchDTO(i + 1L, NAMES[random.nextInt(NAMES.length)],
+					WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)],
+					borrowed, borrowed.plusDays(14), returned, random.nextInt(5) * 0.5));
+		}
+		return rows;
+	}
+
+	// Discards the bytes but keeps a count, so the writes cannot be optimised away
+	private static final class CountingOutputStream extends OutputStream {
+
+		long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int length) {
+			count += length;
+		}
+	}
+}
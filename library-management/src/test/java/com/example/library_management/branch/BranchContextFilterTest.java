@@ -0,0 +1,93 @@
+package com.example.library_management.branch;
+
+import com.example.library_management.util.JwtUtil;
+import jakarta.servlet.FilterChain;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Branch selection for MAIN and EAST: members act for their home branch, only admins may switch.
+ */
+class BranchContextFilterTest {
+
+	private final JwtUtil jwtUtil = new JwtUtil();
+	private final List<String> seen = new ArrayList<>();
+	private BranchContextFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		BranchProperties properties = new BranchProperties();
+		properties.setCodes(List.of("MAIN", "EAST"));
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:branch_filter");
+
+		filter = new BranchContextFilter();
+		ReflectionTestUtils.setField(filter, "branchDatabases", new BranchDatabases(properties, dataSource, Map.of()));
+		ReflectionTestUtils.setField(filter, "branchProperties", properties);
+		ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+	}
+
+	@Test
+	void aMemberActsForTheBranchInTheirToken() throws Exception {
+		MockHttpServletResponse response = run(token("MEMBER", "EAST"), null);
+
+		assertEquals(200, response.getStatus());
+		assertEquals(List.of("EAST"), seen);
+	}
+
+	@Test
+	void aMemberCannotNameAnotherBranch() throws Exception {
+		MockHttpServletResponse response = run(token("MEMBER", "MAIN"), "east");
+
+		assertEquals(403, response.getStatus());
+		assertEquals(List.of(), seen);
+	}
+
+	@Test
+	void aMemberMayNameTheirOwnBranch() throws Exception {
+		MockHttpServletResponse response = run(token("MEMBER", "EAST"), "east");
+
+		assertEquals(200, response.getStatus());
+		assertEquals(List.of("EAST"), seen);
+	}
+
+	@Test
+	void anAdminMayWorkAtAnotherBranch() throws Exception {
+		MockHttpServletResponse response = run(token("ADMIN", "MAIN"), "EAST");
+
+		assertEquals(200, response.getStatus());
+		assertEquals(List.of("EAST"), seen);
+	}
+
+	@Test
+	void anonymousRequestsCannotPickABranch() throws Exception {
+		MockHttpServletResponse response = run(null, "EAST");
+
+		assertEquals(403, response.getStatus());
+		assertEquals(List.of(), seen);
+	}
+
+	private String token(String role, String branch) {
+		return jwtUtil.generateToken("reader", role, 1L, branch);
+	}
+
+	private MockHttpServletResponse run(String token, String branchHeader) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+		if (token != null) request.addHeader("Authorization", "Bearer " + token);
+		if (branchHeader != null) request.addHeader(BranchContextFilter.HEADER, branchHeader);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FilterChain chain = (req, res) -> seen.add(BranchContext.current());
+		filter.doFilter(request, response, chain);
+		return response;
+	}
+}
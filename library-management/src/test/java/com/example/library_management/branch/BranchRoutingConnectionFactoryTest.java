@@ -0,0 +1,58 @@
+package com.example.library_management.branch;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BranchRoutingConnectionFactoryTest {
+
+	@Test
+	void pipelinesReadTheDatabaseNamedInTheirContext() throws Exception {
+		// Schemas created over JDBC, as Flyway does; R2DBC opens the same in-memory databases
+		jdbc("reactive_main").execute("create table book (id bigint primary key, title varchar(255))");
+		jdbc("reactive_main").update("insert into book values (1, 'Main book')");
+		jdbc("reactive_north").execute("create table book (id bigint primary key, title varchar(255))");
+		jdbc("reactive_north").update("insert into book values (2, 'North book'), (3, 'Another north book')");
+
+		BranchRoutingConnectionFactory routing = new BranchRoutingConnectionFactory(Map.of(
+				BranchDatabases.MAIN, r2dbc("reactive_main"),
+				"north", r2dbc("reactive_north")));
+		routing.afterPropertiesSet();
+		DatabaseClient client = DatabaseClient.create(routing);
+
+		List<String> north = client.sql("select title from book order by id")
+				.map(row -> row.get("title", String.class))
+				.all()
+				.contextWrite(BranchRoutingConnectionFactory.routeTo("north"))
+				.collectList()
+				.block();
+		List<String> main = client.sql("select title from book order by id")
+				.map(row -> row.get("title", String.class))
+				.all()
+				.collectList()
+				.block();
+
+		assertEquals(List.of("North book", "Another north book"), north);
+		assertEquals(List.of("Main book"), main);
+		routing.destroy();
+	}
+
+	private static JdbcTemplate jdbc(String name) {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+		dataSource.setUser("sa");
+		return new JdbcTemplate(dataSource);
+	}
+
+	private static ConnectionFactory r2dbc(String name) {
+		return ConnectionFactories.get("r2dbc:h2:mem://sa@/" + name + "?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+	}
+}
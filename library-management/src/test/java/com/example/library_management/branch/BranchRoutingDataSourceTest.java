@@ -0,0 +1,63 @@
+package com.example.library_management.branch;
+
+import com.example.library_management.config.BranchDataSourceConfig;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BranchRoutingDataSourceTest {
+
+	@Test
+	void branchesAreRoutedToTheirDatabaseWithSeparateIdRanges() {
+		BranchProperties properties = new BranchProperties();
+		properties.setCodes(List.of("east"));
+		BranchProperties.Database north = new BranchProperties.Database();
+		north.setBranches(List.of("NORTH"));
+		north.setIdBase(1_000_000_000L);
+		properties.getDatabases().put("north", north);
+
+		BranchDatabases databases = new BranchDatabases(properties, h2("routing_main"), Map.of("north", h2("routing_north")));
+		new BranchDataSourceConfig().branchMigrationStrategy(databases)
+				.migrate(Flyway.configure().locations("classpath:db/migration").load());
+		BranchRoutingDataSource routing = new BranchRoutingDataSource(databases);
+		routing.afterPropertiesSet();
+		JdbcTemplate jdbc = new JdbcTemplate(routing);
+
+		BranchContext.run("EAST", () -> jdbc.update("insert into book (available, title, branch_code) values (true, 'East book', 'EAST')"));
+		BranchContext.run("NORTH", () -> jdbc.update("insert into book (available, title, branch_code) values (true, 'North book', 'NORTH')"));
+
+		// MAIN and EAST share the main database; NORTH has its own, handing out ids from its id base
+		assertEquals(List.of("East book"), jdbc.queryForList("select title from book", String.class));
+		assertEquals(List.of("East book"), BranchContext.call("MAIN", () -> jdbc.queryForList("select title from book", String.class)));
+		assertEquals(1_000_000_000L, BranchContext.call("NORTH", () -> jdbc.queryForObject("select id from book", Long.class)));
+		assertEquals("NORTH", BranchContext.call("NORTH", () -> jdbc.queryForObject("select branch_code from book", String.class)));
+	}
+
+	@Test
+	void branchesMustBelongToExactlyOneDatabase() {
+		BranchProperties properties = new BranchProperties();
+		BranchProperties.Database north = new BranchProperties.Database();
+		north.setBranches(List.of("main"));
+		properties.getDatabases().put("north", north);
+
+		assertThrows(IllegalStateException.class,
+				() -> new BranchDatabases(properties, h2("conflict_main"), Map.of("north", h2("conflict_north"))));
+		assertTrue(new BranchDatabases(new BranchProperties(), h2("plain_main"), Map.of()).isKnown("MAIN"));
+	}
+
+	private static DataSource h2(String name) {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,YEAR;DB_CLOSE_DELAY=-1");
+		dataSource.setUser("sa");
+		return dataSource;
+	}
+}
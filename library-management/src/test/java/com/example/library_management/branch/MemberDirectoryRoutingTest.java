@@ -0,0 +1,90 @@
+package com.example.library_management.branch;
+
+import com.example.library_management.LibraryManagementSystemApplication;
+import com.example.library_management.model.Member;
+import com.example.library_management.repository.MemberRepository;
+import com.example.library_management.service.MemberDirectory;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Member lookups across branch databases through JPA, with an EntityManager held open for the whole
+ * "request" the way open-in-view does (MAIN and EAST share the main database; NORTH has its own).
+ */
+@SpringBootTest(classes = LibraryManagementSystemApplication.class)
+@ActiveProfiles({"loadtest", "branches"})
+class MemberDirectoryRoutingTest {
+
+	@Autowired
+	private MemberDirectory memberDirectory;
+
+	@Autowired
+	private MemberRepository memberRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@AfterEach
+	void closeRequestEntityManager() {
+		if (TransactionSynchronizationManager.hasResource(entityManagerFactory)) {
+			EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+			holder.getEntityManager().close();
+		}
+	}
+
+	@Test
+	void aMemberOfAnotherBranchDatabaseIsFoundWhileTheRequestHoldsAnEntityManager() {
+		Member north = BranchContext.call("NORTH", () ->
+				memberRepository.save(member("North Reader", "dir_north_reader")));
+
+		openEntityManagerInView();
+		BranchContext.run("MAIN", () -> {
+			assertEquals(0, memberRepository.findByUsername("dir_north_reader").stream().count()); // pins the main connection
+
+			Optional<Member> found = memberDirectory.findByUsername("dir_north_reader");
+			assertTrue(found.isPresent());
+			assertEquals(north.getId(), found.get().getId());
+			assertEquals("NORTH", found.get().getBranchCode());
+
+			assertTrue(memberDirectory.isUsernameTaken("dir_north_reader", null));
+			assertFalse(memberDirectory.isUsernameTaken("dir_north_reader", north.getId()));
+			assertFalse(memberDirectory.findByUsername("dir_nobody").isPresent());
+		});
+	}
+
+	@Test
+	void theCurrentDatabaseIsAskedFirst() {
+		BranchContext.run("EAST", () ->
+				memberRepository.save(member("East Reader", "dir_east_reader")));
+
+		openEntityManagerInView();
+		Optional<Member> found = BranchContext.call("SOUTH", () -> memberDirectory.findByUsername("dir_east_reader"));
+		assertTrue(found.isPresent());
+		assertEquals("EAST", found.get().getBranchCode());
+	}
+
+	// What OpenEntityManagerInViewInterceptor does at the start of a request
+	private void openEntityManagerInView() {
+		TransactionSynchronizationManager.bindResource(entityManagerFactory,
+				new EntityManagerHolder(entityManagerFactory.createEntityManager()));
+	}
+
+	private static Member member(String name, String username) {
+		Member member = new Member(name, username, "x", username + "@example.com", "member");
+		member.setRegistrationDate(LocalDate.now());
+		return member;
+	}
+}
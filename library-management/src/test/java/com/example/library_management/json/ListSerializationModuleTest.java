@@ -0,0 +1,141 @@
+package com.example.library_management.json;
+
+import com.example.library_management.dto.LoanSearchDTO;
+import com.example.library_management.dto.MemberSummaryDTO;
+import com.example.library_management.model.Book;
+import com.example.library_management.model.Loan;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ListSerializationModuleTest {
+
+	private static final ZoneId ZONE = ZoneId.of("Europe/Madrid");
+	private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+	private static final Clock CLOCK = Clock.fixed(TODAY.atTime(12, 0).atZone(ZONE).toInstant(), ZONE);
+
+	// Same settings as the application's mapper (Spring Boot writes dates as ISO strings)
+	private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+	private final ObjectMapper precomputed = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.modulesToInstall(new ListSerializationModule(CLOCK)).build();
+
+	@Test
+	void moduleReplacesReflectiveSerializers() throws Exception {
+		assertInstanceOf(LoanJsonSerializer.class, precomputed.getSerializerProviderInstance().findValueSerializer(Loan.class));
+		assertInstanceOf(BookJsonSerializer.class, precomputed.getSerializerProviderInstance().findValueSerializer(Book.class));
+	}
+
+	@Test
+	void loansAndBooksMatchDefaultDatabinding() throws Exception {
+		Book book = new Book();
+		book.setId(7L);
+		book.setTitle("Café \"Noir\"\n");
+		book.setIsbn("0-306-40615-2");
+		book.setAvailable(false);
+		book.setBranchCode("MAIN");
+
+		Loan overdue = new Loan();
+		overdue.setId(3L);
+		overdue.setBook(book);
+		overdue.setBorrowDate(TODAY.minusDays(30));
+		overdue.setDueDate(TODAY.minusDays(16));
+		overdue.setFineAmount(null);
+		overdue.setBranchCode("MAIN");
+
+		Loan returned = new Loan();
+		returned.setId(4L);
+		returned.setBorrowDate(LocalDate.of(2024, 2, 29));
+		returned.setDueDate(LocalDate.of(2024, 3, 14));
+		returned.setReturnDate(LocalDate.of(2024, 3, 1));
+		returned.setRenewCount(2);
+
+		// overdue and overdueDays are not entity properties; the serializer adds them for today
+		JsonNode loans = precomputed.readTree(precomputed.writeValueAsString(List.of(overdue, returned)));
+		assertTrue(loans.get(0).get("overdue").booleanValue());
+		assertEquals(16, loans.get(0).get("overdueDays").longValue());
+		assertFalse(loans.get(1).get("overdue").booleanValue());
+		assertEquals(0, loans.get(1).get("overdueDays").longValue());
+		loans.forEach(loan -> ((ObjectNode) loan).remove(List.of("overdue", "overdueDays")));
+		assertEquals(reflective.readTree(reflective.writeValueAsString(List.of(overdue, returned))), loans);
+
+		assertSameJson(List.of(book, new Book()));
+	}
+
+	@Test
+	void overdueFollowsTheBusinessClockAcrossMidnight() throws Exception {
+		MutableClock clock = new MutableClock(TODAY.atTime(23, 59, 59).atZone(ZONE).toInstant(), ZONE);
+		ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new ListSerializationModule(clock)).build();
+		Loan dueToday = new Loan();
+		dueToday.setDueDate(TODAY);
+
+		assertFalse(mapper.readTree(mapper.writeValueAsString(dueToday)).get("overdue").booleanValue());
+
+		clock.instant = clock.instant.plusSeconds(1);
+		JsonNode tomorrow = mapper.readTree(mapper.writeValueAsString(dueToday));
+		assertTrue(tomorrow.get("overdue").booleanValue());
+		assertEquals(1, tomorrow.get("overdueDays").longValue());
+	}
+
+	@Test
+	void memberSummariesAndSearchRowsMatchDefaultDatabinding() throws Exception {
+		assertSameJson(List.of(
+				new MemberSummaryDTO(1L, "Ana", "ana", "ana@example.com", LocalDate.of(2025, 3, 4), true, "member", "MAIN"),
+				new MemberSummaryDTO(2L, null, "bo", null, null, false, "admin", null)));
+		assertSameJson(List.of(
+				new LoanSearchDTO(1L, "Ana", "Dune", LocalDate.of(2025, 3, 4), LocalDate.of(2025, 3, 18), null, 1.5),
+				new LoanSearchDTO(2L, "Bo", null, null, null, null, 0.0)));
+	}
+
+	@Test
+	void datesFollowTheMapperConfiguration() throws Exception {
+		ObjectMapper timestamps = Jackson2ObjectMapperBuilder.json().modulesToInstall(new ListSerializationModule(CLOCK)).build();
+
+		String json = timestamps.writeValueAsString(
+				new LoanSearchDTO(1L, "Ana", "Dune", LocalDate.of(2025, 3, 4), null, null, 0.0));
+
+		assertEquals(Jackson2ObjectMapperBuilder.json().build().writeValueAsString(
+				new LoanSearchDTO(1L, "Ana", "Dune", LocalDate.of(2025, 3, 4), null, null, 0.0)), json);
+	}
+
+	// Compared as trees: default databinding does not fix the order of getter-only properties
+	private void assertSameJson(Object value) throws Exception {
+		assertEquals(reflective.readTree(reflective.writeValueAsString(value)),
+				precomputed.readTree(precomputed.writeValueAsString(value)));
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant instant;
+		private final ZoneId zone;
+
+		MutableClock(Instant instant, ZoneId zone) {
+			this.instant = instant;
+			this.zone = zone;
+		}
+
+		@Override
+		public ZoneId getZone() { return zone; }
+
+		@Override
+		public Clock withZone(ZoneId zone) { return new MutableClock(instant, zone); }
+
+		@Override
+		public Instant instant() { return instant; }
+	}
+}
@@ -0,0 +1,150 @@
+package com.example.library_management.loadtest;
+
+import com.example.library_management.model.Book;
+import com.example.library_management.model.Loan;
+import com.example.library_management.model.Member;
+import com.example.library_management.repository.BookRepository;
+import com.example.library_management.repository.LoanRepository;
+import com.example.library_management.repository.MemberRepository;
+import com.example.library_management.service.IsbnIndex;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills the embedded database with a catalogue, members and some returned loan history.
+ * Uses a fixed random seed so every run (and every commit) is measured against the same data.
+ */
+class DataSeeder {
+
+	static final String PASSWORD = "loadtest-password";
+	static final String ADMIN_USERNAME = "lt_admin";
+
+	private static final int HISTORY_LOANS_PER_MEMBER = 5;
+	private static final int BATCH = 500;
+
+	private static final String[] FIRST_NAMES = {
+			"Alice", "Bob", "Chen", "Divya", "Emeka", "Fatima", "George", "Hana", "Ivan", "Julia",
+			"Kofi", "Lena", "Mateo", "Nadia", "Omar", "Priya", "Quinn", "Rosa", "Sam", "Tariq"};
+	private static final String[] LAST_NAMES = {
+			"Anderson", "Brown", "Costa", "Dubois", "Evans", "Fischer", "Garcia", "Hughes", "Ito", "Jones",
+			"Kumar", "Lopez", "Murphy", "Nguyen", "Okafor", "Patel", "Rossi", "Smith", "Taylor", "Walsh"};
+	private static final String[] TITLE_WORDS = {
+			"Silent", "River", "Garden", "Empire", "Winter", "Secret", "Night", "Ocean", "Stone", "Light",
+			"History", "Journey", "Shadow", "City", "Machine", "Letters", "Forest", "Crown", "Glass", "Storm"};
+
+	private final BookRepository bookRepository;
+	private final MemberRepository memberRepository;
+	private final LoanRepository loanRepository;
+	private final PasswordEncoder passwordEncoder;
+	private final IsbnIndex isbnIndex;
+	private final Random random = new Random(42);
+
+	DataSeeder(ApplicationContext context) {
+		this.bookRepository = context.getBean(BookRepository.class);
+		this.memberRepository = context.getBean(MemberRepository.class);
+		this.loanRepository = context.getBean(LoanRepository.class);
+		this.passwordEncoder = context.getBean(PasswordEncoder.class);
+		this.isbnIndex = context.getBean(IsbnIndex.class);
+	}
+
+	SeededData seed(int bookCount, int memberCount) {
+		List<Book> books = seedBooks(bookCount);
+		List<Member> members = seedMembers(memberCount);
+		int history = seedHistory(books, members);
+		isbnIndex.load(); // pick up the seeded catalogue, as on a normal startup
+
+		List<Long> bookIds = books.stream().map(Book::getId).toList();
+		List<String> usernames = members.stream().map(Member::getUsername).toList();
+		List<String> names = members.stream().map(Member::getName).toList();
+		return new SeededData(bookIds, usernames, names, history);
+	}
+
+	private List<Book> seedBooks(int count) {
+		List<Book> saved = new ArrayList<>(count);
+		List<Book> batch = new ArrayList<>(BATCH);
+		for (int i = 0; i < count; i++) {
+			Book book = new Book();
+			book.setTitle(word() + " " + word() + " " + (i + 1));
+			book.setAuthor(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+			book.setIsbn(isbn13(i));
+			book.setPublishedYear(1950 + random.nextInt(75));
+			book.setAvailable(true);
+			batch.add(book);
+			if (batch.size() == BATCH) {
+				saved.addAll(bookRepository.saveAll(batch));
+				batch.clear();
+			}
+		}
+		saved.addAll(bookRepository.saveAll(batch));
+		return saved;
+	}
+
+	private List<Member> seedMembers(int count) {
+		// BCrypt is deliberately slow; hash once and share it across seeded accounts
+		String hash = passwordEncoder.encode(PASSWORD);
+		LocalDate today = LocalDate.now();
+
+		Member admin = new Member("Load Test Admin", ADMIN_USERNAME, hash, "lt_admin@example.com", "admin");
+		admin.setRegistrationDate(today);
+		memberRepository.save(admin);
+
+		List<Member> members = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+			Member member = new Member(name, String.format("lt_member_%05d", i), hash,
+					String.format("lt_member_%05d@example.com", i), "member");
+			member.setRegistrationDate(today.minusDays(random.nextInt(300)));
+			members.add(member);
+		}
+		return memberRepository.saveAll(members);
+	}
+
+	// Returned loans spread over the past months, so member and loan queries see realistic row counts
+	private int seedHistory(List<Book> books, List<Member> members) {
+		LocalDate today = LocalDate.now();
+		List<Loan> batch = new ArrayList<>(BATCH);
+		int total = 0;
+		for (Member member : members) {
+			for (int i = 0; i < HISTORY_LOANS_PER_MEMBER; i++) {
+				LocalDate borrowed = today.minusDays(20 + random.nextInt(300));
+				Loan loan = new Loan();
+				loan.setMember(member);
+				loan.setBook(books.get(random.nextInt(books.size())));
+				loan.setBorrowDate(borrowed);
+				loan.setDueDate(borrowed.plusDays(Loan.LOAN_DURATION_DAYS));
+				loan.setReturnDate(borrowed.plusDays(1 + random.nextInt(18)));
+				batch.add(loan);
+				if (batch.size() == BATCH) {
+					loanRepository.saveAll(batch);
+					total += batch.size();
+					batch.clear();
+				}
+			}
+		}
+		loanRepository.saveAll(batch);
+		return total + batch.size();
+	}
+
+	private String word() {
+		return TITLE_WORDS[random.nextInt(TITLE_WORDS.length)];
+	}
+
+	// Valid ISBN-13 under the 979-0 prefix (music, not books) so seeded data never collides with real ISBNs
+	private static String isbn13(int n) {
+		String body = String.format("979%09d", n);
+		int sum = 0;
+		for (int i = 0; i < 12; i++) {
+			int digit = body.charAt(i) - '0';
+			sum += (i % 2 == 0) ? digit : digit * 3;
+		}
+		return body + (10 - sum % 10) % 10;
+	}
+
+	record SeededData(List<Long> bookIds, List<String> usernames, List<String> memberNames, int historyLoans) {
+	}
+}
@@ -0,0 +1,99 @@
+package com.example.library_management.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the results of a run to {@code loadtest.output}:
+ * <ul>
+ *   <li>{@code <run>.txt} - the summary table printed to the console</li>
+ *   <li>{@code <run>-<operation>.hgrm} - full percentile distributions (plottable with HdrHistogram tools)</li>
+ *   <li>{@code history.csv} - one row per operation per run, appended, for comparing runs across commits</li>
+ * </ul>
+ */
+class LatencyReport {
+
+	private static final String CSV_HEADER =
+			"timestamp,label,rate,operation,ok,failed,skipped,dropped,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+
+	private final LoadTestSettings settings;
+	private final LoadResult result;
+	private final String label;
+	private final String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+
+	LatencyReport(LoadTestSettings settings, LoadResult result, String label) {
+		this.settings = settings;
+		this.result = result;
+		this.label = label;
+	}
+
+	void write() throws IOException {
+		Path dir = settings.output();
+		Files.createDirectories(dir);
+		String run = timestamp + (label.isBlank() ? "" : "-" + label);
+
+		String summary = summary();
+		System.out.println(summary);
+		Files.writeString(dir.resolve(run + ".txt"), summary, StandardCharsets.UTF_8);
+
+		for (Map.Entry<LoadGenerator.Operation, LoadResult.OperationResult> entry : result.operations().entrySet()) {
+			Histogram histogram = entry.getValue().latencyMicros();
+			if (histogram.getTotalCount() == 0) continue;
+			Path file = dir.resolve(run + "-" + entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm");
+			try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+				histogram.outputPercentileDistribution(out, 1000.0); // microseconds -> milliseconds
+			}
+		}
+
+		appendHistory(dir.resolve("history.csv"));
+		System.out.println("Report written to " + dir.toAbsolutePath());
+	}
+
+	private String summary() {
+		StringBuilder out = new StringBuilder();
+		out.append(String.format(Locale.ROOT, "Load test %s%n", label.isBlank() ? "" : "[" + label + "]"));
+		out.append(String.format(Locale.ROOT, "Offered rate %.0f req/s for %.1f s, mix %s%n",
+				settings.rate(), result.elapsedSeconds(), settings.mix()));
+		out.append(String.format(Locale.ROOT, "Completed %d requests (%.1f req/s), dropped %d%n%n",
+				result.totalCompleted(), result.totalCompleted() / result.elapsedSeconds(), result.totalDropped()));
+		out.append(String.format(Locale.ROOT, "%-12s %9s %8s %8s %8s %10s %9s %9s %9s %9s %9s%n",
+				"op", "ok", "failed", "skipped", "dropped", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+		result.operations().forEach((op, r) -> {
+			Histogram h = r.latencyMicros();
+			out.append(String.format(Locale.ROOT, "%-12s %9d %8d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+					op.name().toLowerCase(Locale.ROOT), r.ok(), r.failed(), r.skipped(), r.dropped(),
+					r.completed() / result.elapsedSeconds(),
+					ms(h, 50), ms(h, 90), ms(h, 99), ms(h, 99.9), h.getMaxValue() / 1000.0));
+		});
+		return out.toString();
+	}
+
+	private void appendHistory(Path csv) throws IOException {
+		StringBuilder rows = new StringBuilder();
+		if (!Files.exists(csv)) {
+			rows.append(CSV_HEADER).append('\n');
+		}
+		result.operations().forEach((op, r) -> {
+			Histogram h = r.latencyMicros();
+			rows.append(String.format(Locale.ROOT, "%s,%s,%.0f,%s,%d,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.2f%n",
+					timestamp, label, settings.rate(), op.name().toLowerCase(Locale.ROOT),
+					r.ok(), r.failed(), r.skipped(), r.dropped(), r.completed() / result.elapsedSeconds(),
+					ms(h, 50), ms(h, 90), ms(h, 99), ms(h, 99.9), h.getMaxValue() / 1000.0));
+		});
+		Files.writeString(csv, rows, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+	}
+
+	private static double ms(Histogram histogram, double percentile) {
+		return histogram.getValueAtPercentile(percentile) / 1000.0;
+	}
+}
@@ -0,0 +1,299 @@
+package com.example.library_management.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests start on a fixed schedule (the arrival rate) whether or not
+ * earlier ones have finished, the way independent users behave.
+ *
+ * Latency is measured from each request's scheduled start, not from when it was actually sent,
+ * so a stalled server shows up in the percentiles instead of silently lowering the offered load
+ * (coordinated omission). If more than {@code maxInFlight} requests are outstanding, new arrivals
+ * are counted as dropped rather than queued in the client.
+ */
+class LoadGenerator {
+
+	// BOOKS reads the catalogue through the blocking JPA endpoint, BOOKS_STREAM through the reactive one
+	enum Operation { LOGIN, BOOKS, BOOKS_STREAM, BORROW, RETURN, SEARCH }
+
+	private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+	private final URI baseUri;
+	private final LoadTestSettings settings;
+	private final DataSeeder.SeededData data;
+	private final HttpClient client;
+	private final ExecutorService clientExecutor;
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private final Operation[] schedule; // weighted lookup table: one slot per unit of weight
+	private final int maxActiveLoans;
+
+	private String adminToken;
+	private String[] memberTokens;
+
+	// Client-side view of circulation state, so borrow/return requests are mostly valid
+	private final ConcurrentLinkedQueue<Long> availableBooks = new ConcurrentLinkedQueue<>();
+	private final ConcurrentLinkedQueue<OpenLoan> openLoans = new ConcurrentLinkedQueue<>();
+	private final AtomicIntegerArray activeLoans;
+
+	private record OpenLoan(long loanId, int member, long bookId) {
+	}
+
+	LoadGenerator(URI baseUri, LoadTestSettings settings, DataSeeder.SeededData data, int maxActiveLoans) {
+		this.baseUri = baseUri;
+		this.settings = settings;
+		this.data = data;
+		this.maxActiveLoans = maxActiveLoans;
+		this.clientExecutor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+		this.client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(10))
+				.executor(clientExecutor)
+				.build();
+		this.schedule = buildSchedule(settings.mix());
+		this.activeLoans = new AtomicIntegerArray(data.usernames().size());
+		this.availableBooks.addAll(data.bookIds());
+	}
+
+	// ──────────────────────────────────────────────
+	// Setup: one token per seeded account
+	// ──────────────────────────────────────────────
+	void login() throws IOException, InterruptedException {
+		adminToken = token(DataSeeder.ADMIN_USERNAME);
+		List<String> usernames = data.usernames();
+		memberTokens = new String[usernames.size()];
+		for (int i = 0; i < usernames.size(); i++) {
+			memberTokens[i] = token(usernames.get(i));
+		}
+	}
+
+	private String token(String username) throws IOException, InterruptedException {
+		HttpResponse<String> response = client.send(loginRequest(username), HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("Login failed for " + username + ": HTTP " + response.statusCode());
+		}
+		return mapper.readTree(response.body()).get("token").asText();
+	}
+
+	// ──────────────────────────────────────────────
+	// Run one phase at the configured arrival rate
+	// ──────────────────────────────────────────────
+	LoadResult run(Duration duration) throws InterruptedException {
+		Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+		Map<Operation, LongAdder[]> counters = new EnumMap<>(Operation.class);
+		for (Operation op : Operation.values()) {
+			recorders.put(op, new Recorder(HIGHEST_LATENCY_MICROS, 3));
+			counters.put(op, new LongAdder[]{new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()});
+		}
+
+		Semaphore inFlight = new Semaphore(settings.maxInFlight());
+		long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / settings.rate());
+		long start = System.nanoTime();
+		long end = start + duration.toNanos();
+
+		for (long i = 0; ; i++) {
+			long intended = start + i * intervalNanos;
+			if (intended >= end) break;
+			long wait;
+			while ((wait = intended - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(wait);
+			}
+
+			Operation op = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+			LongAdder[] count = counters.get(op);
+			if (!inFlight.tryAcquire()) {
+				count[LoadResult.DROPPED].increment();
+				continue;
+			}
+			CompletableFuture<Boolean> call = issue(op);
+			if (call == null) { // nothing to borrow/return right now
+				count[LoadResult.SKIPPED].increment();
+				inFlight.release();
+				continue;
+			}
+			call.whenComplete((ok, error) -> {
+				long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+				recorders.get(op).recordValue(Math.min(micros, HIGHEST_LATENCY_MICROS));
+				count[Boolean.TRUE.equals(ok) ? LoadResult.OK : LoadResult.FAILED].increment();
+				inFlight.release();
+			});
+		}
+
+		// Let outstanding requests finish so their latency is counted
+		if (inFlight.tryAcquire(settings.maxInFlight(), REQUEST_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+			inFlight.release(settings.maxInFlight());
+		}
+		double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+		Map<Operation, LoadResult.OperationResult> results = new EnumMap<>(Operation.class);
+		for (Operation op : Operation.values()) {
+			Histogram histogram = recorders.get(op).getIntervalHistogram();
+			LongAdder[] count = counters.get(op);
+			results.put(op, new LoadResult.OperationResult(histogram,
+					count[LoadResult.OK].sum(), count[LoadResult.FAILED].sum(),
+					count[LoadResult.SKIPPED].sum(), count[LoadResult.DROPPED].sum()));
+		}
+		return new LoadResult(elapsedSeconds, results);
+	}
+
+	void close() {
+		clientExecutor.shutdownNow();
+	}
+
+	// ──────────────────────────────────────────────
+	// Operations
+	// ──────────────────────────────────────────────
+	private CompletableFuture<Boolean> issue(Operation op) {
+		return switch (op) {
+			case LOGIN -> send(loginRequest(data.usernames().get(randomMember())));
+			case BOOKS -> send(get("/api/books", adminToken));
+			case BOOKS_STREAM -> send(authorized("/api/catalogue/books", adminToken)
+					.setHeader("Accept", "application/x-ndjson").GET().build());
+			case SEARCH -> send(get("/api/loans/search?name=" + searchTerm(), adminToken));
+			case BORROW -> borrow();
+			case RETURN -> giveBack();
+		};
+	}
+
+	private CompletableFuture<Boolean> borrow() {
+		int member = reserveMember();
+		if (member < 0) return null;
+		Long bookId = availableBooks.poll();
+		if (bookId == null) {
+			activeLoans.decrementAndGet(member);
+			return null;
+		}
+
+		HttpRequest request = authorized("/api/loans/borrow?bookId=" + bookId, memberTokens[member])
+				.POST(HttpRequest.BodyPublishers.noBody())
+				.build();
+		return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+				.thenApply(response -> {
+					if (response.statusCode() == 200) {
+						openLoans.add(new OpenLoan(loanId(response.body()), member, bookId));
+						return true;
+					}
+					availableBooks.add(bookId);
+					activeLoans.decrementAndGet(member);
+					return false;
+				});
+	}
+
+	private CompletableFuture<Boolean> giveBack() {
+		OpenLoan loan = openLoans.poll();
+		if (loan == null) return null;
+
+		HttpRequest request = authorized("/api/loans/" + loan.loanId() + "/return", memberTokens[loan.member()])
+				.PUT(HttpRequest.BodyPublishers.noBody())
+				.build();
+		return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+				.thenApply(response -> {
+					if (response.statusCode() == 200) {
+						availableBooks.add(loan.bookId());
+						activeLoans.decrementAndGet(loan.member());
+						return true;
+					}
+					openLoans.add(loan);
+					return false;
+				});
+	}
+
+	private CompletableFuture<Boolean> send(HttpRequest request) {
+		return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+				.thenApply(response -> response.statusCode() / 100 == 2);
+	}
+
+	// ──────────────────────────────────────────────
+	// Helpers
+	// ──────────────────────────────────────────────
+
+	// Picks a member below the borrowing limit and counts the loan against them up front
+	private int reserveMember() {
+		for (int attempt = 0; attempt < 16; attempt++) {
+			int member = randomMember();
+			int current = activeLoans.get(member);
+			if (current < maxActiveLoans && activeLoans.compareAndSet(member, current, current + 1)) {
+				return member;
+			}
+		}
+		return -1;
+	}
+
+	private int randomMember() {
+		return ThreadLocalRandom.current().nextInt(data.usernames().size());
+	}
+
+	// First few letters of a seeded member's name, like a librarian typing into the search box
+	private String searchTerm() {
+		String name = data.memberNames().get(randomMember());
+		String term = name.substring(0, Math.min(name.length(), 3 + ThreadLocalRandom.current().nextInt(3)));
+		return URLEncoder.encode(term, StandardCharsets.UTF_8);
+	}
+
+	private HttpRequest loginRequest(String username) {
+		String body = "{\"username\":\"" + username + "\",\"password\":\"" + DataSeeder.PASSWORD + "\"}";
+		return HttpRequest.newBuilder(baseUri.resolve("/api/auth/login"))
+				.timeout(REQUEST_TIMEOUT)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build();
+	}
+
+	private HttpRequest get(String path, String token) {
+		return authorized(path, token).GET().build();
+	}
+
+	private HttpRequest.Builder authorized(String path, String token) {
+		return HttpRequest.newBuilder(baseUri.resolve(path))
+				.timeout(REQUEST_TIMEOUT)
+				.header("Authorization", "Bearer " + token)
+				.header("Accept", "application/json");
+	}
+
+	private long loanId(String body) {
+		try {
+			JsonNode node = mapper.readTree(body);
+			return node.get("id").asLong();
+		} catch (IOException e) {
+			throw new IllegalStateException("Unexpected borrow response: " + body, e);
+		}
+	}
+
+	private static Operation[] buildSchedule(Map<Operation, Integer> mix) {
+		int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+		Operation[] table = new Operation[total];
+		int i = 0;
+		for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+			for (int w = 0; w < entry.getValue(); w++) {
+				table[i++] = entry.getKey();
+			}
+		}
+		return table;
+	}
+}
@@ -0,0 +1,31 @@
+package com.example.library_management.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+
+/**
+ * Outcome of one load phase: latency histogram (microseconds) and outcome counts per operation.
+ */
+record LoadResult(double elapsedSeconds, Map<LoadGenerator.Operation, OperationResult> operations) {
+
+	static final int OK = 0;
+	static final int FAILED = 1;   // completed with a non-2xx status or an I/O error
+	static final int SKIPPED = 2;  // nothing to borrow/return at that moment
+	static final int DROPPED = 3;  // client already had maxInFlight requests outstanding
+
+	record OperationResult(Histogram latencyMicros, long ok, long failed, long skipped, long dropped) {
+
+		long completed() {
+			return ok + failed;
+		}
+	}
+
+	long totalCompleted() {
+		return operations.values().stream().mapToLong(OperationResult::completed).sum();
+	}
+
+	long totalDropped() {
+		return operations.values().stream().mapToLong(OperationResult::dropped).sum();
+	}
+}
@@ -0,0 +1,77 @@
+package com.example.library_management.loadtest;
+
+import com.example.library_management.LibraryManagementSystemApplication;
+import com.example.library_management.policy.LoanPolicyEngine;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Capacity test entry point: {@code mvn -Ploadtest verify} (settings in the loadtest profile of pom.xml).
+ *
+ * Starts the application in-process on an embedded H2 database (profile "loadtest"), seeds it,
+ * logs in every seeded account, runs a warm-up phase and then the measured phase, and writes
+ * throughput and latency percentiles to target/loadtest. Runs are labelled with the current git
+ * commit (or loadtest.label), and history.csv collects every run for comparison.
+ */
+public final class LoadTestMain {
+
+	private LoadTestMain() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+
+		// application-secret.properties is not part of the repository; the loadtest profile needs nothing from it
+		System.setProperty("spring.config.on-not-found", "ignore");
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(LibraryManagementSystemApplication.class)
+				.profiles("loadtest")
+				.run(args);
+
+		LoadGenerator generator = null;
+		try {
+			int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+			long seedStart = System.nanoTime();
+			DataSeeder.SeededData data = new DataSeeder(context).seed(settings.books(), settings.members());
+			System.out.printf("Seeded %d books, %d members, %d historical loans in %d ms%n",
+					data.bookIds().size(), data.usernames().size(), data.historyLoans(),
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+
+			int maxActiveLoans = context.getBean(LoanPolicyEngine.class).policyFor("member").getMaxActiveLoans();
+			generator = new LoadGenerator(URI.create("http://localhost:" + port), settings, data, maxActiveLoans);
+			generator.login();
+
+			System.out.printf("Warm-up for %s at %.0f req/s%n", settings.warmup(), settings.rate());
+			generator.run(settings.warmup());
+
+			System.out.printf("Measuring for %s at %.0f req/s%n", settings.duration(), settings.rate());
+			LoadResult result = generator.run(settings.duration());
+
+			String label = settings.label().isBlank() ? gitCommit() : settings.label();
+			new LatencyReport(settings, result, label).write();
+		} finally {
+			if (generator != null) {
+				generator.close();
+			}
+			context.close();
+		}
+	}
+
+	private static String gitCommit() {
+		try {
+			Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(git.getInputStream(), StandardCharsets.UTF_8))) {
+				String line = reader.readLine();
+				return git.waitFor() == 0 && line != null ? line.trim() : "";
+			}
+		} catch (Exception e) {
+			return "";
+		}
+	}
+}
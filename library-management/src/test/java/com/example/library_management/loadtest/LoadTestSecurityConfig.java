@@ -0,0 +1,53 @@
+package com.example.library_management.loadtest;
+
+import com.example.library_management.security.JwtFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+/**
+ * Security beans for the loadtest profile, so the harness (and context tests using the profile) start from
+ * a clean checkout: the application's own security configuration is kept out of the repository.
+ *
+ * Mirrors what the application expects: stateless JWT authentication through {@link JwtFilter}, /api/auth
+ * open, everything else authenticated, method security for the @PreAuthorize checks, and BCrypt hashes.
+ * Set library.loadtest.security=app to measure with a local copy of the real configuration instead.
+ */
+@Configuration
+@Profile("loadtest")
+@ConditionalOnProperty(name = "library.loadtest.security", havingValue = "embedded", matchIfMissing = true)
+@EnableMethodSecurity
+public class LoadTestSecurityConfig {
+
+	@Bean
+	public PasswordEncoder passwordEncoder() {
+		return new BCryptPasswordEncoder();
+	}
+
+	@Bean
+	public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
+		return configuration.getAuthenticationManager();
+	}
+
+	@Bean
+	public SecurityFilterChain loadTestFilterChain(HttpSecurity http, JwtFilter jwtFilter) throws Exception {
+		return http
+				.csrf(csrf -> csrf.disable())
+				.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+				.authorizeHttpRequests(requests -> requests
+						.requestMatchers("/api/auth/**").permitAll()
+						.anyRequest().authenticated())
+				.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+				.build();
+	}
+}
@@ -0,0 +1,54 @@
+package com.example.library_management.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load-test parameters, read from {@code loadtest.*} system properties (see the loadtest profile in pom.xml).
+ */
+record LoadTestSettings(double rate,
+						Duration duration,
+						Duration warmup,
+						Map<LoadGenerator.Operation, Integer> mix,
+						int books,
+						int members,
+						int maxInFlight,
+						String label,
+						Path output) {
+
+	static LoadTestSettings fromSystemProperties() {
+		return new LoadTestSettings(
+				Double.parseDouble(property("loadtest.rate", "200")),
+				Duration.parse(property("loadtest.duration", "PT60S")),
+				Duration.parse(property("loadtest.warmup", "PT15S")),
+				parseMix(property("loadtest.mix", "login:5,books:30,borrow:20,return:20,search:25")),
+				Integer.parseInt(property("loadtest.books", "5000")),
+				Integer.parseInt(property("loadtest.members", "500")),
+				Integer.parseInt(property("loadtest.max-in-flight", "1000")),
+				property("loadtest.label", ""),
+				Path.of(property("loadtest.output", "target/loadtest")));
+	}
+
+	// "login:5,books:30,..." -> weights per operation; operations left out get weight 0
+	static Map<LoadGenerator.Operation, Integer> parseMix(String mix) {
+		Map<LoadGenerator.Operation, Integer> weights = new EnumMap<>(LoadGenerator.Operation.class);
+		for (String part : mix.split(",")) {
+			String[] kv = part.trim().split(":");
+			if (kv.length != 2) {
+				throw new IllegalArgumentException("Bad loadtest.mix entry: " + part);
+			}
+			weights.put(LoadGenerator.Operation.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+		}
+		if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+			throw new IllegalArgumentException("loadtest.mix has no positive weights: " + mix);
+		}
+		return weights;
+	}
+
+	private static String property(String name, String defaultValue) {
+		String value = System.getProperty(name);
+		return value == null || value.isBlank() ? defaultValue : value;
+	}
+}
@@ -0,0 +1,73 @@
+package com.example.library_management.policy;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoanPolicyEngineTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+	private LoanPolicyEngine engine() {
+		LoanPolicyProperties properties = new LoanPolicyProperties();
+		properties.getDefaults().setDailyFine(new BigDecimal("0.50"));
+		properties.getDefaults().setMaxFine(new BigDecimal("20.00"));
+
+		LoanPolicyProperties.Rule admin = new LoanPolicyProperties.Rule();
+		admin.setMaxActiveLoans(10);
+		admin.setLoanDays(28);
+		properties.getRoles().put("admin", admin);
+		return new LoanPolicyEngine(properties);
+	}
+
+	@Test
+	void roleOverridesInheritUnsetValuesFromDefaults() {
+		LoanPolicyEngine engine = engine();
+		LoanPolicy admin = engine.policyFor("ADMIN");
+
+		assertSame(admin, engine.policyFor("admin"));
+		assertSame(admin, engine.policyFor("Admin"));
+		assertEquals(10, admin.getMaxActiveLoans());
+		assertEquals(28, admin.getLoanDays());
+		assertEquals(50, admin.getDailyFineCents());
+
+		LoanPolicy member = engine.policyFor("MEMBER");
+		assertSame(engine.defaultPolicy(), member);
+		assertEquals(3, member.getMaxActiveLoans());
+		assertEquals(TODAY.plusDays(14), member.dueDateFor(TODAY));
+	}
+
+	@Test
+	void notInListOfConfiguredRolesIsNeverEmpty() {
+		assertEquals(Set.of("admin"), engine().configuredRolesForNotIn());
+		assertEquals(LoanPolicyEngine.NO_ROLES, new LoanPolicyEngine(new LoanPolicyProperties()).configuredRolesForNotIn());
+	}
+
+	@Test
+	void fineIsPerDayAndCapped() {
+		LoanPolicy policy = engine().defaultPolicy();
+
+		assertEquals(0.0, policy.currentFine(TODAY, null, TODAY));
+		assertEquals(1.5, policy.currentFine(TODAY.minusDays(3), null, TODAY));
+		assertEquals(20.0, policy.currentFine(TODAY.minusDays(40), null, TODAY));
+		assertEquals(20.0, policy.currentFine(TODAY.minusDays(5000), null, TODAY));
+		assertEquals(0.0, policy.currentFine(TODAY.minusDays(3), TODAY, TODAY)); // returned
+	}
+
+	@Test
+	void renewalRequiresOpenLoanWithinLimitAndNotOverdue() {
+		LoanPolicy policy = engine().defaultPolicy();
+
+		assertTrue(policy.canRenew(0, TODAY, null, TODAY));
+		assertFalse(policy.canRenew(2, TODAY, null, TODAY));
+		assertFalse(policy.canRenew(0, TODAY.minusDays(1), null, TODAY));
+		assertFalse(policy.canRenew(0, TODAY, TODAY, TODAY));
+	}
+}
@@ -0,0 +1,50 @@
+package com.example.library_management.recommendation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class CoBorrowIndexTest {
+
+	@Test
+	void booksBorrowedTogetherMostOftenComeFirst() {
+		CoBorrowIndex index = new CoBorrowIndex(2, 10);
+		index.recordBorrow(1, new long[]{2, 3});
+		index.recordBorrow(1, new long[]{3, 4});
+		index.recordBorrow(5, new long[]{3});
+
+		assertArrayEquals(new long[]{3, 2}, index.related(1, 5)); // top-k = 2, ties by lower id
+		assertArrayEquals(new long[]{1, 5}, index.related(3, 5));
+		assertArrayEquals(new long[]{1}, index.related(3, 1));
+		assertArrayEquals(new long[]{}, index.related(99, 5));
+	}
+
+	@Test
+	void decayDropsWeakPairs() {
+		CoBorrowIndex index = new CoBorrowIndex(5, 10);
+		index.recordBorrow(1, new long[]{2});
+		index.recordBorrow(1, new long[]{3});
+		index.recordBorrow(1, new long[]{3});
+
+		index.decay(0.5, CoBorrowIndex.UNIT); // 1 co-borrow -> 0.5 units (dropped), 2 -> 1 unit (kept)
+
+		assertArrayEquals(new long[]{3}, index.related(1, 5));
+		assertArrayEquals(new long[]{}, index.related(2, 5));
+	}
+
+	@Test
+	void aFullTableDropsItsLightestNeighbourForANewOne() {
+		CoBorrowIndex index = new CoBorrowIndex(3, 3);
+		index.recordBorrow(1, new long[]{2});
+		index.recordBorrow(1, new long[]{2, 3, 4});
+		index.recordBorrow(1, new long[]{5}); // full: 4 goes (lightest, ties by higher id)
+
+		assertArrayEquals(new long[]{2, 3, 5}, index.related(1, 5));
+
+		index.recordBorrow(1, new long[]{3, 5});
+		index.recordBorrow(1, new long[]{6}); // every neighbour has two co-borrows: 6 is not kept
+
+		assertArrayEquals(new long[]{2, 3, 5}, index.related(1, 5));
+		assertArrayEquals(new long[]{1}, index.related(6, 5));
+	}
+}
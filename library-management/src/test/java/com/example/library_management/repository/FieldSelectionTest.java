@@ -0,0 +1,45 @@
+package com.example.library_management.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FieldSelectionTest {
+
+	@Test
+	void fieldsKeepRequestedOrderAndMapToAttributePaths() {
+		FieldSelection selection = FieldSelection.parse(" dueDate, bookTitle ,memberId,dueDate", FieldSelection.LOAN_FIELDS);
+
+		assertEquals(List.of("dueDate", "bookTitle", "memberId"), List.copyOf(selection.paths().keySet()));
+		assertEquals("book.title", selection.paths().get("bookTitle"));
+		assertEquals("member.id", selection.paths().get("memberId"));
+	}
+
+	@Test
+	void noFieldsMeansDefaultRepresentation() {
+		assertNull(FieldSelection.parse(null, FieldSelection.MEMBER_FIELDS));
+		assertNull(FieldSelection.parse("  ", FieldSelection.MEMBER_FIELDS));
+	}
+
+	@Test
+	void unknownOrHiddenFieldsAreRejected() {
+		assertThrows(RuntimeException.class, () -> FieldSelection.parse("id,password", FieldSelection.MEMBER_FIELDS));
+		assertThrows(RuntimeException.class, () -> FieldSelection.parse("id,loans", FieldSelection.MEMBER_FIELDS));
+		assertThrows(RuntimeException.class, () -> FieldSelection.parse(",,", FieldSelection.MEMBER_FIELDS));
+	}
+
+	@Test
+	void tagDependsOnTheSelectedFields() {
+		String etag = "\"m1.2.3\"";
+		String names = FieldSelection.parse("id,name", FieldSelection.MEMBER_FIELDS).tag(etag);
+
+		assertEquals(names, FieldSelection.parse("id,name", FieldSelection.MEMBER_FIELDS).tag(etag));
+		assertNotEquals(names, FieldSelection.parse("id,email", FieldSelection.MEMBER_FIELDS).tag(etag));
+		assertEquals('"', names.charAt(names.length() - 1));
+	}
+}
@@ -0,0 +1,40 @@
+package com.example.library_management.security;
+
+import com.example.library_management.model.Member;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MemberPrincipalTest {
+
+	@Test
+	void carriesTheMemberIdRoleAndMembershipExpiry() {
+		Member member = new Member();
+		member.setId(42L);
+		member.setUsername("alice");
+		member.setPassword("$2a$10$hash");
+		member.setRole("member");
+		member.setRegistrationDate(LocalDate.of(2025, 3, 1));
+		member.setMembershipExpiryDate(LocalDate.of(2026, 3, 1));
+
+		MemberPrincipal principal = MemberPrincipal.of(member);
+
+		assertEquals(42L, principal.getMemberId());
+		assertEquals("alice", principal.getUsername());
+		assertEquals("member", principal.getRole());
+		assertEquals(List.of("ROLE_MEMBER"),
+				principal.getAuthorities().stream().map(Object::toString).toList());
+		assertEquals(LocalDate.of(2026, 3, 1), principal.getMembershipExpiry());
+		assertTrue(principal.isMembershipValid(LocalDate.of(2026, 2, 28)));
+		assertFalse(principal.isMembershipValid(LocalDate.of(2026, 3, 1)));
+
+		principal.eraseCredentials();
+		assertNull(principal.getPassword());
+	}
+}
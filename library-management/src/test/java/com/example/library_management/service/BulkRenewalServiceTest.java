@@ -0,0 +1,188 @@
+package com.example.library_management.service;
+
+import com.example.library_management.LibraryManagementSystemApplication;
+import com.example.library_management.dto.BulkRenewalResult;
+import com.example.library_management.event.CirculationEventType;
+import com.example.library_management.model.Book;
+import com.example.library_management.model.Loan;
+import com.example.library_management.model.Member;
+import com.example.library_management.model.OutboxEvent;
+import com.example.library_management.repository.BookRepository;
+import com.example.library_management.repository.LoanRepository;
+import com.example.library_management.repository.MemberRepository;
+import com.example.library_management.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Bulk renewal over the embedded database, two open loans per chunk. Staff renew for 28 days up to
+ * three times; every other role uses the defaults (14 days, two renewals). Outbox delivery is off, so
+ * the events written by each chunk stay pending for inspection.
+ */
+@SpringBootTest(classes = LibraryManagementSystemApplication.class,
+		properties = {"library.renewal.chunk-size=2", "library.outbox.dispatcher-enabled=false",
+				"library.policy.roles.staff.renewal-days=28", "library.policy.roles.staff.max-renewals=3"})
+@ActiveProfiles("loadtest")
+@Import(BulkRenewalServiceTest.Config.class)
+class BulkRenewalServiceTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2030, 3, 1);
+	private static final AtomicInteger MEMBERS = new AtomicInteger();
+
+	@Autowired
+	private BulkRenewalService bulkRenewalService;
+
+	@Autowired
+	private MemberRepository memberRepository;
+
+	@Autowired
+	private BookRepository bookRepository;
+
+	@Autowired
+	private LoanRepository loanRepository;
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private Member member;
+	private Member staff;
+	// In id order: renewable, overdue, at the default renewal limit, staff below its limit, returned, other role
+	private Long renewable, overdue, atLimit, staffLoan, returned, otherRole;
+	private long lastEventId;
+
+	@BeforeEach
+	void setUp() {
+		loanRepository.deleteAllInBatch();
+		Book book = new Book();
+		book.setTitle("Bulk renewal test");
+		book = bookRepository.save(book);
+		member = member("member");
+		staff = member("staff");
+
+		renewable = loan(member, book, TODAY.plusDays(3), 0);
+		overdue = loan(member, book, TODAY.minusDays(1), 0);
+		atLimit = loan(member, book, TODAY.plusDays(5), 2);
+		staffLoan = loan(staff, book, TODAY, 2);
+		returned = loan(staff, book, TODAY.plusDays(2), 0, TODAY.minusDays(1));
+		otherRole = loan(member("librarian"), book, TODAY.plusDays(1), 1);
+
+		lastEventId = outboxEventRepository.findAll().stream().mapToLong(OutboxEvent::getId).max().orElse(0);
+	}
+
+	@Test
+	void everyOpenLoanIsRenewedByItsMembersPolicyChunkByChunk() {
+		BulkRenewalResult result = bulkRenewalService.renewAllOpenLoans();
+
+		assertEquals(3, result.getRenewed());
+		assertEquals(2, result.getRejected());
+		assertLoan(renewable, TODAY.plusDays(3 + 14), 1);
+		assertLoan(overdue, TODAY.minusDays(1), 0);
+		assertLoan(atLimit, TODAY.plusDays(5), 2);
+		assertLoan(staffLoan, TODAY.plusDays(28), 3);
+		assertLoan(returned, TODAY.plusDays(2), 0);
+		assertLoan(otherRole, TODAY.plusDays(1 + 14), 2);
+
+		// Chunks (renewable, overdue), (atLimit, staffLoan), (otherRole): one renewal each
+		List<Map<String, Object>> events = bulkRenewedEvents();
+		assertEquals(3, events.size());
+		for (Map<String, Object> payload : events) {
+			assertEquals(1, ((Number) payload.get("renewed")).intValue());
+			assertEquals(TODAY.toString(), payload.get("day").toString());
+		}
+		assertEquals(overdue, ((Number) events.get(0).get("upToLoanId")).longValue());
+		assertEquals(otherRole, ((Number) events.get(2).get("upToLoanId")).longValue());
+	}
+
+	@Test
+	void aMembersRenewalLeavesOtherMembersLoansAlone() {
+		BulkRenewalResult result = bulkRenewalService.renewLoansForMember(member.getId());
+
+		assertEquals(1, result.getRenewed());
+		assertEquals(2, result.getRejected());
+		assertLoan(renewable, TODAY.plusDays(3 + 14), 1);
+		assertLoan(overdue, TODAY.minusDays(1), 0);
+		assertLoan(atLimit, TODAY.plusDays(5), 2);
+		assertLoan(staffLoan, TODAY, 2);
+		assertLoan(otherRole, TODAY.plusDays(1), 1);
+
+		List<Map<String, Object>> events = bulkRenewedEvents();
+		assertEquals(1, events.size());
+		assertEquals(member.getId(), ((Number) events.get(0).get("memberId")).longValue());
+		assertEquals(1, ((Number) events.get(0).get("renewed")).intValue());
+	}
+
+	private void assertLoan(Long id, LocalDate dueDate, int renewCount) {
+		Loan loan = loanRepository.findById(id).orElseThrow();
+		assertEquals(dueDate, loan.getDueDate(), "loan " + id);
+		assertEquals(renewCount, loan.getRenewCount(), "loan " + id);
+	}
+
+	// Payloads of the LOANS_BULK_RENEWED events written by the test, in order
+	private List<Map<String, Object>> bulkRenewedEvents() {
+		return outboxEventRepository.findAll().stream()
+				.filter(e -> e.getId() > lastEventId && e.getEventType().equals(CirculationEventType.LOANS_BULK_RENEWED.name()))
+				.sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+				.map(e -> {
+					try {
+						return objectMapper.readValue(e.getPayload(), new TypeReference<Map<String, Object>>() {});
+					} catch (Exception ex) {
+						throw new IllegalStateException(ex);
+					}
+				})
+				.toList();
+	}
+
+	private Member member(String role) {
+		int n = MEMBERS.incrementAndGet();
+		Member member = new Member("Renewal " + n, "renewal_" + n, "x", "renewal_" + n + "@example.com", role);
+		member.setRegistrationDate(LocalDate.of(2025, 1, 10)); // in the past for @PastOrPresent (wall clock)
+		member.setMembershipExpiryDate(TODAY.plusYears(1));
+		return memberRepository.save(member);
+	}
+
+	private Long loan(Member member, Book book, LocalDate dueDate, int renewCount) {
+		return loan(member, book, dueDate, renewCount, null);
+	}
+
+	private Long loan(Member member, Book book, LocalDate dueDate, int renewCount, LocalDate returnDate) {
+		Loan loan = new Loan();
+		loan.setMember(member);
+		loan.setBook(book);
+		loan.setDueDate(dueDate);
+		loan.setBorrowDate(dueDate.minusDays(14));
+		loan.setRenewCount(renewCount);
+		loan.setReturnDate(returnDate);
+		return loanRepository.save(loan).getId();
+	}
+
+	@TestConfiguration
+	static class Config {
+
+		@Bean
+		@Primary
+		Clock fixedClock() {
+			return Clock.fixed(TODAY.atTime(12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+		}
+	}
+}
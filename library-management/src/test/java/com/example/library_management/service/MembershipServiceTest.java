@@ -0,0 +1,160 @@
+package com.example.library_management.service;
+
+import com.example.library_management.LibraryManagementSystemApplication;
+import com.example.library_management.dto.MembershipRenewalResult;
+import com.example.library_management.event.CirculationEventType;
+import com.example.library_management.model.Member;
+import com.example.library_management.model.OutboxEvent;
+import com.example.library_management.repository.MemberRepository;
+import com.example.library_management.repository.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Expiry sweep and bulk renewal over the embedded database, two members per chunk. Outbox delivery is
+ * off, so the events written by each chunk stay pending for inspection. The business date lies before
+ * the expiry of any member registered by other tests, so only the members created here have lapsed.
+ */
+@SpringBootTest(classes = LibraryManagementSystemApplication.class,
+		properties = {"library.membership.chunk-size=2", "library.outbox.dispatcher-enabled=false"})
+@ActiveProfiles("loadtest")
+@Import(MembershipServiceTest.Config.class)
+class MembershipServiceTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2026, 6, 1);
+	private static final AtomicInteger MEMBERS = new AtomicInteger();
+
+	@Autowired
+	private MembershipService membershipService;
+
+	@Autowired
+	private MemberService memberService;
+
+	@Autowired
+	private MemberRepository memberRepository;
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Test
+	void theSweepDeactivatesLapsedMembersChunkByChunkAndQueuesTheirNotices() {
+		// Equal expiry dates on both sides of a chunk boundary: the (expiry, id) position must not skip any
+		List<Member> lapsed = new ArrayList<>();
+		lapsed.add(member("member", TODAY.minusDays(30)));
+		lapsed.add(member("member", TODAY.minusDays(10)));
+		lapsed.add(member("member", TODAY.minusDays(10)));
+		lapsed.add(member("MEMBER", TODAY.minusDays(10)));
+		lapsed.add(member("member", TODAY)); // expires today
+		Member admin = member("admin", TODAY.minusDays(30));
+		Member current = member("member", TODAY.plusDays(1));
+
+		assertEquals(5, membershipService.deactivateLapsedMembers());
+
+		for (Member member : lapsed) {
+			assertFalse(reload(member).isActive(), member.getUsername());
+		}
+		assertTrue(reload(admin).isActive());
+		assertTrue(reload(current).isActive());
+
+		Map<Long, OutboxEvent> expired = events(CirculationEventType.MEMBERSHIP_EXPIRED);
+		for (Member member : lapsed) {
+			OutboxEvent event = expired.get(member.getId());
+			assertTrue(event.getPayload().contains("\"email\":\"" + member.getEmail() + "\""), event.getPayload());
+			assertTrue(event.getPayload().contains("\"active\":false"), event.getPayload());
+		}
+		assertFalse(expired.containsKey(admin.getId()));
+		assertFalse(expired.containsKey(current.getId()));
+
+		// Already inactive: a second sweep finds nothing to do and queues no new notices
+		assertEquals(0, membershipService.deactivateLapsedMembers());
+		assertEquals(expired.keySet(), events(CirculationEventType.MEMBERSHIP_EXPIRED).keySet());
+	}
+
+	@Test
+	void renewalStartsANewPeriodAndReactivatesInChunks() {
+		Member lapsed = member("member", TODAY.minusDays(5));
+		Member other = member("member", TODAY.minusDays(400));
+		Member active = member("member", TODAY.plusDays(20));
+		membershipService.deactivateLapsedMembers();
+
+		MembershipRenewalResult result = membershipService.renewMemberships(
+				List.of(active.getId(), lapsed.getId(), other.getId(), lapsed.getId(), -1L));
+
+		assertEquals(3, result.getRenewed());
+		assertEquals(1, result.getNotFound());
+		assertEquals(TODAY.plusYears(1), result.getMembershipExpiryDate());
+		Map<Long, OutboxEvent> renewed = events(CirculationEventType.MEMBERSHIP_RENEWED);
+		for (Member member : List.of(lapsed, other, active)) {
+			Member reloaded = reload(member);
+			assertTrue(reloaded.isActive());
+			assertEquals(TODAY, reloaded.getRegistrationDate());
+			assertEquals(TODAY.plusYears(1), reloaded.getMembershipExpiryDate());
+			assertTrue(renewed.containsKey(member.getId()));
+		}
+	}
+
+	@Test
+	void aNewMemberIsRegisteredOnTheBusinessDate() {
+		int n = MEMBERS.incrementAndGet();
+		Member created = memberService.createMember(
+				new Member("New " + n, "membership_" + n, "secret", "membership_" + n + "@example.com", "member"));
+
+		Member reloaded = reload(created);
+		assertEquals(TODAY, reloaded.getRegistrationDate());
+		assertEquals(TODAY.plusYears(1), reloaded.getMembershipExpiryDate());
+		assertTrue(reloaded.isActive());
+	}
+
+	private Member member(String role, LocalDate expiry) {
+		int n = MEMBERS.incrementAndGet();
+		Member member = new Member("Lapsed " + n, "membership_" + n, "x", "membership_" + n + "@example.com", role);
+		member.setRegistrationDate(expiry.minusYears(1));
+		member.setMembershipExpiryDate(expiry);
+		return memberRepository.save(member);
+	}
+
+	private Member reload(Member member) {
+		return memberRepository.findById(member.getId()).orElseThrow();
+	}
+
+	// Latest event of the type per member, for the members of this test class
+	private Map<Long, OutboxEvent> events(CirculationEventType type) {
+		Set<String> memberIds = memberRepository.findAll().stream()
+				.filter(m -> m.getUsername().startsWith("membership_"))
+				.map(m -> m.getId().toString())
+				.collect(Collectors.toSet());
+		return outboxEventRepository.findAll().stream()
+				.filter(e -> e.getEventType().equals(type.name()) && memberIds.contains(e.getAggregateId().toString()))
+				.collect(Collectors.toMap(OutboxEvent::getAggregateId, e -> e, (a, b) -> b));
+	}
+
+	@TestConfiguration
+	static class Config {
+
+		@Bean
+		@Primary
+		Clock fixedClock() {
+			return Clock.fixed(TODAY.atTime(12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+		}
+	}
+}
@@ -0,0 +1,156 @@
+package com.example.library_management.service;
+
+import com.example.library_management.branch.BranchDatabases;
+import com.example.library_management.branch.BranchProperties;
+import com.example.library_management.event.CirculationEvent;
+import com.example.library_management.event.CirculationEventConsumer;
+import com.example.library_management.model.OutboxEvent;
+import com.example.library_management.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Dispatcher polls against an in-memory outbox table: batches of 3, at most 3 attempts per event.
+ */
+class OutboxDispatcherTest {
+
+	private static final int BATCH_SIZE = 3;
+	private static final int MAX_ATTEMPTS = 3;
+
+	private final TreeMap<Long, OutboxEvent> table = new TreeMap<>();
+	private final List<Long> offered = new ArrayList<>();
+	private final Set<Long> failing = new HashSet<>();
+	private OutboxDispatcher dispatcher;
+
+	@BeforeEach
+	void setUp() {
+		OutboxEventRepository repository = mock(OutboxEventRepository.class);
+		when(repository.findPending(anyLong(), anyInt(), any(Pageable.class))).thenAnswer(call -> {
+			long afterId = call.getArgument(0);
+			int maxAttempts = call.getArgument(1);
+			Pageable page = call.getArgument(2);
+			return table.tailMap(afterId, false).values().stream()
+					.filter(e -> e.getProcessedAt() == null && e.getAttempts() < maxAttempts)
+					.limit(page.getPageSize())
+					.toList();
+		});
+		when(repository.recordFailure(anyLong(), anyString())).thenAnswer(call -> {
+			OutboxEvent row = table.get(call.<Long>getArgument(0));
+			row.setAttempts(row.getAttempts() + 1);
+			row.setLastError(call.getArgument(1));
+			return 1;
+		});
+		when(repository.markProcessed(anyList(), any(LocalDateTime.class))).thenAnswer(call -> {
+			Collection<Long> ids = call.getArgument(0);
+			ids.forEach(id -> table.get(id).setProcessedAt(call.getArgument(1)));
+			return ids.size();
+		});
+
+		CirculationEventConsumer consumer = event -> {
+			offered.add(event.getId());
+			if (failing.contains(event.getAggregateId())) {
+				throw new IllegalStateException("cannot handle " + event.getAggregateId());
+			}
+		};
+		CirculationEventConsumer second = event -> { };
+
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:outbox_dispatcher");
+		dispatcher = new OutboxDispatcher();
+		ReflectionTestUtils.setField(dispatcher, "outboxEventRepository", repository);
+		ReflectionTestUtils.setField(dispatcher, "consumers", List.<CirculationEventConsumer>of(consumer, second));
+		ReflectionTestUtils.setField(dispatcher, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(dispatcher, "transactionManager", mock(PlatformTransactionManager.class));
+		ReflectionTestUtils.setField(dispatcher, "branchDatabases", new BranchDatabases(new BranchProperties(), dataSource, Map.of()));
+		ReflectionTestUtils.setField(dispatcher, "enabled", true);
+		ReflectionTestUtils.setField(dispatcher, "batchSize", BATCH_SIZE);
+		ReflectionTestUtils.setField(dispatcher, "maxAttempts", MAX_ATTEMPTS);
+	}
+
+	@Test
+	void aFailingEventIsOfferedOncePerPollAndTheRestAreDelivered() {
+		insertEvents(7);
+		failing.add(2L);
+
+		dispatcher.dispatchPending();
+
+		assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), offered);
+		assertEquals(1, table.get(2L).getAttempts());
+		assertEquals("IllegalStateException: cannot handle 2", table.get(2L).getLastError());
+		assertNull(table.get(2L).getProcessedAt());
+		table.values().stream().filter(e -> e.getId() != 2L).forEach(e -> assertNotNull(e.getProcessedAt()));
+
+		offered.clear();
+		failing.clear();
+		dispatcher.dispatchPending();
+
+		assertEquals(List.of(2L), offered);
+		assertNotNull(table.get(2L).getProcessedAt());
+	}
+
+	@Test
+	void aPoisonEventIsRetriedUpToMaxAttemptsAndThenLeftInPlace() {
+		insertEvents(4);
+		failing.add(1L);
+
+		for (int poll = 0; poll < MAX_ATTEMPTS + 2; poll++) {
+			dispatcher.dispatchPending();
+		}
+
+		assertEquals(MAX_ATTEMPTS, offered.stream().filter(id -> id == 1L).count());
+		assertEquals(MAX_ATTEMPTS, table.get(1L).getAttempts());
+		assertNull(table.get(1L).getProcessedAt());
+		assertEquals(List.of(1L, 2L, 3L, 4L), offered.subList(0, 4)); // later events were not held up
+	}
+
+	@Test
+	void aBatchThatFailsEntirelyEndsThePoll() {
+		insertEvents(5);
+		failing.addAll(List.of(1L, 2L, 3L));
+
+		dispatcher.dispatchPending();
+
+		assertEquals(List.of(1L, 2L, 3L), offered);
+		assertNull(table.get(4L).getProcessedAt());
+
+		offered.clear();
+		failing.clear();
+		dispatcher.dispatchPending();
+
+		assertEquals(List.of(1L, 2L, 3L, 4L, 5L), offered);
+		table.values().forEach(e -> assertNotNull(e.getProcessedAt()));
+	}
+
+	private void insertEvents(int count) {
+		for (long id = table.size() + 1; id <= count; id++) {
+			OutboxEvent row = new OutboxEvent("LOAN_RETURNED", "LOAN", id, "{\"memberId\":" + id + "}");
+			ReflectionTestUtils.setField(row, "id", id);
+			table.put(id, row);
+		}
+	}
+}
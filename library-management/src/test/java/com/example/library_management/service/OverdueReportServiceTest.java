@@ -0,0 +1,176 @@
+package com.example.library_management.service;
+
+import com.example.library_management.LibraryManagementSystemApplication;
+import com.example.library_management.dto.OverdueLoanRow;
+import com.example.library_management.dto.OverdueReportPage;
+import com.example.library_management.model.Book;
+import com.example.library_management.model.Loan;
+import com.example.library_management.model.Member;
+import com.example.library_management.repository.BookRepository;
+import com.example.library_management.repository.LoanRepository;
+import com.example.library_management.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Overdue report paging over the embedded database. Staff pay 1.00 a day, everyone else the default
+ * 0.50, so sort=fine merges two policy groups.
+ */
+@SpringBootTest(classes = LibraryManagementSystemApplication.class,
+		properties = "library.policy.roles.staff.daily-fine=1.00")
+@ActiveProfiles("loadtest")
+@Import(OverdueReportServiceTest.Config.class)
+class OverdueReportServiceTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2030, 1, 10);
+	private static final AtomicInteger MEMBERS = new AtomicInteger();
+
+	@Autowired
+	private OverdueReportService overdueReportService;
+
+	@Autowired
+	private MemberRepository memberRepository;
+
+	@Autowired
+	private BookRepository bookRepository;
+
+	@Autowired
+	private LoanRepository loanRepository;
+
+	// Loans by days overdue: d10 = default member, 10 days (500 cents); s5 = staff, 5 days (500 cents); ...
+	private Long d10, s5, d4a, d4b, s3, d2, s1;
+
+	@BeforeEach
+	void setUp() {
+		loanRepository.deleteAllInBatch();
+		Book book = new Book();
+		book.setTitle("Overdue report test");
+		book = bookRepository.save(book);
+		Member member = member("member");
+		Member staff = member("staff");
+
+		d10 = loan(member, book, 10);
+		s5 = loan(staff, book, 5);
+		d4a = loan(member, book, 4);
+		d4b = loan(member, book, 4);
+		s3 = loan(staff, book, 3);
+		d2 = loan(member, book, 2);
+		s1 = loan(staff, book, 1);
+		loan(member, book, 0); // due today: not overdue yet
+	}
+
+	@Test
+	void daysPagesContinueAcrossEqualDueDatesInIdOrder() {
+		List<List<Long>> pages = pages(OverdueReportService.SORT_DAYS, 3);
+
+		assertEquals(List.of(List.of(d10, s5, d4a), List.of(d4b, s3, d2), List.of(s1)), pages);
+	}
+
+	@Test
+	void finePagesMergeThePolicyGroups() {
+		List<List<Long>> pages = pages(OverdueReportService.SORT_FINE, 2);
+
+		// Equal fines fall back to the due date, then the loan id; pages break between groups
+		// (s5 after d10) and inside one group (d4a | d4b)
+		assertEquals(List.of(List.of(d10, s5), List.of(s3, d4a), List.of(d4b, d2), List.of(s1)), pages);
+		OverdueLoanRow first = overdueReportService.getOverdueReport("fine", null, 1).getRows().get(0);
+		assertEquals(500, first.getFineCents());
+		assertEquals(10, first.getOverdueDays());
+	}
+
+	@Test
+	void aCursorOfTheOtherSortIsRejected() {
+		String daysCursor = overdueReportService.getOverdueReport("days", null, 2).getNextCursor();
+
+		RuntimeException e = assertThrows(RuntimeException.class,
+				() -> overdueReportService.getOverdueReport("fine", daysCursor, 2));
+		assertEquals("Cursor belongs to sort=days", e.getMessage());
+	}
+
+	@Test
+	void tamperedCursorsAreRejected() {
+		for (String cursor : List.of("not a cursor!", encode("days|*all:yesterday:1"), encode("days|*all"),
+				encode("days|*all:99999999999999:1"))) {
+			RuntimeException e = assertThrows(RuntimeException.class,
+					() -> overdueReportService.getOverdueReport("days", cursor, 2), cursor);
+			assertEquals("Invalid cursor", e.getMessage());
+		}
+	}
+
+	@Test
+	void positionsOfGroupsNoLongerConfiguredAreDropped() {
+		OverdueReportPage page = overdueReportService.getOverdueReport("fine", encode("fine|librarian:14000:99"), 2);
+
+		assertEquals(List.of(d10, s5), ids(page));
+		assertTrue(new String(Base64.getUrlDecoder().decode(page.getNextCursor()), StandardCharsets.UTF_8)
+				.matches("fine(\\|(staff|\\*default):\\d+:\\d+)+"));
+	}
+
+	private List<List<Long>> pages(String sort, int size) {
+		List<List<Long>> pages = new ArrayList<>();
+		String cursor = null;
+		do {
+			OverdueReportPage page = overdueReportService.getOverdueReport(sort, cursor, size);
+			pages.add(ids(page));
+			cursor = page.getNextCursor();
+		} while (cursor != null && pages.size() < 10);
+		assertNull(cursor);
+		return pages;
+	}
+
+	private static List<Long> ids(OverdueReportPage page) {
+		return page.getRows().stream().map(OverdueLoanRow::getLoanId).toList();
+	}
+
+	private static String encode(String cursor) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private Member member(String role) {
+		int n = MEMBERS.incrementAndGet();
+		Member member = new Member("Overdue " + n, "overdue_" + n, "x", "overdue_" + n + "@example.com", role);
+		member.setRegistrationDate(LocalDate.of(2025, 1, 10)); // in the past for @PastOrPresent (wall clock)
+		member.setMembershipExpiryDate(TODAY.plusYears(1));
+		return memberRepository.save(member);
+	}
+
+	private Long loan(Member member, Book book, int daysOverdue) {
+		Loan loan = new Loan();
+		loan.setMember(member);
+		loan.setBook(book);
+		loan.setDueDate(TODAY.minusDays(daysOverdue));
+		loan.setBorrowDate(loan.getDueDate().minusDays(14));
+		return loanRepository.save(loan).getId();
+	}
+
+	@TestConfiguration
+	static class Config {
+
+		@Bean
+		@Primary
+		Clock fixedClock() {
+			return Clock.fixed(TODAY.atTime(12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.example.library_management.service;
+
+import com.example.library_management.branch.BranchDatabases;
+import com.example.library_management.branch.BranchProperties;
+import com.example.library_management.event.CirculationEvent;
+import com.example.library_management.event.CirculationEventType;
+import com.example.library_management.recommendation.CoBorrowIndex;
+import com.example.library_management.repository.LoanRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Borrow events of one outbox batch, fed through the consumer against a mocked loan repository.
+ */
+class RecommendationServiceTest {
+
+	private final List<Object[]> loans = new ArrayList<>(); // [memberId, loanId, bookId]
+	private LoanRepository loanRepository;
+	private CoBorrowIndex index;
+	private RecommendationEventConsumer consumer;
+
+	@BeforeEach
+	void setUp() {
+		loanRepository = mock(LoanRepository.class);
+		when(loanRepository.findRecentBorrowsByMembers(anyCollection(), any(LocalDate.class))).thenAnswer(call -> {
+			List<Long> memberIds = List.copyOf(call.<Collection<Long>>getArgument(0));
+			return loans.stream()
+					.filter(row -> memberIds.contains((Long) row[0]))
+					.sorted((a, b) -> a[0].equals(b[0]) ? Long.compare((Long) b[1], (Long) a[1]) : Long.compare((Long) a[0], (Long) b[0]))
+					.toList();
+		});
+
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:recommendations");
+		index = new CoBorrowIndex(10, 10);
+		RecommendationService service = new RecommendationService();
+		ReflectionTestUtils.setField(service, "coBorrowIndex", index);
+		ReflectionTestUtils.setField(service, "loanRepository", loanRepository);
+		ReflectionTestUtils.setField(service, "clock", Clock.fixed(Instant.parse("2026-06-01T10:00:00Z"), ZoneOffset.UTC));
+		ReflectionTestUtils.setField(service, "branchDatabases", new BranchDatabases(new BranchProperties(), dataSource, Map.of()));
+		ReflectionTestUtils.setField(service, "enabled", true);
+		ReflectionTestUtils.setField(service, "windowDays", 365);
+		ReflectionTestUtils.setField(service, "maxHistory", 2);
+		ReflectionTestUtils.setField(service, "replaying", false);
+
+		consumer = new RecommendationEventConsumer();
+		ReflectionTestUtils.setField(consumer, "recommendationService", service);
+	}
+
+	@Test
+	void aBatchReadsItsBorrowersHistoryInOneQuery() {
+		loan(7, 1, 10);
+		loan(7, 2, 11);
+		loan(8, 3, 10);
+		loan(7, 4, 12);
+		loan(8, 5, 13);
+		loan(8, 6, 13); // re-borrow of 13
+		List<CirculationEvent> batch = List.of(borrowed(4, 7, 12), borrowed(5, 8, 13), borrowed(6, 8, 13));
+
+		consumer.beforeBatch(batch);
+		batch.forEach(consumer::onEvent);
+		consumer.afterBatch();
+
+		verify(loanRepository, times(1)).findRecentBorrowsByMembers(anyCollection(), any(LocalDate.class));
+		verify(loanRepository, never()).findRecentBookIdsByMember(anyLong(), any(), anyLong(), any());
+		assertArrayEquals(new long[]{10, 11}, index.related(12, 5)); // member 7's two newest other books
+		// Member 8 borrowed 13 twice: each of those loans sees the other, so neither adds pairs
+		assertArrayEquals(new long[]{}, index.related(13, 5));
+	}
+
+	@Test
+	void eventsOutsideABatchStillQueryPerBorrow() {
+		when(loanRepository.findRecentBookIdsByMember(anyLong(), any(), anyLong(), any())).thenReturn(List.of(20L));
+
+		consumer.onEvent(borrowed(9, 7, 21));
+
+		verify(loanRepository, never()).findRecentBorrowsByMembers(anyCollection(), any(LocalDate.class));
+		assertArrayEquals(new long[]{20}, index.related(21, 5));
+	}
+
+	private void loan(long memberId, long loanId, long bookId) {
+		loans.add(new Object[]{memberId, loanId, bookId});
+	}
+
+	private static CirculationEvent borrowed(long loanId, long memberId, long bookId) {
+		return new CirculationEvent(loanId, CirculationEventType.LOAN_BORROWED, loanId, null,
+				Map.of("loanId", loanId, "memberId", memberId, "bookId", bookId));
+	}
+}
@@ -0,0 +1,184 @@
+package com.example.library_management.service;
+
+import com.example.library_management.LibraryManagementSystemApplication;
+import com.example.library_management.dto.DueLoanReminderRow;
+import com.example.library_management.dto.MemberReminder;
+import com.example.library_management.model.Book;
+import com.example.library_management.model.Loan;
+import com.example.library_management.model.Member;
+import com.example.library_management.model.ReminderCheckpoint;
+import com.example.library_management.notification.ReminderSink;
+import com.example.library_management.repository.BookRepository;
+import com.example.library_management.repository.LoanRepository;
+import com.example.library_management.repository.MemberRepository;
+import com.example.library_management.repository.ReminderCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reminder batches of 3 loans over the embedded database: one notice per member with all of their
+ * loans, and a resumed run continuing after the last member handed to the sink.
+ */
+@SpringBootTest(classes = LibraryManagementSystemApplication.class,
+		properties = {"library.reminders.sink=recording", "library.reminders.batch-size=3"})
+@ActiveProfiles("loadtest")
+@Import(ReminderServiceTest.Config.class)
+class ReminderServiceTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2030, 1, 10);
+	private static final AtomicInteger MEMBERS = new AtomicInteger();
+
+	@Autowired
+	private ReminderService reminderService;
+
+	@Autowired
+	private RecordingSink sink;
+
+	@Autowired
+	private ReminderCheckpointRepository checkpointRepository;
+
+	@Autowired
+	private MemberRepository memberRepository;
+
+	@Autowired
+	private BookRepository bookRepository;
+
+	@Autowired
+	private LoanRepository loanRepository;
+
+	private Book book;
+
+	@BeforeEach
+	void setUp() {
+		loanRepository.deleteAllInBatch();
+		checkpointRepository.deleteAllInBatch();
+		sink.batches.clear();
+		sink.failOnBatch = -1;
+		book = new Book();
+		book.setTitle("Reminder test");
+		book = bookRepository.save(book);
+	}
+
+	@Test
+	void aMemberWithMoreLoansThanABatchGetsOneCompleteNotice() {
+		Member a = memberWithLoansDue(1, TODAY.plusDays(1));
+		Member b = memberWithLoansDue(5, TODAY.plusDays(2));
+		Member c = memberWithLoansDue(2, TODAY.plusDays(3));
+		memberWithLoansDue(1, TODAY.plusDays(10)); // outside the window
+
+		assertEquals(3, reminderService.runReminders());
+
+		assertEquals(List.of(List.of(a.getId()), List.of(b.getId()), List.of(c.getId())), memberIdsPerBatch());
+		assertEquals(5, sink.batches.get(1).get(0).getLoans().size());
+		assertEquals(2, sink.batches.get(2).get(0).getLoans().size());
+		ReminderCheckpoint checkpoint = checkpointRepository.findById(ReminderService.KIND_DUE_SOON).orElseThrow();
+		assertTrue(checkpoint.isCompleted());
+		assertEquals(c.getId(), checkpoint.getLastMemberId());
+	}
+
+	@Test
+	void anInterruptedRunResumesAfterTheLastMemberSent() {
+		Member a = memberWithLoansDue(2, TODAY.plusDays(1));
+		Member b = memberWithLoansDue(4, TODAY.plusDays(1));
+		Member c = memberWithLoansDue(1, TODAY.plusDays(1));
+		sink.failOnBatch = 1;
+
+		assertThrows(IllegalStateException.class, () -> reminderService.runReminders());
+
+		ReminderCheckpoint checkpoint = checkpointRepository.findById(ReminderService.KIND_DUE_SOON).orElseThrow();
+		assertFalse(checkpoint.isCompleted());
+		assertEquals(a.getId(), checkpoint.getLastMemberId());
+		assertEquals(lastLoanId(a), checkpoint.getLastLoanId());
+
+		sink.batches.clear();
+		sink.failOnBatch = -1;
+		assertEquals(2, reminderService.runReminders());
+		assertEquals(List.of(List.of(b.getId()), List.of(c.getId())), memberIdsPerBatch());
+		assertEquals(4, sink.batches.get(0).get(0).getLoans().size());
+
+		sink.batches.clear();
+		assertEquals(0, reminderService.runReminders()); // today's runs are complete
+		assertTrue(sink.batches.isEmpty());
+	}
+
+	private Member memberWithLoansDue(int loans, LocalDate dueDate) {
+		int n = MEMBERS.incrementAndGet();
+		Member member = new Member("Reader " + n, "reminder_" + n, "x", "reminder_" + n + "@example.com", "member");
+		member.setRegistrationDate(LocalDate.of(2025, 1, 10)); // in the past for @PastOrPresent (wall clock)
+		member.setMembershipExpiryDate(TODAY.plusYears(1));
+		member = memberRepository.save(member);
+		for (int i = 0; i < loans; i++) {
+			Loan loan = new Loan();
+			loan.setMember(member);
+			loan.setBook(book);
+			loan.setBorrowDate(dueDate.minusDays(14));
+			loan.setDueDate(dueDate);
+			loanRepository.save(loan);
+		}
+		return member;
+	}
+
+	private Long lastLoanId(Member member) {
+		return loanRepository.findAll().stream()
+				.filter(loan -> loan.getMember().getId().equals(member.getId()))
+				.mapToLong(Loan::getId).max().orElseThrow();
+	}
+
+	private List<List<Long>> memberIdsPerBatch() {
+		return sink.batches.stream()
+				.map(batch -> batch.stream().map(MemberReminder::getMemberId).toList())
+				.toList();
+	}
+
+	// Records every batch; throws on the given batch (counting from 0) to interrupt a run
+	static class RecordingSink implements ReminderSink {
+
+		final List<List<MemberReminder>> batches = new ArrayList<>();
+		int failOnBatch = -1;
+		private int calls;
+
+		@Override
+		public void send(List<MemberReminder> batch) {
+			if (calls++ == failOnBatch) {
+				throw new IllegalStateException("sink unavailable");
+			}
+			batches.add(batch);
+			batch.forEach(reminder -> assertEquals(reminder.getMemberId(),
+					reminder.getLoans().stream().map(DueLoanReminderRow::getMemberId).distinct().findFirst().orElseThrow()));
+		}
+	}
+
+	@TestConfiguration
+	static class Config {
+
+		@Bean
+		RecordingSink recordingSink() {
+			return new RecordingSink();
+		}
+
+		@Bean
+		@Primary
+		Clock fixedClock() {
+			return Clock.fixed(TODAY.atTime(12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.example.library_management.service;
+
+import com.example.library_management.LibraryManagementSystemApplication;
+import com.example.library_management.event.CirculationEvent;
+import com.example.library_management.event.CirculationEventType;
+import com.example.library_management.model.BookDailyStats;
+import com.example.library_management.model.LoanDailyStats;
+import com.example.library_management.repository.BookDailyStatsRepository;
+import com.example.library_management.repository.LoanDailyStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Rollup updates over the embedded database. Outbox delivery is at-least-once, so every event is
+ * handed to the consumer twice here; each must be counted once. The days used lie far in the past,
+ * away from the rows written by other tests.
+ */
+@SpringBootTest(classes = LibraryManagementSystemApplication.class,
+		properties = "library.outbox.dispatcher-enabled=false")
+@ActiveProfiles("loadtest")
+class StatsEventConsumerTest {
+
+	private static final LocalDate DAY = LocalDate.of(1999, 3, 10);
+	private static final long BOOK_ID = 990_077;
+
+	@Autowired
+	private StatsEventConsumer statsEventConsumer;
+
+	@Autowired
+	private LoanDailyStatsRepository loanDailyStatsRepository;
+
+	@Autowired
+	private BookDailyStatsRepository bookDailyStatsRepository;
+
+	@Test
+	void aRedeliveredEventIsCountedOnce() {
+		List<CirculationEvent> events = List.of(
+				event(900_001, CirculationEventType.LOAN_BORROWED, Map.of("borrowDate", DAY.toString(), "bookId", BOOK_ID)),
+				event(900_002, CirculationEventType.LOAN_BORROWED, Map.of("borrowDate", DAY.toString(), "bookId", BOOK_ID)),
+				event(900_003, CirculationEventType.LOAN_RETURNED, Map.of(
+						"borrowDate", DAY.minusDays(20).toString(), "dueDate", DAY.minusDays(6).toString(), "returnDate", DAY.toString())),
+				event(900_004, CirculationEventType.LOAN_RENEWED, Map.of("day", DAY.toString())),
+				event(900_005, CirculationEventType.LOANS_BULK_RENEWED, Map.of("day", DAY.toString(), "renewed", 3)));
+
+		for (int delivery = 0; delivery < 2; delivery++) {
+			events.forEach(statsEventConsumer::onEvent);
+		}
+
+		LoanDailyStats day = loanDailyStatsRepository.findByStatDateBetweenOrderByStatDateAsc(DAY, DAY).get(0);
+		assertEquals(2, day.getLoansBorrowed());
+		assertEquals(1, day.getLoansReturned());
+		assertEquals(1, day.getReturnedOverdue());
+		assertEquals(20, day.getTotalLoanDays());
+		assertEquals(4, day.getLoansRenewed());
+		assertEquals(2, bookDailyStatsRepository.findAll().stream()
+				.filter(row -> row.getBookId() == BOOK_ID && row.getStatDate().equals(DAY))
+				.mapToInt(BookDailyStats::getBorrowCount)
+				.sum());
+	}
+
+	private static CirculationEvent event(long id, CirculationEventType type, Map<String, Object> payload) {
+		return new CirculationEvent(id, type, id, LocalDateTime.now(), payload);
+	}
+}
@@ -0,0 +1,43 @@
+package com.example.library_management.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TrendingTrackerTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2025, 6, 30);
+
+	@Test
+	void mostBorrowedBooksOfTheWindowComeFirst() {
+		TrendingTracker tracker = new TrendingTracker(31, 4, 1024, 8);
+		tracker.add(TODAY, 1, 3);
+		tracker.add(TODAY.minusDays(2), 2, 5);
+		tracker.add(TODAY.minusDays(20), 3, 10); // outside the 7-day window
+		for (long id = 100; id < 200; id++) {
+			tracker.add(TODAY, id, 1);           // long tail
+		}
+
+		List<long[]> week = tracker.top(TODAY, 7, 2);
+		assertArrayEquals(new long[]{2, 5}, week.get(0));
+		assertArrayEquals(new long[]{1, 3}, week.get(1));
+
+		assertEquals(3, tracker.top(TODAY, 30, 1).get(0)[0]);
+	}
+
+	@Test
+	void oldBucketsAreReusedForNewDays() {
+		TrendingTracker tracker = new TrendingTracker(7, 4, 1024, 8);
+		tracker.add(TODAY.minusDays(7), 1, 4);
+		tracker.add(TODAY, 2, 1);                  // same slot as 7 days ago
+		tracker.add(TODAY.minusDays(7), 1, 4);     // late event for a day no longer covered
+
+		List<long[]> top = tracker.top(TODAY, 7, 5);
+		assertEquals(1, top.size());
+		assertArrayEquals(new long[]{2, 1}, top.get(0));
+	}
+}
@@ -0,0 +1,31 @@
+package com.example.library_management.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IsbnUtilTest {
+
+	@Test
+	void isbn10AndIsbn13FormsNormaliseToTheSameKey() {
+		assertEquals("9780306406157", IsbnUtil.toIsbn13("0-306-40615-2"));
+		assertEquals("9780306406157", IsbnUtil.toIsbn13("978-0-306-40615-7"));
+		assertEquals("9780306406157", IsbnUtil.toIsbn13("9780306406157"));
+	}
+
+	@Test
+	void isbn10WithXCheckDigitIsAccepted() {
+		assertEquals("9780804429573", IsbnUtil.toIsbn13("0-8044-2957-X"));
+	}
+
+	@Test
+	void invalidInputIsRejected() {
+		assertNull(IsbnUtil.toIsbn13(null));
+		assertNull(IsbnUtil.toIsbn13(""));
+		assertNull(IsbnUtil.toIsbn13("0-306-40615-3"));     // bad check digit
+		assertNull(IsbnUtil.toIsbn13("978-0-306-40615-8")); // bad check digit
+		assertNull(IsbnUtil.toIsbn13("1234567890123"));     // not a 978/979 prefix
+		assertNull(IsbnUtil.toIsbn13("ISBN 0306406152"));   // stray letters
+	}
+}
@@ -0,0 +1,140 @@
+package com.example.library_management.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongLongHashMapTest {
+
+	@Test
+	void missingKeysGetTheMissingValue() {
+		LongLongHashMap map = new LongLongHashMap();
+		assertEquals(-1L, map.get(42L, -1L));
+		assertFalse(map.containsKey(42L));
+		assertEquals(-1L, map.remove(42L, -1L));
+
+		map.put(42L, 7L, -1L);
+		assertEquals(-1L, map.get(43L, -1L));
+		assertEquals(-1L, map.get(-42L, -1L));
+		assertEquals(1, map.size());
+	}
+
+	@Test
+	void putReturnsThePreviousValue() {
+		LongLongHashMap map = new LongLongHashMap();
+		assertEquals(-1L, map.put(9780306406157L, 1L, -1L));
+		assertEquals(1L, map.put(9780306406157L, 2L, -1L));
+		assertEquals(2L, map.get(9780306406157L, -1L));
+		assertEquals(1, map.size());
+	}
+
+	@Test
+	void keyZeroIsRejected() {
+		LongLongHashMap map = new LongLongHashMap();
+		assertThrows(IllegalArgumentException.class, () -> map.put(0L, 1L, 0L));
+		assertThrows(IllegalArgumentException.class, () -> map.get(0L, 0L));
+		assertThrows(IllegalArgumentException.class, () -> map.remove(0L, 0L));
+	}
+
+	@Test
+	void growsPastItsExpectedSizeKeepingEveryEntry() {
+		LongLongHashMap map = new LongLongHashMap(4);
+		for (long key = 1; key <= 10_000; key++) {
+			map.put(key, key * 10, -1L);
+		}
+
+		assertEquals(10_000, map.size());
+		for (long key = 1; key <= 10_000; key++) {
+			assertEquals(key * 10, map.get(key, -1L));
+		}
+		long[] sum = {0};
+		map.forEach((key, value) -> sum[0] += value);
+		assertEquals(10L * 10_000 * 10_001 / 2, sum[0]);
+	}
+
+	@Test
+	void removingFromTheMiddleOfAProbeChainKeepsLaterKeysReachable() {
+		LongLongHashMap map = new LongLongHashMap(4); // 8 slots
+		long[] colliding = keysWithHomeSlot(3, 8, 4);
+		for (long key : colliding) {
+			map.put(key, key + 1, -1L);
+		}
+
+		assertEquals(colliding[1] + 1, map.remove(colliding[1], -1L));
+
+		assertEquals(-1L, map.get(colliding[1], -1L));
+		assertEquals(colliding[0] + 1, map.get(colliding[0], -1L));
+		assertEquals(colliding[2] + 1, map.get(colliding[2], -1L));
+		assertEquals(colliding[3] + 1, map.get(colliding[3], -1L));
+		assertEquals(3, map.size());
+
+		map.put(colliding[1], 5L, -1L); // slot is reusable
+		assertEquals(5L, map.get(colliding[1], -1L));
+		assertEquals(4, map.size());
+	}
+
+	@Test
+	void matchesHashMapUnderRandomPutsAndRemoves() {
+		Random random = new Random(26);
+		LongLongHashMap map = new LongLongHashMap();
+		Map<Long, Long> expected = new HashMap<>();
+		for (int i = 0; i < 50_000; i++) {
+			long key = 1 + random.nextInt(2_000); // small key space: many removes hit, chains get reused
+			if (random.nextInt(3) == 0) {
+				Long previous = expected.remove(key);
+				assertEquals(previous == null ? -1L : previous, map.remove(key, -1L));
+			} else {
+				long value = random.nextLong();
+				Long previous = expected.put(key, value);
+				assertEquals(previous == null ? -1L : previous, map.put(key, value, -1L));
+			}
+		}
+
+		assertEquals(expected.size(), map.size());
+		for (long key = 1; key <= 2_000; key++) {
+			assertEquals(expected.getOrDefault(key, -1L), map.get(key, -1L));
+			assertEquals(expected.containsKey(key), map.containsKey(key));
+		}
+		int[] visited = {0};
+		map.forEach((key, value) -> {
+			assertEquals(expected.get(key), value);
+			visited[0]++;
+		});
+		assertEquals(expected.size(), visited[0]);
+	}
+
+	@Test
+	void clearEmptiesTheMap() {
+		LongLongHashMap map = new LongLongHashMap();
+		for (long key = 1; key <= 100; key++) {
+			map.put(key, key, -1L);
+		}
+		map.clear();
+
+		assertTrue(map.isEmpty());
+		assertEquals(-1L, map.get(50L, -1L));
+		map.put(50L, 1L, -1L);
+		assertEquals(1, map.size());
+	}
+
+	// First {@code count} keys whose home slot in a table of {@code capacity} slots is {@code slot}
+	// (same Fibonacci hash as the map)
+	private static long[] keysWithHomeSlot(int slot, int capacity, int count) {
+		long[] keys = new long[count];
+		int n = 0;
+		for (long key = 1; n < count; key++) {
+			long h = key * 0x9E3779B97F4A7C15L;
+			if (((int) (h ^ (h >>> 32)) & (capacity - 1)) == slot) {
+				keys[n++] = key;
+			}
+		}
+		return keys;
+	}
+}
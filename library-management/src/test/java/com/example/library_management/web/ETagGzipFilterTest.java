@@ -0,0 +1,174 @@
+package com.example.library_management.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ETagGzipFilterTest {
+
+	private final ETagGzipFilter filter = new ETagGzipFilter();
+
+	@Test
+	void largeTaggedBodyIsStreamedGzipped() throws Exception {
+		byte[] body = body(50_000);
+		MockHttpServletResponse response = run("\"v1\"", HttpServletResponse.SC_OK, body);
+
+		assertEquals("gzip", response.getHeader("Content-Encoding"));
+		assertEquals("\"v1-gzip\"", response.getHeader("ETag"));
+		try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+			assertArrayEquals(body, gzip.readAllBytes());
+		}
+	}
+
+	@Test
+	void smallTaggedBodyKeepsPlainTagAndLength() throws Exception {
+		byte[] body = body(100);
+		MockHttpServletResponse response = run("\"v1\"", HttpServletResponse.SC_OK, body);
+
+		assertNull(response.getHeader("Content-Encoding"));
+		assertEquals("\"v1\"", response.getHeader("ETag"));
+		assertEquals(100, response.getContentLength());
+		assertArrayEquals(body, response.getContentAsByteArray());
+	}
+
+	@Test
+	void largeUntaggedBodyPassesThrough() throws Exception {
+		byte[] body = body(50_000);
+		MockHttpServletResponse response = run(null, HttpServletResponse.SC_OK, body);
+
+		assertNull(response.getHeader("Content-Encoding"));
+		assertArrayEquals(body, response.getContentAsByteArray());
+	}
+
+	@Test
+	void notModifiedGetsGzipTagAndIfNoneMatchIsStripped() throws Exception {
+		MockHttpServletRequest request = request();
+		request.addHeader("If-None-Match", "\"v1-gzip\"");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		String[] seen = new String[1];
+
+		filter.doFilter(request, response, (req, res) -> {
+			seen[0] = ((HttpServletRequest) req).getHeader("If-None-Match");
+			((HttpServletResponse) res).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			((HttpServletResponse) res).setHeader("ETag", "\"v1\"");
+			res.flushBuffer();
+		});
+
+		assertEquals("\"v1\"", seen[0]);
+		assertEquals("\"v1-gzip\"", response.getHeader("ETag"));
+		assertEquals(0, response.getContentAsByteArray().length);
+	}
+
+	@Test
+	void notModifiedKeepsPlainTagWhenThePlainRepresentationWasRevalidated() throws Exception {
+		MockHttpServletRequest request = request();
+		request.addHeader("If-None-Match", "\"v1\"");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request, response, (req, res) -> {
+			((HttpServletResponse) res).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			((HttpServletResponse) res).setHeader("ETag", "\"v1\"");
+		});
+
+		assertEquals("\"v1\"", response.getHeader("ETag"));
+	}
+
+	@Test
+	void nonBlockingWritesGoToTheContainerStreamAsWritten() throws Exception {
+		byte[] head = body(100);
+		byte[] rest = body(50_000);
+		ByteArrayOutputStream sent = new ByteArrayOutputStream();
+		List<WriteListener> registered = new ArrayList<>();
+		MockHttpServletResponse response = new MockHttpServletResponse() {
+			private final ServletOutputStream stream = new ServletOutputStream() {
+				@Override
+				public void write(int b) { sent.write(b); }
+
+				@Override
+				public boolean isReady() { return true; }
+
+				@Override
+				public void setWriteListener(WriteListener listener) { registered.add(listener); }
+			};
+
+			@Override
+			public ServletOutputStream getOutputStream() { return stream; }
+		};
+		WriteListener listener = new WriteListener() {
+			@Override
+			public void onWritePossible() { }
+
+			@Override
+			public void onError(Throwable t) { }
+		};
+
+		filter.doFilter(request(), response, (req, res) -> {
+			HttpServletResponse http = (HttpServletResponse) res;
+			http.setHeader("ETag", "\"v1\"");
+			ServletOutputStream out = http.getOutputStream();
+			out.write(head);
+			out.setWriteListener(listener);
+			assertTrue(out.isReady());
+			out.write(rest);
+		});
+
+		assertEquals(List.of(listener), registered);
+		assertNull(response.getHeader("Content-Encoding"));
+		assertEquals("\"v1\"", response.getHeader("ETag"));
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		expected.write(head);
+		expected.write(rest);
+		assertArrayEquals(expected.toByteArray(), sent.toByteArray());
+	}
+
+	private MockHttpServletResponse run(String etag, int status, byte[] body) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FilterChain chain = (req, res) -> {
+			HttpServletResponse http = (HttpServletResponse) res;
+			http.setStatus(status);
+			if (etag != null) {
+				http.setHeader("ETag", etag);
+			}
+			OutputStream out = http.getOutputStream();
+			for (int i = 0; i < body.length; i += 8000) { // written in chunks, as a JSON generator would
+				out.write(body, i, Math.min(8000, body.length - i));
+			}
+			out.flush();
+		};
+		filter.doFilter(request(), response, chain);
+		return response;
+	}
+
+	private static MockHttpServletRequest request() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+		request.addHeader("Accept-Encoding", "gzip, deflate");
+		return request;
+	}
+
+	private static byte[] body(int size) {
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; json.length() < size - 1; i++) {
+			json.append("{\"id\":").append(i).append('}').append(',');
+		}
+		json.setLength(size - 1);
+		return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+	}
+}
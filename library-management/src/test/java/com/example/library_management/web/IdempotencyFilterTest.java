@@ -0,0 +1,181 @@
+package com.example.library_management.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyFilterTest {
+
+	private final MutableClock clock = new MutableClock(Instant.parse("2025-06-15T10:00:00Z"));
+	private final IdempotencyFilter filter = new IdempotencyFilter(new IdempotencyStore(100, Duration.ofHours(24), clock));
+	private final AtomicInteger executions = new AtomicInteger();
+
+	// Echoes the body with a counter, so a replay is distinguishable from a second execution
+	private final FilterChain borrow = (req, res) -> {
+		String body = StreamUtils.copyToString(req.getInputStream(), StandardCharsets.UTF_8);
+		HttpServletResponse http = (HttpServletResponse) res;
+		http.setStatus(HttpServletResponse.SC_CREATED);
+		http.setContentType("application/json");
+		http.getWriter().write("{\"execution\":" + executions.incrementAndGet() + ",\"request\":" + body + "}");
+	};
+
+	@Test
+	void aRetryWithTheSameKeyAndBodyReplaysTheStoredResponse() throws Exception {
+		MockHttpServletResponse first = send("k1", "{\"bookId\":7}", borrow);
+		MockHttpServletResponse retry = send("k1", "{\"bookId\":7}", borrow);
+
+		assertEquals(1, executions.get());
+		assertEquals(HttpServletResponse.SC_CREATED, retry.getStatus());
+		assertEquals("application/json", retry.getContentType());
+		assertEquals(first.getContentAsString(), retry.getContentAsString());
+		assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+		assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+	}
+
+	@Test
+	void theSameKeyWithADifferentBodyIsRejected() throws Exception {
+		send("k1", "{\"bookId\":7}", borrow);
+		MockHttpServletResponse other = send("k1", "{\"bookId\":8}", borrow);
+
+		assertEquals(422, other.getStatus());
+		assertEquals(1, executions.get());
+	}
+
+	@Test
+	void aDuplicateWhileTheFirstIsInFlightGetsAConflict() throws Exception {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		FilterChain slowBorrow = (req, res) -> {
+			entered.countDown();
+			try {
+				assertTrue(release.await(5, TimeUnit.SECONDS));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			borrow.doFilter(req, res);
+		};
+
+		CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> {
+			try {
+				return send("k1", "{\"bookId\":7}", slowBorrow);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+		MockHttpServletResponse duplicate = send("k1", "{\"bookId\":7}", borrow);
+		release.countDown();
+
+		assertEquals(HttpServletResponse.SC_CONFLICT, duplicate.getStatus());
+		assertEquals(HttpServletResponse.SC_CREATED, first.get(5, TimeUnit.SECONDS).getStatus());
+		assertEquals(1, executions.get());
+	}
+
+	@Test
+	void serverErrorsAreNotStored() throws Exception {
+		FilterChain failing = (req, res) -> ((HttpServletResponse) res).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+		assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, send("k1", "{\"bookId\":7}", failing).getStatus());
+
+		assertEquals(HttpServletResponse.SC_CREATED, send("k1", "{\"bookId\":7}", borrow).getStatus());
+		assertEquals(1, executions.get());
+	}
+
+	@Test
+	void anExpiredKeyExecutesAgain() throws Exception {
+		send("k1", "{\"bookId\":7}", borrow);
+		clock.instant = clock.instant.plus(Duration.ofHours(23));
+		assertEquals("true", send("k1", "{\"bookId\":7}", borrow).getHeader(IdempotencyFilter.REPLAYED_HEADER));
+
+		clock.instant = clock.instant.plus(Duration.ofHours(1));
+		MockHttpServletResponse afterExpiry = send("k1", "{\"bookId\":8}", borrow);
+
+		assertEquals(HttpServletResponse.SC_CREATED, afterExpiry.getStatus());
+		assertNull(afterExpiry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+		assertEquals(2, executions.get());
+	}
+
+	@Test
+	void theCachedBodyCanBeReadWithAReadListener() throws Exception {
+		ByteArrayOutputStream read = new ByteArrayOutputStream();
+		boolean[] allRead = new boolean[1];
+		FilterChain nonBlocking = (req, res) -> {
+			ServletInputStream in = req.getInputStream();
+			in.setReadListener(new ReadListener() {
+				@Override
+				public void onDataAvailable() throws IOException {
+					byte[] buffer = new byte[4];
+					int n;
+					while (in.isReady() && (n = in.read(buffer, 0, buffer.length)) > 0) {
+						read.write(buffer, 0, n);
+					}
+				}
+
+				@Override
+				public void onAllDataRead() {
+					allRead[0] = true;
+				}
+
+				@Override
+				public void onError(Throwable t) {
+					throw new AssertionError(t);
+				}
+			});
+		};
+
+		send("k1", "{\"bookId\":7}", nonBlocking);
+
+		assertEquals("{\"bookId\":7}", read.toString(StandardCharsets.UTF_8));
+		assertTrue(allRead[0]);
+	}
+
+	private MockHttpServletResponse send(String key, String body, FilterChain chain) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/loans/borrow");
+		request.addHeader(IdempotencyFilter.HEADER, key);
+		request.setContentType("application/json");
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, chain);
+		return response;
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private volatile Instant instant;
+
+		MutableClock(Instant instant) {
+			this.instant = instant;
+		}
+
+		@Override
+		public ZoneId getZone() { return ZoneOffset.UTC; }
+
+		@Override
+		public Clock withZone(ZoneId zone) { return this; }
+
+		@Override
+		public Instant instant() { return instant; }
+	}
+}